@@ -0,0 +1,660 @@
+import domain.enums.MachineType;
+import domain.enums.PokemonData;
+import domain.game.Game;
+import domain.moves.Move;
+import domain.moves.MoveSetSolver;
+import domain.player.AIPlayer;
+import domain.player.Player;
+import domain.player.ai.AIStrategy;
+import domain.player.ai.AIStrategyFactory;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import domain.simulation.BatchBattleKernel;
+import domain.simulation.BattleListener;
+import domain.simulation.BattleSimulator;
+import domain.simulation.BattleStatistics;
+import domain.simulation.ResultStoreWriter;
+import domain.simulation.StrategyEvaluator;
+import domain.simulation.TeamPool;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Headless entry point of POOBkemon, for batch jobs that must not drive the Swing GUI.
+ * It never touches AWT: battles are played by the simulation engine at full speed.
+ *
+ * Commands:
+ *   simulate    Plays N battles between two machine types and writes one record per battle.
+ *   tournament  Plays every pair of machine types against each other and writes one record per pair.
+ *   replay      Plays a saved game to the end with the players' strategies and writes every attack.
+ *   verify      Checks that a saved game loads and is consistent.
+ *   benchmark   Measures the battles per second of BattleSimulator and BatchBattleKernel.
+ *
+ * Records are JSON Lines (the default) or CSV, on standard output or in the --out file.
+ * Exit codes: 0 on success, 1 if the job failed, 2 for a usage error, 3 if verify found problems.
+ */
+public final class POOBkemonCLI {
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILURE = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_INVALID = 3;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -cp bin POOBkemonCLI <command> [options]",
+            "  simulate   --first <machine> --second <machine> [--games 100] [--team-size 3]",
+            "             [--first-team a,b,c] [--second-team x,y,z] [--seed 1] [--stats <dir>] [--store <dir>]",
+            "  tournament [--machines a,b,...] [--games 200] [--team-size 3] [--seed 1] [--threads n]",
+            "  replay     <save file> [--human <machine>]",
+            "  verify     <save file>",
+            "  benchmark  [--battles 20000] [--team-size 3] [--rounds 3]",
+            "Common options: --format jsonl|csv, --out <file>",
+            "Machines: defensive, attacking, changing, expert, learned");
+
+    private static final Map<String, Set<String>> OPTIONS = Map.of(
+            "simulate", Set.of("first", "second", "games", "team-size", "first-team", "second-team", "seed", "stats",
+                    "store"),
+            "tournament", Set.of("machines", "games", "team-size", "seed", "threads"),
+            "replay", Set.of("human"),
+            "verify", Set.of(),
+            "benchmark", Set.of("battles", "team-size", "rounds"));
+
+    private POOBkemonCLI() {
+    }
+
+    /**
+     * Runs a command and exits with its exit code.
+     * @param args The command and its options
+     */
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param args The command and its options
+     * @return The exit code
+     */
+
+    public static int run(String[] args) {
+        if (args.length == 0 || args[0].equals("help") || args[0].equals("--help")) {
+            System.err.println(USAGE);
+            return args.length == 0 ? EXIT_USAGE : EXIT_OK;
+        }
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        try (RecordWriter out = RecordWriter.open(options)) {
+            return switch (options.command) {
+                case "simulate" -> simulate(options, out);
+                case "tournament" -> tournament(options, out);
+                case "replay" -> replay(options, out);
+                case "verify" -> verify(options, out);
+                default -> benchmark(options, out);
+            };
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return EXIT_USAGE;
+        } catch (IOException | RuntimeException e) {
+            System.err.println(options.command + " failed: " + e);
+            return EXIT_FAILURE;
+        }
+    }
+
+    /*
+     * One record per battle. Both teams of a battle are random unless they are given; the
+     * first machine always moves first.
+     */
+
+    private static int simulate(Options options, RecordWriter out) throws IOException {
+        MachineType first = machine(options.require("first"));
+        MachineType second = machine(options.require("second"));
+        int games = options.getInt("games", 100, 1);
+        int teamSize = options.getInt("team-size", 3, 1);
+        TeamPool firstPool = pool(options.get("first-team"), teamSize);
+        TeamPool secondPool = pool(options.get("second-team"), teamSize);
+        Random random = new Random(options.getLong("seed", 1));
+        BattleStatistics statistics = options.get("stats") == null ? null : new BattleStatistics();
+        BattleSimulator simulator = new BattleSimulator();
+        AIStrategy firstStrategy = AIStrategyFactory.createStrategy(first);
+        AIStrategy secondStrategy = AIStrategyFactory.createStrategy(second);
+        int[] turns = new int[1];
+        BattleListener listener = new BattleListener() {
+            @Override
+            public void onAttack(Pokemon attacker, Pokemon defender, Move move, int damage,
+                                 boolean superEffective, boolean knockedOut) {
+                if (statistics != null) {
+                    statistics.onAttack(attacker, defender, move, damage, superEffective, knockedOut);
+                }
+            }
+
+            @Override
+            public void onBattleEnd(List<Pokemon> firstTeam, int[] firstTurnsSurvived, List<Pokemon> secondTeam,
+                                    int[] secondTurnsSurvived, BattleSimulator.Outcome outcome, int battleTurns) {
+                turns[0] = battleTurns;
+                if (statistics != null) {
+                    statistics.onBattleEnd(firstTeam, firstTurnsSurvived, secondTeam, secondTurnsSurvived,
+                            outcome, battleTurns);
+                }
+            }
+        };
+
+        try (ResultStoreWriter store = options.get("store") == null ? null
+                : ResultStoreWriter.open(Path.of(options.get("store")), teamSize(options, teamSize))) {
+            out.header("game", "first", "second", "first_team", "second_team", "outcome", "turns",
+                    "first_remaining", "second_remaining");
+            for (int game = 0; game < games; game++) {
+                List<Pokemon> firstTeam = firstPool.create(2 * game, random);
+                List<Pokemon> secondTeam = secondPool.create(2 * game + 1, random);
+                String firstNames = names(firstTeam);
+                String secondNames = names(secondTeam);
+                BattleSimulator.Outcome outcome = simulator.play(firstStrategy, firstTeam, secondStrategy, secondTeam,
+                        listener);
+                out.write(game, first.name(), second.name(), firstNames, secondNames, outcome.name(), turns[0],
+                        standing(firstTeam), standing(secondTeam));
+                if (store != null) {
+                    store.append(first.name(), firstTeam, second.name(), secondTeam, outcome, turns[0]);
+                }
+            }
+        }
+        if (statistics != null) {
+            statistics.summarize().exportCsv(Path.of(options.get("stats")));
+        }
+        return EXIT_OK;
+    }
+
+    /*
+     * Round robin: every pair plays the same random teams with both move orders, through
+     * StrategyEvaluator with a fixed number of games. Standings go to standard error.
+     */
+
+    private static int tournament(Options options, RecordWriter out) throws IOException {
+        List<MachineType> machines = new ArrayList<>();
+        if (options.get("machines") == null) {
+            machines.addAll(List.of(MachineType.values()));
+        } else {
+            for (String name : options.get("machines").split(",")) {
+                machines.add(machine(name.trim()));
+            }
+        }
+        if (machines.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two machines");
+        }
+        int games = options.getInt("games", 200, 2);
+        if (games % 2 != 0) {
+            throw new IllegalArgumentException("--games must be even, games are played in pairs: " + games);
+        }
+        int teamSize = options.getInt("team-size", 3, 1);
+        long seed = options.getLong("seed", 1);
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors(), 1);
+        TeamPool pool = TeamPool.random(teamSize);
+        double[] points = new double[machines.size()];
+        int[] played = new int[machines.size()];
+
+        out.header("first", "second", "games", "first_wins", "second_wins", "draws", "first_score",
+                "elo", "elo_low", "elo_high");
+        for (int i = 0; i < machines.size(); i++) {
+            for (int j = i + 1; j < machines.size(); j++) {
+                MachineType first = machines.get(i);
+                MachineType second = machines.get(j);
+                StrategyEvaluator evaluator = new StrategyEvaluator(() -> AIStrategyFactory.createStrategy(first),
+                        () -> AIStrategyFactory.createStrategy(second), pool);
+                evaluator.setSequential(false);
+                evaluator.setMaxGames(games);
+                evaluator.setThreads(threads);
+                evaluator.setSeed(seed);
+                StrategyEvaluator.Report report = evaluator.evaluate();
+                double score = report.getWins() + report.getDraws() / 2.0;
+                points[i] += score;
+                points[j] += report.getGames() - score;
+                played[i] += report.getGames();
+                played[j] += report.getGames();
+                out.write(first.name(), second.name(), report.getGames(), report.getWins(), report.getLosses(),
+                        report.getDraws(), score / report.getGames(), report.getElo(), report.getEloLow(),
+                        report.getEloHigh());
+            }
+        }
+        out.flush();
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < machines.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Double.compare(points[b] / played[b], points[a] / played[a]));
+        for (int i : order) {
+            System.err.printf(Locale.ROOT, "%-18s %7.1f / %d%n", machines.get(i).name(), points[i], played[i]);
+        }
+        return EXIT_OK;
+    }
+
+    /*
+     * Plays the rest of a saved battle with BattleSimulator, from the saved health and PP,
+     * with each side's active Pokemon first and the player whose turn it was moving first.
+     * Human players are played by the --human machine.
+     */
+
+    private static int replay(Options options, RecordWriter out) throws IOException {
+        Game game = load(options);
+        MachineType human = machine(options.get("human") == null ? "expert" : options.get("human"));
+        Player first = game.getCurrentPlayer() == game.getPlayer2() ? game.getPlayer2() : game.getPlayer1();
+        Player second = first == game.getPlayer1() ? game.getPlayer2() : game.getPlayer1();
+        int[] turns = new int[1];
+        BattleListener listener = new BattleListener() {
+            @Override
+            public void onAttack(Pokemon attacker, Pokemon defender, Move move, int damage,
+                                 boolean superEffective, boolean knockedOut) {
+                try {
+                    out.write("attack", attacker.getName(), defender.getName(), move.getName(), damage,
+                            superEffective, knockedOut, "", "");
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public void onBattleEnd(List<Pokemon> firstTeam, int[] firstTurnsSurvived, List<Pokemon> secondTeam,
+                                    int[] secondTurnsSurvived, BattleSimulator.Outcome outcome, int battleTurns) {
+                turns[0] = battleTurns;
+            }
+        };
+
+        out.header("event", "attacker", "defender", "move", "damage", "super_effective", "knocked_out",
+                "winner", "turns");
+        BattleSimulator.Outcome outcome = new BattleSimulator().play(strategy(first, human), activeFirst(first),
+                strategy(second, human), activeFirst(second), listener);
+        String winner = switch (outcome) {
+            case FIRST_WINS -> first.getName();
+            case SECOND_WINS -> second.getName();
+            case DRAW -> "";
+        };
+        out.write("end", "", "", "", "", "", "", winner, turns[0]);
+        return EXIT_OK;
+    }
+
+    private static int verify(Options options, RecordWriter out) throws IOException {
+        File file = options.requireFile();
+        List<String> problems = new ArrayList<>();
+        try {
+            Game game = load(file);
+            for (Player player : List.of(game.getPlayer1(), game.getPlayer2())) {
+                check(player, problems);
+            }
+            if (game.getCurrentPlayer() != game.getPlayer1() && game.getCurrentPlayer() != game.getPlayer2()) {
+                problems.add("the current player is neither player");
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            problems.add("cannot be read: " + e);
+        }
+        out.header("file", "valid", "problems");
+        out.write(file.getPath(), problems.isEmpty(), String.join("; ", problems));
+        return problems.isEmpty() ? EXIT_OK : EXIT_INVALID;
+    }
+
+    private static void check(Player player, List<String> problems) {
+        if (player == null) {
+            problems.add("a player is missing");
+            return;
+        }
+        List<Pokemon> team = player.getTeam();
+        if (team == null || team.isEmpty()) {
+            problems.add(player.getName() + " has no team");
+            return;
+        }
+        if (player.getActivePokemonIndex() < 0 || player.getActivePokemonIndex() >= team.size()) {
+            problems.add(player.getName() + " has active Pokemon " + player.getActivePokemonIndex());
+        }
+        for (Pokemon pokemon : team) {
+            if (pokemon.getHealth() < 0 || pokemon.getHealth() > pokemon.getMaxHealth()) {
+                problems.add(pokemon.getName() + " has " + pokemon.getHealth() + "/" + pokemon.getMaxHealth() + " HP");
+            }
+            if (pokemon.getMoves().size() > MoveSetSolver.SET_SIZE) {
+                problems.add(pokemon.getName() + " has " + pokemon.getMoves().size() + " moves");
+            }
+            for (Move move : pokemon.getMoves()) {
+                if (move.getPowerPoints() < 0 || move.getPowerPoints() > move.getMaxPowerPoints()) {
+                    problems.add(pokemon.getName() + "'s " + move.getName() + " has " + move.getPowerPoints() + "/"
+                            + move.getMaxPowerPoints() + " PP");
+                }
+            }
+        }
+    }
+
+    /*
+     * The battles of each round are built before the clock starts, so every engine is timed
+     * on playing only.
+     */
+
+    private static int benchmark(Options options, RecordWriter out) throws IOException {
+        int count = options.getInt("battles", 20_000, 1);
+        int teamSize = options.getInt("team-size", 3, 1);
+        int rounds = options.getInt("rounds", 3, 1);
+        TeamPool pool = TeamPool.random(teamSize);
+        BatchBattleKernel kernel = new BatchBattleKernel(count, teamSize);
+        Random random = new Random(1);
+        for (int b = 0; b < count; b++) {
+            kernel.add(pool.create(2 * b, random), pool.create(2 * b + 1, random));
+        }
+        AIStrategy strategy = new BatchBattleKernel.ReferenceStrategy();
+        BattleSimulator simulator = new BattleSimulator();
+
+        out.header("round", "engine", "battles", "seconds", "battles_per_second");
+        for (int round = 0; round < rounds; round++) {
+            List<List<Pokemon>> teams = new ArrayList<>(2 * count);
+            Random objects = new Random(1);
+            for (int b = 0; b < 2 * count; b++) {
+                teams.add(pool.create(b, objects));
+            }
+            long start = System.nanoTime();
+            for (int b = 0; b < count; b++) {
+                simulator.play(strategy, teams.get(2 * b), strategy, teams.get(2 * b + 1));
+            }
+            timing(out, round, "simulator", count, System.nanoTime() - start);
+            start = System.nanoTime();
+            kernel.run(BattleSimulator.DEFAULT_MAX_TURNS);
+            timing(out, round, "kernel", count, System.nanoTime() - start);
+        }
+        return EXIT_OK;
+    }
+
+    private static void timing(RecordWriter out, int round, String engine, int battles, long nanos) throws IOException {
+        double seconds = nanos / 1e9;
+        out.write(round, engine, battles, seconds, battles / seconds);
+        out.flush();
+    }
+
+    /*
+     * Loads a saved game without resuming it, so no turn timer or AI move touches the game.
+     */
+
+    private static Game load(File file) throws IOException, ClassNotFoundException {
+        if (!file.isFile()) {
+            throw new IOException("No such file: " + file);
+        }
+        return Game.load(file);
+    }
+
+    private static Game load(Options options) throws IOException {
+        try {
+            return load(options.requireFile());
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static AIStrategy strategy(Player player, MachineType human) {
+        if (player instanceof AIPlayer && ((AIPlayer) player).getStrategy() != null) {
+            return ((AIPlayer) player).getStrategy();
+        }
+        return AIStrategyFactory.createStrategy(human);
+    }
+
+    private static List<Pokemon> activeFirst(Player player) {
+        List<Pokemon> team = new ArrayList<>(player.getTeam());
+        int active = player.getActivePokemonIndex();
+        if (active > 0 && active < team.size()) {
+            team.add(0, team.remove(active));
+        }
+        return team;
+    }
+
+    /*
+     * Accepts the enum name or its prefix, case-insensitively: "expert" is expertTrainer.
+     */
+
+    private static MachineType machine(String name) {
+        for (MachineType type : MachineType.values()) {
+            if (type.name().equalsIgnoreCase(name) || type.name().equalsIgnoreCase(name + "Trainer")) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown machine: " + name);
+    }
+
+    /*
+     * A random pool, or a fixed team of the given species with their recommended move sets.
+     */
+
+    private static TeamPool pool(String species, int teamSize) {
+        if (species == null) {
+            return TeamPool.random(teamSize);
+        }
+        List<Pokemon> team = new ArrayList<>();
+        for (String name : species.split(",")) {
+            PokemonData data = PokemonData.fromName(name.trim());
+            Pokemon pokemon = new ConcretePokemon(data);
+            for (Move move : MoveSetSolver.bestMoves(data)) {
+                pokemon.addMove(move);
+            }
+            team.add(pokemon);
+        }
+        return TeamPool.fixed(List.of(team));
+    }
+
+    /*
+     * The largest team of the battles, which may be a given team longer than --team-size.
+     */
+
+    private static int teamSize(Options options, int teamSize) {
+        for (String team : new String[] {options.get("first-team"), options.get("second-team")}) {
+            if (team != null) {
+                teamSize = Math.max(teamSize, team.split(",").length);
+            }
+        }
+        return teamSize;
+    }
+
+    private static String names(List<Pokemon> team) {
+        List<String> names = new ArrayList<>();
+        for (Pokemon pokemon : team) {
+            names.add(pokemon.getName());
+        }
+        return String.join("|", names);
+    }
+
+    private static int standing(List<Pokemon> team) {
+        int standing = 0;
+        for (Pokemon pokemon : team) {
+            standing += pokemon.isFainted() ? 0 : 1;
+        }
+        return standing;
+    }
+
+    /*
+     * The command, its positional arguments and its --name value options.
+     */
+
+    private static final class Options {
+        private final String command;
+        private final List<String> positional = new ArrayList<>();
+        private final Map<String, String> values = new HashMap<>();
+
+        private Options(String command) {
+            this.command = command;
+        }
+
+        private static Options parse(String[] args) {
+            Set<String> allowed = OPTIONS.get(args[0]);
+            if (allowed == null) {
+                throw new IllegalArgumentException("Unknown command: " + args[0]);
+            }
+            Options options = new Options(args[0]);
+            for (int i = 1; i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    options.positional.add(args[i]);
+                    continue;
+                }
+                String name = args[i].substring(2);
+                if (!allowed.contains(name) && !name.equals("format") && !name.equals("out")) {
+                    throw new IllegalArgumentException("Unknown option for " + args[0] + ": --" + name);
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for --" + name);
+                }
+                options.values.put(name, args[++i]);
+            }
+            return options;
+        }
+
+        private String get(String name) {
+            return values.get(name);
+        }
+
+        private String require(String name) {
+            String value = values.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException(command + " needs --" + name);
+            }
+            return value;
+        }
+
+        private File requireFile() {
+            if (positional.size() != 1) {
+                throw new IllegalArgumentException(command + " needs one save file");
+            }
+            return new File(positional.get(0));
+        }
+
+        private int getInt(String name, int defaultValue, int min) {
+            long value = getLong(name, defaultValue);
+            if (value < min || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("--" + name + " must be at least " + min + ": " + value);
+            }
+            return (int) value;
+        }
+
+        private long getLong(String name, long defaultValue) {
+            String value = values.get(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("--" + name + " is not a number: " + value);
+            }
+        }
+    }
+
+    /*
+     * Writes records as JSON Lines, one object per line keyed by the header, or as CSV
+     * with the header as the first line.
+     */
+
+    private static final class RecordWriter implements AutoCloseable {
+        private final Writer out;
+        private final boolean csv;
+        private final boolean ownsStream;
+        private String[] columns = new String[0];
+
+        private RecordWriter(Writer out, boolean csv, boolean ownsStream) {
+            this.out = out;
+            this.csv = csv;
+            this.ownsStream = ownsStream;
+        }
+
+        private static RecordWriter open(Options options) throws IOException {
+            String format = options.get("format") == null ? "jsonl" : options.get("format");
+            if (!format.equals("jsonl") && !format.equals("csv")) {
+                throw new IllegalArgumentException("Unknown format: " + format);
+            }
+            String file = options.get("out");
+            if (file == null) {
+                return new RecordWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)),
+                        format.equals("csv"), false);
+            }
+            return new RecordWriter(Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8),
+                    format.equals("csv"), true);
+        }
+
+        private void header(String... names) throws IOException {
+            columns = names;
+            if (csv) {
+                out.write(String.join(",", names));
+                out.write('\n');
+            }
+        }
+
+        private void write(Object... values) throws IOException {
+            StringBuilder line = new StringBuilder(csv ? "" : "{");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                if (!csv) {
+                    line.append(quote(columns[i])).append(':');
+                }
+                line.append(format(values[i]));
+            }
+            out.write(line.append(csv ? "\n" : "}\n").toString());
+        }
+
+        private String format(Object value) {
+            if (value instanceof Double) {
+                double number = (Double) value;
+                return Double.isFinite(number) ? String.format(Locale.ROOT, "%.6f", number) : (csv ? "" : "null");
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString();
+            }
+            String text = String.valueOf(value);
+            if (csv) {
+                boolean plain = text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0;
+                return plain ? text : '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return quote(text);
+        }
+
+        private static String quote(String text) {
+            StringBuilder quoted = new StringBuilder("\"");
+            for (char c : text.toCharArray()) {
+                switch (c) {
+                    case '"' -> quoted.append("\\\"");
+                    case '\\' -> quoted.append("\\\\");
+                    case '\n' -> quoted.append("\\n");
+                    case '\r' -> quoted.append("\\r");
+                    case '\t' -> quoted.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            quoted.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            quoted.append(c);
+                        }
+                    }
+                }
+            }
+            return quoted.append('"').toString();
+        }
+
+        private void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (ownsStream) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+    }
+}
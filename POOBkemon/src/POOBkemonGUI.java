@@ -2,16 +2,19 @@ import presentation.screens.CoverScreen;
 import presentation.screens.GameScreen;
 import presentation.screens.GameSetupScreen;
 import presentation.screens.ItemSelectionScreen;
+import presentation.utils.AssetPreloader;
 import presentation.utils.SoundManager;
 import presentation.controllers.GameController;
 import presentation.controllers.GameView;
 import presentation.utils.UIConstants;
 import domain.pokemons.Pokemon;
 import domain.game.Game;
+import domain.metrics.Metrics;
 import presentation.screens.PokemonSelectionScreen;
 import domain.enums.GameMode;
 import domain.enums.GameModality;
 import java.awt.Dimension;
+import java.io.File;
 import java.util.List;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
@@ -55,6 +58,11 @@ public class POOBkemonGUI extends JFrame implements GameView {
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setResizable(false);
 
+        for (AssetPreloader.Screen screen : AssetPreloader.Screen.values()) {
+            AssetPreloader.prefetchImages(screen);
+        }
+        AssetPreloader.prefetch(AssetPreloader.Screen.COVER);
+
         soundManager = new SoundManager();
         gameController = new GameController(this, soundManager);
 
@@ -83,6 +91,7 @@ public class POOBkemonGUI extends JFrame implements GameView {
         soundManager.playBackgroundMusic(UIConstants.BACKGROUND_MUSIC_PATH);
         revalidate();
         repaint();
+        AssetPreloader.onScreenShown(AssetPreloader.Screen.COVER);
     }
 
     /**
@@ -159,6 +168,11 @@ public class POOBkemonGUI extends JFrame implements GameView {
             public void windowClosing(WindowEvent e) {
                 exit();
             }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                soundManager.close();
+            }
         });
     }
 
@@ -221,6 +235,11 @@ public class POOBkemonGUI extends JFrame implements GameView {
      * @param args Command line arguments (not used)
      */
     public static void main(String[] args) {
+        Metrics.registerMBeans();
+        long metricsPeriod = Long.getLong("poobkemon.metricsDumpSeconds", 60);
+        if (metricsPeriod > 0) {
+            Metrics.startReporting(new File(UIConstants.PERFORMANCE_DUMP_PATH, "metrics.txt"), metricsPeriod);
+        }
         SwingUtilities.invokeLater(() -> {
             POOBkemonGUI game = new POOBkemonGUI();
             game.setVisible(true);
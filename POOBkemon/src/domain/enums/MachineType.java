@@ -14,6 +14,7 @@ public enum MachineType {
 
     changingTrainer,
 
-    expertTrainer
+    expertTrainer,
+    learnedTrainer
 
 }
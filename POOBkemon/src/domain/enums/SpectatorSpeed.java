@@ -0,0 +1,129 @@
+package domain.enums;
+
+import java.util.Locale;
+
+/**
+ * Enum representing how fast a battle between two machines is played back.
+ * The delay before each AI move is divided by the multiplier. At MAX the turns run back to
+ * back: the sprites stop bobbing and the battle screen is only refreshed every
+ * MAX_RENDER_INTERVAL turns.
+ * The speed a game starts with can be set with -Dpoobkemon.spectatorSpeed=NORMAL|FAST|FASTER|MAX.
+ */
+
+public enum SpectatorSpeed {
+
+    /**
+     * Turns are played at the normal pace.
+     */
+
+    NORMAL("1×", 1),
+
+    /**
+     * Turns are played four times faster.
+     */
+
+    FAST("4×", 4),
+
+    /**
+     * Turns are played sixteen times faster.
+     */
+
+    FASTER("16×", 16),
+
+    /**
+     * Turns are played as fast as the game can run them.
+     */
+
+    MAX("Max", 0);
+
+    /**
+     * The number of turns between two refreshes of the battle screen at MAX speed.
+     */
+
+    public static final int MAX_RENDER_INTERVAL = 10;
+
+    private final String displayName;
+    private final int multiplier;
+
+    /**
+     * Constructor for SpectatorSpeed enum.
+     *
+     * @param displayName The label shown on the speed button
+     * @param multiplier How many times faster than normal turns are played, or 0 for no delay
+     */
+
+    SpectatorSpeed(String displayName, int multiplier) {
+        this.displayName = displayName;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Gets the label shown on the speed button.
+     *
+     * @return The display name
+     */
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Scales a delay of the normal pace to this speed.
+     *
+     * @param millis The delay at normal speed
+     * @return The delay at this speed, 0 at MAX
+     */
+
+    public long scale(long millis) {
+        return multiplier == 0 ? 0 : millis / multiplier;
+    }
+
+    /**
+     * Tells whether the sprite animations are skipped.
+     *
+     * @return true at MAX speed
+     */
+
+    public boolean skipsAnimations() {
+        return this == MAX;
+    }
+
+    /**
+     * Gets the number of turns between two refreshes of the battle screen.
+     *
+     * @return 1, or MAX_RENDER_INTERVAL at MAX speed
+     */
+
+    public int getRenderInterval() {
+        return this == MAX ? MAX_RENDER_INTERVAL : 1;
+    }
+
+    /**
+     * Gets the next speed, wrapping from MAX back to NORMAL.
+     *
+     * @return The next speed
+     */
+
+    public SpectatorSpeed next() {
+        return values()[(ordinal() + 1) % values().length];
+    }
+
+    /**
+     * Gets the speed named by the poobkemon.spectatorSpeed system property.
+     *
+     * @return The speed, NORMAL if the property is missing or unknown
+     */
+
+    public static SpectatorSpeed fromProperty() {
+        String property = System.getProperty("poobkemon.spectatorSpeed");
+        if (property == null) {
+            return NORMAL;
+        }
+        try {
+            return valueOf(property.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown spectator speed " + property + ", using " + NORMAL);
+            return NORMAL;
+        }
+    }
+}
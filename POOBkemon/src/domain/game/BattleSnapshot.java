@@ -0,0 +1,233 @@
+package domain.game;
+
+import domain.entities.Item;
+import domain.enums.GameState;
+import domain.moves.Move;
+import domain.player.Player;
+import domain.pokemons.Pokemon;
+import java.awt.Color;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable copy of everything the battle screen shows: both players, their teams,
+ * moves and items, whose turn it is and whether the game is over.
+ * Game captures one at the end of every command and publishes it through a volatile
+ * reference, so the UI renders from it without locks and never sees a half-applied turn.
+ * Snapshots are serializable, so they can also be stored or sent as a whole.
+ */
+
+public final class BattleSnapshot implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long version;
+    private final GameState state;
+    private final boolean gameOver;
+    private final int currentPlayerIndex;
+    private final PlayerSnapshot player1;
+    private final PlayerSnapshot player2;
+
+    private BattleSnapshot(long version, GameState state, boolean gameOver, int currentPlayerIndex,
+                           PlayerSnapshot player1, PlayerSnapshot player2) {
+        this.version = version;
+        this.state = state;
+        this.gameOver = gameOver;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.player1 = player1;
+        this.player2 = player2;
+    }
+
+    /**
+     * Copies the visible state of a battle.
+     *
+     * @param version The number of the snapshot, increasing with every capture of the same game
+     * @param state The game state
+     * @param gameOver Whether the game is over
+     * @param player1 The first player
+     * @param player2 The second player
+     * @param currentPlayer The player whose turn it is
+     * @return The snapshot
+     */
+
+    public static BattleSnapshot capture(long version, GameState state, boolean gameOver,
+                                         Player player1, Player player2, Player currentPlayer) {
+        return new BattleSnapshot(version, state, gameOver, currentPlayer == player2 ? 1 : 0,
+                PlayerSnapshot.of(player1), PlayerSnapshot.of(player2));
+    }
+
+    public long getVersion() { return version; }
+
+    public GameState getState() { return state; }
+
+    public boolean isGameOver() { return gameOver; }
+
+    public PlayerSnapshot getPlayer1() { return player1; }
+
+    public PlayerSnapshot getPlayer2() { return player2; }
+
+    /**
+     * Gets the player whose turn it is.
+     * @return The current player
+     */
+
+    public PlayerSnapshot getCurrentPlayer() { return currentPlayerIndex == 0 ? player1 : player2; }
+
+    /**
+     * Immutable copy of a player.
+     */
+
+    public static final class PlayerSnapshot implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final Color color;
+        private final boolean ai;
+        private final int activeIndex;
+        private final List<PokemonSnapshot> team;
+        private final List<ItemSnapshot> items;
+
+        private PlayerSnapshot(String name, Color color, boolean ai, int activeIndex,
+                               List<PokemonSnapshot> team, List<ItemSnapshot> items) {
+            this.name = name;
+            this.color = color;
+            this.ai = ai;
+            this.activeIndex = activeIndex;
+            this.team = team;
+            this.items = items;
+        }
+
+        private static PlayerSnapshot of(Player player) {
+            List<Pokemon> team = player.getTeam();
+            List<PokemonSnapshot> pokemons = new ArrayList<>(team.size());
+            for (Pokemon pokemon : team) {
+                pokemons.add(PokemonSnapshot.of(pokemon));
+            }
+            List<ItemSnapshot> items = new ArrayList<>(player.getItems().size());
+            for (Item item : player.getItems()) {
+                items.add(new ItemSnapshot(item.getName(), item.getDescription()));
+            }
+            int activeIndex = team.isEmpty() ? -1 : team.indexOf(player.getActivePokemon());
+            return new PlayerSnapshot(player.getName(), player.getColor(), player.isAI(), activeIndex,
+                    List.copyOf(pokemons), List.copyOf(items));
+        }
+
+        public String getName() { return name; }
+
+        public Color getColor() { return color; }
+
+        public boolean isAI() { return ai; }
+
+        public int getActiveIndex() { return activeIndex; }
+
+        /**
+         * Gets the active Pokemon.
+         * @return The active Pokemon, or null if the team is empty
+         */
+
+        public PokemonSnapshot getActivePokemon() { return activeIndex < 0 ? null : team.get(activeIndex); }
+
+        public List<PokemonSnapshot> getTeam() { return team; }
+
+        public List<ItemSnapshot> getItems() { return items; }
+    }
+
+    /**
+     * Immutable copy of a Pokemon.
+     */
+
+    public static final class PokemonSnapshot implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final String spritePath;
+        private final int health;
+        private final int maxHealth;
+        private final boolean fainted;
+        private final List<MoveSnapshot> moves;
+
+        private PokemonSnapshot(String name, String spritePath, int health, int maxHealth, boolean fainted,
+                                List<MoveSnapshot> moves) {
+            this.name = name;
+            this.spritePath = spritePath;
+            this.health = health;
+            this.maxHealth = maxHealth;
+            this.fainted = fainted;
+            this.moves = moves;
+        }
+
+        private static PokemonSnapshot of(Pokemon pokemon) {
+            List<MoveSnapshot> moves = new ArrayList<>(pokemon.getMoves().size());
+            for (Move move : pokemon.getMoves()) {
+                moves.add(new MoveSnapshot(move.getName(), move.getPowerPoints(), move.getMaxPowerPoints()));
+            }
+            return new PokemonSnapshot(pokemon.getName(), pokemon.getSpritePath(), pokemon.getHealth(),
+                    pokemon.getMaxHealth(), pokemon.isFainted(), List.copyOf(moves));
+        }
+
+        public String getName() { return name; }
+
+        public String getSpritePath() { return spritePath; }
+
+        public int getHealth() { return health; }
+
+        public int getMaxHealth() { return maxHealth; }
+
+        public boolean isFainted() { return fainted; }
+
+        public List<MoveSnapshot> getMoves() { return moves; }
+
+        @Override
+        public String toString() { return name; }
+    }
+
+    /**
+     * Immutable copy of a move.
+     */
+
+    public static final class MoveSnapshot implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final int powerPoints;
+        private final int maxPowerPoints;
+
+        private MoveSnapshot(String name, int powerPoints, int maxPowerPoints) {
+            this.name = name;
+            this.powerPoints = powerPoints;
+            this.maxPowerPoints = maxPowerPoints;
+        }
+
+        public String getName() { return name; }
+
+        public int getPowerPoints() { return powerPoints; }
+
+        public int getMaxPowerPoints() { return maxPowerPoints; }
+    }
+
+    /**
+     * Immutable copy of an item.
+     */
+
+    public static final class ItemSnapshot implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String name;
+        private final String description;
+
+        private ItemSnapshot(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+
+        public String getName() { return name; }
+
+        public String getDescription() { return description; }
+    }
+}
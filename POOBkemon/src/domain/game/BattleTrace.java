@@ -0,0 +1,134 @@
+package domain.game;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * BattleTrace is an always-on flight recorder for one battle. The most recent CAPACITY events
+ * are kept in a ring of primitive longs: recording one writes four array slots and never
+ * allocates, so it can stay enabled in production. When a game command fails, Game dumps the
+ * ring to a text file so the turns leading up to the failure can be reconstructed.
+ * Records are written only by the game's actor thread.
+ */
+
+public class BattleTrace {
+
+    /**
+     * Number of events kept.
+     */
+    public static final int CAPACITY = 1024;
+
+    /**
+     * Directory trace dumps are written to, settable with -Dpoobkemon.traceDir.
+     */
+    public static final String DUMP_DIRECTORY = System.getProperty("poobkemon.traceDir",
+            System.getProperty("user.home") + "/.poobkemon/traces/");
+
+    private static final int LONGS_PER_RECORD = 4;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * What a record describes.
+     */
+
+    public enum Action {
+        TURN_START, MOVE, ITEM, SWITCH, SACRIFICE, TIMEOUT, AI_DECISION, FAINTED, GAME_OVER, PAUSE, RESUME, ERROR, SPEED_CHANGED
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+
+    private final long[] records = new long[CAPACITY * LONGS_PER_RECORD];
+    private final long startNanos = System.nanoTime();
+    private final long startMillis = System.currentTimeMillis();
+    private long written;
+    private int turn;
+
+    /**
+     * Records an event. A TURN_START advances the turn number stamped on later records.
+     *
+     * @param action What happened
+     * @param actor The player index (0 for player 1, 1 for player 2)
+     * @param healthBefore Health of the affected Pokemon before the event, or -1
+     * @param healthAfter Health of the affected Pokemon after the event, or -1
+     * @param powerPoints Power points of the move used, or -1
+     * @param detail Move, item or team index, seconds remaining, or -1
+     */
+
+    public void record(Action action, int actor, int healthBefore, int healthAfter, int powerPoints, int detail) {
+        if (action == Action.TURN_START) {
+            turn++;
+        }
+        int base = (int) (written % CAPACITY) * LONGS_PER_RECORD;
+        records[base] = System.nanoTime() - startNanos;
+        records[base + 1] = ((long) turn << 32) | ((long) (actor & 0xFF) << 8) | action.ordinal();
+        records[base + 2] = ((long) healthBefore << 32) | (healthAfter & INT_MASK);
+        records[base + 3] = ((long) powerPoints << 32) | (detail & INT_MASK);
+        written++;
+    }
+
+    /**
+     * Gets the number of events recorded since the trace was created, including overwritten ones.
+     * @return The total number of events
+     */
+
+    public long getRecordedCount() {
+        return written;
+    }
+
+    /**
+     * Writes the kept events, oldest first.
+     *
+     * @param out The writer
+     * @param playerNames The names of player 1 and player 2, used to label the actor
+     */
+
+    public void writeTo(PrintWriter out, String... playerNames) {
+        long first = Math.max(0, written - CAPACITY);
+        out.printf("# %d events recorded, showing the last %d%n", written, written - first);
+        for (long i = first; i < written; i++) {
+            int base = (int) (i % CAPACITY) * LONGS_PER_RECORD;
+            long header = records[base + 1];
+            int actor = (int) (header >>> 8) & 0xFF;
+            String actorName = actor < playerNames.length ? playerNames[actor] : "P" + (actor + 1);
+            out.printf("+%.3fms turn=%d actor=%s %s hp=%d->%d pp=%d detail=%d%n",
+                    records[base] / 1_000_000.0, (int) (header >>> 32), actorName, ACTIONS[(int) (header & 0xFF)],
+                    (int) (records[base + 2] >> 32), (int) records[base + 2],
+                    (int) (records[base + 3] >> 32), (int) records[base + 3]);
+        }
+        out.flush();
+    }
+
+    /**
+     * Dumps the trace and the failure that triggered it to a new file in DUMP_DIRECTORY.
+     *
+     * @param reason A short description of why the trace is dumped
+     * @param failure The exception, or null
+     * @param playerNames The names of player 1 and player 2
+     * @return The file written, or null if it could not be written
+     */
+
+    public File dump(String reason, Throwable failure, String... playerNames) {
+        File dir = new File(DUMP_DIRECTORY);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            return null;
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        File file = new File(dir, "battle-trace-" + stamp + ".txt");
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("# " + reason);
+            out.println("# battle started " + new Date(startMillis));
+            if (failure != null) {
+                failure.printStackTrace(out);
+            }
+            writeTo(out, playerNames);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Could not write battle trace: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package domain.game;
+
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * FrameTimeHistogram records durations (in nanoseconds) into a fixed set of log-linear buckets.
+ * Values below 2 * SUB_BUCKETS get one bucket each; above that, every power of two is split
+ * into SUB_BUCKETS linear buckets, so the relative error stays under 1 / SUB_BUCKETS (about 3%).
+ * Recording is a single array increment and never allocates, so it can be called every frame.
+ * Values above MAX_TRACKABLE_NANOS are clamped into the last bucket.
+ */
+
+public class FrameTimeHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Largest value the histogram distinguishes: one minute.
+     */
+    public static final long MAX_TRACKABLE_NANOS = 60_000_000_000L;
+
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates an empty histogram.
+     * @param name The name used when the histogram is written out
+     */
+
+    public FrameTimeHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one duration.
+     * @param nanos The duration in nanoseconds; negative values are recorded as zero
+     */
+
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Returns the value at the given percentile. The result is the upper bound of the bucket
+     * that holds the percentile, capped by the largest recorded value.
+     *
+     * @param percentile A percentile between 0 and 100
+     * @return The value in nanoseconds, or 0 if nothing was recorded
+     */
+
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * @return The count
+     */
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     * @return The maximum in nanoseconds
+     */
+
+    public long getMax() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     * @return The mean in nanoseconds, or 0 if nothing was recorded
+     */
+
+    public double getMean() {
+        long total = totalCount.get();
+        return total == 0 ? 0 : (double) totalNanos.get() / total;
+    }
+
+    /**
+     * Gets the histogram name.
+     * @return The name
+     */
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Clears every bucket.
+     */
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    /**
+     * Writes a summary line followed by one line per non-empty bucket
+     * ("lowerNs upperNs count").
+     *
+     * @param out The writer to print to
+     */
+
+    public void writeTo(PrintWriter out) {
+        out.printf("# %s count=%d mean=%.0f p50=%d p90=%d p99=%d p99.9=%d max=%d (ns)%n",
+                name, getCount(), getMean(), getValueAtPercentile(50), getValueAtPercentile(90),
+                getValueAtPercentile(99), getValueAtPercentile(99.9), getMax());
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                out.println(bucketLowerBound(i) + " " + bucketUpperBound(i) + " " + count);
+            }
+        }
+    }
+
+    /*
+     * Maps a value to its bucket. The first 2 * SUB_BUCKETS values are exact; each following
+     * power of two [2^m, 2^(m+1)) is split into SUB_BUCKETS buckets of width 2^(m - SUB_BUCKET_BITS).
+     */
+
+    static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return subBucket << shift;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return bucketLowerBound(index) + (1L << shift) - 1;
+    }
+}
@@ -5,9 +5,15 @@ import domain.entities.Item;
 import domain.player.AIPlayer;
 import domain.player.Player;
 import domain.enums.GameState;
+import domain.enums.SpectatorSpeed;
 import domain.moves.Move;
 import domain.moves.StruggleMove;
 import domain.exceptions.POOBkemonException;
+import domain.metrics.Counter;
+import domain.metrics.GameFileEvent;
+import domain.metrics.Histogram;
+import domain.metrics.Metrics;
+import domain.metrics.TurnEvent;
 import presentation.screens.GameScreen;
 import java.io.File;
 import java.io.FileInputStream;
@@ -17,17 +23,22 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
-import java.lang.reflect.Field;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
-import javax.swing.SwingUtilities;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.List;
 
 /**
  * Represents a game session in the POOBkemon game.
  * Manages the game state, players, and turn-based battle mechanics.
  * Implements different game modes through the GameMode interface.
+ * All state changes run as commands on the game's GameActor: player actions, the turn
+ * countdown and AI decisions are queued and applied one at a time, so no locking is needed.
+ * Actions return an immutable TurnResult that the UI can read from any thread, and every
+ * visible change is published on the game's GameEventBus, which the game loop flushes once per frame.
+ * At the end of every command an immutable BattleSnapshot of the battle replaces the previous one,
+ * and the UI renders only from the latest snapshot. Every action is also written to an
+ * allocation-free BattleTrace, which is dumped to a file if a command fails.
  */
 
 public class Game implements Serializable{
@@ -36,18 +47,34 @@ public class Game implements Serializable{
     private final GameMode gameMode;
     private final Player player1;
     private final Player player2;
-    private boolean isGameOver;
-    private Player currentPlayer;
-    private GameState state;
-    private transient GameScreen gameScreen;
+    private volatile boolean isGameOver;
+    private volatile Player currentPlayer;
+    private volatile GameState state;
+    private transient volatile GameScreen gameScreen;
     private transient int fps;
     private boolean coinTossShown;
     private final boolean player1First;
-    private static boolean gif = false;
     private static final int TURN_TIME_LIMIT = 20;
-    private transient Timer turnTimer;
-    private final transient Object timerLock = new Object();
-    private transient GameLoop gameLoop;
+    private static final int AI_MOVE_DELAY_MILLIS = 1500;
+    private static final int COIN_TOSS_EXTRA_SECONDS = 12;
+    private static final Counter battlesStarted = Metrics.counter("battles.started");
+    private static final Counter battlesFinished = Metrics.counter("battles.finished");
+    private static final Counter turns = Metrics.counter("turns");
+    private static final Counter turnTimeouts = Metrics.counter("turns.timedOut");
+    private static final Histogram saveTimes = Metrics.timer("game.save");
+    private static final Histogram loadTimes = Metrics.timer("game.load");
+    private static final Histogram saveSizes = Metrics.histogram("game.save.size", Histogram.Unit.BYTES);
+    private static final Histogram loadSizes = Metrics.histogram("game.load.size", Histogram.Unit.BYTES);
+    private transient GameActor actor;
+    private transient GameEventBus events;
+    private transient volatile BattleSnapshot snapshot;
+    private transient BattleTrace trace;
+    private transient long snapshotVersion;
+    private transient ScheduledFuture<?> turnCountdown;
+    private transient ScheduledFuture<?> aiMoveTimeout;
+    private transient int turnGeneration;
+    private transient volatile SpectatorSpeed spectatorSpeed;
+    private boolean firstTurnStarted;
     private int secondsRemaining;
     private int secondsInPause;
     private boolean turnTimedOut;
@@ -70,19 +97,24 @@ public class Game implements Serializable{
         this.isGameOver = false;
         this.state = GameState.SETUP;
         this.fps = 0;
-        this.turnTimer = new Timer();
+        this.actor = new GameActor();
+        this.events = new GameEventBus();
+        this.trace = new BattleTrace();
+        this.actor.setErrorHandler(this::onCommandFailure);
         this.secondsRemaining = TURN_TIME_LIMIT;
         this.turnTimedOut = false;
         this.turnActionTaken = false;
+        this.spectatorSpeed = SpectatorSpeed.fromProperty();
         this.player1First = coinToss();
         currentPlayer = this.player1First ? player1 : player2;
         this.coinTossShown = false;
-        this.gameLoop = new GameLoop(this);
-        this.gameLoop.start();
 
         startTurnTimer();
 
         this.state = GameState.SETUP;
+        publishSnapshot();
+        trace.record(BattleTrace.Action.TURN_START, currentPlayerIndex(), -1, -1, -1, secondsRemaining);
+        battlesStarted.increment();
     }
 
     /**
@@ -99,76 +131,94 @@ public class Game implements Serializable{
 
     /*
      * Starts the turn timer for the current player.
+     * The countdown ticks and the delayed AI move are queued on the actor; each carries the
+     * turn it was scheduled for, so a tick that was already queued when the turn ended is ignored.
+     * The first turn of a game gets extra time while the coin toss is shown, unless it is skipped.
      */
 
     private void startTurnTimer() {
+        stopTurnTimer();
 
-        if (turnTimer != null) {
-            turnTimer.cancel();
-            turnTimer.purge();
-            turnTimer = null;
-        }
-
-
-        turnTimer = new Timer();
         secondsRemaining = TURN_TIME_LIMIT;
-        if (!gif) {
-            secondsRemaining = TURN_TIME_LIMIT + 12;
-            gif = true;
+        if (!firstTurnStarted) {
+            if (!skipsCoinToss()) {
+                secondsRemaining = TURN_TIME_LIMIT + COIN_TOSS_EXTRA_SECONDS;
+            }
+            firstTurnStarted = true;
         }
 
         turnTimedOut = false;
         turnActionTaken = false;
+        events.publish(GameEvent.Type.TIMER_TICK, null, secondsRemaining);
 
+        scheduleAIMove();
+        int generation = turnGeneration;
+        turnCountdown = actor.scheduleAtFixedRate(() -> tickTurnTimer(generation), 1, 1, TimeUnit.SECONDS);
+    }
 
-        if (getCurrentPlayer().isAI()) {
+    /*
+     * Schedules the current AI player's move after the delay of the spectator speed,
+     * replacing a move that was already scheduled for this turn.
+     */
 
-            new Timer().schedule(new TimerTask() {
-                @Override
-                public void run() {
-                     synchronized (timerLock) {
-                        if (!isGameOver && !turnActionTaken && getCurrentPlayer().isAI()) {
-                            performAIMove();
-                        }
-                }
-            }
-            }, 1500); 
-        }
-
-
-        turnTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                synchronized (timerLock) {
-                    if (secondsRemaining > 0) {
-                        secondsRemaining--;
-                        if (gameScreen != null) {
-                            gameScreen.updateTimer(secondsRemaining);
-                        }
-                    }
-
-                    if (secondsRemaining <= 0) {
-                        turnTimedOut = true;
-                        endTurn();
-                        cancel();
-                    }
-                }
+    private void scheduleAIMove() {
+        if (aiMoveTimeout != null) {
+            aiMoveTimeout.cancel(false);
+            aiMoveTimeout = null;
+        }
+        if (!getCurrentPlayer().isAI()) {
+            return;
+        }
+        int generation = turnGeneration;
+        aiMoveTimeout = actor.schedule(() -> {
+            if (generation == turnGeneration && !isGameOver && !turnActionTaken && getCurrentPlayer().isAI()) {
+                performAIMove();
             }
-        }, 1000, 1000);
+        }, getSpectatorSpeed().scale(AI_MOVE_DELAY_MILLIS), TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Machines playing each other faster than normal skip the coin toss animation.
+     */
+
+    private boolean skipsCoinToss() {
+        return isSpectated() && getSpectatorSpeed() != SpectatorSpeed.NORMAL;
+    }
+
+    /*
+     * Counts down one second of the current turn and ends it when the time runs out.
+     */
+
+    private void tickTurnTimer(int generation) {
+        if (generation != turnGeneration) {
+            return;
+        }
+        if (secondsRemaining > 0) {
+            secondsRemaining--;
+            events.publish(GameEvent.Type.TIMER_TICK, null, secondsRemaining);
+        }
+
+        if (secondsRemaining <= 0) {
+            turnTimedOut = true;
+            trace.record(BattleTrace.Action.TIMEOUT, currentPlayerIndex(), -1, -1, -1, 0);
+            endTurn();
+        }
     }
 
     /* 
-     * Stops the current turn timer.
+     * Stops the current turn timer and the pending AI move.
      * 
       */
 
     private void stopTurnTimer() {
-        synchronized (timerLock) {
-        if (turnTimer != null) {
-            turnTimer.cancel();
-            turnTimer.purge();
-            turnTimer = null;
-            }
+        turnGeneration++;
+        if (turnCountdown != null) {
+            turnCountdown.cancel(false);
+            turnCountdown = null;
+        }
+        if (aiMoveTimeout != null) {
+            aiMoveTimeout.cancel(false);
+            aiMoveTimeout = null;
         }
     }
 
@@ -179,14 +229,16 @@ public class Game implements Serializable{
      */
 
     private void endTurn() {
-    synchronized (timerLock) {
         stopTurnTimer();
+        turns.increment();
 
         if (turnTimedOut) {
+            turnTimeouts.increment();
             Pokemon activePokemon = currentPlayer.getActivePokemon();
             if (activePokemon != null) {
                 for (Move move : activePokemon.getMoves()) {
                     move.reducePP(1);
+                    events.publish(GameEvent.Type.PP_CHANGED, move, move.getPowerPoints());
                 }
             }
         }
@@ -194,17 +246,77 @@ public class Game implements Serializable{
         currentPlayer = (currentPlayer == player1) ? player2 : player1;
 
         state = currentPlayer.isAI() ? GameState.OPPONENT_TURN : GameState.PLAYER_TURN;
+        trace.record(BattleTrace.Action.TURN_START, currentPlayerIndex(), -1, -1, -1, -1);
 
         turnTimedOut = false;
         turnActionTaken = false;
 
-        startTurnTimer();
+        if (!isGameOver) {
+            startTurnTimer();
+        }
 
-        if (gameScreen != null) {
-            SwingUtilities.invokeLater(() -> gameScreen.updateBattleUI());
+        publishSnapshot();
+        events.publish(GameEvent.Type.TURN_CHANGED, currentPlayer, 0);
+        announceWinner();
+    }
+
+    /*
+     * Marks the game as over. The winner is announced once the command that ended it is complete.
+     */
+
+    private void finishGame() {
+        if (!isGameOver) {
+            battlesFinished.increment();
+            trace.record(BattleTrace.Action.GAME_OVER, currentPlayerIndex(), -1, -1, -1, -1);
         }
+        isGameOver = true;
+        stopTurnTimer();
+        actor.tell(actor::stop);
+    }
+
+    private void announceWinner() {
+        Player winner = isGameOver ? determineWinner() : null;
+        if (winner != null) {
+            events.publish(GameEvent.Type.GAME_OVER, winner, 0);
+        }
+    }
+
+    private int currentPlayerIndex() {
+        return currentPlayer == player1 ? 0 : 1;
+    }
+
+    /*
+     * Called on the actor when a command throws: the exception would otherwise only be printed,
+     * so the trace of the battle so far is dumped next to it.
+     */
+
+    private void onCommandFailure(RuntimeException failure) {
+        trace.record(BattleTrace.Action.ERROR, currentPlayerIndex(), -1, -1, -1, -1);
+        File file = trace.dump("Game command failed: " + failure, failure, player1.getName(), player2.getName());
+        if (file != null) {
+            System.err.println("Battle trace written to " + file.getAbsolutePath());
+        }
+    }
+
+    /*
+     * Replaces the published snapshot with a copy of the current state.
+     * Called only at the end of a command, so readers never see a turn half applied.
+     */
+
+    private void publishSnapshot() {
+        snapshot = BattleSnapshot.capture(++snapshotVersion, state, isGameOver, player1, player2, currentPlayer);
+    }
+
+    /*
+     * Builds the result of an action once the turn has been handed over.
+     */
+
+    private TurnResult result(TurnResult.Action action, Player actingPlayer, String detail,
+                              Pokemon target, int targetHealthBefore) {
+        Player winner = isGameOver ? determineWinner() : null;
+        return new TurnResult(action, actingPlayer.getName(), detail, targetHealthBefore, target.getHealth(),
+                target.isFainted(), isGameOver, winner != null ? winner.getName() : null, currentPlayer.getName());
     }
-}
 
     /**
      * Sets the game screen reference.
@@ -218,14 +330,19 @@ public class Game implements Serializable{
         this.gameScreen = gameScreen;
 
         if (!coinTossShown && gameScreen != null) {
-            gameScreen.showCoinTossDialog(player1.getName(), player2.getName(), player1First);
+            if (!skipsCoinToss()) {
+                gameScreen.showCoinTossDialog(player1.getName(), player2.getName(), player1First);
+            }
             coinTossShown = true;
 
-            if (currentPlayer == player1) {
-                state = GameState.PLAYER_TURN;
-            } else {
-                state = GameState.OPPONENT_TURN;
-            }
+            actor.tell(() -> {
+                if (currentPlayer == player1) {
+                    state = GameState.PLAYER_TURN;
+                } else {
+                    state = GameState.OPPONENT_TURN;
+                }
+                publishSnapshot();
+            });
         }
     }
 
@@ -242,12 +359,15 @@ public class Game implements Serializable{
 
     /**
      * Notifies the presentation layer to update the display.
-     * Updates the game screen with the current game state and FPS.
+     * Delivers the game events of this frame in one batch, then updates the game screen
+     * with the current game state and FPS.
      */
 
     public void render() {
+        events.flush();
         if (gameScreen != null) {
             gameScreen.updateFPS(fps);
+            gameScreen.renderFrame();
         }
     }
 
@@ -270,9 +390,14 @@ public class Game implements Serializable{
      * Move priority is taken into account to determine which Pokemon attacks first.
      * 
      * @param moveIndex The index of the move to execute from the active Pokemon's move list
+     * @return The result of the move
      */
 
-    public void executeMove(int moveIndex) throws POOBkemonException {
+    public TurnResult executeMove(int moveIndex) throws POOBkemonException {
+        return actor.call(() -> applyMove(moveIndex));
+    }
+
+    private TurnResult applyMove(int moveIndex) throws POOBkemonException {
         if (isGameOver || turnActionTaken) {
             throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
         }
@@ -294,9 +419,12 @@ public class Game implements Serializable{
             move = new StruggleMove();
         }
 
+        Player actingPlayer = currentPlayer;
+        int defenderHealth = defender.getHealth();
         executeMove(attacker, defender, move);
         turnActionTaken = true;
         endTurn();
+        return result(TurnResult.Action.MOVE, actingPlayer, move.getName(), defender, defenderHealth);
     }
 
 
@@ -321,22 +449,46 @@ public class Game implements Serializable{
             throw new POOBkemonException(POOBkemonException.INVALID_MOVE_SELECTION);
         }
 
+        TurnEvent turnEvent = new TurnEvent();
+        turnEvent.begin();
+        int defenderHealth = defender.getHealth();
         attacker.attack(defender, move);
+        trace.record(BattleTrace.Action.MOVE, currentPlayerIndex(), defenderHealth, defender.getHealth(),
+                move.getPowerPoints(), attacker.getMoves().indexOf(move));
+        events.publish(GameEvent.Type.HP_CHANGED, defender, defender.getHealth());
+        events.publish(GameEvent.Type.HP_CHANGED, attacker, attacker.getHealth());
+        events.publish(GameEvent.Type.PP_CHANGED, move, move.getPowerPoints());
 
         if (defender.isFainted()) {
+            trace.record(BattleTrace.Action.FAINTED, currentPlayerIndex(), defenderHealth, defender.getHealth(), -1, -1);
+            events.publish(GameEvent.Type.FAINTED, defender, 0);
             Player defenderPlayer = (attacker == currentPlayer.getActivePokemon()) ? 
                                     ((currentPlayer == player1) ? player2 : player1) : currentPlayer;
             gameMode.handleFaintedPokemon(defenderPlayer);
 
             if (gameMode.isGameOver(player1, player2)) {
-                isGameOver = true;
-                stopTurnTimer();
-                Player winner = determineWinner();
-                if (winner != null && gameScreen != null) {
-                    gameScreen.showWinnerDialog(winner);
-                }
+                finishGame();
             }
         }
+
+        if (turnEvent.shouldCommit()) {
+            turnEvent.player = currentPlayer.getName();
+            turnEvent.attacker = attacker.getName();
+            turnEvent.defender = defender.getName();
+            turnEvent.move = move.getName();
+            turnEvent.damage = defenderHealth - defender.getHealth();
+            turnEvent.effectiveness = typeEffectiveness(move, defender);
+            turnEvent.defenderFainted = defender.isFainted();
+            turnEvent.commit();
+        }
+    }
+
+    private static double typeEffectiveness(Move move, Pokemon defender) {
+        double effectiveness = TypeEffectivenessTable.getEffectiveness(move.getType(), defender.getPrimaryType());
+        if (defender.getSecondaryType() != null) {
+            effectiveness *= TypeEffectivenessTable.getEffectiveness(move.getType(), defender.getSecondaryType());
+        }
+        return effectiveness;
     }
 
     /*  
@@ -362,9 +514,32 @@ public class Game implements Serializable{
      * Applies the item's effect and then switches turns to the opponent.
      * 
      * @param item The item to use
+     * @return The result of using the item
      */
 
-    public void useItem(Item item) throws POOBkemonException {
+    public TurnResult useItem(Item item) throws POOBkemonException {
+        return actor.call(() -> applyItem(item));
+    }
+
+    /**
+     * Uses one of the current player's items, chosen by its place in the player's item list.
+     * The item is looked up on the game's actor, so the list cannot change in between.
+     *
+     * @param itemIndex The index of the item
+     * @return The result of using the item
+     */
+
+    public TurnResult useItem(int itemIndex) throws POOBkemonException {
+        return actor.call(() -> {
+            List<Item> items = currentPlayer.getItems();
+            if (itemIndex < 0 || itemIndex >= items.size()) {
+                throw new POOBkemonException(POOBkemonException.INVALID_ITEM_USAGE);
+            }
+            return applyItem(items.get(itemIndex));
+        });
+    }
+
+    private TurnResult applyItem(Item item) throws POOBkemonException {
         if (isGameOver || turnActionTaken) {
             throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
         }
@@ -374,11 +549,16 @@ public class Game implements Serializable{
         }
 
 
+        Player actingPlayer = currentPlayer;
+        Pokemon target = currentPlayer.getActivePokemon();
+        int targetHealth = target.getHealth();
         if (item.getName().equalsIgnoreCase("Revive")) {
             boolean hasFaintedPokemon = false;
             for (Pokemon pokemon : currentPlayer.getTeam()) {
                 if (pokemon.isFainted()) {
                     hasFaintedPokemon = true;
+                    target = pokemon;
+                    targetHealth = pokemon.getHealth();
                     item.use(pokemon);
                     break;
                 }
@@ -389,11 +569,15 @@ public class Game implements Serializable{
             }
         } else {
 
-            item.use(currentPlayer.getActivePokemon());
+            item.use(target);
         }
+        trace.record(BattleTrace.Action.ITEM, currentPlayerIndex(), targetHealth, target.getHealth(), -1,
+                currentPlayer.getItems().indexOf(item));
+        events.publish(GameEvent.Type.HP_CHANGED, target, target.getHealth());
 
         turnActionTaken = true;
         endTurn();
+        return result(TurnResult.Action.ITEM, actingPlayer, item.getName(), target, targetHealth);
     }
 
     /**
@@ -401,9 +585,14 @@ public class Game implements Serializable{
      * Then switches turns to the opponent.
      * 
      * @param pokemonIndex The index of the Pokemon to switch to
+     * @return The result of the switch
      */
 
-    public void switchPokemon(int pokemonIndex) throws POOBkemonException {
+    public TurnResult switchPokemon(int pokemonIndex) throws POOBkemonException {
+        return actor.call(() -> applySwitch(pokemonIndex));
+    }
+
+    private TurnResult applySwitch(int pokemonIndex) throws POOBkemonException {
         if (isGameOver || turnActionTaken) {
             throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
         }
@@ -421,9 +610,13 @@ public class Game implements Serializable{
             throw new POOBkemonException(POOBkemonException.INVALID_POKEMON_SWITCH);
         }
 
+        Player actingPlayer = currentPlayer;
         currentPlayer.setActivePokemonIndex(pokemonIndex);
+        trace.record(BattleTrace.Action.SWITCH, currentPlayerIndex(), pokemon.getHealth(), pokemon.getHealth(), -1,
+                pokemonIndex);
         turnActionTaken = true;
         endTurn();
+        return result(TurnResult.Action.SWITCH, actingPlayer, pokemon.getName(), pokemon, pokemon.getHealth());
     }
 
     /**
@@ -462,6 +655,13 @@ public class Game implements Serializable{
 
     public GameState getState() { return state; }
 
+    /**
+     * Gets the seconds left in the current turn.
+     * @return The seconds remaining
+     */
+
+    public int getSecondsRemaining() { return secondsRemaining; }
+
     /**
      * Gets the current game mode.
      * @return The game mode
@@ -474,8 +674,11 @@ public class Game implements Serializable{
      */
 
     public void pauseGame(){
-        secondsInPause=secondsRemaining;
-        stopTurnTimer();
+        actor.tell(() -> {
+            secondsInPause=secondsRemaining;
+            stopTurnTimer();
+            trace.record(BattleTrace.Action.PAUSE, currentPlayerIndex(), -1, -1, -1, secondsInPause);
+        });
     }
 
     /*  
@@ -483,56 +686,177 @@ public class Game implements Serializable{
      */
 
     public void resumeGame(){
-        startTurnTimer();
-        secondsRemaining=secondsInPause;
+        actor.tell(() -> {
+            if (isGameOver) {
+                return;
+            }
+            startTurnTimer();
+            secondsRemaining=secondsInPause;
+            trace.record(BattleTrace.Action.RESUME, currentPlayerIndex(), -1, -1, -1, secondsRemaining);
+        });
+    }
+
+    /**
+     * Stops the game for good when its screen is left: the turn timer and any pending AI
+     * move are cancelled and the actor drops every later command.
+     */
+
+    public void stop() {
+        actor.tell(() -> {
+            stopTurnTimer();
+            actor.stop();
+        });
+    }
+
+    /**
+     * Tells whether both players are machines, so the battle can only be watched.
+     * @return true in a machine vs machine battle
+     */
+
+    public boolean isSpectated() {
+        return player1.isAI() && player2.isAI();
     }
 
+    /**
+     * Gets the speed AI turns are played at. Only a spectated battle plays faster; when a
+     * human takes part, AI delays, animations and screen refreshes stay at NORMAL whatever
+     * speed was configured.
+     * @return The spectator speed
+     */
+
+    public SpectatorSpeed getSpectatorSpeed() {
+        SpectatorSpeed speed = spectatorSpeed;
+        return speed == null || !isSpectated() ? SpectatorSpeed.NORMAL : speed;
+    }
+
+    /**
+     * Changes the speed AI turns are played at. A move already waiting is rescheduled
+     * with the new delay.
+     * @param speed The spectator speed
+     */
+
+    public void setSpectatorSpeed(SpectatorSpeed speed) {
+        actor.tell(() -> {
+            spectatorSpeed = speed;
+            trace.record(BattleTrace.Action.SPEED_CHANGED, currentPlayerIndex(), -1, -1, -1, speed.ordinal());
+            if (aiMoveTimeout != null && !isGameOver && !turnActionTaken) {
+                scheduleAIMove();
+            }
+        });
+    }
+
+    /**
+     * Gets the actor that runs this game's commands.
+     * @return The game actor
+     */
+
+    public GameActor getActor() { return actor; }
+
+    /**
+     * Gets the bus the game publishes its changes on.
+     * @return The event bus
+     */
+
+    public GameEventBus getEvents() { return events; }
+
+    /**
+     * Gets the latest published snapshot of the battle. Safe to call from any thread.
+     * @return The snapshot of the last completed command
+     */
+
+    public BattleSnapshot getSnapshot() { return snapshot; }
+
+    /**
+     * Gets the trace of this battle's recent events.
+     * @return The battle trace
+     */
+
+    public BattleTrace getTrace() { return trace; }
+
     /*  
      * Performs an AI move.
-     * 
+     * The AI acts through the public actions, which run inline because this is already
+     * a command on the actor and end the turn themselves.
      */
 
     private void performAIMove() {
-        synchronized (timerLock) {
-            if (isGameOver || turnActionTaken || !getCurrentPlayer().isAI()) return;
+        if (isGameOver || turnActionTaken || !getCurrentPlayer().isAI()) return;
 
-            AIPlayer aiPlayer = (AIPlayer) getCurrentPlayer();
+        AIPlayer aiPlayer = (AIPlayer) getCurrentPlayer();
 
-            if (aiPlayer.getTeam().isEmpty() || aiPlayer.getTeam().stream().allMatch(Pokemon::isFainted)) {
-                isGameOver = true;
-                stopTurnTimer();
-                Player winner = determineWinner();
-                if (winner != null && gameScreen != null) {
-                    SwingUtilities.invokeLater(() -> gameScreen.showWinnerDialog(winner));
-                }
-                return;
-            }
+        if (aiPlayer.getTeam().isEmpty() || aiPlayer.getTeam().stream().allMatch(Pokemon::isFainted)) {
+            finishGame();
+            publishSnapshot();
+            announceWinner();
+            return;
+        }
 
-            try {
-                aiPlayer.makeDecision(this);
+        try {
+            trace.record(BattleTrace.Action.AI_DECISION, currentPlayerIndex(), -1, -1, -1, secondsRemaining);
+            aiPlayer.makeDecision(this);
+            if (currentPlayer == aiPlayer && !turnActionTaken && !isGameOver) {
                 turnActionTaken = true;
                 endTurn();
-            } catch (POOBkemonException e) {
-
-                throw new RuntimeException(e);
             }
+        } catch (POOBkemonException e) {
+
+            throw new RuntimeException(e);
         }
     }
 
     /**
      * Saves the game state to a file.
+     * The game is serialized on its actor, between two commands, so no timer tick or AI move
+     * changes it halfway through.
      * @param file The file to save to
      * @throws IOException If an I/O error occurs
      */
 
     public void save(File file) throws IOException {
+        long start = System.nanoTime();
+        GameFileEvent fileEvent = new GameFileEvent();
+        fileEvent.begin();
+        try {
+            IOException failure = actor.isStopped() ? writeTo(file) : actor.call(() -> writeTo(file));
+            if (failure != null) {
+                throw failure;
+            }
+            fileEvent.succeeded = true;
+        } catch (POOBkemonException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            commitFileEvent(fileEvent, "save", file);
+        }
+        saveTimes.recordSince(start);
+        saveSizes.record(file.length());
+    }
+
+    /*
+     * Serializes the game. The failure is returned, because actor commands cannot throw it.
+     */
+
+    private IOException writeTo(File file) {
         try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
             oos.writeObject(this);
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    private static void commitFileEvent(GameFileEvent fileEvent, String operation, File file) {
+        fileEvent.end();
+        if (fileEvent.shouldCommit()) {
+            fileEvent.operation = operation;
+            fileEvent.path = file.getPath();
+            fileEvent.bytes = file.length();
+            fileEvent.commit();
         }
     }
 
     /**
-     * Loads a game state from a file.
+     * Loads a game state from a file. The game is only read back: its turn timer and AI moves
+     * stay stopped until resumeLoaded() is called.
      * @param file The file to load from
      * @return The loaded Game instance
      * @throws IOException If an I/O error occurs
@@ -540,52 +864,56 @@ public class Game implements Serializable{
      */
 
     public static Game load(File file) throws IOException, ClassNotFoundException {
+        long start = System.nanoTime();
+        GameFileEvent fileEvent = new GameFileEvent();
+        fileEvent.begin();
         try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
             Game loadedGame = (Game) ois.readObject();
-
-            loadedGame.turnTimer = new Timer();
+            fileEvent.succeeded = true;
+            loadTimes.recordSince(start);
+            loadSizes.record(file.length());
+
+            loadedGame.actor = new GameActor();
+            loadedGame.events = new GameEventBus();
+            loadedGame.trace = new BattleTrace();
+            loadedGame.spectatorSpeed = SpectatorSpeed.fromProperty();
+            loadedGame.actor.setErrorHandler(loadedGame::onCommandFailure);
             loadedGame.secondsRemaining = TURN_TIME_LIMIT;
             loadedGame.turnTimedOut = false;
             loadedGame.turnActionTaken = false;
             loadedGame.gameScreen = null;
             loadedGame.fps = 0;
-            loadedGame.gameLoop = new GameLoop(loadedGame);
-
-            try {
-                Field timerLockField = Game.class.getDeclaredField("timerLock");
-                timerLockField.setAccessible(true);
-                timerLockField.set(loadedGame, new Object());
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                throw new IOException("Failed to reinitialize transient fields", e);
-            }
-
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    if (loadedGame.state == GameState.SETUP) {
-                        loadedGame.gameLoop.start();
-                    }
-                    loadedGame.startTurnTimer();
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            });
+            loadedGame.publishSnapshot();
 
             return loadedGame;
+        } finally {
+            commitFileEvent(fileEvent, "load", file);
         }
     }
+
+    /**
+     * Starts the turn timer and the AI moves of a game returned by load, so play goes on
+     * from where it was saved.
+     */
+
+    public void resumeLoaded() {
+        actor.tell(this::startTurnTimer);
+    }
     /*
  * method used for sacrifice a pokemon
+ * The checks and the health transfer run on the game's actor; the dialogs are shown by the caller.
  * @param Game game
  */
 
 public static void sacrifice(Game game) {
+    TurnResult result;
+    try {
+        result = game.actor.call(game::applySacrifice);
+    } catch (POOBkemonException e) {
+        return;
+    }
 
-    Pokemon activePokemon = game.getCurrentPlayer().getActivePokemon();
-    Player currentPlayer = game.getCurrentPlayer();
-    int live = activePokemon.getHealth();
-    int maxLive = activePokemon.getMaxHealth();
-
-    if (maxLive / 2 < live) {
+    if (result == null) {
         JOptionPane.showMessageDialog(
             null,
             "Your pokemon cannot be sacrificed, because it has more than half of its health",
@@ -593,26 +921,45 @@ public static void sacrifice(Game game) {
             JOptionPane.WARNING_MESSAGE
         );
         return;
-    } else {
-        activePokemon.isFainted();
-        activePokemon.setHealth(0);
-        currentPlayer.switchToNextAvailablePokemon();
-        Pokemon activePokemon2 = game.getCurrentPlayer().getActivePokemon();
+    }
 
-        JOptionPane.showMessageDialog(
-            null,
-            "Dead: " + activePokemon + "\n" +
-            "Now you have: " + activePokemon2,
-            "Realization of sacrifice",
-            JOptionPane.INFORMATION_MESSAGE
-        );
+    JOptionPane.showMessageDialog(
+        null,
+        result.getDetail(),
+        "Realization of sacrifice",
+        JOptionPane.INFORMATION_MESSAGE
+    );
+}
+
+private TurnResult applySacrifice() {
+    if (isGameOver) {
+        return null;
+    }
+    Player actingPlayer = currentPlayer;
+    Pokemon activePokemon = actingPlayer.getActivePokemon();
+    int live = activePokemon.getHealth();
+    int maxLive = activePokemon.getMaxHealth();
 
-        int live2 = activePokemon2.getHealth();
-        int newHealth = live2 + live;
-        activePokemon2.setHealth(newHealth);
+    if (maxLive / 2 < live) {
+        return null;
     }
 
-    game.endTurn();
+    activePokemon.setHealth(0);
+    trace.record(BattleTrace.Action.SACRIFICE, currentPlayerIndex(), live, 0, -1, actingPlayer.getTeam().indexOf(activePokemon));
+    actingPlayer.switchToNextAvailablePokemon();
+    Pokemon activePokemon2 = actingPlayer.getActivePokemon();
+    String detail = "Dead: " + activePokemon + "\n" +
+        "Now you have: " + activePokemon2;
+
+    int live2 = activePokemon2.getHealth();
+    int newHealth = live2 + live;
+    activePokemon2.setHealth(newHealth);
+    events.publish(GameEvent.Type.FAINTED, activePokemon, 0);
+    events.publish(GameEvent.Type.HP_CHANGED, activePokemon2, activePokemon2.getHealth());
+
+    turnActionTaken = true;
+    endTurn();
+    return result(TurnResult.Action.SACRIFICE, actingPlayer, detail, activePokemon2, live2);
 }
 
 
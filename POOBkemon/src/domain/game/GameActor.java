@@ -0,0 +1,254 @@
+package domain.game;
+
+import domain.exceptions.POOBkemonException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * GameActor runs every command of one game, one at a time, in the order they were sent.
+ * Commands come from the UI, from timeouts and from AI decisions; they are queued in a
+ * mailbox and drained by a thread borrowed from a pool shared by all games, so a game
+ * costs no thread of its own while idle and no locks are needed around the game state.
+ * A command sent from inside another command of the same actor runs immediately.
+ */
+
+public final class GameActor {
+    private static final int MAX_COMMANDS_PER_DRAIN = 64;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ScheduledExecutorService pool = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "game-actor-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile Thread owner;
+    private volatile boolean stopped;
+    private volatile Consumer<RuntimeException> errorHandler;
+
+    /**
+     * A command that produces a result and may fail with a game exception.
+     * @param <T> The result type
+     */
+
+    @FunctionalInterface
+    public interface Command<T> {
+        T execute() throws POOBkemonException;
+    }
+
+    /*
+     * A queued call: runs the command and hands its result or failure to the waiting caller.
+     */
+
+    private static final class Call<T> implements Runnable {
+        private final Command<T> command;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Call(Command<T> command) {
+            this.command = command;
+        }
+
+        @Override
+        public void run() {
+            try {
+                result.complete(command.execute());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    /**
+     * Queues a command without waiting for it.
+     * @param command The command to run on the actor
+     */
+
+    public void tell(Runnable command) {
+        if (stopped) {
+            reject(command);
+            return;
+        }
+        mailbox.add(command);
+        if (stopped) {
+            dropMailbox();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Runs a command on the actor and waits for its result. When called from the actor's
+     * own thread, the command runs immediately instead of being queued.
+     *
+     * @param command The command to run
+     * @param <T> The result type
+     * @return The result of the command
+     * @throws POOBkemonException If the command fails with a game exception, or the actor is stopped
+     */
+
+    public <T> T call(Command<T> command) throws POOBkemonException {
+        if (isOwnerThread()) {
+            return command.execute();
+        }
+        if (stopped) {
+            throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
+        }
+        Call<T> call = new Call<>(command);
+        tell(call);
+        try {
+            return call.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof POOBkemonException) {
+                throw (POOBkemonException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Queues a command after a delay.
+     *
+     * @param command The command to run on the actor
+     * @param delay The delay
+     * @param unit The unit of the delay
+     * @return A handle that cancels the command if it has not been queued yet
+     */
+
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return pool.schedule(() -> tell(command), delay, unit);
+    }
+
+    /**
+     * Queues a command periodically.
+     *
+     * @param command The command to run on the actor
+     * @param initialDelay The delay before the first run
+     * @param period The period between runs
+     * @param unit The unit of the delay and period
+     * @return A handle that stops the repetition
+     */
+
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return pool.scheduleAtFixedRate(() -> tell(command), initialDelay, period, unit);
+    }
+
+    /**
+     * Sets what happens when a queued command throws. The handler runs on the actor thread;
+     * without one, the exception is printed. Either way the actor keeps running.
+     *
+     * @param errorHandler The handler
+     */
+
+    public void setErrorHandler(Consumer<RuntimeException> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Checks whether the calling thread is currently running this actor's commands.
+     * @return true if called from inside a command
+     */
+
+    public boolean isOwnerThread() {
+        return owner == Thread.currentThread();
+    }
+
+    /**
+     * Stops the actor. Queued commands are dropped and new ones are ignored; callers waiting
+     * on a dropped call get INVALID_GAME_STATE instead of waiting forever.
+     */
+
+    public void stop() {
+        stopped = true;
+        dropMailbox();
+    }
+
+    private void dropMailbox() {
+        Runnable command;
+        while ((command = mailbox.poll()) != null) {
+            reject(command);
+        }
+    }
+
+    private static void reject(Runnable command) {
+        if (command instanceof Call) {
+            ((Call<?>) command).result.completeExceptionally(
+                    new POOBkemonException(POOBkemonException.INVALID_GAME_STATE));
+        }
+    }
+
+    /**
+     * Checks whether the actor was stopped.
+     * @return true if stopped
+     */
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    private void handleError(RuntimeException e) {
+        System.err.println("Game command failed: " + e);
+        e.printStackTrace();
+        Consumer<RuntimeException> handler = errorHandler;
+        if (handler != null) {
+            try {
+                handler.accept(e);
+            } catch (RuntimeException handlerFailure) {
+                handlerFailure.printStackTrace();
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            pool.execute(this::drain);
+        }
+    }
+
+    /*
+     * Runs queued commands on the current pool thread. After a batch the thread is given back,
+     * so a busy game cannot starve the others; the rest of the mailbox is drained in a new task.
+     */
+
+    private void drain() {
+        owner = Thread.currentThread();
+        try {
+            Runnable command;
+            int processed = 0;
+            while (processed < MAX_COMMANDS_PER_DRAIN && !stopped && (command = mailbox.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    handleError(e);
+                }
+                processed++;
+            }
+        } finally {
+            owner = null;
+            draining.set(false);
+            if (!mailbox.isEmpty() && !stopped) {
+                scheduleDrain();
+            }
+        }
+    }
+}
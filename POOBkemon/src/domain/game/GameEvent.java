@@ -0,0 +1,66 @@
+package domain.game;
+
+/**
+ * A change in the battle that the UI should reflect.
+ * Events are published by Game on its actor and delivered in batches by the GameEventBus.
+ */
+
+public final class GameEvent {
+
+    /**
+     * The kind of change.
+     */
+
+    public enum Type {
+        HP_CHANGED, PP_CHANGED, TURN_CHANGED, TIMER_TICK, FAINTED, GAME_OVER;
+
+        /**
+         * Checks whether only the latest event of this type per subject matters.
+         * @return true if older events with the same subject can be dropped
+         */
+
+        public boolean isCoalesced() {
+            return this != FAINTED && this != GAME_OVER;
+        }
+    }
+
+    private final Type type;
+    private final Object subject;
+    private final int value;
+
+    /**
+     * Creates an event.
+     *
+     * @param type The kind of change
+     * @param subject What changed: a Pokemon, a Move or a Player, or null for the turn timer
+     * @param value The new value (health, power points or seconds remaining), or 0
+     */
+
+    public GameEvent(Type type, Object subject, int value) {
+        this.type = type;
+        this.subject = subject;
+        this.value = value;
+    }
+
+    public Type getType() { return type; }
+
+    public Object getSubject() { return subject; }
+
+    public int getValue() { return value; }
+
+    /**
+     * Checks whether this event replaces the given older one.
+     *
+     * @param older An event published earlier
+     * @return true if both have the same coalesced type and the same subject
+     */
+
+    public boolean supersedes(GameEvent older) {
+        return type.isCoalesced() && type == older.type && subject == older.subject;
+    }
+
+    @Override
+    public String toString() {
+        return type + "(" + subject + ", " + value + ")";
+    }
+}
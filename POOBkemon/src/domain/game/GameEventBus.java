@@ -0,0 +1,127 @@
+package domain.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GameEventBus carries game events from the domain to the UI.
+ * Publishing only appends to a lock-free queue. Once per frame the game loop calls flush(),
+ * which hands everything published since the last frame to the dispatcher as one task;
+ * repeated updates of the same value are coalesced so listeners only see the latest one.
+ * At most one dispatch is in flight, so a slow UI thread receives bigger batches rather
+ * than more tasks. The dispatcher defaults to the calling thread, which keeps the domain
+ * usable and testable without Swing; the battle screen installs the EDT.
+ */
+
+public class GameEventBus {
+    private final Queue<GameEvent> pending = new ConcurrentLinkedQueue<>();
+    private final List<GameEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private volatile Executor dispatcher = Runnable::run;
+
+    /**
+     * Publishes an event. Events are dropped while nobody is listening.
+     * @param event The event
+     */
+
+    public void publish(GameEvent event) {
+        if (!listeners.isEmpty()) {
+            pending.add(event);
+        }
+    }
+
+    /**
+     * Publishes an event built from its parts.
+     *
+     * @param type The kind of change
+     * @param subject What changed
+     * @param value The new value
+     */
+
+    public void publish(GameEvent.Type type, Object subject, int value) {
+        if (!listeners.isEmpty()) {
+            pending.add(new GameEvent(type, subject, value));
+        }
+    }
+
+    /**
+     * Adds a listener.
+     * @param listener The listener
+     */
+
+    public void subscribe(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener The listener
+     */
+
+    public void unsubscribe(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the executor batches are delivered on, for example SwingUtilities::invokeLater.
+     * @param dispatcher The executor
+     */
+
+    public void setDispatcher(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Delivers the events published since the last flush as one batch.
+     * Does nothing if there are none or if the previous batch has not been delivered yet.
+     */
+
+    public void flush() {
+        if (pending.isEmpty() || !dispatchScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        dispatcher.execute(this::dispatch);
+    }
+
+    /**
+     * Removes and returns the pending events, coalesced.
+     * @return The events in publication order, keeping only the latest of each coalesced type and subject
+     */
+
+    public List<GameEvent> drain() {
+        List<GameEvent> batch = new ArrayList<>();
+        GameEvent event;
+        while ((event = pending.poll()) != null) {
+            int replaced = -1;
+            for (int i = 0; i < batch.size(); i++) {
+                if (event.supersedes(batch.get(i))) {
+                    replaced = i;
+                    break;
+                }
+            }
+            if (replaced >= 0) {
+                batch.set(replaced, event);
+            } else {
+                batch.add(event);
+            }
+        }
+        return batch;
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        List<GameEvent> batch = Collections.unmodifiableList(drain());
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (GameEventListener listener : listeners) {
+            listener.onEvents(batch);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package domain.game;
+
+import java.util.List;
+
+/**
+ * Receives the game events of one frame in a single batch.
+ */
+
+@FunctionalInterface
+public interface GameEventListener {
+
+    /**
+     * Called once per flushed frame with the coalesced events, in publication order.
+     *
+     * @param events The events of the batch, never empty
+     */
+
+    void onEvents(List<GameEvent> events);
+}
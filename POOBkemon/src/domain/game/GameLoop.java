@@ -1,22 +1,29 @@
 package domain.game;
 
+import domain.metrics.FrameRenderEvent;
 
 /**
  * GameLoop class that manages the game loop for a game.
  * It handles the timing for updates and rendering, as well as pausing and resuming the game.
- * The loop runs at a target frame rate of 30 FPS.
+ * The loop runs at a target frame rate of 30 FPS by default, which can be raised with
+ * -Dpoobkemon.fps=N (useful together with the active rendering mode of the battle screen).
  */
 
 public class GameLoop implements Runnable {
     private final Game game;
     private boolean running;
-    private static final int TARGET_FPS = 30;
+    private static final int DEFAULT_FPS = 30;
+    private static final int TARGET_FPS = Math.max(1, Integer.getInteger("poobkemon.fps", DEFAULT_FPS));
     private static final long OPTIMAL_TIME = 1000000000 / TARGET_FPS;
     private boolean paused;
     private Thread gameThread;
     private int fps;
     private long lastFpsTime;
     private int frameCount;
+    private long renderedFrames;
+    private final FrameTimeHistogram updateTimes = new FrameTimeHistogram("update");
+    private final FrameTimeHistogram renderTimes = new FrameTimeHistogram("render");
+    private final FrameTimeHistogram frameIntervals = new FrameTimeHistogram("frame-interval");
 
   /*     * Constructor for the GameLoop class.
      * Initializes the game loop with the given game instance.
@@ -77,6 +84,43 @@ public class GameLoop implements Runnable {
         paused = false;
     }
 
+    /**
+     * Gets the histogram of time spent in Game.update per tick.
+     * @return The update time histogram
+     */
+
+    public FrameTimeHistogram getUpdateTimes() {
+        return updateTimes;
+    }
+
+    /**
+     * Gets the histogram of time spent in Game.render per frame.
+     * @return The render time histogram
+     */
+
+    public FrameTimeHistogram getRenderTimes() {
+        return renderTimes;
+    }
+
+    /**
+     * Gets the histogram of the time between the start of consecutive frames.
+     * Stutters show up here as values well above the frame budget.
+     * @return The frame interval histogram
+     */
+
+    public FrameTimeHistogram getFrameIntervals() {
+        return frameIntervals;
+    }
+
+    /**
+     * Gets the frame budget, in nanoseconds, for the target frame rate.
+     * @return The frame budget
+     */
+
+    public static long getFrameBudgetNanos() {
+        return OPTIMAL_TIME;
+    }
+
     /*  
      * Runs the game loop.
      */
@@ -86,6 +130,7 @@ public class GameLoop implements Runnable {
         long lastUpdateTime = System.nanoTime();
         double unprocessedTime = 0;
         double unprocessedRenderTime = 0;
+        long lastRenderTime = 0;
 
         while (running) {
             if (!paused) {
@@ -98,12 +143,29 @@ public class GameLoop implements Runnable {
 
 
                 while (unprocessedTime >= OPTIMAL_TIME) {
+                    long updateStart = System.nanoTime();
                     game.update();
+                    updateTimes.record(System.nanoTime() - updateStart);
                     unprocessedTime -= OPTIMAL_TIME;
                 }
 
                 if (unprocessedRenderTime >= OPTIMAL_TIME) {
+                    FrameRenderEvent renderEvent = new FrameRenderEvent();
+                    renderEvent.begin();
+                    long renderStart = System.nanoTime();
                     game.render();
+                    long renderEnd = System.nanoTime();
+                    renderEvent.end();
+                    renderedFrames++;
+                    if (renderEvent.shouldCommit()) {
+                        renderEvent.frame = renderedFrames;
+                        renderEvent.commit();
+                    }
+                    renderTimes.record(renderEnd - renderStart);
+                    if (lastRenderTime != 0) {
+                        frameIntervals.record(renderStart - lastRenderTime);
+                    }
+                    lastRenderTime = renderStart;
                     unprocessedRenderTime = 0;
                     
                     frameCount++;
@@ -122,6 +184,7 @@ public class GameLoop implements Runnable {
                     break;
                 }
             } else {
+                lastRenderTime = 0;
                 try {
                     Thread.sleep(100);
                 } catch (InterruptedException e) {
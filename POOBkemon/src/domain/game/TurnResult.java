@@ -0,0 +1,85 @@
+package domain.game;
+
+/**
+ * Immutable outcome of one battle action, returned to the UI by Game.
+ * It only holds values copied when the action ran, so it can be read from any thread.
+ */
+
+public final class TurnResult {
+
+    /**
+     * The kind of action that ended the turn.
+     */
+
+    public enum Action {
+        MOVE, ITEM, SWITCH, SACRIFICE
+    }
+
+    private final Action action;
+    private final String playerName;
+    private final String detail;
+    private final int targetHealthBefore;
+    private final int targetHealthAfter;
+    private final boolean targetFainted;
+    private final boolean gameOver;
+    private final String winnerName;
+    private final String nextPlayerName;
+
+    /**
+     * Creates a turn result.
+     *
+     * @param action The action taken
+     * @param playerName The name of the player who acted
+     * @param detail The move, item or Pokemon involved
+     * @param targetHealthBefore Health of the affected Pokemon before the action
+     * @param targetHealthAfter Health of the affected Pokemon after the action
+     * @param targetFainted Whether the affected Pokemon fainted
+     * @param gameOver Whether the action ended the game
+     * @param winnerName The winner's name, or null
+     * @param nextPlayerName The name of the player whose turn comes next
+     */
+
+    public TurnResult(Action action, String playerName, String detail, int targetHealthBefore, int targetHealthAfter,
+                      boolean targetFainted, boolean gameOver, String winnerName, String nextPlayerName) {
+        this.action = action;
+        this.playerName = playerName;
+        this.detail = detail;
+        this.targetHealthBefore = targetHealthBefore;
+        this.targetHealthAfter = targetHealthAfter;
+        this.targetFainted = targetFainted;
+        this.gameOver = gameOver;
+        this.winnerName = winnerName;
+        this.nextPlayerName = nextPlayerName;
+    }
+
+    public Action getAction() { return action; }
+
+    public String getPlayerName() { return playerName; }
+
+    public String getDetail() { return detail; }
+
+    public int getTargetHealthBefore() { return targetHealthBefore; }
+
+    public int getTargetHealthAfter() { return targetHealthAfter; }
+
+    /**
+     * Gets the health lost (positive) or gained (negative) by the affected Pokemon.
+     * @return The health difference
+     */
+
+    public int getDamage() { return targetHealthBefore - targetHealthAfter; }
+
+    public boolean isTargetFainted() { return targetFainted; }
+
+    public boolean isGameOver() { return gameOver; }
+
+    public String getWinnerName() { return winnerName; }
+
+    public String getNextPlayerName() { return nextPlayerName; }
+
+    @Override
+    public String toString() {
+        return playerName + " " + action + " " + detail + " (" + targetHealthBefore + " -> " + targetHealthAfter + ")"
+                + (gameOver ? ", winner: " + winnerName : ", next: " + nextPlayerName);
+    }
+}
@@ -0,0 +1,35 @@
+package domain.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one AI decision. Its duration is the time spent choosing.
+ */
+
+@Name("poobkemon.AIDecision")
+@Label("AI Decision")
+@Category({"POOBkemon", "AI"})
+@Description("Time an AI player spent choosing its action")
+@StackTrace(false)
+public class AIDecisionEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Machine Type")
+    public String machineType;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Candidates")
+    @Description("Moves and switch targets the strategy could choose from")
+    public int candidates;
+
+    @Label("Decision")
+    public String decision;
+}
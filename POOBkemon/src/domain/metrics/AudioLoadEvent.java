@@ -0,0 +1,28 @@
+package domain.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for decoding a sound effect or opening a music track.
+ */
+
+@Name("poobkemon.AudioLoad")
+@Label("Audio Load")
+@Category({"POOBkemon", "Assets"})
+@Description("A sound effect decoded or a music track opened for streaming")
+@StackTrace(false)
+public class AudioLoadEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,66 @@
+package domain.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count of events. Increments go to a striped LongAdder,
+ * so many threads can count without contending on a single cache line.
+ * Metrics samples every counter once per second to derive its rate.
+ */
+
+public class Counter implements CounterMBean {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    private long lastSampleCount;
+    private long lastSampleNanos = System.nanoTime();
+    private volatile double ratePerSecond;
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts one event.
+     */
+
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Counts several events.
+     * @param events The number of events
+     */
+
+    public void add(long events) {
+        count.add(events);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /*
+     * Updates the rate from the count since the previous sample. Called by one thread only.
+     */
+
+    void sample(long now) {
+        long current = count.sum();
+        long elapsed = now - lastSampleNanos;
+        if (elapsed > 0) {
+            ratePerSecond = (current - lastSampleCount) * 1_000_000_000.0 / elapsed;
+        }
+        lastSampleCount = current;
+        lastSampleNanos = now;
+    }
+}
@@ -0,0 +1,22 @@
+package domain.metrics;
+
+/**
+ * JMX view of a Counter.
+ */
+
+public interface CounterMBean {
+
+    /**
+     * Gets the total count.
+     * @return The number of events counted so far
+     */
+
+    long getCount();
+
+    /**
+     * Gets the rate over the last completed sampling interval.
+     * @return Events per second
+     */
+
+    double getRatePerSecond();
+}
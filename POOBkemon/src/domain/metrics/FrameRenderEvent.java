@@ -0,0 +1,22 @@
+package domain.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one rendered frame. The bundled profile only keeps slow frames.
+ */
+
+@Name("poobkemon.FrameRender")
+@Label("Frame Render")
+@Category({"POOBkemon", "Rendering"})
+@Description("One call to Game.render from the game loop")
+@StackTrace(false)
+public class FrameRenderEvent extends Event {
+    @Label("Frame")
+    public long frame;
+}
@@ -0,0 +1,33 @@
+package domain.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for saving or loading a game file.
+ */
+
+@Name("poobkemon.GameFile")
+@Label("Game Save/Load")
+@Category({"POOBkemon", "I/O"})
+@Description("A game written to or read from disk")
+@StackTrace(false)
+public class GameFileEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,26 @@
+package domain.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * A value read on demand, such as a cache hit rate or a queue length.
+ */
+
+public class Gauge implements GaugeMBean {
+    private final String name;
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, DoubleSupplier supplier) {
+        this.name = name;
+        this.supplier = supplier;
+    }
+
+    @Override
+    public double getValue() {
+        return supplier.getAsDouble();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,15 @@
+package domain.metrics;
+
+/**
+ * JMX view of a Gauge.
+ */
+
+public interface GaugeMBean {
+
+    /**
+     * Gets the current value.
+     * @return The value
+     */
+
+    double getValue();
+}
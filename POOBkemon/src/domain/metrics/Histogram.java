@@ -0,0 +1,120 @@
+package domain.metrics;
+
+import domain.game.FrameTimeHistogram;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A distribution of recorded values, backed by a FrameTimeHistogram.
+ * Durations are recorded in nanoseconds; other histograms (such as sizes) record plain values.
+ */
+
+public class Histogram implements HistogramMBean {
+
+    /**
+     * What the recorded values measure.
+     */
+
+    public enum Unit {
+        NANOSECONDS, BYTES
+    }
+
+    private final String name;
+    private final Unit unit;
+    private final FrameTimeHistogram histogram;
+
+    Histogram(String name, Unit unit, FrameTimeHistogram histogram) {
+        this.name = name;
+        this.unit = unit;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Records a value.
+     * @param value The value, in this histogram's unit
+     */
+
+    public void record(long value) {
+        histogram.record(value);
+    }
+
+    /**
+     * Records the time elapsed since a start time taken with System.nanoTime().
+     * @param startNanos The start time
+     */
+
+    public void recordSince(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Runs an action and records how long it took.
+     *
+     * @param action The action
+     * @param <T> The result type
+     * @return The result of the action
+     */
+
+    public <T> T time(Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recordSince(start);
+        }
+    }
+
+    /**
+     * Gets the underlying histogram, for example to draw it.
+     * @return The histogram
+     */
+
+    public FrameTimeHistogram getHistogram() {
+        return histogram;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getUnit() {
+        return unit.name().toLowerCase();
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMean() {
+        return histogram.getMean();
+    }
+
+    @Override
+    public long get50thPercentile() {
+        return histogram.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long get99thPercentile() {
+        return histogram.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getMax() {
+        return histogram.getMax();
+    }
+
+    /*
+     * Formats a value for the text dump: durations in milliseconds, sizes in bytes.
+     */
+
+    String format(double value) {
+        if (unit == Unit.NANOSECONDS) {
+            return String.format("%.3fms", value / TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return String.format("%.0fB", value);
+    }
+}
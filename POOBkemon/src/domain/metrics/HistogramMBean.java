@@ -0,0 +1,20 @@
+package domain.metrics;
+
+/**
+ * JMX view of a Histogram. Values are in the unit given by getUnit().
+ */
+
+public interface HistogramMBean {
+
+    String getUnit();
+
+    long getCount();
+
+    double getMean();
+
+    long get50thPercentile();
+
+    long get99thPercentile();
+
+    long getMax();
+}
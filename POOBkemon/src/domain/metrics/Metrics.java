@@ -0,0 +1,177 @@
+package domain.metrics;
+
+import domain.game.FrameTimeHistogram;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics is the process-wide registry of counters, gauges and histograms.
+ * Metrics are created by name on first use and shared afterwards, so the code that counts
+ * keeps a reference in a static field and the hot path is a single LongAdder or histogram
+ * update. Once registerMBeans() is called, every metric (existing and future) is also
+ * published as a JMX MBean under "poobkemon:type=&lt;kind&gt;,name=&lt;name&gt;", and
+ * startReporting() writes a text dump of all metrics to a file at a fixed period.
+ */
+
+public class Metrics {
+    private static final String DOMAIN = "poobkemon";
+
+    private static final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private static final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile MBeanServer mbeanServer;
+
+    static {
+        sampler.scheduleAtFixedRate(Metrics::sampleRates, 1, 1, TimeUnit.SECONDS);
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Gets the counter with the given name, creating it on first use.
+     * @param name The metric name, for example "battles.started"
+     * @return The counter
+     */
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> register("Counter", key, new Counter(key)));
+    }
+
+    /**
+     * Registers a gauge read from the given supplier. A gauge registered twice keeps the first supplier.
+     *
+     * @param name The metric name
+     * @param supplier Supplies the current value
+     * @return The gauge
+     */
+
+    public static Gauge gauge(String name, DoubleSupplier supplier) {
+        return gauges.computeIfAbsent(name, key -> register("Gauge", key, new Gauge(key, supplier)));
+    }
+
+    /**
+     * Gets the latency histogram with the given name, creating it on first use.
+     * @param name The metric name
+     * @return The histogram, recording nanoseconds
+     */
+
+    public static Histogram timer(String name) {
+        return histogram(name, Histogram.Unit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the histogram with the given name, creating it on first use.
+     *
+     * @param name The metric name
+     * @param unit What the recorded values measure
+     * @return The histogram
+     */
+
+    public static Histogram histogram(String name, Histogram.Unit unit) {
+        return histograms.computeIfAbsent(name,
+                key -> register("Histogram", key, new Histogram(key, unit, new FrameTimeHistogram(key))));
+    }
+
+    /**
+     * Publishes every metric as a JMX MBean on the platform MBean server,
+     * including metrics created later.
+     */
+
+    public static synchronized void registerMBeans() {
+        if (mbeanServer != null) {
+            return;
+        }
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        counters.forEach((name, counter) -> register("Counter", name, counter));
+        gauges.forEach((name, gauge) -> register("Gauge", name, gauge));
+        histograms.forEach((name, histogram) -> register("Histogram", name, histogram));
+    }
+
+    /**
+     * Writes all metrics to a file at a fixed period, replacing the previous dump.
+     *
+     * @param file The file to write
+     * @param periodSeconds The period in seconds
+     */
+
+    public static void startReporting(File file, long periodSeconds) {
+        sampler.scheduleAtFixedRate(() -> dump(file), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes a text dump of all metrics, one per line, sorted by kind and name.
+     * @param out The writer
+     */
+
+    public static void writeTo(PrintWriter out) {
+        out.println("# metrics " + LocalDateTime.now());
+        for (Counter counter : counters.values()) {
+            out.printf("counter %s count=%d rate=%.2f/s%n", counter.getName(), counter.getCount(),
+                    counter.getRatePerSecond());
+        }
+        for (Gauge gauge : gauges.values()) {
+            out.printf("gauge %s value=%.4f%n", gauge.getName(), gauge.getValue());
+        }
+        for (Histogram histogram : histograms.values()) {
+            out.printf("histogram %s count=%d mean=%s p50=%s p99=%s max=%s%n", histogram.getName(),
+                    histogram.getCount(), histogram.format(histogram.getMean()),
+                    histogram.format(histogram.get50thPercentile()), histogram.format(histogram.get99thPercentile()),
+                    histogram.format(histogram.getMax()));
+        }
+        out.flush();
+    }
+
+    private static void dump(File file) {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            return;
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            writeTo(out);
+        } catch (IOException e) {
+            System.err.println("Could not write metrics: " + e.getMessage());
+        }
+    }
+
+    private static void sampleRates() {
+        long now = System.nanoTime();
+        for (Counter counter : counters.values()) {
+            counter.sample(now);
+        }
+    }
+
+    private static <T> T register(String type, String name, T metric) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return metric;
+        }
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(metric, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register metric " + name + ": " + e.getMessage());
+        }
+        return metric;
+    }
+}
@@ -0,0 +1,31 @@
+package domain.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for fetching a scaled Pokemon sprite for the battle screen.
+ */
+
+@Name("poobkemon.SpriteDecode")
+@Label("Sprite Decode")
+@Category({"POOBkemon", "Assets"})
+@Description("A sprite fetched from the atlas and scaled for display")
+@StackTrace(false)
+public class SpriteDecodeEvent extends Event {
+    @Label("Sprite")
+    public String sprite;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Found")
+    public boolean found;
+}
@@ -0,0 +1,40 @@
+package domain.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one executed move: who attacked with what, and what it did.
+ */
+
+@Name("poobkemon.Turn")
+@Label("Turn")
+@Category({"POOBkemon", "Battle"})
+@Description("A move executed by Game")
+@StackTrace(false)
+public class TurnEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Attacker")
+    public String attacker;
+
+    @Label("Defender")
+    public String defender;
+
+    @Label("Move")
+    public String move;
+
+    @Label("Damage")
+    public int damage;
+
+    @Label("Type Effectiveness")
+    public double effectiveness;
+
+    @Label("Defender Fainted")
+    public boolean defenderFainted;
+}
@@ -90,4 +90,34 @@ public class MoveRegistry {
                 .filter(move -> move.getType() == type)
                 .toList();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Retrieves a new copy of a registered move, with full PP.
+     * @param name The name of the move.
+     * @return A new move, or null if no move has that name.
+     */
+
+    public static Move createMove(String name) {
+        for (Move move : moves) {
+            if (move.getName().equalsIgnoreCase(name)) {
+                return copyOf(move);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies a move with full PP, so PP spent by one Pokemon is not spent by another.
+     * @param move The move to copy.
+     * @return A new move with the same attributes.
+     */
+
+    public static Move copyOf(Move move) {
+        if (move instanceof StatusMove) {
+            return new StatusMove(move.getName(), move.getPower(), move.getType(), move.getAccuracy(),
+                    move.getMaxPowerPoints());
+        }
+        return new BasicMove(move.getName(), move.getPower(), move.getCategory(), move.getType(), move.getAccuracy(),
+                move.getMaxPowerPoints(), move.getPriority());
+    }
+}
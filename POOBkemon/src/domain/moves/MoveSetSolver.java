@@ -0,0 +1,463 @@
+package domain.moves;
+
+import domain.enums.MoveCategory;
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * MoveSetSolver ranks the 4-move sets of every species. A species' legal pool is the same as
+ * in Pokemon.assignRandomMoves: the moves of its types plus NORMAL moves. Each set is scored
+ * with the damage model (Pokemon.estimateDamage) against every species of the metagame:
+ * using its strongest moves first, for as long as their PP lasts, how quickly does it knock
+ * the opponent out? Most sets share the same strongest move, so the rest of the set is scored
+ * as backup: the same question again without the strongest move against that opponent, then
+ * without the two strongest, each worth BACKUP_WEIGHT of the one before. Sets that still tie
+ * are ranked by how many damaging moves they hold. Moves beaten on damage against every
+ * opponent and on PP by four other moves can never be needed and are pruned before the
+ * combinations are enumerated.
+ *
+ * The ranking is computed once and cached in CACHE_FILE, keyed by a fingerprint of the
+ * species and moves, so later runs load it instead of solving again.
+ */
+
+public final class MoveSetSolver {
+    public static final int SET_SIZE = 4;
+    public static final int RANKED_SETS = 10;
+    public static final Path CACHE_FILE = Path.of(System.getProperty("poobkemon.moveSetCache",
+            System.getProperty("user.home") + "/.poobkemon/cache/movesets.bin"));
+
+    private static final int MAGIC = 0x4D4F5645;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HORIZON_TURNS = 8;
+    private static final double BACKUP_WEIGHT = 0.125;
+    private static final int PICK_FROM_TOP = 3;
+
+    private static volatile Map<PokemonData, List<RankedMoveSet>> rankings;
+
+    private MoveSetSolver() {
+    }
+
+    /**
+     * A move set and its score: the average, over the metagame, of one over the turns
+     * needed to knock the opponent out (partial knock-outs count in proportion), plus the
+     * backup scores of the weaker moves.
+     */
+
+    public static final class RankedMoveSet {
+        private final List<String> moveNames;
+        private final double score;
+
+        private RankedMoveSet(List<String> moveNames, double score) {
+            this.moveNames = List.copyOf(moveNames);
+            this.score = score;
+        }
+
+        public List<String> getMoveNames() { return moveNames; }
+
+        public double getScore() { return score; }
+
+        /**
+         * Creates new moves for this set, with full PP.
+         * @return The moves
+         */
+
+        public List<Move> createMoves() {
+            List<Move> moves = new ArrayList<>();
+            for (String name : moveNames) {
+                Move move = MoveRegistry.createMove(name);
+                if (move != null) {
+                    moves.add(move);
+                }
+            }
+            return moves;
+        }
+
+        @Override
+        public String toString() {
+            return String.join("/", moveNames) + String.format(" (%.3f)", score);
+        }
+    }
+
+    /**
+     * Gets the best move sets of a species, best first.
+     * @param species The species
+     * @return Up to RANKED_SETS sets
+     */
+
+    public static List<RankedMoveSet> getRankedSets(PokemonData species) {
+        return rankings().getOrDefault(species, List.of());
+    }
+
+    /**
+     * Creates the moves of the best set of a species.
+     * @param species The species
+     * @return New moves with full PP
+     */
+
+    public static List<Move> bestMoves(PokemonData species) {
+        List<RankedMoveSet> sets = getRankedSets(species);
+        return sets.isEmpty() ? new ArrayList<>() : sets.get(0).createMoves();
+    }
+
+    /**
+     * Creates the moves of one of the top sets of a species, for variety in random teams.
+     * @param species The species
+     * @param random The source of randomness
+     * @return New moves with full PP
+     */
+
+    public static List<Move> pickMoves(PokemonData species, Random random) {
+        List<RankedMoveSet> sets = getRankedSets(species);
+        if (sets.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return sets.get(random.nextInt(Math.min(PICK_FROM_TOP, sets.size()))).createMoves();
+    }
+
+    private static Map<PokemonData, List<RankedMoveSet>> rankings() {
+        Map<PokemonData, List<RankedMoveSet>> loaded = rankings;
+        if (loaded == null) {
+            synchronized (MoveSetSolver.class) {
+                if (rankings == null) {
+                    rankings = loadOrSolve();
+                }
+                loaded = rankings;
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<PokemonData, List<RankedMoveSet>> loadOrSolve() {
+        long fingerprint = fingerprint();
+        try {
+            Map<PokemonData, List<RankedMoveSet>> cached = read(CACHE_FILE, fingerprint);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (IOException e) {
+            System.err.println("Ignoring move set cache: " + e.getMessage());
+        }
+        Map<PokemonData, List<RankedMoveSet>> solved = solveAll(List.of(PokemonData.values()));
+        try {
+            write(CACHE_FILE, fingerprint, solved);
+        } catch (IOException e) {
+            System.err.println("Could not write move set cache: " + e.getMessage());
+        }
+        return solved;
+    }
+
+    /**
+     * Ranks the move sets of every species against a metagame, one species per core.
+     * @param metagame The opponent species
+     * @return The best sets of each species
+     */
+
+    public static Map<PokemonData, List<RankedMoveSet>> solveAll(List<PokemonData> metagame) {
+        Map<PokemonData, List<RankedMoveSet>> solved = Collections.synchronizedMap(new EnumMap<>(PokemonData.class));
+        Arrays.stream(PokemonData.values()).parallel().forEach(species -> solved.put(species, solve(species, metagame)));
+        return Collections.unmodifiableMap(new EnumMap<>(solved));
+    }
+
+    /**
+     * Ranks the move sets of one species against a metagame.
+     *
+     * @param species The species
+     * @param metagame The opponent species
+     * @return Up to RANKED_SETS sets, best first
+     */
+
+    public static List<RankedMoveSet> solve(PokemonData species, List<PokemonData> metagame) {
+        List<Move> pool = legalPool(species);
+        Pokemon attacker = new ConcretePokemon(species);
+        int[][] damage = new int[pool.size()][metagame.size()];
+        int[] health = new int[metagame.size()];
+        for (int o = 0; o < metagame.size(); o++) {
+            Pokemon defender = new ConcretePokemon(metagame.get(o));
+            health[o] = defender.getMaxHealth();
+            for (int m = 0; m < pool.size(); m++) {
+                damage[m][o] = attacker.estimateDamage(pool.get(m), defender);
+            }
+        }
+        int[] candidates = prune(pool, damage);
+        int size = Math.min(SET_SIZE, candidates.length);
+        List<RankedMoveSet> ranked = new ArrayList<>();
+        int[] combination = new int[size];
+        for (int i = 0; i < size; i++) {
+            combination[i] = i;
+        }
+        while (size > 0) {
+            int[] set = new int[size];
+            for (int i = 0; i < size; i++) {
+                set[i] = candidates[combination[i]];
+            }
+            double score = score(set, pool, damage, health);
+            List<String> names = new ArrayList<>();
+            for (int move : set) {
+                names.add(pool.get(move).getName());
+            }
+            RankedMoveSet candidate = new RankedMoveSet(names, score);
+            if (ranked.size() < RANKED_SETS || ranksAbove(candidate, ranked.get(ranked.size() - 1), pool)) {
+                insert(ranked, candidate, pool);
+            }
+            if (!nextCombination(combination, candidates.length)) {
+                break;
+            }
+        }
+        return List.copyOf(ranked);
+    }
+
+    private static List<Move> legalPool(PokemonData species) {
+        List<Move> pool = new ArrayList<>();
+        for (Move move : MoveRegistry.getMoves()) {
+            PokemonType type = move.getType();
+            if (type == species.getPrimaryType() || type == species.getSecondaryType() || type == PokemonType.NORMAL) {
+                pool.add(move);
+            }
+        }
+        return pool;
+    }
+
+    /*
+     * Drops every move that at least SET_SIZE other moves match or beat on damage against
+     * every opponent and on PP. Any set holding such a move can swap it for one of them
+     * without scoring less. Exact ties are broken by pool order.
+     */
+
+    private static int[] prune(List<Move> pool, int[][] damage) {
+        List<Integer> kept = new ArrayList<>();
+        for (int a = 0; a < pool.size(); a++) {
+            int dominators = 0;
+            for (int b = 0; b < pool.size() && dominators < SET_SIZE; b++) {
+                if (b != a && dominates(b, a, pool, damage)) {
+                    dominators++;
+                }
+            }
+            if (dominators < SET_SIZE) {
+                kept.add(a);
+            }
+        }
+        return kept.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean dominates(int b, int a, List<Move> pool, int[][] damage) {
+        int ppA = pool.get(a).getMaxPowerPoints();
+        int ppB = pool.get(b).getMaxPowerPoints();
+        if (ppB < ppA) {
+            return false;
+        }
+        boolean strictly = ppB > ppA;
+        for (int o = 0; o < damage[a].length; o++) {
+            if (damage[b][o] < damage[a][o]) {
+                return false;
+            }
+            strictly |= damage[b][o] > damage[a][o];
+        }
+        return strictly || b < a;
+    }
+
+    /*
+     * Against each opponent, sorts the set by damage and scores the knock-out with all of it,
+     * then with the moves after the strongest one, and so on, each backup weighted by
+     * BACKUP_WEIGHT of the one before.
+     */
+
+    private static double score(int[] set, List<Move> pool, int[][] damage, int[] health) {
+        double total = 0;
+        int[] order = new int[set.length];
+        for (int o = 0; o < health.length; o++) {
+            for (int i = 0; i < set.length; i++) {
+                order[i] = set[i];
+            }
+            for (int i = 1; i < order.length; i++) {
+                int move = order[i];
+                int j = i - 1;
+                while (j >= 0 && damage[order[j]][o] < damage[move][o]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = move;
+            }
+            double weight = 1;
+            for (int first = 0; first < order.length; first++) {
+                total += weight * knockOut(order, first, pool, damage, health[o], o);
+                weight *= BACKUP_WEIGHT;
+            }
+        }
+        return total / health.length;
+    }
+
+    /*
+     * Uses the moves from order[first] on, strongest first, until each one's PP runs out, for
+     * at most HORIZON_TURNS turns, and scores one over the turns needed for the knock-out.
+     */
+
+    private static double knockOut(int[] order, int first, List<Move> pool, int[][] damage, int health, int o) {
+        int dealt = 0;
+        int turns = 0;
+        for (int i = first; i < order.length && turns < HORIZON_TURNS && dealt < health; i++) {
+            int uses = Math.min(pool.get(order[i]).getMaxPowerPoints(), HORIZON_TURNS - turns);
+            int perUse = damage[order[i]][o];
+            int needed = (health - dealt + perUse - 1) / perUse;
+            int used = Math.min(uses, needed);
+            dealt += used * perUse;
+            turns += used;
+        }
+        return dealt >= health ? 1.0 / turns : (double) dealt / health / (HORIZON_TURNS + 1);
+    }
+
+    /*
+     * A higher score ranks above; on a tie, the set with more damaging moves does.
+     */
+
+    private static boolean ranksAbove(RankedMoveSet a, RankedMoveSet b, List<Move> pool) {
+        if (a.score != b.score) {
+            return a.score > b.score;
+        }
+        return damagingMoves(a, pool) > damagingMoves(b, pool);
+    }
+
+    private static int damagingMoves(RankedMoveSet set, List<Move> pool) {
+        int count = 0;
+        for (Move move : pool) {
+            if (set.moveNames.contains(move.getName()) && move.getCategory() != MoveCategory.STATUS
+                    && move.getPower() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void insert(List<RankedMoveSet> ranked, RankedMoveSet set, List<Move> pool) {
+        int index = 0;
+        while (index < ranked.size() && !ranksAbove(set, ranked.get(index), pool)) {
+            index++;
+        }
+        ranked.add(index, set);
+        if (ranked.size() > RANKED_SETS) {
+            ranked.remove(ranked.size() - 1);
+        }
+    }
+
+    private static boolean nextCombination(int[] combination, int n) {
+        int k = combination.length;
+        int i = k - 1;
+        while (i >= 0 && combination[i] == n - k + i) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        combination[i]++;
+        for (int j = i + 1; j < k; j++) {
+            combination[j] = combination[j - 1] + 1;
+        }
+        return true;
+    }
+
+    /*
+     * Changes whenever a species or a move changes, or the way sets are scored.
+     */
+
+    private static long fingerprint() {
+        long hash = FORMAT_VERSION * 31L + HORIZON_TURNS;
+        hash = hash * 31 + Double.hashCode(BACKUP_WEIGHT);
+        hash = hash * 31 + SET_SIZE;
+        hash = hash * 31 + RANKED_SETS;
+        for (PokemonData data : PokemonData.values()) {
+            hash = hash * 31 + data.getName().hashCode();
+            hash = hash * 31 + data.getHealth();
+            hash = hash * 31 + data.getAttack();
+            hash = hash * 31 + data.getDefense();
+            hash = hash * 31 + data.getSpecialAttack();
+            hash = hash * 31 + data.getSpecialDefense();
+            hash = hash * 31 + data.getPrimaryType().ordinal();
+            hash = hash * 31 + (data.getSecondaryType() == null ? -1 : data.getSecondaryType().ordinal());
+        }
+        for (Move move : MoveRegistry.getMoves()) {
+            hash = hash * 31 + move.getName().hashCode();
+            hash = hash * 31 + move.getPower();
+            hash = hash * 31 + move.getCategory().ordinal();
+            hash = hash * 31 + move.getType().ordinal();
+            hash = hash * 31 + move.getMaxPowerPoints();
+        }
+        return hash;
+    }
+
+    private static Map<PokemonData, List<RankedMoveSet>> read(Path file, long fingerprint) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != fingerprint) {
+                return null;
+            }
+            Map<PokemonData, List<RankedMoveSet>> cached = new EnumMap<>(PokemonData.class);
+            int speciesCount = in.readInt();
+            for (int s = 0; s < speciesCount; s++) {
+                PokemonData species = PokemonData.fromName(in.readUTF());
+                List<RankedMoveSet> sets = new ArrayList<>();
+                int setCount = in.readInt();
+                for (int i = 0; i < setCount; i++) {
+                    double score = in.readDouble();
+                    List<String> names = new ArrayList<>();
+                    int moveCount = in.readInt();
+                    for (int m = 0; m < moveCount; m++) {
+                        names.add(in.readUTF());
+                    }
+                    sets.add(new RankedMoveSet(names, score));
+                }
+                cached.put(species, List.copyOf(sets));
+            }
+            return Collections.unmodifiableMap(cached);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt move set cache", e);
+        }
+    }
+
+    /*
+     * Writes to a temporary file first, so a crash never leaves half a cache behind.
+     */
+
+    private static void write(Path file, long fingerprint, Map<PokemonData, List<RankedMoveSet>> rankings)
+            throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(rankings.size());
+            for (Map.Entry<PokemonData, List<RankedMoveSet>> entry : rankings.entrySet()) {
+                out.writeUTF(entry.getKey().getName());
+                out.writeInt(entry.getValue().size());
+                for (RankedMoveSet set : entry.getValue()) {
+                    out.writeDouble(set.score);
+                    out.writeInt(set.moveNames.size());
+                    for (String name : set.moveNames) {
+                        out.writeUTF(name);
+                    }
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
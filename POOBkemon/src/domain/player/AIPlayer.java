@@ -1,13 +1,20 @@
 package domain.player;
+import domain.game.FrameTimeHistogram;
 import domain.game.Game;
+import domain.metrics.AIDecisionEvent;
+import domain.metrics.Histogram;
+import domain.metrics.Metrics;
 import domain.pokemons.Pokemon;
 import domain.entities.Item;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import domain.enums.MachineType;
 import domain.player.ai.AIStrategy;
 import domain.player.ai.AIStrategyFactory;
+import domain.player.ai.BattleView;
+import domain.player.ai.LiveBattleView;
 import domain.exceptions.POOBkemonException;
-import java.util.Random;
 
 /*
  * AIPlayer class represents a player controlled by an AI.
@@ -15,7 +22,17 @@ import java.util.Random;
  */
 
 public class AIPlayer extends Player {
+    private static final FrameTimeHistogram decisionTimes = new FrameTimeHistogram("ai-decision");
+    private static final Map<MachineType, Histogram> decisionTimesByType = new EnumMap<>(MachineType.class);
+    private static final Histogram untypedDecisionTimes = Metrics.timer("ai.decision.unknown");
+
+    static {
+        for (MachineType type : MachineType.values()) {
+            decisionTimesByType.put(type, Metrics.timer("ai.decision." + type));
+        }
+    }
     private AIStrategy strategy;
+    private transient LiveBattleView view;
 
     public AIPlayer(String name, MachineType machineType, List<Pokemon> team, List<Item> items) {
         /*  
@@ -27,30 +44,51 @@ public class AIPlayer extends Player {
          */
         super(name, machineType, team, items);
         this.strategy = AIStrategyFactory.createStrategy(machineType);
-        Random random = new Random();
     }
 
     /*
      * selectMove method returns the index of the move to be executed by the AI player.
+     * When no move has PP left, the first move is used, which the Pokemon turns into Struggle.
+     * @param view The battle as seen by the AI player.
      * @return The index of the move to be executed.
      */
 
-    public int selectMove() {
-        Pokemon activePokemon = getActivePokemon();
+    public int selectMove(BattleView view) {
+        Pokemon activePokemon = view.getActivePokemon();
         if (activePokemon == null) return -1;
-        return strategy.selectMove(activePokemon);
+        if (activePokemon.allMovesOutOfPP()) return 0;
+        return strategy.selectMove(view);
     }
 
     /*
      * selectSwitch method returns the index of the Pokemon to switch to by the AI player.
-     * @return The index of the Pokemon to switch to.
+     * Choices that are not a valid switch (the active Pokemon, a fainted one) mean staying in.
+     * @param view The battle as seen by the AI player.
+     * @return The index of the Pokemon to switch to, or -1 to stay in.
      */
 
-    public int selectSwitch() {
+    public int selectSwitch(BattleView view) {
         List<Pokemon> team = getTeam();
-        if (team.size() <= 1) return -1;
-        int currentIndex = getTeam().indexOf(getActivePokemon());
-        return (currentIndex + 1) % team.size();
+        int index = strategy.selectSwitch(view);
+        if (index < 0 || index >= team.size() || index == activePokemonIndex || team.get(index).isFainted()) {
+            return -1;
+        }
+        return index;
+    }
+
+    /*
+     * getBattleView method refreshes the AI player's view of the game.
+     * @param game The game being played.
+     * @return The battle as seen by the AI player.
+     */
+
+    public BattleView getBattleView(Game game) {
+        Player opponent = game.getPlayer1() == this ? game.getPlayer2() : game.getPlayer1();
+        if (view == null) {
+            view = new LiveBattleView();
+        }
+        return view.update(getTeam(), activePokemonIndex, getItems(), opponent.getTeam(),
+                opponent.getActivePokemonIndex(), opponent.getItems(), game.getSecondsRemaining() * 1000L);
     }
 
     /*  
@@ -81,6 +119,15 @@ public class AIPlayer extends Player {
         return strategy;
     }
 
+    /*
+     * getDecisionTimes method returns the histogram of AI decision latencies (all AI players).
+     * @return The decision time histogram.
+     */
+
+    public static FrameTimeHistogram getDecisionTimes() {
+        return decisionTimes;
+    }
+
     /*
      * makeDecision method makes a decision for the AI player in the game.
      * @param game The game in which the decision is made.
@@ -90,8 +137,25 @@ public class AIPlayer extends Player {
         if (game == null) {
             throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
         }
-        int moveIndex = selectMove();
-        int switchIndex = selectSwitch();
+        AIDecisionEvent event = new AIDecisionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        BattleView battleView = getBattleView(game);
+        int switchIndex = selectSwitch(battleView);
+        int moveIndex = switchIndex == -1 ? selectMove(battleView) : -1;
+        long elapsed = System.nanoTime() - start;
+        event.end();
+        decisionTimes.record(elapsed);
+        decisionTimesByType.getOrDefault(machineType, untypedDecisionTimes).record(elapsed);
+        if (event.shouldCommit()) {
+            Pokemon active = getActivePokemon();
+            event.player = name;
+            event.machineType = String.valueOf(machineType);
+            event.strategy = strategy.getClass().getSimpleName();
+            event.candidates = (active != null ? active.getMoves().size() : 0) + getTeam().size() - 1;
+            event.decision = switchIndex != -1 ? "switch " + switchIndex : moveIndex != -1 ? "move " + moveIndex : "none";
+            event.commit();
+        }
         if (switchIndex != -1) {
             game.switchPokemon(switchIndex);
             return;
@@ -100,6 +100,13 @@ public abstract class Player implements Serializable {
         return team.get(activePokemonIndex);
     }
 
+    /**
+     * Gets the index of the active Pokemon in the player's team.
+     * @return The active Pokemon index
+     */
+
+    public int getActivePokemonIndex() { return activePokemonIndex; }
+
     /**
      * Switches to the next available (non-fainted) Pokemon in the team.
      * Cycles through the team until a non-fainted Pokemon is found.
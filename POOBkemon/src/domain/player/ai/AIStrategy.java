@@ -5,9 +5,34 @@ import domain.pokemons.Pokemon;
 
 /*
  * Interface for the AI trainer's strategy.
- * 
+ * AIPlayer and the battle simulator call the BattleView methods; by default they
+ * adapt the view to the original methods, which is what the existing strategies use.
+ * A strategy that needs the whole battle overrides the BattleView methods instead.
  */
+
 public interface AIStrategy {
     int selectMove(Pokemon activePokemon);
     int selectSwitch(Pokemon activePokemon, List<Pokemon> team,Pokemon opponentPokemon);
+
+    /**
+     * Selects a move with the whole battle in view.
+     *
+     * @param view The battle as seen by the AI player
+     * @return The index of the move to use
+     */
+
+    default int selectMove(BattleView view) {
+        return selectMove(view.getActivePokemon());
+    }
+
+    /**
+     * Selects a Pokemon to switch to with the whole battle in view.
+     *
+     * @param view The battle as seen by the AI player
+     * @return The index of the Pokemon to switch to, or -1 to stay
+     */
+
+    default int selectSwitch(BattleView view) {
+        return selectSwitch(view.getActivePokemon(), view.getTeam(), view.getOpponentActivePokemon());
+    }
 }
@@ -18,6 +18,7 @@ import domain.enums.MachineType;
             case attackingTrainer -> new AttackingStrategy();
             case changingTrainer -> new ChangingStrategy();
             case expertTrainer -> new ExpertStrategy();
+            case learnedTrainer -> PolicyTableStrategy.loadDefault();
         };
     }
 }
@@ -12,7 +12,30 @@ import domain.moves.Move;
 
 public class AttackingStrategy implements AIStrategy {
     private static final double HIGH_DAMAGE_THRESHOLD = 70.0; 
+    private static final double SWITCH_HEALTH_FRACTION = 0.3;
     private final Random random = new Random();
+    private final double highDamageThreshold;
+    private final double switchHealthFraction;
+
+    /**
+     * Creates the strategy with its default thresholds.
+     */
+
+    public AttackingStrategy() {
+        this(HIGH_DAMAGE_THRESHOLD, SWITCH_HEALTH_FRACTION);
+    }
+
+    /**
+     * Creates the strategy with custom thresholds, used to tune it in simulated battles.
+     *
+     * @param highDamageThreshold The minimum power of a move considered high-damage
+     * @param switchHealthFraction The fraction of max health below which the Pokemon is switched out
+     */
+
+    public AttackingStrategy(double highDamageThreshold, double switchHealthFraction) {
+        this.highDamageThreshold = highDamageThreshold;
+        this.switchHealthFraction = switchHealthFraction;
+    }
 
     /*
      * Selects a move based on the following criteria:
@@ -30,7 +53,7 @@ public class AttackingStrategy implements AIStrategy {
     
         for (int i = 0; i < moves.size(); i++) {
             Move move = moves.get(i);
-            if (move.getPower() >= HIGH_DAMAGE_THRESHOLD && move.getPowerPoints() > 0) {
+            if (move.getPower() >= highDamageThreshold && move.getPowerPoints() > 0) {
                 return i;
             }
         }
@@ -63,7 +86,7 @@ public class AttackingStrategy implements AIStrategy {
       @Override
     public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
         
-        if (activePokemon.getHealth() < activePokemon.getMaxHealth() * 0.3) {
+        if (activePokemon.getHealth() < activePokemon.getMaxHealth() * switchHealthFraction) {
             for (int i = 0; i < team.size(); i++) {
                 Pokemon pokemon = team.get(i);
                 if (pokemon != activePokemon && !pokemon.isFainted()) {
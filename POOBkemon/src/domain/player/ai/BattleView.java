@@ -0,0 +1,112 @@
+package domain.player.ai;
+
+import domain.entities.Item;
+import domain.pokemons.Pokemon;
+import java.util.List;
+
+/*
+ * Read-only view of a battle from one AI player's side, passed to AIStrategy.
+ * The view does not copy the battle: the lists are unmodifiable wrappers of the live
+ * teams and items, and the damage estimates are computed once per decision, so every
+ * lookup is constant time. Strategies must not change the Pokemon they are given.
+ */
+
+public interface BattleView {
+
+    /**
+     * Gets the AI player's team.
+     * @return An unmodifiable view of the team
+     */
+
+    List<Pokemon> getTeam();
+
+    /**
+     * Gets the index of the AI player's active Pokemon.
+     * @return The active index
+     */
+
+    int getActiveIndex();
+
+    /**
+     * Gets the AI player's active Pokemon.
+     * @return The active Pokemon
+     */
+
+    Pokemon getActivePokemon();
+
+    /**
+     * Gets the AI player's items.
+     * @return An unmodifiable view of the items
+     */
+
+    List<Item> getItems();
+
+    /**
+     * Gets the opponent's team.
+     * @return An unmodifiable view of the team
+     */
+
+    List<Pokemon> getOpponentTeam();
+
+    /**
+     * Gets the index of the opponent's active Pokemon.
+     * @return The opponent's active index
+     */
+
+    int getOpponentActiveIndex();
+
+    /**
+     * Gets the opponent's active Pokemon.
+     * @return The opponent's active Pokemon
+     */
+
+    Pokemon getOpponentActivePokemon();
+
+    /**
+     * Gets the opponent's items.
+     * @return An unmodifiable view of the items
+     */
+
+    List<Item> getOpponentItems();
+
+    /**
+     * Gets the PP left on one of the active Pokemon's moves.
+     *
+     * @param moveIndex The move index
+     * @return The PP left
+     */
+
+    int getPowerPoints(int moveIndex);
+
+    /**
+     * Gets the time left to decide, in milliseconds.
+     * @return The remaining turn time, or -1 when the turn has no time limit
+     */
+
+    long getRemainingTurnMillis();
+
+    /**
+     * Gets the damage the active Pokemon's move would deal to the opponent's active Pokemon.
+     *
+     * @param moveIndex The move index
+     * @return The estimated damage
+     */
+
+    int getEstimatedDamage(int moveIndex);
+
+    /**
+     * Gets the damage the opponent's active Pokemon's move would deal to the active Pokemon.
+     *
+     * @param moveIndex The opponent's move index
+     * @return The estimated damage
+     */
+
+    int getOpponentEstimatedDamage(int moveIndex);
+
+    /**
+     * Gets the move with PP left that deals the most estimated damage.
+     * @return The move index, or -1 if no move has PP left
+     */
+
+    int getBestMoveIndex();
+}
@@ -1,9 +1,7 @@
 package domain.player.ai;
 
 import domain.pokemons.Pokemon;
-import domain.enums.PokemonType;
 import java.util.List;
-import domain.game.TypeEffectivenessTable;
 import domain.moves.Move;
 
 /*
@@ -12,6 +10,7 @@ import domain.moves.Move;
  */
 
 public class ChangingStrategy implements AIStrategy {
+    private final SwitchHysteresis hysteresis = new SwitchHysteresis();
 
     @Override
     public int selectMove(Pokemon activePokemon) {
@@ -33,70 +32,56 @@ public class ChangingStrategy implements AIStrategy {
     }
 
     /*  
-     * selectSwitch method returns the index of the Pokemon to switch to.
+     * selectSwitch method returns the index of the Pokemon with the best matchup against the
+     * opponent, from the precomputed MatchupMatrix, or -1 if the active Pokemon already has it.
+     * Voluntary switches follow SwitchHysteresis and happen only when the active Pokemon loses
+     * its matchup, so two changing trainers cannot swap back and forth.
      * @return The index of the Pokemon to switch to.
      */
 
     @Override
     public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+        return hysteresis.record(activePokemon, team, chooseSwitch(activePokemon, team, opponentPokemon));
+    }
+
+    private int chooseSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+        MatchupMatrix matchups = MatchupMatrix.getDefault();
+        boolean forced = activePokemon == null || activePokemon.isFainted();
+        if (!forced && (!hysteresis.canSwitch() || matchups.winProbability(activePokemon, opponentPokemon) >= 0.5)) {
+            return -1;
+        }
         int bestSwitchIndex = -1;
-        double maxEffectiveness = -1;
+        double bestScore = forced ? -1 : matchupScore(matchups, activePokemon, opponentPokemon);
 
         for (int i = 0; i < team.size(); i++) {
             Pokemon candidate = team.get(i);
 
-            if (candidate.isFainted() || candidate == activePokemon) continue;
+            if (candidate.isFainted() || candidate == activePokemon || !(forced || hysteresis.allows(candidate))) continue;
 
-            double effectiveness = calculateTotalEffectiveness(candidate, opponentPokemon);
+            double score = matchupScore(matchups, candidate, opponentPokemon);
 
-            if (effectiveness > maxEffectiveness) {
-                maxEffectiveness = effectiveness;
+            if (score > bestScore) {
+                bestScore = score;
                 bestSwitchIndex = i;
             }
         }
 
-        return bestSwitchIndex != -1 ? bestSwitchIndex : findFirstAvailable(activePokemon, team);
-    }
-
-    /*
-     * calculateTotalEffectiveness method calculates the total effectiveness of a move against a target Pokemon.
-     * @param attacker The attacking Pokemon.
-     * @param defender The defending Pokemon.
-     * @return The total effectiveness of the move.
-     */
-
-    private double calculateTotalEffectiveness(Pokemon attacker, Pokemon defender) {
-        double total = 1.0;
-
-
-        total *= getTypeEffectiveness(attacker.getPrimaryType(), defender.getPrimaryType());
-
-
-        if (defender.getSecondaryType() != null) {
-            total *= getTypeEffectiveness(attacker.getPrimaryType(), defender.getSecondaryType());
-        }
-
-
-        if (attacker.getSecondaryType() != null) {
-            total *= getTypeEffectiveness(attacker.getSecondaryType(), defender.getPrimaryType());
-
-            if (defender.getSecondaryType() != null) {
-                total *= getTypeEffectiveness(attacker.getSecondaryType(), defender.getSecondaryType());
-            }
+        if (bestSwitchIndex == -1 && (activePokemon == null || activePokemon.isFainted())) {
+            return findFirstAvailable(activePokemon, team);
         }
-
-        return total;
+        return bestSwitchIndex;
     }
 
-    /*  
-     * getTypeEffectiveness method calculates the effectiveness of a move based on the attacking and defending types.
-     * @param moveType The type of the move.
-     * @param targetType The type of the target Pokemon.
-     * @return The effectiveness of the move.
+    /*
+     * matchupScore method ranks a Pokemon against the opponent: its win probability, with the
+     * health it expects to keep breaking ties.
+     * @param pokemon The Pokemon.
+     * @param opponent The opponent Pokemon.
+     * @return The score.
      */
 
-    private double getTypeEffectiveness(PokemonType moveType, PokemonType targetType) {
-        return TypeEffectivenessTable.getEffectiveness(moveType, targetType);
+    private double matchupScore(MatchupMatrix matchups, Pokemon pokemon, Pokemon opponent) {
+        return matchups.winProbability(pokemon, opponent) + 0.01 * matchups.expectedRemainingHealth(pokemon, opponent);
     }
 
     /*  
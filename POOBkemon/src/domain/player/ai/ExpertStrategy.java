@@ -1,11 +1,9 @@
 package domain.player.ai;
 
 import domain.pokemons.Pokemon;
-import domain.enums.PokemonType;
 import domain.moves.Move;
 import java.util.List;
 import java.util.Random;
-import domain.game.TypeEffectivenessTable;
 
 /**
  * ExpertStrategy implements the AIStrategy interface to represent an expert
@@ -14,7 +12,37 @@ import domain.game.TypeEffectivenessTable;
 
 public class ExpertStrategy implements AIStrategy {
     private static final double HIGH_DAMAGE_THRESHOLD = 80.0;
+    private static final double DEFENSIVE_HEALTH_FRACTION = 0.3;
+    private static final double SWITCH_HEALTH_FRACTION = 0.2;
+    private static final double FAVOURABLE_MATCHUP = 0.5;
+    private static final double MATCHUP_MARGIN = 0.15;
     private final Random random = new Random();
+    private final SwitchHysteresis hysteresis = new SwitchHysteresis();
+    private final double highDamageThreshold;
+    private final double defensiveHealthFraction;
+    private final double switchHealthFraction;
+
+    /**
+     * Creates the strategy with its default thresholds.
+     */
+
+    public ExpertStrategy() {
+        this(HIGH_DAMAGE_THRESHOLD, DEFENSIVE_HEALTH_FRACTION, SWITCH_HEALTH_FRACTION);
+    }
+
+    /**
+     * Creates the strategy with custom thresholds, used to tune it in simulated battles.
+     *
+     * @param highDamageThreshold The minimum power of a move considered high-damage
+     * @param defensiveHealthFraction The fraction of max health below which defensive moves are preferred
+     * @param switchHealthFraction The fraction of max health below which the Pokemon is switched out
+     */
+
+    public ExpertStrategy(double highDamageThreshold, double defensiveHealthFraction, double switchHealthFraction) {
+        this.highDamageThreshold = highDamageThreshold;
+        this.defensiveHealthFraction = defensiveHealthFraction;
+        this.switchHealthFraction = switchHealthFraction;
+    }
 
     /**
      * Selects the best move based on a combination of factors:
@@ -27,7 +55,7 @@ public class ExpertStrategy implements AIStrategy {
     public int selectMove(Pokemon activePokemon) {
         List<Move> moves = activePokemon.getMoves();
 
-        if (activePokemon.getHealth() < activePokemon.getMaxHealth() * 0.3) {
+        if (activePokemon.getHealth() < activePokemon.getMaxHealth() * defensiveHealthFraction) {
             for (int i = 0; i < moves.size(); i++) {
                 Move move = moves.get(i);
                 if (move.isDefensive() && move.getPowerPoints() > 0) {
@@ -38,7 +66,7 @@ public class ExpertStrategy implements AIStrategy {
 
         for (int i = 0; i < moves.size(); i++) {
             Move move = moves.get(i);
-            if (move.getPower() >= HIGH_DAMAGE_THRESHOLD && move.getPowerPoints() > 0) {
+            if (move.getPower() >= highDamageThreshold && move.getPowerPoints() > 0) {
                 return i;
             }
         }
@@ -68,21 +96,30 @@ public class ExpertStrategy implements AIStrategy {
 
     /**
      * Selects the best Pokemon to switch to based on:
-     * 1. Type effectiveness against opponent
-     * 2. Current health
-     * 3. Defense stats when health is low
+     * 1. Defense stats when health is low
+     * 2. The precomputed matchup against the opponent, when the active Pokemon loses its
+     *    matchup and the new one beats it by MATCHUP_MARGIN
+     * Voluntary switches follow SwitchHysteresis, so two experts cannot swap back and forth.
      */
 
     @Override
     public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+        return hysteresis.record(activePokemon, team, chooseSwitch(activePokemon, team, opponentPokemon));
+    }
 
-        if (activePokemon.getHealth() < activePokemon.getMaxHealth() * 0.2) {
+    private int chooseSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+        boolean forced = activePokemon.isFainted();
+        if (!forced && !hysteresis.canSwitch()) {
+            return -1;
+        }
+
+        if (activePokemon.getHealth() < activePokemon.getMaxHealth() * switchHealthFraction) {
             int bestIndex = -1;
             int highestDefense = -1;
             
             for (int i = 0; i < team.size(); i++) {
                 Pokemon pokemon = team.get(i);
-                if (!pokemon.isFainted() && pokemon != activePokemon) {
+                if (!pokemon.isFainted() && pokemon != activePokemon && (forced || hysteresis.allows(pokemon))) {
                     int defense = pokemon.getDefense() + pokemon.getSpecialDefense();
                     if (defense > highestDefense) {
                         highestDefense = defense;
@@ -96,54 +133,27 @@ public class ExpertStrategy implements AIStrategy {
             }
         }
 
+        MatchupMatrix matchups = MatchupMatrix.getDefault();
+        double activeWinProbability = matchups.winProbability(activePokemon, opponentPokemon);
+        if (activeWinProbability >= FAVOURABLE_MATCHUP) {
+            return -1;
+        }
         int bestSwitchIndex = -1;
-        double maxEffectiveness = 1.0;
+        double bestWinProbability = Math.max(FAVOURABLE_MATCHUP, activeWinProbability + MATCHUP_MARGIN);
         
         for (int i = 0; i < team.size(); i++) {
             Pokemon candidate = team.get(i);
             
-            if (candidate.isFainted() || candidate == activePokemon) continue;
+            if (candidate.isFainted() || candidate == activePokemon || !hysteresis.allows(candidate)) continue;
             
-            double effectiveness = calculateTotalEffectiveness(candidate, opponentPokemon);
+            double winProbability = matchups.winProbability(candidate, opponentPokemon);
             
-            if (effectiveness > maxEffectiveness) {
-                maxEffectiveness = effectiveness;
+            if (winProbability > bestWinProbability) {
+                bestWinProbability = winProbability;
                 bestSwitchIndex = i;
             }
         }
         
         return bestSwitchIndex;
     }
-    
-    /**
-     * Calculates the total type effectiveness of attacker against defender.
-     */
-
-    private double calculateTotalEffectiveness(Pokemon attacker, Pokemon defender) {
-        double total = 1.0;
-        
-        total *= getTypeEffectiveness(attacker.getPrimaryType(), defender.getPrimaryType());
-        
-        if (defender.getSecondaryType() != null) {
-            total *= getTypeEffectiveness(attacker.getPrimaryType(), defender.getSecondaryType());
-        }
-        
-        if (attacker.getSecondaryType() != null) {
-            total *= getTypeEffectiveness(attacker.getSecondaryType(), defender.getPrimaryType());
-            
-            if (defender.getSecondaryType() != null) {
-                total *= getTypeEffectiveness(attacker.getSecondaryType(), defender.getSecondaryType());
-            }
-        }
-        
-        return total;
-    }
-    
-    /**
-     * Gets the type effectiveness of moveType against targetType.
-     */
-
-    private double getTypeEffectiveness(PokemonType moveType, PokemonType targetType) {
-        return TypeEffectivenessTable.getEffectiveness(moveType, targetType);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package domain.player.ai;
+
+import domain.entities.Item;
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * BattleView over live teams. One instance is kept per AI side and refreshed with update()
+ * before each decision; refreshing only recomputes the damage estimates, into arrays that
+ * are reused, and re-wraps a list only when a different list is passed in.
+ */
+
+public final class LiveBattleView implements BattleView {
+    private List<Pokemon> team = List.of();
+    private List<Pokemon> teamView = team;
+    private List<Item> items = List.of();
+    private List<Item> itemsView = items;
+    private List<Pokemon> opponentTeam = List.of();
+    private List<Pokemon> opponentTeamView = opponentTeam;
+    private List<Item> opponentItems = List.of();
+    private List<Item> opponentItemsView = opponentItems;
+    private int activeIndex;
+    private int opponentActiveIndex;
+    private long remainingTurnMillis = -1;
+    private int[] estimates = new int[4];
+    private int[] opponentEstimates = new int[4];
+    private int bestMoveIndex = -1;
+
+    /**
+     * Points the view at the current state of a battle and recomputes the damage estimates.
+     *
+     * @param team The AI player's team
+     * @param activeIndex The index of the AI player's active Pokemon
+     * @param items The AI player's items
+     * @param opponentTeam The opponent's team
+     * @param opponentActiveIndex The index of the opponent's active Pokemon
+     * @param opponentItems The opponent's items
+     * @param remainingTurnMillis The time left to decide, or -1 for no limit
+     * @return This view
+     */
+
+    public LiveBattleView update(List<Pokemon> team, int activeIndex, List<Item> items,
+                                 List<Pokemon> opponentTeam, int opponentActiveIndex, List<Item> opponentItems,
+                                 long remainingTurnMillis) {
+        if (team != this.team) {
+            this.team = team;
+            this.teamView = Collections.unmodifiableList(team);
+        }
+        if (items != this.items) {
+            this.items = items;
+            this.itemsView = Collections.unmodifiableList(items);
+        }
+        if (opponentTeam != this.opponentTeam) {
+            this.opponentTeam = opponentTeam;
+            this.opponentTeamView = Collections.unmodifiableList(opponentTeam);
+        }
+        if (opponentItems != this.opponentItems) {
+            this.opponentItems = opponentItems;
+            this.opponentItemsView = Collections.unmodifiableList(opponentItems);
+        }
+        this.activeIndex = activeIndex;
+        this.opponentActiveIndex = opponentActiveIndex;
+        this.remainingTurnMillis = remainingTurnMillis;
+        Pokemon active = getActivePokemon();
+        Pokemon opponent = getOpponentActivePokemon();
+        estimates = estimate(active, opponent, estimates);
+        opponentEstimates = estimate(opponent, active, opponentEstimates);
+        bestMoveIndex = -1;
+        if (active != null) {
+            List<Move> moves = active.getMoves();
+            for (int i = 0; i < moves.size(); i++) {
+                if (moves.get(i).getPowerPoints() > 0
+                        && (bestMoveIndex == -1 || estimates[i] > estimates[bestMoveIndex])) {
+                    bestMoveIndex = i;
+                }
+            }
+        }
+        return this;
+    }
+
+    private static int[] estimate(Pokemon attacker, Pokemon defender, int[] into) {
+        if (attacker == null || defender == null) {
+            return into;
+        }
+        List<Move> moves = attacker.getMoves();
+        int[] estimates = into.length >= moves.size() ? into : new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            estimates[i] = attacker.estimateDamage(moves.get(i), defender);
+        }
+        return estimates;
+    }
+
+    @Override
+    public List<Pokemon> getTeam() { return teamView; }
+
+    @Override
+    public int getActiveIndex() { return activeIndex; }
+
+    @Override
+    public Pokemon getActivePokemon() {
+        return activeIndex >= 0 && activeIndex < team.size() ? team.get(activeIndex) : null;
+    }
+
+    @Override
+    public List<Item> getItems() { return itemsView; }
+
+    @Override
+    public List<Pokemon> getOpponentTeam() { return opponentTeamView; }
+
+    @Override
+    public int getOpponentActiveIndex() { return opponentActiveIndex; }
+
+    @Override
+    public Pokemon getOpponentActivePokemon() {
+        return opponentActiveIndex >= 0 && opponentActiveIndex < opponentTeam.size()
+                ? opponentTeam.get(opponentActiveIndex) : null;
+    }
+
+    @Override
+    public List<Item> getOpponentItems() { return opponentItemsView; }
+
+    @Override
+    public int getPowerPoints(int moveIndex) {
+        Pokemon active = getActivePokemon();
+        return active != null && moveIndex >= 0 && moveIndex < active.getMoves().size()
+                ? active.getMoves().get(moveIndex).getPowerPoints() : 0;
+    }
+
+    @Override
+    public long getRemainingTurnMillis() { return remainingTurnMillis; }
+
+    @Override
+    public int getEstimatedDamage(int moveIndex) {
+        Pokemon active = getActivePokemon();
+        return active != null && moveIndex >= 0 && moveIndex < active.getMoves().size() ? estimates[moveIndex] : 0;
+    }
+
+    @Override
+    public int getOpponentEstimatedDamage(int moveIndex) {
+        Pokemon opponent = getOpponentActivePokemon();
+        return opponent != null && moveIndex >= 0 && moveIndex < opponent.getMoves().size()
+                ? opponentEstimates[moveIndex] : 0;
+    }
+
+    @Override
+    public int getBestMoveIndex() { return bestMoveIndex; }
+}
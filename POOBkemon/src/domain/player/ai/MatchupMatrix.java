@@ -0,0 +1,424 @@
+package domain.player.ai;
+
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.moves.Move;
+import domain.moves.MoveRegistry;
+import domain.moves.StruggleMove;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import presentation.utils.UIConstants;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * MatchupMatrix holds the expected 1v1 outcome of every ordered pair of species: the
+ * probability that the first one wins and the fraction of its health it keeps on average.
+ * Outcomes are averaged over random 4-move sets drawn from each species' legal pool (its
+ * types plus NORMAL, as in Pokemon.assignRandomMoves), with both Pokemon using their
+ * strongest move left and each of them moving first half of the time.
+ *
+ * The matrix is computed once and kept in CACHE_FILE, which is memory-mapped and read in
+ * place. The file records a hash of the effectiveness CSV, the species and the moves, and it
+ * is computed again when any of them changes.
+ */
+
+public final class MatchupMatrix {
+    public static final int MAGIC = 0x4D415443;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 24;
+    public static final int SAMPLES = 128;
+    public static final Path CACHE_FILE = Path.of(System.getProperty("poobkemon.matchups",
+            System.getProperty("user.home") + "/.poobkemon/cache/matchups.bin"));
+
+    private static final int CELL_BYTES = 8;
+    private static final int MAX_MOVES = 4;
+    private static final int MAX_TURNS = 200;
+    private static final long SEED = 0x5EEDL;
+    private static final Map<String, PokemonData> SPECIES = new HashMap<>();
+
+    private static volatile MatchupMatrix defaultMatrix;
+
+    private final ByteBuffer table;
+    private final int speciesCount;
+
+    static {
+        for (PokemonData data : PokemonData.values()) {
+            SPECIES.put(data.getName().toLowerCase(Locale.ROOT), data);
+        }
+    }
+
+    /**
+     * Creates a matrix over a table written by compute.
+     *
+     * @param table The table, header included
+     * @throws IllegalArgumentException If the table does not match this version of the game
+     */
+
+    public MatchupMatrix(ByteBuffer table) {
+        this.table = table.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.speciesCount = PokemonData.values().length;
+        if (this.table.capacity() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Truncated matchup table");
+        }
+        if (this.table.getInt(0) != MAGIC || this.table.getInt(4) != VERSION || this.table.getInt(8) != speciesCount) {
+            throw new IllegalArgumentException("Incompatible matchup table");
+        }
+        if (this.table.capacity() < HEADER_BYTES + speciesCount * speciesCount * CELL_BYTES) {
+            throw new IllegalArgumentException("Truncated matchup table");
+        }
+    }
+
+    /**
+     * Gets the matrix of this game, mapping CACHE_FILE or computing it (and the file) when it
+     * is missing or out of date. If the file cannot be written the matrix is kept in memory.
+     *
+     * @return The shared matrix
+     */
+
+    public static MatchupMatrix getDefault() {
+        MatchupMatrix matrix = defaultMatrix;
+        if (matrix == null) {
+            synchronized (MatchupMatrix.class) {
+                if (defaultMatrix == null) {
+                    defaultMatrix = loadOrCompute(CACHE_FILE);
+                }
+                matrix = defaultMatrix;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Gets the probability that the first Pokemon beats the second one in a 1v1.
+     * Pokemon that are not one of the species count as an even matchup.
+     *
+     * @param pokemon The first Pokemon
+     * @param opponent The second Pokemon
+     * @return The win probability, between 0 and 1
+     */
+
+    public double winProbability(Pokemon pokemon, Pokemon opponent) {
+        PokemonData first = speciesOf(pokemon);
+        PokemonData second = speciesOf(opponent);
+        return first == null || second == null ? 0.5 : winProbability(first, second);
+    }
+
+    /**
+     * Gets the fraction of its health the first Pokemon keeps on average against the second.
+     * Pokemon that are not one of the species count as losing half their health.
+     *
+     * @param pokemon The first Pokemon
+     * @param opponent The second Pokemon
+     * @return The expected remaining health fraction, between 0 and 1
+     */
+
+    public double expectedRemainingHealth(Pokemon pokemon, Pokemon opponent) {
+        PokemonData first = speciesOf(pokemon);
+        PokemonData second = speciesOf(opponent);
+        return first == null || second == null ? 0.5 : expectedRemainingHealth(first, second);
+    }
+
+    public double winProbability(PokemonData species, PokemonData opponent) {
+        return table.getFloat(offset(species, opponent));
+    }
+
+    public double expectedRemainingHealth(PokemonData species, PokemonData opponent) {
+        return table.getFloat(offset(species, opponent) + 4);
+    }
+
+    public long getContentHash() { return table.getLong(16); }
+
+    private int offset(PokemonData species, PokemonData opponent) {
+        return HEADER_BYTES + (species.ordinal() * speciesCount + opponent.ordinal()) * CELL_BYTES;
+    }
+
+    private static PokemonData speciesOf(Pokemon pokemon) {
+        return pokemon == null ? null : SPECIES.get(pokemon.getName().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Maps a matrix file read-only.
+     *
+     * @param file The file
+     * @return The mapped table
+     * @throws IOException If the file cannot be read
+     */
+
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static MatchupMatrix loadOrCompute(Path file) {
+        long hash = contentHash();
+        try {
+            if (Files.isRegularFile(file)) {
+                MatchupMatrix cached = new MatchupMatrix(map(file));
+                if (cached.getContentHash() == hash) {
+                    return cached;
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring matchup cache: " + e.getMessage());
+        }
+        ByteBuffer table = compute(hash);
+        try {
+            write(table, file);
+            return new MatchupMatrix(map(file));
+        } catch (IOException e) {
+            System.err.println("Could not write matchup cache: " + e.getMessage());
+            return new MatchupMatrix(table);
+        }
+    }
+
+    /**
+     * Writes a table to a file through a temporary file, so readers never map half a table.
+     *
+     * @param table The table
+     * @param file The file
+     * @throws IOException If the file cannot be written
+     */
+
+    public static void write(ByteBuffer table, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer source = table.duplicate();
+            source.clear();
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Hashes everything a matchup depends on: the effectiveness CSV, the species' stats and
+     * types, the moves and the sampling parameters.
+     *
+     * @return The first 8 bytes of a SHA-256 digest
+     */
+
+    public static long contentHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream csv = MatchupMatrix.class.getClassLoader().getResourceAsStream(UIConstants.CSV_RELATIVE_PATH)) {
+                if (csv != null) {
+                    digest.update(csv.readAllBytes());
+                }
+            } catch (IOException e) {
+                System.err.println("Could not hash the effectiveness table: " + e.getMessage());
+            }
+            StringBuilder data = new StringBuilder().append(VERSION).append(';').append(SAMPLES).append(';');
+            for (PokemonData species : PokemonData.values()) {
+                data.append(species.getName()).append(',').append(species.getHealth()).append(',')
+                    .append(species.getAttack()).append(',').append(species.getDefense()).append(',')
+                    .append(species.getSpecialAttack()).append(',').append(species.getSpecialDefense()).append(',')
+                    .append(species.getPrimaryType()).append(',').append(species.getSecondaryType()).append(';');
+            }
+            for (Move move : MoveRegistry.getMoves()) {
+                data.append(move.getName()).append(',').append(move.getPower()).append(',')
+                    .append(move.getCategory()).append(',').append(move.getType()).append(',')
+                    .append(move.getMaxPowerPoints()).append(';');
+            }
+            digest.update(data.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Computes the table, one row of the matrix per task on the common pool. Every row has
+     * its own seeded Random, so the result does not depend on the number of threads.
+     *
+     * @param contentHash The hash recorded in the header
+     * @return A heap table, header included
+     */
+
+    public static ByteBuffer compute(long contentHash) {
+        PokemonData[] species = PokemonData.values();
+        int n = species.length;
+        int[][][] damage = new int[n][][];
+        int[][] struggle = new int[n][n];
+        int[][] powerPoints = new int[n][];
+        int[] health = new int[n];
+        Pokemon[] pokemon = new Pokemon[n];
+        for (int a = 0; a < n; a++) {
+            pokemon[a] = new ConcretePokemon(species[a]);
+            health[a] = pokemon[a].getMaxHealth();
+        }
+        Move struggleMove = new StruggleMove();
+        for (int a = 0; a < n; a++) {
+            List<Move> pool = legalPool(species[a]);
+            damage[a] = new int[pool.size()][n];
+            powerPoints[a] = new int[pool.size()];
+            for (int m = 0; m < pool.size(); m++) {
+                powerPoints[a][m] = pool.get(m).getMaxPowerPoints();
+                for (int b = 0; b < n; b++) {
+                    damage[a][m][b] = pokemon[a].estimateDamage(pool.get(m), pokemon[b]);
+                }
+            }
+            for (int b = 0; b < n; b++) {
+                struggle[a][b] = pokemon[a].estimateDamage(struggleMove, pokemon[b]);
+            }
+        }
+
+        float[] cells = new float[n * n * 2];
+        IntStream.range(0, n).parallel().forEach(a -> {
+            Random random = new Random(SEED * 31 + a);
+            Duel duel = new Duel();
+            for (int b = 0; b < n; b++) {
+                double wins = 0;
+                double remaining = 0;
+                for (int s = 0; s < SAMPLES; s++) {
+                    int[] movesA = sample(damage[a].length, random);
+                    int[] movesB = sample(damage[b].length, random);
+                    for (int first = 0; first < 2; first++) {
+                        duel.reset(a, movesA, b, movesB, powerPoints, health);
+                        double result = duel.fight(first == 0, damage, struggle);
+                        wins += result;
+                        remaining += result == 1.0 ? (double) duel.healthA / health[a] : 0;
+                    }
+                }
+                cells[(a * n + b) * 2] = (float) (wins / (2 * SAMPLES));
+                cells[(a * n + b) * 2 + 1] = (float) (remaining / (2 * SAMPLES));
+            }
+        });
+
+        ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + n * n * CELL_BYTES);
+        table.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(SAMPLES).putLong(contentHash);
+        for (float cell : cells) {
+            table.putFloat(cell);
+        }
+        return table.flip();
+    }
+
+    private static List<Move> legalPool(PokemonData species) {
+        List<Move> pool = new ArrayList<>(MoveRegistry.getMovesByType(species.getPrimaryType()));
+        if (species.getSecondaryType() != null) {
+            pool.addAll(MoveRegistry.getMovesByType(species.getSecondaryType()));
+        }
+        pool.addAll(MoveRegistry.getMovesByType(PokemonType.NORMAL));
+        return pool;
+    }
+
+    private static int[] sample(int poolSize, Random random) {
+        int[] indices = new int[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            indices[i] = i;
+        }
+        int count = Math.min(MAX_MOVES, poolSize);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(poolSize - i);
+            int swap = indices[i];
+            indices[i] = indices[j];
+            indices[j] = swap;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+
+    /*
+     * A 1v1 without switches or items. Each side uses its most damaging move that has PP
+     * left, and Struggle once all PP is gone.
+     */
+
+    private static final class Duel {
+        private int a;
+        private int b;
+        private int[] movesA;
+        private int[] movesB;
+        private final int[] ppA = new int[MAX_MOVES];
+        private final int[] ppB = new int[MAX_MOVES];
+        private int healthA;
+        private int healthB;
+
+        void reset(int a, int[] movesA, int b, int[] movesB, int[][] powerPoints, int[] health) {
+            this.a = a;
+            this.b = b;
+            this.movesA = movesA;
+            this.movesB = movesB;
+            for (int i = 0; i < movesA.length; i++) {
+                ppA[i] = powerPoints[a][movesA[i]];
+            }
+            for (int i = 0; i < movesB.length; i++) {
+                ppB[i] = powerPoints[b][movesB[i]];
+            }
+            healthA = health[a];
+            healthB = health[b];
+        }
+
+        /*
+         * Returns 1 if the first species wins, 0 if it loses and 0.5 if nobody faints.
+         */
+
+        double fight(boolean aFirst, int[][][] damage, int[][] struggle) {
+            boolean aTurn = aFirst;
+            for (int turn = 0; turn < MAX_TURNS; turn++) {
+                if (aTurn) {
+                    int dealt = attack(damage[a], movesA, ppA, b, struggle[a][b]);
+                    healthB -= Math.abs(dealt);
+                    if (dealt < 0) {
+                        healthA += dealt / 2;
+                    }
+                } else {
+                    int dealt = attack(damage[b], movesB, ppB, a, struggle[b][a]);
+                    healthA -= Math.abs(dealt);
+                    if (dealt < 0) {
+                        healthB += dealt / 2;
+                    }
+                }
+                if (healthB <= 0) {
+                    healthA = Math.max(0, healthA);
+                    return healthA > 0 ? 1.0 : 0.5;
+                }
+                if (healthA <= 0) {
+                    return 0.0;
+                }
+                aTurn = !aTurn;
+            }
+            return 0.5;
+        }
+
+        /*
+         * Returns the damage dealt, negated when it was Struggle so the caller applies recoil.
+         */
+
+        private static int attack(int[][] damage, int[] moves, int[] pp, int defender, int struggleDamage) {
+            int best = -1;
+            for (int i = 0; i < moves.length; i++) {
+                if (pp[i] > 0 && (best == -1 || damage[moves[i]][defender] > damage[moves[best]][defender])) {
+                    best = i;
+                }
+            }
+            if (best == -1) {
+                return -struggleDamage;
+            }
+            pp[best]--;
+            return damage[moves[best]][defender];
+        }
+    }
+}
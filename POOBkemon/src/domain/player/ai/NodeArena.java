@@ -0,0 +1,198 @@
+package domain.player.ai;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NodeArena holds the nodes of a search tree (Monte Carlo tree search, expectiminimax) off
+ * the heap, so that millions of nodes per decision do not turn into millions of objects for
+ * the garbage collector to trace during the turn time limit.
+ *
+ * A node is a fixed-layout record of NODE_BYTES bytes in a chunk of direct memory, addressed
+ * by an int index: value sum, state hash, visit count, action, first child and next sibling.
+ * Nodes are allocated bump-pointer style and never freed one by one; reset() frees all of
+ * them at once in O(1) and keeps the chunks for the next decision. Chunks are allocated as
+ * the tree grows, so the number of nodes is bounded only by the configured memory.
+ *
+ * An arena is not thread-safe; a search that runs on several threads needs one per thread.
+ */
+
+public final class NodeArena {
+    /** The index of no node: the child of a leaf, the sibling of a last child, a full arena. */
+    public static final int NONE = -1;
+    public static final int NODE_BYTES = 32;
+    public static final long DEFAULT_MEMORY = 256L << 20;
+
+    private static final int VALUE_SUM = 0;
+    private static final int STATE_HASH = 8;
+    private static final int VISITS = 16;
+    private static final int ACTION = 20;
+    private static final int FIRST_CHILD = 24;
+    private static final int NEXT_SIBLING = 28;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_NODES = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_NODES - 1;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final int capacity;
+    private int size;
+
+    /**
+     * Creates an arena with the memory set by the poobkemon.searchMemoryMegabytes property,
+     * 256 MB by default.
+     */
+
+    public NodeArena() {
+        this(Long.getLong("poobkemon.searchMemoryMegabytes", DEFAULT_MEMORY >> 20) << 20);
+    }
+
+    /**
+     * Creates an arena. No memory is taken until nodes are allocated.
+     *
+     * @param maxBytes The most memory the nodes may take
+     */
+
+    public NodeArena(long maxBytes) {
+        if (maxBytes < NODE_BYTES) {
+            throw new IllegalArgumentException("The arena needs room for at least one node: " + maxBytes);
+        }
+        this.capacity = (int) Math.min(Integer.MAX_VALUE, maxBytes / NODE_BYTES);
+    }
+
+    /**
+     * Allocates a node with no visits and no children.
+     *
+     * @param action The action that leads to the node
+     * @param stateHash The hash of the state the node stands for
+     * @return The index of the node, or NONE if the arena is full
+     */
+
+    public int allocate(int action, long stateHash) {
+        if (size == capacity) {
+            return NONE;
+        }
+        int node = size;
+        int chunk = node >>> CHUNK_SHIFT;
+        if (chunk == chunks.size()) {
+            int nodes = (int) Math.min(CHUNK_NODES, capacity - (long) chunk * CHUNK_NODES);
+            chunks.add(ByteBuffer.allocateDirect(nodes * NODE_BYTES).order(ByteOrder.nativeOrder()));
+        }
+        size++;
+        ByteBuffer buffer = chunks.get(chunk);
+        int offset = (node & CHUNK_MASK) * NODE_BYTES;
+        buffer.putDouble(offset + VALUE_SUM, 0);
+        buffer.putLong(offset + STATE_HASH, stateHash);
+        buffer.putInt(offset + VISITS, 0);
+        buffer.putInt(offset + ACTION, action);
+        buffer.putInt(offset + FIRST_CHILD, NONE);
+        buffer.putInt(offset + NEXT_SIBLING, NONE);
+        return node;
+    }
+
+    /**
+     * Allocates a node and makes it the first child of another one.
+     *
+     * @param parent The parent node
+     * @param action The action that leads from the parent to the child
+     * @param stateHash The hash of the state the child stands for
+     * @return The index of the child, or NONE if the arena is full
+     */
+
+    public int addChild(int parent, int action, long stateHash) {
+        check(parent);
+        int child = allocate(action, stateHash);
+        if (child != NONE) {
+            putInt(child, NEXT_SIBLING, getFirstChild(parent));
+            putInt(parent, FIRST_CHILD, child);
+        }
+        return child;
+    }
+
+    /**
+     * Records one more visit of a node and adds its value.
+     *
+     * @param node The node
+     * @param value The value of the playout or evaluation
+     */
+
+    public void update(int node, double value) {
+        ByteBuffer buffer = buffer(node);
+        int offset = offset(node);
+        buffer.putInt(offset + VISITS, buffer.getInt(offset + VISITS) + 1);
+        buffer.putDouble(offset + VALUE_SUM, buffer.getDouble(offset + VALUE_SUM) + value);
+    }
+
+    /**
+     * Frees every node at once. The chunks are kept, so the next decision allocates no memory
+     * until it grows a larger tree than this one.
+     */
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int getSize() { return size; }
+
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Gets the direct memory taken by the chunks, which reset() keeps.
+     * @return The bytes of all chunks
+     */
+
+    public long getReservedBytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    public double getValueSum(int node) { return buffer(node).getDouble(offset(node) + VALUE_SUM); }
+
+    public long getStateHash(int node) { return buffer(node).getLong(offset(node) + STATE_HASH); }
+
+    public int getVisits(int node) { return getInt(node, VISITS); }
+
+    public int getAction(int node) { return getInt(node, ACTION); }
+
+    public int getFirstChild(int node) { return getInt(node, FIRST_CHILD); }
+
+    public int getNextSibling(int node) { return getInt(node, NEXT_SIBLING); }
+
+    /**
+     * Gets the mean value of a node.
+     * @param node The node
+     * @return The value sum over the visits, 0 if it was never visited
+     */
+
+    public double getMeanValue(int node) {
+        int visits = getVisits(node);
+        return visits == 0 ? 0 : getValueSum(node) / visits;
+    }
+
+    private int getInt(int node, int field) {
+        return buffer(node).getInt(offset(node) + field);
+    }
+
+    private void putInt(int node, int field, int value) {
+        buffer(node).putInt(offset(node) + field, value);
+    }
+
+    private ByteBuffer buffer(int node) {
+        check(node);
+        return chunks.get(node >>> CHUNK_SHIFT);
+    }
+
+    private static int offset(int node) {
+        return (node & CHUNK_MASK) * NODE_BYTES;
+    }
+
+    private void check(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("No node " + node + " in an arena of " + size);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package domain.player.ai;
+
+import domain.game.TypeEffectivenessTable;
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import java.util.List;
+
+/**
+ * The abstract actions of the learned policy. Each action is turned into a concrete
+ * move or switch for the battle at hand, using the estimates of the BattleView.
+ * A switch action with nobody to switch to falls back to the best attack.
+ */
+
+public enum PolicyAction {
+    ATTACK_BEST,
+    ATTACK_SPARING,
+    STATUS_MOVE,
+    SWITCH_MATCHUP,
+    SWITCH_HEALTHIEST;
+
+    private static final PolicyAction[] VALUES = values();
+
+    /**
+     * Gets an action by its ordinal, as stored in the policy table.
+     *
+     * @param ordinal The ordinal
+     * @return The action, or null if the ordinal is not an action
+     */
+
+    public static PolicyAction of(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : null;
+    }
+
+    /**
+     * Checks whether the action is a switch.
+     * @return true for switch actions
+     */
+
+    public boolean isSwitch() {
+        return this == SWITCH_MATCHUP || this == SWITCH_HEALTHIEST;
+    }
+
+    /**
+     * Picks the Pokemon this action switches to.
+     *
+     * @param view The battle view
+     * @return The team index, or -1 if the action is not a switch or nobody can come in
+     */
+
+    public int selectSwitch(BattleView view) {
+        if (!isSwitch()) {
+            return -1;
+        }
+        List<Pokemon> team = view.getTeam();
+        Pokemon opponent = view.getOpponentActivePokemon();
+        int best = -1;
+        double bestScore = -1;
+        for (int i = 0; i < team.size(); i++) {
+            Pokemon candidate = team.get(i);
+            if (i == view.getActiveIndex() || candidate.isFainted()) {
+                continue;
+            }
+            double score = (double) candidate.getHealth() / candidate.getMaxHealth();
+            if (this == SWITCH_MATCHUP && opponent != null) {
+                score += 4 * TypeEffectivenessTable.getEffectiveness(candidate.getPrimaryType(), opponent.getPrimaryType());
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Picks the move this action uses. Switch actions use the best attack.
+     *
+     * @param view The battle view
+     * @return The move index
+     */
+
+    public int selectMove(BattleView view) {
+        int best = Math.max(0, view.getBestMoveIndex());
+        Pokemon active = view.getActivePokemon();
+        if (active == null) {
+            return best;
+        }
+        List<Move> moves = active.getMoves();
+        if (this == STATUS_MOVE) {
+            for (int i = 0; i < moves.size(); i++) {
+                if (!moves.get(i).isOffensive() && moves.get(i).getPowerPoints() > 0) {
+                    return i;
+                }
+            }
+        } else if (this == ATTACK_SPARING) {
+            int sparing = -1;
+            for (int i = 0; i < moves.size(); i++) {
+                Move move = moves.get(i);
+                if (move.getPowerPoints() * 2 >= move.getMaxPowerPoints() && move.getPowerPoints() > 0
+                        && (sparing == -1 || view.getEstimatedDamage(i) > view.getEstimatedDamage(sparing))) {
+                    sparing = i;
+                }
+            }
+            if (sparing != -1) {
+                return sparing;
+            }
+        }
+        return best;
+    }
+}
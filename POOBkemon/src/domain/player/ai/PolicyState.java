@@ -0,0 +1,101 @@
+package domain.player.ai;
+
+import domain.enums.PokemonData;
+import domain.pokemons.Pokemon;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PolicyState turns a BattleView into the index of a discretized battle state, used by
+ * the learned policy table. A state combines the species matchup, the health of both
+ * active Pokemon in quarters, how much PP the best move has left, whether the player still
+ * has items and whether there is a Pokemon left to switch to.
+ */
+
+public final class PolicyState {
+    /** Species buckets; the last one holds species added after the table was trained. */
+    public static final int SPECIES_BUCKETS = 16;
+    public static final int HEALTH_BUCKETS = 4;
+    public static final int PP_BUCKETS = 3;
+    public static final int STATE_COUNT = SPECIES_BUCKETS * SPECIES_BUCKETS * HEALTH_BUCKETS * HEALTH_BUCKETS
+            * PP_BUCKETS * 2 * 2;
+
+    private static final int LOW_PP = 2;
+    private static final Map<String, Integer> species = new HashMap<>();
+
+    static {
+        for (PokemonData data : PokemonData.values()) {
+            species.put(data.getName(), Math.min(data.ordinal(), SPECIES_BUCKETS - 1));
+        }
+    }
+
+    private PolicyState() {
+    }
+
+    /**
+     * Encodes the battle as seen by an AI player.
+     *
+     * @param view The battle view
+     * @return The state index, between 0 and STATE_COUNT - 1
+     */
+
+    public static int encode(BattleView view) {
+        Pokemon active = view.getActivePokemon();
+        Pokemon opponent = view.getOpponentActivePokemon();
+        int state = speciesOf(active);
+        state = state * SPECIES_BUCKETS + speciesOf(opponent);
+        state = state * HEALTH_BUCKETS + healthOf(active);
+        state = state * HEALTH_BUCKETS + healthOf(opponent);
+        state = state * PP_BUCKETS + ppOf(view);
+        state = state * 2 + (view.getItems().isEmpty() ? 0 : 1);
+        return state * 2 + (hasBench(view) ? 1 : 0);
+    }
+
+    /**
+     * Gets the state that differs from the given one only in the items flag.
+     *
+     * @param state A state index
+     * @return The same state with the items flag flipped
+     */
+
+    public static int withItemsFlipped(int state) {
+        return state ^ 2;
+    }
+
+    private static int speciesOf(Pokemon pokemon) {
+        if (pokemon == null) {
+            return SPECIES_BUCKETS - 1;
+        }
+        return species.getOrDefault(pokemon.getName(), SPECIES_BUCKETS - 1);
+    }
+
+    private static int healthOf(Pokemon pokemon) {
+        if (pokemon == null || pokemon.getMaxHealth() <= 0) {
+            return 0;
+        }
+        return Math.min(HEALTH_BUCKETS - 1, pokemon.getHealth() * HEALTH_BUCKETS / pokemon.getMaxHealth());
+    }
+
+    /*
+     * 0: no PP left at all, 1: the best move is about to run out, 2: PP to spare.
+     */
+
+    private static int ppOf(BattleView view) {
+        int best = view.getBestMoveIndex();
+        if (best == -1) {
+            return 0;
+        }
+        return view.getPowerPoints(best) <= LOW_PP ? 1 : 2;
+    }
+
+    private static boolean hasBench(BattleView view) {
+        List<Pokemon> team = view.getTeam();
+        for (int i = 0; i < team.size(); i++) {
+            if (i != view.getActiveIndex() && !team.get(i).isFainted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
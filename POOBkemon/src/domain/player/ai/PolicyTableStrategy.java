@@ -0,0 +1,176 @@
+package domain.player.ai;
+
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * PolicyTableStrategy plays the policy learned by self-play (see domain.simulation.PolicyTrainer).
+ * The policy is a file holding one action byte per PolicyState, memory-mapped read-only and
+ * shared by every AI player, so a decision is one state encoding and one byte lookup.
+ * States the training never reached fall back to the best attack.
+ *
+ * File layout, big-endian: magic, version, state count and action count as ints,
+ * then STATE_COUNT action ordinals, with UNVISITED for states never reached.
+ */
+
+public final class PolicyTableStrategy implements AIStrategy {
+    public static final int MAGIC = 0x504F4C31;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final byte UNVISITED = (byte) 0xFF;
+    public static final String DEFAULT_RESOURCE = "resources/ai/policy.bin";
+
+    private static volatile ByteBuffer defaultTable;
+
+    private final ByteBuffer table;
+    private PolicyAction pending;
+    private int pendingState = -1;
+
+    /**
+     * Creates the strategy over a policy table.
+     *
+     * @param table The whole policy file
+     * @throws IllegalArgumentException If the table is not a policy file for the current states
+     */
+
+    public PolicyTableStrategy(ByteBuffer table) {
+        if (table.capacity() < HEADER_BYTES + PolicyState.STATE_COUNT || table.getInt(0) != MAGIC
+                || table.getInt(4) != VERSION || table.getInt(8) != PolicyState.STATE_COUNT
+                || table.getInt(12) != PolicyAction.values().length) {
+            throw new IllegalArgumentException("Not a compatible policy table");
+        }
+        this.table = table;
+    }
+
+    /**
+     * Memory-maps a policy file.
+     *
+     * @param file The policy file
+     * @return The mapped table
+     * @throws IOException If the file cannot be mapped
+     */
+
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Creates the strategy with the policy shipped with the game, or the file named by the
+     * poobkemon.policy system property. The table is mapped once and shared.
+     * If no policy can be loaded, the expert strategy is used instead.
+     *
+     * @return The strategy
+     */
+
+    public static AIStrategy loadDefault() {
+        try {
+            ByteBuffer shared = defaultTable;
+            if (shared == null) {
+                synchronized (PolicyTableStrategy.class) {
+                    if (defaultTable == null) {
+                        defaultTable = map(defaultPolicyFile());
+                    }
+                    shared = defaultTable;
+                }
+            }
+            return new PolicyTableStrategy(shared);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Learned policy unavailable, using the expert strategy: " + e.getMessage());
+            return new ExpertStrategy();
+        }
+    }
+
+    /*
+     * Files on the class path are mapped in place; a policy inside a jar is copied out first.
+     */
+
+    private static Path defaultPolicyFile() throws IOException {
+        String property = System.getProperty("poobkemon.policy");
+        if (property != null) {
+            return Path.of(property);
+        }
+        URL url = PolicyTableStrategy.class.getClassLoader().getResource(DEFAULT_RESOURCE);
+        if (url == null) {
+            throw new IOException("Missing " + DEFAULT_RESOURCE);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return Path.of(url.toURI());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        Path copy = Files.createTempFile("poobkemon-policy", ".bin");
+        copy.toFile().deleteOnExit();
+        try (InputStream in = url.openStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return copy;
+    }
+
+    /**
+     * Looks up the action of the policy for a state.
+     *
+     * @param state A PolicyState index
+     * @return The action, or null if the state was never reached in training
+     */
+
+    public PolicyAction lookup(int state) {
+        return PolicyAction.of(table.get(HEADER_BYTES + state) & 0xFF);
+    }
+
+    /*
+     * AIPlayer and the simulator ask for a switch first; the action looked up there is
+     * kept for the move asked for right after, in the same state.
+     */
+
+    @Override
+    public int selectSwitch(BattleView view) {
+        int state = PolicyState.encode(view);
+        PolicyAction action = lookup(state);
+        pending = action;
+        pendingState = state;
+        return action == null ? -1 : action.selectSwitch(view);
+    }
+
+    @Override
+    public int selectMove(BattleView view) {
+        int state = PolicyState.encode(view);
+        PolicyAction action = state == pendingState ? pending : lookup(state);
+        pendingState = -1;
+        return (action == null ? PolicyAction.ATTACK_BEST : action).selectMove(view);
+    }
+
+    /**
+     * Without a BattleView there is no state to look up; uses the first move with PP left.
+     */
+
+    @Override
+    public int selectMove(Pokemon activePokemon) {
+        List<Move> moves = activePokemon.getMoves();
+        for (int i = 0; i < moves.size(); i++) {
+            if (moves.get(i).getPowerPoints() > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+package domain.player.ai;
+
+import domain.pokemons.Pokemon;
+import java.util.List;
+
+/*
+ * SwitchHysteresis keeps two matchup-driven AIs from trading switches forever. A side never
+ * switches straight back into the Pokemon it just switched out, and after a voluntary switch
+ * it must stay in for a turn before switching again. Switches that replace a fainted Pokemon
+ * are always allowed. One instance belongs to one strategy, so to one side of a battle.
+ */
+
+final class SwitchHysteresis {
+    private static final int MAX_CONSECUTIVE_SWITCHES = 1;
+
+    private Pokemon switchedOut;
+    private int consecutiveSwitches;
+
+    /*
+     * Tells whether the side may make a voluntary switch this turn.
+     */
+
+    boolean canSwitch() {
+        return consecutiveSwitches < MAX_CONSECUTIVE_SWITCHES;
+    }
+
+    /*
+     * Tells whether a Pokemon may be switched in voluntarily.
+     */
+
+    boolean allows(Pokemon candidate) {
+        return candidate != switchedOut;
+    }
+
+    /*
+     * Records the decision of a turn and returns it: the index to switch to, or -1 to stay.
+     */
+
+    int record(Pokemon active, List<Pokemon> team, int index) {
+        if (active == null || active.isFainted()) {
+            switchedOut = null;
+            consecutiveSwitches = 0;
+            return index;
+        }
+        if (index < 0 || index >= team.size() || team.get(index) == active) {
+            consecutiveSwitches = 0;
+            return index;
+        }
+        switchedOut = active;
+        consecutiveSwitches++;
+        return index;
+    }
+}
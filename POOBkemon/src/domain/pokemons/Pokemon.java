@@ -4,6 +4,8 @@ import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 import domain.game.TypeEffectivenessTable;
+import domain.metrics.Counter;
+import domain.metrics.Metrics;
 import domain.enums.PokemonType;
 import domain.moves.Move;
 import domain.moves.StruggleMove;
@@ -19,6 +21,7 @@ import java.util.Random;
 public abstract class Pokemon implements Serializable{
     @Serial
     private static final long serialVersionUID = 1L;
+    private static final Counter damageCalculations = Metrics.counter("damage.calculations");
     private final String name;
     private int health;
     private int maxHealth;
@@ -120,6 +123,21 @@ public abstract class Pokemon implements Serializable{
      */
 
     public int attack(Pokemon target, Move move) {
+        return attack(target, move, damageCalculations);
+    }
+
+    /**
+     * Attacks a target like attack(Pokemon, Move), but counts the damage calculation in the
+     * given counter instead of damage.calculations, so that simulated battles are not counted
+     * as played ones.
+     *
+     * @param target The target Pokemon to attack
+     * @param move The move to use for the attack
+     * @param calculations The counter of damage calculations
+     * @return The amount of damage dealt
+     */
+
+    public int attack(Pokemon target, Move move, Counter calculations) {
         if (allMovesOutOfPP()) {
             move = getStruggleMove();
         } else if (move.getPowerPoints() <= 0) {
@@ -128,7 +146,8 @@ public abstract class Pokemon implements Serializable{
 
         move.reducePP(1);
 
-        int damage = calculateDamage(move, target);
+        calculations.increment();
+        int damage = estimateDamage(move, target);
         target.takeDamage(damage);
 
     
@@ -148,6 +167,21 @@ public abstract class Pokemon implements Serializable{
      */
 
     public int calculateDamage(Move move, Pokemon target) {
+        damageCalculations.increment();
+        return estimateDamage(move, target);
+    }
+
+    /**
+     * Calculates the damage a move would deal to a target, like calculateDamage, without
+     * counting it in the damage.calculations metric. Used by AI estimates and precomputed
+     * tables that never attack.
+     *
+     * @param move The move being considered
+     * @param target The target Pokemon
+     * @return The damage the move would deal
+     */
+
+    public int estimateDamage(Move move, Pokemon target) {
         double typeEffectiveness = calculateTypeEffectiveness(move, target);
         double stab = (move.getType() == primaryType || move.getType() == secondaryType) ? 1.5 : 1.0;
 
@@ -0,0 +1,380 @@
+package domain.simulation;
+
+import domain.enums.MoveCategory;
+import domain.enums.PokemonType;
+import domain.game.TypeEffectivenessTable;
+import domain.moves.Move;
+import domain.moves.StruggleMove;
+import domain.player.ai.AIStrategy;
+import domain.player.ai.BattleView;
+import domain.pokemons.Pokemon;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BatchBattleKernel plays thousands of independent battles for parameter sweeps that need far
+ * more battles than BattleSimulator can play with objects.
+ *
+ * Every value lives in a primitive column with one entry per battle: health, stats and types
+ * per team slot, power, type, category and PP per move slot. Battles are played one at a time
+ * with plain branches. Every read goes through the index of the active Pokemon, so the loops
+ * are gathers that the JIT does not vectorize; the gain over BattleSimulator comes from having
+ * no objects to allocate or chase.
+ *
+ * Both sides play like ReferenceStrategy: they never switch, use their most damaging move
+ * with PP left (the first one on ties) and Struggle once all PP is gone; a fainted Pokemon is
+ * replaced by the first one standing. Damage uses the formula of Pokemon.calculateDamage with
+ * the same operations in the same order, so a battle ends exactly as it does in BattleSimulator
+ * with two ReferenceStrategy players.
+ */
+
+public final class BatchBattleKernel {
+    public static final byte RUNNING = -1;
+    public static final byte FIRST_WINS = 0;
+    public static final byte SECOND_WINS = 1;
+    public static final byte DRAW = 2;
+    public static final int MOVE_SLOTS = 4;
+
+    private static final int TYPES = PokemonType.values().length;
+    private static final int NO_TYPE = TYPES;
+    private static final double[] EFFECTIVENESS = new double[(TYPES + 1) * (TYPES + 1)];
+    private static final Move STRUGGLE = new StruggleMove();
+
+    private final int capacity;
+    private final int teamSize;
+    private int battles;
+
+    // Team slot columns, indexed [(side * teamSize + slot) * capacity + battle].
+    private final int[] initialHealth;
+    private final int[] health;
+    private final int[] attack;
+    private final int[] defense;
+    private final int[] specialAttack;
+    private final int[] specialDefense;
+    private final int[] primaryType;
+    private final int[] secondaryType;
+    private final int[] moveCount;
+
+    // Move slot columns, indexed [((side * teamSize + slot) * MOVE_SLOTS + move) * capacity + battle].
+    private final int[] power;
+    private final int[] moveType;
+    private final int[] physical;
+    private final int[] initialPowerPoints;
+    private final int[] powerPoints;
+
+    // Battle columns, indexed [side * capacity + battle] or [battle].
+    private final int[] active;
+    private final byte[] outcome;
+    private final int[] turns;
+
+    static {
+        Arrays.fill(EFFECTIVENESS, 1.0);
+        for (PokemonType attacking : PokemonType.values()) {
+            for (PokemonType defending : PokemonType.values()) {
+                EFFECTIVENESS[attacking.ordinal() * (TYPES + 1) + defending.ordinal()] =
+                    TypeEffectivenessTable.getEffectiveness(attacking, defending);
+            }
+        }
+    }
+
+    /**
+     * Creates a kernel with room for a number of battles.
+     *
+     * @param capacity The maximum number of battles in a batch
+     * @param teamSize The maximum number of Pokemon in a team
+     */
+
+    public BatchBattleKernel(int capacity, int teamSize) {
+        if (capacity < 1 || teamSize < 1) {
+            throw new IllegalArgumentException("Capacity and team size must be positive");
+        }
+        this.capacity = capacity;
+        this.teamSize = teamSize;
+        int slots = 2 * teamSize * capacity;
+        int moves = slots * MOVE_SLOTS;
+        initialHealth = new int[slots];
+        health = new int[slots];
+        attack = new int[slots];
+        defense = new int[slots];
+        specialAttack = new int[slots];
+        specialDefense = new int[slots];
+        primaryType = new int[slots];
+        secondaryType = new int[slots];
+        moveCount = new int[slots];
+        power = new int[moves];
+        moveType = new int[moves];
+        physical = new int[moves];
+        initialPowerPoints = new int[moves];
+        powerPoints = new int[moves];
+        active = new int[2 * capacity];
+        outcome = new byte[capacity];
+        turns = new int[capacity];
+    }
+
+    /**
+     * Empties the batch.
+     */
+
+    public void clear() {
+        battles = 0;
+    }
+
+    /**
+     * Adds a battle to the batch. The Pokemon are only read: their current health, stats,
+     * types and moves are copied into the columns.
+     *
+     * @param firstTeam The team that moves first
+     * @param secondTeam The other team
+     * @return The index of the battle in the batch
+     */
+
+    public int add(List<Pokemon> firstTeam, List<Pokemon> secondTeam) {
+        if (battles == capacity) {
+            throw new IllegalStateException("The batch is full: " + capacity);
+        }
+        if (firstTeam.size() > teamSize || secondTeam.size() > teamSize) {
+            throw new IllegalArgumentException("Teams may have at most " + teamSize + " Pokemon");
+        }
+        int battle = battles++;
+        load(battle, 0, firstTeam);
+        load(battle, 1, secondTeam);
+        return battle;
+    }
+
+    private void load(int battle, int side, List<Pokemon> team) {
+        for (int slot = 0; slot < teamSize; slot++) {
+            int index = slotIndex(side, slot, battle);
+            Pokemon pokemon = slot < team.size() ? team.get(slot) : null;
+            initialHealth[index] = pokemon == null ? 0 : Math.max(0, pokemon.getHealth());
+            attack[index] = pokemon == null ? 0 : pokemon.getAttack();
+            defense[index] = pokemon == null ? 1 : pokemon.getDefense();
+            specialAttack[index] = pokemon == null ? 0 : pokemon.getSpecialAttack();
+            specialDefense[index] = pokemon == null ? 1 : pokemon.getSpecialDefense();
+            primaryType[index] = pokemon == null ? NO_TYPE : pokemon.getPrimaryType().ordinal();
+            secondaryType[index] = pokemon == null || pokemon.getSecondaryType() == null
+                ? NO_TYPE : pokemon.getSecondaryType().ordinal();
+            List<Move> moves = pokemon == null ? List.of() : pokemon.getMoves();
+            if (moves.size() > MOVE_SLOTS) {
+                throw new IllegalArgumentException(pokemon.getName() + " has more than " + MOVE_SLOTS + " moves");
+            }
+            moveCount[index] = moves.size();
+            for (int m = 0; m < MOVE_SLOTS; m++) {
+                int moveIndex = moveIndex(side, slot, m, battle);
+                Move move = m < moves.size() ? moves.get(m) : null;
+                power[moveIndex] = move == null ? 0 : move.getPower();
+                moveType[moveIndex] = move == null ? 0 : move.getType().ordinal();
+                physical[moveIndex] = move != null && move.getCategory() == MoveCategory.PHYSICAL ? 1 : 0;
+                initialPowerPoints[moveIndex] = move == null ? 0 : Math.max(0, move.getPowerPoints());
+            }
+        }
+    }
+
+    private int slotIndex(int side, int slot, int battle) {
+        return (side * teamSize + slot) * capacity + battle;
+    }
+
+    private int moveIndex(int side, int slot, int move, int battle) {
+        return ((side * teamSize + slot) * MOVE_SLOTS + move) * capacity + battle;
+    }
+
+    public int getBattles() { return battles; }
+
+    /**
+     * Gets the outcome of a battle after a run.
+     * @param battle The battle index
+     * @return FIRST_WINS, SECOND_WINS or DRAW
+     */
+
+    public byte getOutcome(int battle) { return outcome[battle]; }
+
+    /**
+     * Gets the number of turns a battle lasted, counting both sides.
+     * @param battle The battle index
+     * @return The turns
+     */
+
+    public int getTurns(int battle) { return turns[battle]; }
+
+    /**
+     * Gets the health a Pokemon of a battle ended with.
+     *
+     * @param battle The battle index
+     * @param side 0 for the first team, 1 for the second
+     * @param slot The index in the team
+     * @return The health
+     */
+
+    public int getHealth(int battle, int side, int slot) { return health[slotIndex(side, slot, battle)]; }
+
+    /*
+     * Restores the loaded health and PP and sends in the first Pokemon standing. A battle in
+     * which a team has nobody standing is decided before the first turn.
+     */
+
+    private void reset() {
+        for (int side = 0; side < 2; side++) {
+            for (int slot = 0; slot < teamSize; slot++) {
+                int from = slotIndex(side, slot, 0);
+                System.arraycopy(initialHealth, from, health, from, battles);
+                for (int m = 0; m < MOVE_SLOTS; m++) {
+                    int moveFrom = moveIndex(side, slot, m, 0);
+                    System.arraycopy(initialPowerPoints, moveFrom, powerPoints, moveFrom, battles);
+                }
+            }
+        }
+        for (int b = 0; b < battles; b++) {
+            outcome[b] = RUNNING;
+            turns[b] = 0;
+            for (int side = 0; side < 2; side++) {
+                int first = firstStanding(side, b);
+                active[side * capacity + b] = Math.max(0, first);
+                if (first < 0 && outcome[b] == RUNNING) {
+                    outcome[b] = side == 0 ? SECOND_WINS : FIRST_WINS;
+                }
+            }
+        }
+    }
+
+    private int firstStanding(int side, int battle) {
+        for (int slot = 0; slot < teamSize; slot++) {
+            if (health[slotIndex(side, slot, battle)] > 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * The order of BattleSimulator: the defender is replaced first, then the attacker.
+     */
+
+    private void settle(int side, int other, int battle, int turn) {
+        boolean defenderLost = health[slotIndex(other, active[other * capacity + battle], battle)] <= 0
+            && !replace(other, battle);
+        boolean attackerLost = health[slotIndex(side, active[side * capacity + battle], battle)] <= 0
+            && !replace(side, battle);
+        if (!defenderLost && !attackerLost) {
+            return;
+        }
+        turns[battle] = turn;
+        if (defenderLost && attackerLost) {
+            outcome[battle] = DRAW;
+        } else {
+            int winner = attackerLost ? other : side;
+            outcome[battle] = winner == 0 ? FIRST_WINS : SECOND_WINS;
+        }
+    }
+
+    private boolean replace(int side, int battle) {
+        int next = firstStanding(side, battle);
+        if (next < 0) {
+            return false;
+        }
+        active[side * capacity + battle] = next;
+        return true;
+    }
+
+    /*
+     * Pokemon.calculateDamage on columns: the same operations in the same order, so the
+     * results are identical. A missing secondary type multiplies by exactly 1.0.
+     */
+
+    private int damage(int movePower, int type, int isPhysical, int attacker, int defender) {
+        int attackStat = isPhysical == 1 ? attack[attacker] : specialAttack[attacker];
+        int defenseStat = isPhysical == 1 ? defense[defender] : specialDefense[defender];
+        double typeEffectiveness = EFFECTIVENESS[type * (TYPES + 1) + primaryType[defender]]
+            * EFFECTIVENESS[type * (TYPES + 1) + secondaryType[defender]];
+        double stab = (type == primaryType[attacker] || type == secondaryType[attacker]) ? 1.5 : 1.0;
+        return (int) (((double) (movePower * attackStat) / defenseStat * 0.5 * typeEffectiveness * stab) + 1);
+    }
+
+    /**
+     * Plays every battle of the batch to the end, one battle at a time.
+     *
+     * @param maxTurns The number of turns after which a battle is a draw
+     * @return The number of battles that ended before the turn limit
+     */
+
+    public int run(int maxTurns) {
+        reset();
+        int decided = 0;
+        for (int b = 0; b < battles; b++) {
+            if (outcome[b] != RUNNING) {
+                decided++;
+                continue;
+            }
+            for (int turn = 0; turn < maxTurns && outcome[b] == RUNNING; turn++) {
+                int side = turn & 1;
+                int other = side ^ 1;
+                int slot = active[side * capacity + b];
+                int attacker = slotIndex(side, slot, b);
+                int defender = slotIndex(other, active[other * capacity + b], b);
+                if (moveCount[attacker] > 0) {
+                    int best = -1;
+                    int bestDamage = 0;
+                    for (int m = 0; m < moveCount[attacker]; m++) {
+                        int move = moveIndex(side, slot, m, b);
+                        if (powerPoints[move] > 0) {
+                            int dealt = damage(power[move], moveType[move], physical[move], attacker, defender);
+                            if (best == -1 || dealt > bestDamage) {
+                                best = m;
+                                bestDamage = dealt;
+                            }
+                        }
+                    }
+                    if (best >= 0) {
+                        powerPoints[moveIndex(side, slot, best, b)]--;
+                        health[defender] = Math.max(0, health[defender] - bestDamage);
+                    } else {
+                        int dealt = damage(STRUGGLE.getPower(), STRUGGLE.getType().ordinal(), 1, attacker, defender);
+                        health[defender] = Math.max(0, health[defender] - dealt);
+                        health[attacker] = Math.max(0, health[attacker] - dealt / 2);
+                    }
+                }
+                settle(side, other, b, turn + 1);
+            }
+            if (outcome[b] == RUNNING) {
+                outcome[b] = DRAW;
+                turns[b] = maxTurns;
+            } else {
+                decided++;
+            }
+        }
+        return decided;
+    }
+
+    /**
+     * The strategy both sides of the kernel play with, for the object engine: never switch,
+     * and use the most damaging move with PP left.
+     */
+
+    public static final class ReferenceStrategy implements AIStrategy {
+
+        @Override
+        public int selectMove(Pokemon activePokemon) {
+            int best = -1;
+            List<Move> moves = activePokemon.getMoves();
+            for (int i = 0; i < moves.size(); i++) {
+                if (moves.get(i).getPowerPoints() > 0 && (best == -1 || moves.get(i).getPower() > moves.get(best).getPower())) {
+                    best = i;
+                }
+            }
+            return Math.max(0, best);
+        }
+
+        @Override
+        public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+            return -1;
+        }
+
+        @Override
+        public int selectMove(BattleView view) {
+            return Math.max(0, view.getBestMoveIndex());
+        }
+
+        @Override
+        public int selectSwitch(BattleView view) {
+            return -1;
+        }
+    }
+}
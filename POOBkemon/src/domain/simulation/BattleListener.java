@@ -0,0 +1,44 @@
+package domain.simulation;
+
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import java.util.List;
+
+/**
+ * BattleListener is told what happens in the battles of a BattleSimulator.
+ * One listener may watch battles played on several threads at once, so implementations must
+ * be thread safe; they are called on the thread playing the battle.
+ */
+
+public interface BattleListener {
+
+    /**
+     * Called after a Pokemon attacks.
+     *
+     * @param attacker The attacking Pokemon
+     * @param defender The defending Pokemon
+     * @param move The move used, Struggle when the attacker had no PP left
+     * @param damage The damage dealt
+     * @param superEffective Whether the move was super effective
+     * @param knockedOut Whether the defender fainted
+     */
+
+    default void onAttack(Pokemon attacker, Pokemon defender, Move move, int damage,
+                          boolean superEffective, boolean knockedOut) {
+    }
+
+    /**
+     * Called once a battle is over.
+     *
+     * @param firstTeam The team of the side that moved first
+     * @param firstTurnsSurvived For each of its Pokemon, the turn it fainted on, or the length of the battle
+     * @param secondTeam The other team
+     * @param secondTurnsSurvived The same for the other team
+     * @param outcome The outcome
+     * @param turns The number of turns played, counting both sides
+     */
+
+    default void onBattleEnd(List<Pokemon> firstTeam, int[] firstTurnsSurvived, List<Pokemon> secondTeam,
+                             int[] secondTurnsSurvived, BattleSimulator.Outcome outcome, int turns) {
+    }
+}
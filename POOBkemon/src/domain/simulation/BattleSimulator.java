@@ -0,0 +1,231 @@
+package domain.simulation;
+
+import domain.game.TypeEffectivenessTable;
+import domain.metrics.Counter;
+import domain.metrics.Metrics;
+import domain.moves.Move;
+import domain.moves.StruggleMove;
+import domain.player.ai.AIStrategy;
+import domain.player.ai.BattleView;
+import domain.player.ai.LiveBattleView;
+import domain.pokemons.Pokemon;
+import java.util.List;
+
+/**
+ * BattleSimulator plays a whole battle between two AI strategies without a Game:
+ * no actor, no timers, no events and no snapshots, just the battle rules of Normal mode.
+ * On its turn a side may switch (which uses the turn) or attack; a fainted Pokemon is
+ * replaced by the next one standing, and the side left with no Pokemon loses.
+ * Battles that reach the turn limit are draws, which keeps strategies that switch
+ * back and forth forever from hanging a simulation.
+ * A BattleListener can be given to a battle to collect statistics about it.
+ */
+
+public final class BattleSimulator {
+
+    /**
+     * The result of a battle, seen from the side that moved first.
+     */
+
+    public enum Outcome {
+        FIRST_WINS, SECOND_WINS, DRAW
+    }
+
+    /**
+     * The default number of turns, counting both sides, after which a battle is a draw.
+     */
+    public static final int DEFAULT_MAX_TURNS = 600;
+
+    private static final Move STRUGGLE = new StruggleMove();
+    private static final Counter damageCalculations = Metrics.counter("simulation.damage.calculations");
+
+    private final int maxTurns;
+
+    /**
+     * Creates a simulator with the default turn limit.
+     */
+
+    public BattleSimulator() {
+        this(DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * Creates a simulator.
+     * @param maxTurns The number of turns after which a battle is a draw
+     */
+
+    public BattleSimulator(int maxTurns) {
+        if (maxTurns < 1) {
+            throw new IllegalArgumentException("maxTurns must be positive: " + maxTurns);
+        }
+        this.maxTurns = maxTurns;
+    }
+
+    /*
+     * One side of a simulated battle.
+     */
+
+    private static final class Side {
+        private final AIStrategy strategy;
+        private final List<Pokemon> team;
+        private final LiveBattleView view = new LiveBattleView();
+        private final int[] turnsSurvived;
+        private int active;
+
+        private Side(AIStrategy strategy, List<Pokemon> team) {
+            this.strategy = strategy;
+            this.team = team;
+            this.turnsSurvived = new int[team.size()];
+        }
+
+        private Pokemon active() {
+            return team.get(active);
+        }
+
+        private BattleView view(Side opponent) {
+            return view.update(team, active, List.of(), opponent.team, opponent.active, List.of(), -1);
+        }
+
+        /*
+         * Records the turn the active Pokemon fainted on, the first time it is seen fainted.
+         */
+
+        private void recordFainted(int turn) {
+            if (active().isFainted() && turnsSurvived[active] == 0) {
+                turnsSurvived[active] = turn;
+            }
+        }
+
+        private boolean replaceFainted() {
+            for (int i = 0; i < team.size(); i++) {
+                if (!team.get(i).isFainted()) {
+                    active = i;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Plays a battle. The teams are modified, so they must not be reused.
+     *
+     * @param first The strategy that moves first
+     * @param firstTeam The first strategy's team
+     * @param second The other strategy
+     * @param secondTeam The other strategy's team
+     * @return The outcome
+     */
+
+    public Outcome play(AIStrategy first, List<Pokemon> firstTeam, AIStrategy second, List<Pokemon> secondTeam) {
+        return play(first, firstTeam, second, secondTeam, null);
+    }
+
+    /**
+     * Plays a battle and tells a listener about it. The teams are modified, so they must not be reused.
+     *
+     * @param first The strategy that moves first
+     * @param firstTeam The first strategy's team
+     * @param second The other strategy
+     * @param secondTeam The other strategy's team
+     * @param listener The listener, or null
+     * @return The outcome
+     */
+
+    public Outcome play(AIStrategy first, List<Pokemon> firstTeam, AIStrategy second, List<Pokemon> secondTeam,
+                        BattleListener listener) {
+        Side[] sides = {new Side(first, firstTeam), new Side(second, secondTeam)};
+        int turn = 0;
+        Outcome outcome = Outcome.DRAW;
+        for (Side side : sides) {
+            if (!side.replaceFainted()) {
+                outcome = side == sides[0] ? Outcome.SECOND_WINS : Outcome.FIRST_WINS;
+                return finish(sides, outcome, turn, listener);
+            }
+        }
+        while (turn < maxTurns) {
+            Side attacker = sides[turn & 1];
+            Side defender = sides[(turn & 1) ^ 1];
+            turn++;
+            BattleView view = attacker.view(defender);
+            if (!trySwitch(attacker, view)) {
+                attack(attacker, defender, view, listener);
+            }
+            defender.recordFainted(turn);
+            attacker.recordFainted(turn);
+            boolean defenderLost = defender.active().isFainted() && !defender.replaceFainted();
+            boolean attackerLost = attacker.active().isFainted() && !attacker.replaceFainted();
+            if (defenderLost || attackerLost) {
+                if (defenderLost && attackerLost) {
+                    outcome = Outcome.DRAW;
+                } else {
+                    outcome = (attackerLost ? defender : attacker) == sides[0] ? Outcome.FIRST_WINS : Outcome.SECOND_WINS;
+                }
+                break;
+            }
+        }
+        return finish(sides, outcome, turn, listener);
+    }
+
+    /*
+     * Pokemon still standing survived the whole battle.
+     */
+
+    private static Outcome finish(Side[] sides, Outcome outcome, int turns, BattleListener listener) {
+        if (listener != null) {
+            for (Side side : sides) {
+                for (int i = 0; i < side.turnsSurvived.length; i++) {
+                    if (side.turnsSurvived[i] == 0) {
+                        side.turnsSurvived[i] = turns;
+                    }
+                }
+            }
+            listener.onBattleEnd(sides[0].team, sides[0].turnsSurvived, sides[1].team, sides[1].turnsSurvived,
+                outcome, turns);
+        }
+        return outcome;
+    }
+
+    private static boolean trySwitch(Side side, BattleView view) {
+        int index = side.strategy.selectSwitch(view);
+        if (index < 0 || index >= side.team.size() || index == side.active || side.team.get(index).isFainted()) {
+            return false;
+        }
+        side.active = index;
+        return true;
+    }
+
+    /*
+     * With no PP left the strategies cannot pick a move, so the first move is used
+     * and Pokemon.attack turns it into Struggle.
+     */
+
+    private static void attack(Side attacker, Side defender, BattleView view, BattleListener listener) {
+        Pokemon pokemon = attacker.active();
+        List<Move> moves = pokemon.getMoves();
+        if (moves.isEmpty()) {
+            return;
+        }
+        boolean struggling = pokemon.allMovesOutOfPP();
+        int index = struggling ? 0 : attacker.strategy.selectMove(view);
+        if (index < 0 || index >= moves.size()) {
+            index = 0;
+        }
+        Move move = moves.get(index);
+        boolean hadPowerPoints = move.getPowerPoints() > 0;
+        Pokemon target = defender.active();
+        int damage = pokemon.attack(target, move, damageCalculations);
+        if (listener != null && (struggling || hadPowerPoints)) {
+            Move used = struggling ? STRUGGLE : move;
+            listener.onAttack(pokemon, target, used, damage, effectiveness(used, target) > 1.0, target.isFainted());
+        }
+    }
+
+    private static double effectiveness(Move move, Pokemon target) {
+        double effectiveness = TypeEffectivenessTable.getEffectiveness(move.getType(), target.getPrimaryType());
+        if (target.getSecondaryType() != null) {
+            effectiveness *= TypeEffectivenessTable.getEffectiveness(move.getType(), target.getSecondaryType());
+        }
+        return effectiveness;
+    }
+}
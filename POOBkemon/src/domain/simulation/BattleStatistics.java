@@ -0,0 +1,293 @@
+package domain.simulation;
+
+import domain.enums.PokemonData;
+import domain.moves.Move;
+import domain.moves.MoveRegistry;
+import domain.moves.StruggleMove;
+import domain.pokemons.Pokemon;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * BattleStatistics aggregates balance data over any number of simulated battles: for each
+ * species its battles, wins, draws, faints and turns survived, and for each move its uses,
+ * damage, super effective hits and knock-outs. Nothing is kept per battle.
+ *
+ * Every thread that reports a battle gets its own stripe of primitive counters, so recording
+ * never locks or contends. summarize() adds the stripes up; call it once the battles are over
+ * (for example after StrategyEvaluator.evaluate returns), because a stripe that is still being
+ * written to is read without synchronization.
+ */
+
+public final class BattleStatistics implements BattleListener {
+    private static final int SPECIES_BATTLES = 0;
+    private static final int SPECIES_WINS = 1;
+    private static final int SPECIES_DRAWS = 2;
+    private static final int SPECIES_FAINTS = 3;
+    private static final int SPECIES_TURNS = 4;
+    private static final int SPECIES_FIELDS = 5;
+    private static final int MOVE_USES = 0;
+    private static final int MOVE_DAMAGE = 1;
+    private static final int MOVE_SUPER_EFFECTIVE = 2;
+    private static final int MOVE_KILLS = 3;
+    private static final int MOVE_FIELDS = 4;
+
+    private final Map<String, Integer> speciesIndex = new HashMap<>();
+    private final Map<String, Integer> moveIndex = new HashMap<>();
+    private final List<String> moveNames = new ArrayList<>();
+    private final Queue<Stripe> stripes = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Stripe> stripe = ThreadLocal.withInitial(this::newStripe);
+
+    /*
+     * The counters of one thread: fields of an entity are next to each other.
+     */
+
+    private static final class Stripe {
+        private final long[] species;
+        private final long[] moves;
+        private long battles;
+        private long turns;
+
+        private Stripe(int speciesCount, int moveCount) {
+            this.species = new long[speciesCount * SPECIES_FIELDS];
+            this.moves = new long[moveCount * MOVE_FIELDS];
+        }
+    }
+
+    /**
+     * Creates an empty aggregate over the species in PokemonData and the moves in MoveRegistry.
+     * Struggle is counted as a move too.
+     */
+
+    public BattleStatistics() {
+        for (PokemonData data : PokemonData.values()) {
+            speciesIndex.put(data.getName().toLowerCase(Locale.ROOT), data.ordinal());
+        }
+        for (Move move : MoveRegistry.getMoves()) {
+            addMoveName(move.getName());
+        }
+        addMoveName(new StruggleMove().getName());
+    }
+
+    private void addMoveName(String name) {
+        if (moveIndex.putIfAbsent(name.toLowerCase(Locale.ROOT), moveNames.size()) == null) {
+            moveNames.add(name);
+        }
+    }
+
+    private Stripe newStripe() {
+        Stripe created = new Stripe(PokemonData.values().length, moveNames.size());
+        stripes.add(created);
+        return created;
+    }
+
+    @Override
+    public void onAttack(Pokemon attacker, Pokemon defender, Move move, int damage,
+                         boolean superEffective, boolean knockedOut) {
+        Integer index = moveIndex.get(move.getName().toLowerCase(Locale.ROOT));
+        if (index == null) {
+            return;
+        }
+        long[] moves = stripe.get().moves;
+        int base = index * MOVE_FIELDS;
+        moves[base + MOVE_USES]++;
+        moves[base + MOVE_DAMAGE] += damage;
+        if (superEffective) {
+            moves[base + MOVE_SUPER_EFFECTIVE]++;
+        }
+        if (knockedOut) {
+            moves[base + MOVE_KILLS]++;
+        }
+    }
+
+    @Override
+    public void onBattleEnd(List<Pokemon> firstTeam, int[] firstTurnsSurvived, List<Pokemon> secondTeam,
+                            int[] secondTurnsSurvived, BattleSimulator.Outcome outcome, int turns) {
+        Stripe current = stripe.get();
+        current.battles++;
+        current.turns += turns;
+        recordTeam(current, firstTeam, firstTurnsSurvived, outcome, BattleSimulator.Outcome.FIRST_WINS);
+        recordTeam(current, secondTeam, secondTurnsSurvived, outcome, BattleSimulator.Outcome.SECOND_WINS);
+    }
+
+    private void recordTeam(Stripe current, List<Pokemon> team, int[] turnsSurvived,
+                            BattleSimulator.Outcome outcome, BattleSimulator.Outcome win) {
+        for (int i = 0; i < team.size(); i++) {
+            Pokemon pokemon = team.get(i);
+            Integer index = speciesIndex.get(pokemon.getName().toLowerCase(Locale.ROOT));
+            if (index == null) {
+                continue;
+            }
+            int base = index * SPECIES_FIELDS;
+            current.species[base + SPECIES_BATTLES]++;
+            if (outcome == win) {
+                current.species[base + SPECIES_WINS]++;
+            } else if (outcome == BattleSimulator.Outcome.DRAW) {
+                current.species[base + SPECIES_DRAWS]++;
+            }
+            if (pokemon.isFainted()) {
+                current.species[base + SPECIES_FAINTS]++;
+            }
+            current.species[base + SPECIES_TURNS] += turnsSurvived[i];
+        }
+    }
+
+    /**
+     * Adds up the counters of every thread.
+     * @return The totals so far
+     */
+
+    public Summary summarize() {
+        Summary summary = new Summary(moveNames, moveIndex, PokemonData.values().length);
+        for (Stripe each : stripes) {
+            summary.battles += each.battles;
+            summary.turns += each.turns;
+            for (int i = 0; i < each.species.length; i++) {
+                summary.species[i] += each.species[i];
+            }
+            for (int i = 0; i < each.moves.length; i++) {
+                summary.moves[i] += each.moves[i];
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * The totals of a BattleStatistics at the time it was summarized.
+     */
+
+    public static final class Summary {
+        private final List<String> moveNames;
+        private final Map<String, Integer> moveIndex;
+        private final long[] species;
+        private final long[] moves;
+        private long battles;
+        private long turns;
+
+        private Summary(List<String> moveNames, Map<String, Integer> moveIndex, int speciesCount) {
+            this.moveNames = List.copyOf(moveNames);
+            this.moveIndex = Map.copyOf(moveIndex);
+            this.species = new long[speciesCount * SPECIES_FIELDS];
+            this.moves = new long[moveNames.size() * MOVE_FIELDS];
+        }
+
+        public long getBattles() { return battles; }
+
+        public double getAverageTurns() { return ratio(turns, battles); }
+
+        public long getBattles(PokemonData data) { return species(data, SPECIES_BATTLES); }
+
+        public long getWins(PokemonData data) { return species(data, SPECIES_WINS); }
+
+        public long getDraws(PokemonData data) { return species(data, SPECIES_DRAWS); }
+
+        public long getFaints(PokemonData data) { return species(data, SPECIES_FAINTS); }
+
+        /**
+         * Gets the share of the battles a species took part in that its team won.
+         * @param data The species
+         * @return The win rate, 0 if it never battled
+         */
+
+        public double getWinRate(PokemonData data) {
+            return ratio(getWins(data), getBattles(data));
+        }
+
+        /**
+         * Gets the average number of turns, counting both sides, before a species fainted.
+         * A Pokemon that did not faint survived the whole battle.
+         * @param data The species
+         * @return The average turns survived, 0 if it never battled
+         */
+
+        public double getAverageTurnsSurvived(PokemonData data) {
+            return ratio(species(data, SPECIES_TURNS), getBattles(data));
+        }
+
+        public long getUses(String move) { return move(move, MOVE_USES); }
+
+        public long getDamage(String move) { return move(move, MOVE_DAMAGE); }
+
+        public long getKills(String move) { return move(move, MOVE_KILLS); }
+
+        /**
+         * Gets the share of the uses of a move that were super effective.
+         * @param move The move name
+         * @return The super effective rate, 0 if it was never used
+         */
+
+        public double getSuperEffectiveRate(String move) {
+            return ratio(move(move, MOVE_SUPER_EFFECTIVE), getUses(move));
+        }
+
+        private long species(PokemonData data, int field) {
+            return species[data.ordinal() * SPECIES_FIELDS + field];
+        }
+
+        private long move(String name, int field) {
+            Integer index = moveIndex.get(name.toLowerCase(Locale.ROOT));
+            return index == null ? 0 : moves[index * MOVE_FIELDS + field];
+        }
+
+        private static double ratio(long numerator, long denominator) {
+            return denominator == 0 ? 0 : (double) numerator / denominator;
+        }
+
+        /**
+         * Writes one line per species: species,battles,wins,draws,win_rate,faints,avg_turns_survived.
+         * @param out The writer
+         * @throws IOException If writing fails
+         */
+
+        public void writeSpeciesCsv(Writer out) throws IOException {
+            out.write("species,battles,wins,draws,win_rate,faints,avg_turns_survived\n");
+            for (PokemonData data : PokemonData.values()) {
+                out.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%.6f,%d,%.3f\n", data.getName(), getBattles(data),
+                    getWins(data), getDraws(data), getWinRate(data), getFaints(data), getAverageTurnsSurvived(data)));
+            }
+        }
+
+        /**
+         * Writes one line per move: move,uses,total_damage,avg_damage,super_effective_rate,kills.
+         * @param out The writer
+         * @throws IOException If writing fails
+         */
+
+        public void writeMovesCsv(Writer out) throws IOException {
+            out.write("move,uses,total_damage,avg_damage,super_effective_rate,kills\n");
+            for (int i = 0; i < moveNames.size(); i++) {
+                int base = i * MOVE_FIELDS;
+                long uses = moves[base + MOVE_USES];
+                out.write(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.6f,%d\n", moveNames.get(i), uses,
+                    moves[base + MOVE_DAMAGE], ratio(moves[base + MOVE_DAMAGE], uses),
+                    ratio(moves[base + MOVE_SUPER_EFFECTIVE], uses), moves[base + MOVE_KILLS]));
+            }
+        }
+
+        /**
+         * Writes species.csv and moves.csv into a directory, creating it if needed.
+         * @param directory The directory
+         * @throws IOException If writing fails
+         */
+
+        public void exportCsv(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            try (Writer out = Files.newBufferedWriter(directory.resolve("species.csv"), StandardCharsets.UTF_8)) {
+                writeSpeciesCsv(out);
+            }
+            try (Writer out = Files.newBufferedWriter(directory.resolve("moves.csv"), StandardCharsets.UTF_8)) {
+                writeMovesCsv(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package domain.simulation;
+
+import domain.player.ai.AIStrategy;
+import domain.player.ai.BattleView;
+import domain.player.ai.ExpertStrategy;
+import domain.player.ai.PolicyAction;
+import domain.player.ai.PolicyState;
+import domain.player.ai.PolicyTableStrategy;
+import domain.pokemons.Pokemon;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PolicyTrainer learns the policy table played by PolicyTableStrategy, offline, from
+ * headless self-play. Training runs in generations: in each one, players that follow the
+ * previous generation's policy, exploring with a decaying probability, battle each other
+ * and, in some battles, the expert strategy. Every state and action taken is credited with
+ * the discounted result of its battle (Monte Carlo control), and the new policy picks the
+ * action with the best average result in each state. Workers keep their own totals, which
+ * are merged at the end of each generation, so battles run in parallel without locks.
+ */
+
+public final class PolicyTrainer {
+    private static final int ACTIONS = PolicyAction.values().length;
+    private static final double DISCOUNT = 0.97;
+    private static final double EXPERT_OPPONENT_SHARE = 0.25;
+    private static final int TEAM_SIZE = 3;
+
+    private int generations = 12;
+    private int battlesPerGeneration = 20_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1;
+    private final BattleSimulator simulator = new BattleSimulator(300);
+    private final byte[] policy = new byte[PolicyState.STATE_COUNT];
+    private final double[] returnSums = new double[PolicyState.STATE_COUNT * ACTIONS];
+    private final int[] visits = new int[PolicyState.STATE_COUNT * ACTIONS];
+
+    /**
+     * Creates a trainer that starts from an empty policy.
+     */
+
+    public PolicyTrainer() {
+        Arrays.fill(policy, PolicyTableStrategy.UNVISITED);
+    }
+
+    public void setGenerations(int generations) { this.generations = Math.max(1, generations); }
+
+    public void setBattlesPerGeneration(int battles) { this.battlesPerGeneration = Math.max(1, battles); }
+
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /*
+     * Plays the current policy with exploration and records every decision it makes.
+     */
+
+    private static final class LearningStrategy implements AIStrategy {
+        private final byte[] policy;
+        private final Random random;
+        private final double exploration;
+        private final List<Integer> decisions = new ArrayList<>();
+        private PolicyAction pending = PolicyAction.ATTACK_BEST;
+
+        private LearningStrategy(byte[] policy, Random random, double exploration) {
+            this.policy = policy;
+            this.random = random;
+            this.exploration = exploration;
+        }
+
+        @Override
+        public int selectSwitch(BattleView view) {
+            int state = PolicyState.encode(view);
+            PolicyAction action = PolicyAction.of(policy[state] & 0xFF);
+            if (action == null || random.nextDouble() < exploration) {
+                action = PolicyAction.of(random.nextInt(ACTIONS));
+            }
+            decisions.add(state * ACTIONS + action.ordinal());
+            pending = action;
+            return action.selectSwitch(view);
+        }
+
+        @Override
+        public int selectMove(BattleView view) {
+            return pending.selectMove(view);
+        }
+
+        @Override
+        public int selectMove(Pokemon activePokemon) {
+            return 0;
+        }
+
+        @Override
+        public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+            return -1;
+        }
+    }
+
+    /*
+     * Totals of one worker during one generation.
+     */
+
+    private static final class Totals {
+        private final double[] returnSums = new double[PolicyState.STATE_COUNT * ACTIONS];
+        private final int[] visits = new int[PolicyState.STATE_COUNT * ACTIONS];
+
+        private void credit(LearningStrategy player, double reward) {
+            double value = reward;
+            for (int i = player.decisions.size() - 1; i >= 0; i--) {
+                int index = player.decisions.get(i);
+                returnSums[index] += value;
+                visits[index]++;
+                value *= DISCOUNT;
+            }
+        }
+    }
+
+    /**
+     * Runs every generation of training.
+     * @return The learned policy, one action ordinal per state
+     */
+
+    public byte[] train() {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "policy-trainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int generation = 0; generation < generations; generation++) {
+                double exploration = 0.3 * Math.pow(0.05 / 0.3, generation / (double) Math.max(1, generations - 1));
+                runGeneration(executor, generation, exploration);
+                updatePolicy();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        fillItemStates();
+        return policy.clone();
+    }
+
+    private void runGeneration(ExecutorService executor, int generation, double exploration) {
+        byte[] frozen = policy.clone();
+        List<Callable<Totals>> workers = new ArrayList<>();
+        for (int w = 0; w < threads; w++) {
+            int worker = w;
+            workers.add(() -> {
+                Totals totals = new Totals();
+                Random random = new Random(seed * 1_000_003L + generation * 7919L + worker);
+                TeamPool pool = TeamPool.random(TEAM_SIZE);
+                ExpertStrategy expert = new ExpertStrategy();
+                for (int battle = worker; battle < battlesPerGeneration; battle += threads) {
+                    playBattle(frozen, random, pool, expert, exploration, totals);
+                }
+                return totals;
+            });
+        }
+        try {
+            for (Future<Totals> result : executor.invokeAll(workers)) {
+                Totals totals = result.get();
+                for (int i = 0; i < returnSums.length; i++) {
+                    returnSums[i] += totals.returnSums[i];
+                    visits[i] += totals.visits[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Self-play battle failed", e.getCause());
+        }
+    }
+
+    private void playBattle(byte[] frozen, Random random, TeamPool pool, ExpertStrategy expert, double exploration,
+                            Totals totals) {
+        LearningStrategy learner = new LearningStrategy(frozen, random, exploration);
+        LearningStrategy rival = random.nextDouble() < EXPERT_OPPONENT_SHARE
+                ? null : new LearningStrategy(frozen, random, exploration);
+        AIStrategy opponent = rival != null ? rival : expert;
+        List<Pokemon> learnerTeam = pool.create(0, random);
+        List<Pokemon> opponentTeam = pool.create(1, random);
+        boolean learnerFirst = random.nextBoolean();
+        BattleSimulator.Outcome outcome = learnerFirst
+                ? simulator.play(learner, learnerTeam, opponent, opponentTeam)
+                : simulator.play(opponent, opponentTeam, learner, learnerTeam);
+        double reward = switch (outcome) {
+            case FIRST_WINS -> learnerFirst ? 1 : -1;
+            case SECOND_WINS -> learnerFirst ? -1 : 1;
+            case DRAW -> 0;
+        };
+        totals.credit(learner, reward);
+        if (rival != null) {
+            totals.credit(rival, -reward);
+        }
+    }
+
+    private void updatePolicy() {
+        for (int state = 0; state < PolicyState.STATE_COUNT; state++) {
+            int best = -1;
+            double bestValue = 0;
+            for (int action = 0; action < ACTIONS; action++) {
+                int index = state * ACTIONS + action;
+                if (visits[index] == 0) {
+                    continue;
+                }
+                double value = returnSums[index] / visits[index];
+                if (best == -1 || value > bestValue) {
+                    best = action;
+                    bestValue = value;
+                }
+            }
+            policy[state] = best == -1 ? PolicyTableStrategy.UNVISITED : (byte) best;
+        }
+    }
+
+    /*
+     * Simulated players carry no items, so states with items are only reached in real games.
+     * They take the action of the same state without items.
+     */
+
+    private void fillItemStates() {
+        for (int state = 0; state < PolicyState.STATE_COUNT; state++) {
+            if (policy[state] == PolicyTableStrategy.UNVISITED) {
+                policy[state] = policy[PolicyState.withItemsFlipped(state)];
+            }
+        }
+    }
+
+    /**
+     * Counts the states the policy has an action for.
+     *
+     * @param policy A policy
+     * @return The number of states with an action
+     */
+
+    public static int coveredStates(byte[] policy) {
+        int covered = 0;
+        for (byte action : policy) {
+            if (action != PolicyTableStrategy.UNVISITED) {
+                covered++;
+            }
+        }
+        return covered;
+    }
+
+    /**
+     * Creates the in-memory image of a policy file.
+     *
+     * @param policy The policy
+     * @return The file contents, ready to be read by PolicyTableStrategy
+     */
+
+    public static ByteBuffer toTable(byte[] policy) {
+        ByteBuffer table = ByteBuffer.allocate(PolicyTableStrategy.HEADER_BYTES + policy.length);
+        table.putInt(PolicyTableStrategy.MAGIC).putInt(PolicyTableStrategy.VERSION)
+                .putInt(PolicyState.STATE_COUNT).putInt(ACTIONS).put(policy);
+        return table.flip();
+    }
+
+    /**
+     * Writes a policy file.
+     *
+     * @param policy The policy
+     * @param file The file to write
+     * @throws IOException If the file cannot be written
+     */
+
+    public static void write(byte[] policy, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer table = toTable(policy);
+            while (table.hasRemaining()) {
+                channel.write(table);
+            }
+        }
+    }
+
+    /**
+     * Trains a policy, writes it and measures it against the expert strategy.
+     * Arguments: output file, generations, battles per generation.
+     *
+     * @param args The command line arguments
+     * @throws IOException If the policy cannot be written
+     */
+
+    public static void main(String[] args) throws IOException {
+        Path output = Path.of(args.length > 0 ? args[0] : "policy.bin");
+        PolicyTrainer trainer = new PolicyTrainer();
+        if (args.length > 1) {
+            trainer.setGenerations(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            trainer.setBattlesPerGeneration(Integer.parseInt(args[2]));
+        }
+        long start = System.nanoTime();
+        byte[] policy = trainer.train();
+        write(policy, output);
+        System.out.printf("Wrote %s: %d of %d states covered, %.1f s%n", output, coveredStates(policy),
+                policy.length, (System.nanoTime() - start) / 1e9);
+        ByteBuffer table = PolicyTableStrategy.map(output);
+        StrategyEvaluator evaluator = new StrategyEvaluator(() -> new PolicyTableStrategy(table), ExpertStrategy::new,
+                TeamPool.random(TEAM_SIZE));
+        System.out.println("Against expert: " + evaluator.evaluate());
+    }
+}
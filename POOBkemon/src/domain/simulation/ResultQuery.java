@@ -0,0 +1,288 @@
+package domain.simulation;
+
+import domain.simulation.ResultStore.Column;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * ResultQuery filters the rows of a ResultStore and adds up the ones that match. Filters
+ * are combined with "and". A query scans the blocks in parallel: a block whose min/max
+ * statistics rule out a range filter is skipped without being read, and a block that is read
+ * has only the columns the query needs mapped.
+ *
+ * Names that are not in the dictionary match no row. Scans wrap I/O failures in
+ * UncheckedIOException.
+ */
+
+public final class ResultQuery {
+    /** The side argument that matches either team. */
+    public static final int EITHER_SIDE = -1;
+
+    private final ResultStore store;
+    private final List<Range> ranges = new ArrayList<>();
+    private final List<Member> species = new ArrayList<>();
+    private final List<Member> moves = new ArrayList<>();
+
+    private static final class Range {
+        private final Column column;
+        private final long min;
+        private final long max;
+
+        private Range(Column column, long min, long max) {
+            this.column = column;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    private static final class Member {
+        private final int side;
+        private final short code;
+
+        private Member(int side, short code) {
+            this.side = side;
+            this.code = code;
+        }
+    }
+
+    ResultQuery(ResultStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Keeps the rows whose column value is between two bounds, both included.
+     *
+     * @param column The column
+     * @param min The lowest value kept
+     * @param max The highest value kept
+     * @return This query
+     */
+
+    public ResultQuery range(Column column, long min, long max) {
+        ranges.add(new Range(column, min, max));
+        return this;
+    }
+
+    /**
+     * Keeps the battles with an outcome.
+     * @param outcome The outcome
+     * @return This query
+     */
+
+    public ResultQuery winner(BattleSimulator.Outcome outcome) {
+        return range(Column.WINNER, outcome.ordinal(), outcome.ordinal());
+    }
+
+    /**
+     * Keeps the battles a strategy played on one side.
+     *
+     * @param side 0 for the side that moved first, 1 for the other
+     * @param strategy The strategy name as it was appended
+     * @return This query
+     */
+
+    public ResultQuery strategy(int side, String strategy) {
+        short code = store.code(strategy);
+        return range(side == 0 ? Column.FIRST_STRATEGY : Column.SECOND_STRATEGY, code, code);
+    }
+
+    /**
+     * Keeps the battles of a team.
+     *
+     * @param side 0 for the side that moved first, 1 for the other
+     * @param teamHash The hash from ResultStore.teamHash
+     * @return This query
+     */
+
+    public ResultQuery team(int side, long teamHash) {
+        return range(side == 0 ? Column.FIRST_TEAM_HASH : Column.SECOND_TEAM_HASH, teamHash, teamHash);
+    }
+
+    /**
+     * Keeps the battles in which a team has a species.
+     *
+     * @param side 0, 1 or EITHER_SIDE
+     * @param name The species name
+     * @return This query
+     */
+
+    public ResultQuery species(int side, String name) {
+        species.add(new Member(side, store.code(name)));
+        return this;
+    }
+
+    /**
+     * Keeps the battles in which a Pokemon of a team knows a move.
+     *
+     * @param side 0, 1 or EITHER_SIDE
+     * @param name The move name
+     * @return This query
+     */
+
+    public ResultQuery move(int side, String name) {
+        moves.add(new Member(side, store.code(name)));
+        return this;
+    }
+
+    /**
+     * Counts the matching battles.
+     * @return The count
+     */
+
+    public long count() {
+        return totals().getBattles();
+    }
+
+    /**
+     * Scans the store and adds up the matching battles.
+     * @return The totals
+     */
+
+    public Totals totals() {
+        return IntStream.range(0, store.getBlocks()).parallel()
+            .mapToObj(this::scan)
+            .reduce(new Totals(), Totals::add);
+    }
+
+    private Totals scan(int block) {
+        Totals totals = new Totals();
+        for (Range range : ranges) {
+            if (range.max < store.getMin(range.column, block) || range.min > store.getMax(range.column, block)) {
+                return totals;
+            }
+        }
+        try {
+            int rows = store.getBlockRows(block);
+            boolean[] match = new boolean[rows];
+            Arrays.fill(match, true);
+            for (Range range : ranges) {
+                filter(match, store.map(range.column, block), range);
+            }
+            if (!species.isEmpty()) {
+                MappedByteBuffer codes = store.mapSpecies(block);
+                for (Member member : species) {
+                    filter(match, codes, member, 1);
+                }
+            }
+            if (!moves.isEmpty()) {
+                MappedByteBuffer codes = store.mapMoves(block);
+                for (Member member : moves) {
+                    filter(match, codes, member, ResultStore.MOVE_SLOTS);
+                }
+            }
+            add(totals, match, block);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return totals;
+    }
+
+    private static void filter(boolean[] match, MappedByteBuffer values, Range range) {
+        int width = range.column.getWidth();
+        for (int r = 0; r < match.length; r++) {
+            long value = switch (width) {
+                case 1 -> values.get(r);
+                case 2 -> values.getShort(r * 2);
+                case 4 -> values.getInt(r * 4);
+                default -> values.getLong(r * 8);
+            };
+            match[r] &= value >= range.min && value <= range.max;
+        }
+    }
+
+    /*
+     * A row matches if any sub-column of the side holds the code. Sub-columns are stored
+     * one after the other, first team first, slotsPerPokemon per team slot.
+     */
+
+    private void filter(boolean[] match, MappedByteBuffer codes, Member member, int slotsPerPokemon) {
+        int rows = match.length;
+        int perSide = store.getTeamSize() * slotsPerPokemon;
+        int from = member.side == 1 ? perSide : 0;
+        int to = member.side == 0 ? perSide : 2 * perSide;
+        boolean[] found = new boolean[rows];
+        for (int subColumn = from; subColumn < to; subColumn++) {
+            int base = subColumn * rows * Short.BYTES;
+            for (int r = 0; r < rows; r++) {
+                found[r] |= codes.getShort(base + r * Short.BYTES) == member.code;
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            match[r] &= found[r] && member.code != ResultStore.NONE;
+        }
+    }
+
+    private void add(Totals totals, boolean[] match, int block) throws IOException {
+        MappedByteBuffer winners = store.map(Column.WINNER, block);
+        MappedByteBuffer turns = store.map(Column.TURNS, block);
+        MappedByteBuffer firstHealth = store.map(Column.FIRST_REMAINING_HEALTH, block);
+        MappedByteBuffer secondHealth = store.map(Column.SECOND_REMAINING_HEALTH, block);
+        for (int r = 0; r < match.length; r++) {
+            if (match[r]) {
+                totals.outcomes[winners.get(r)]++;
+                totals.turns += turns.getInt(r * 4);
+                totals.firstHealth += firstHealth.getInt(r * 4);
+                totals.secondHealth += secondHealth.getInt(r * 4);
+            }
+        }
+    }
+
+    /**
+     * The battles that matched a query, added up.
+     */
+
+    public static final class Totals {
+        private final long[] outcomes = new long[BattleSimulator.Outcome.values().length];
+        private long turns;
+        private long firstHealth;
+        private long secondHealth;
+
+        private Totals add(Totals other) {
+            Totals sum = new Totals();
+            for (int i = 0; i < outcomes.length; i++) {
+                sum.outcomes[i] = outcomes[i] + other.outcomes[i];
+            }
+            sum.turns = turns + other.turns;
+            sum.firstHealth = firstHealth + other.firstHealth;
+            sum.secondHealth = secondHealth + other.secondHealth;
+            return sum;
+        }
+
+        /**
+         * Gets the number of matching battles.
+         * @return The count
+         */
+
+        public long getBattles() {
+            long battles = 0;
+            for (long count : outcomes) {
+                battles += count;
+            }
+            return battles;
+        }
+
+        public long getCount(BattleSimulator.Outcome outcome) { return outcomes[outcome.ordinal()]; }
+
+        public double getAverageTurns() { return average(turns); }
+
+        /**
+         * Gets the average health a side had left at the end, over all its Pokemon.
+         * @param side 0 for the side that moved first, 1 for the other
+         * @return The average, 0 if nothing matched
+         */
+
+        public double getAverageRemainingHealth(int side) {
+            return average(side == 0 ? firstHealth : secondHealth);
+        }
+
+        private double average(long total) {
+            long battles = getBattles();
+            return battles == 0 ? 0 : (double) total / battles;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package domain.simulation;
+
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ResultStore reads a directory of battle results written by ResultStoreWriter. The results
+ * are stored by column, one file per column, so a query reads only the columns it needs:
+ *
+ *   blocks.bin      header (magic, version, team size) and one entry per block of rows: its
+ *                   row count and the min and max of every Column in it
+ *   dictionary.txt  the species, move and strategy names, one per line; the line is the code
+ *   *.col           the columns, little-endian, block after block; species and moves have
+ *                   one sub-column per team slot (and move slot) inside each block
+ *
+ * A block entry is written only after its columns, so a store cut short by a crash ends at
+ * its last complete block. The store is opened as a snapshot: rows appended afterwards are
+ * seen by the next open. Queries map the blocks they scan and run over blocks in parallel.
+ */
+
+public final class ResultStore implements Closeable {
+    static final int MAGIC = 0x52534C54;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int BLOCK_ROWS = 1 << 16;
+    static final int ENTRY_BYTES = 8 + Column.values().length * 16;
+    static final int MOVE_SLOTS = 4;
+    static final String BLOCKS_FILE = "blocks.bin";
+    static final String DICTIONARY_FILE = "dictionary.txt";
+    static final String SPECIES_FILE = "species.col";
+    static final String MOVES_FILE = "moves.col";
+    static final short NONE = -1;
+
+    /**
+     * The fixed-width columns, each with per-block min/max statistics.
+     */
+
+    public enum Column {
+        FIRST_TEAM_HASH(8), SECOND_TEAM_HASH(8), FIRST_STRATEGY(2), SECOND_STRATEGY(2),
+        WINNER(1), TURNS(4), FIRST_REMAINING_HEALTH(4), SECOND_REMAINING_HEALTH(4);
+
+        private final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() { return width; }
+
+        String fileName() {
+            return name().toLowerCase(Locale.ROOT) + ".col";
+        }
+    }
+
+    private final Path directory;
+    private final int teamSize;
+    private final long[] blockStart;
+    private final int[] blockRows;
+    private final long[][] blockMin;
+    private final long[][] blockMax;
+    private final List<String> names;
+    private final Map<String, Short> codes;
+    private final Map<Column, FileChannel> columns = new EnumMap<>(Column.class);
+    private final FileChannel species;
+    private final FileChannel moves;
+
+    private ResultStore(Path directory, ByteBuffer blocks, List<String> names) throws IOException {
+        this.directory = directory;
+        this.teamSize = readHeader(blocks, directory);
+        int count = (blocks.limit() - HEADER_BYTES) / ENTRY_BYTES;
+        blockStart = new long[count];
+        blockRows = new int[count];
+        blockMin = new long[Column.values().length][count];
+        blockMax = new long[Column.values().length][count];
+        long start = 0;
+        for (int b = 0; b < count; b++) {
+            blocks.position(HEADER_BYTES + b * ENTRY_BYTES);
+            blockStart[b] = start;
+            blockRows[b] = (int) blocks.getLong();
+            for (Column column : Column.values()) {
+                blockMin[column.ordinal()][b] = blocks.getLong();
+                blockMax[column.ordinal()][b] = blocks.getLong();
+            }
+            start += blockRows[b];
+        }
+        this.names = List.copyOf(names);
+        this.codes = codes(names);
+        for (Column column : Column.values()) {
+            columns.put(column, FileChannel.open(directory.resolve(column.fileName()), StandardOpenOption.READ));
+        }
+        species = FileChannel.open(directory.resolve(SPECIES_FILE), StandardOpenOption.READ);
+        moves = FileChannel.open(directory.resolve(MOVES_FILE), StandardOpenOption.READ);
+    }
+
+    /**
+     * Opens a store for reading.
+     *
+     * @param directory The directory ResultStoreWriter wrote to
+     * @return The store, with the rows complete at this moment
+     * @throws IOException If the store cannot be read or is not a result store
+     */
+
+    public static ResultStore open(Path directory) throws IOException {
+        ByteBuffer blocks = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(BLOCKS_FILE)))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        blocks.limit(HEADER_BYTES + (blocks.limit() - HEADER_BYTES) / ENTRY_BYTES * ENTRY_BYTES);
+        return new ResultStore(directory, blocks, readDictionary(directory));
+    }
+
+    /*
+     * Checks the header and returns the team size.
+     */
+
+    static int readHeader(ByteBuffer blocks, Path directory) throws IOException {
+        if (blocks.limit() < HEADER_BYTES || blocks.getInt(0) != MAGIC || blocks.getInt(4) != VERSION) {
+            throw new IOException("Not a result store: " + directory);
+        }
+        return blocks.getInt(8);
+    }
+
+    static List<String> readDictionary(Path directory) throws IOException {
+        Path file = directory.resolve(DICTIONARY_FILE);
+        return Files.exists(file) ? Files.readAllLines(file, StandardCharsets.UTF_8) : List.of();
+    }
+
+    static Map<String, Short> codes(List<String> names) {
+        Map<String, Short> codes = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            codes.put(names.get(i), (short) i);
+        }
+        return codes;
+    }
+
+    /**
+     * Hashes the species and moves of a team, in order, with 64-bit FNV-1a.
+     * @param team The team
+     * @return The hash stored in the team hash columns
+     */
+
+    public static long teamHash(List<Pokemon> team) {
+        long hash = 0xcbf29ce484222325L;
+        for (Pokemon pokemon : team) {
+            hash = fnv(hash, pokemon.getName());
+            for (Move move : pokemon.getMoves()) {
+                hash = fnv(hash, move.getName());
+            }
+            hash = (hash ^ '|') * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long fnv(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return (hash ^ ',') * 0x100000001b3L;
+    }
+
+    /**
+     * Starts a query over every row.
+     * @return A query with no filters
+     */
+
+    public ResultQuery query() {
+        return new ResultQuery(this);
+    }
+
+    public Path getDirectory() { return directory; }
+
+    public int getTeamSize() { return teamSize; }
+
+    public int getBlocks() { return blockRows.length; }
+
+    /**
+     * Gets the number of rows.
+     * @return The rows in all blocks
+     */
+
+    public long getRows() {
+        int last = blockRows.length - 1;
+        return last < 0 ? 0 : blockStart[last] + blockRows[last];
+    }
+
+    /**
+     * Gets the dictionary code of a species, move or strategy name.
+     * @param name The name as it was appended
+     * @return The code, or -1 if no row has the name
+     */
+
+    public short code(String name) {
+        return codes.getOrDefault(name, NONE);
+    }
+
+    /**
+     * Gets the name of a dictionary code.
+     * @param code The code
+     * @return The name
+     */
+
+    public String name(int code) {
+        return names.get(code);
+    }
+
+    int getBlockRows(int block) { return blockRows[block]; }
+
+    long getMin(Column column, int block) { return blockMin[column.ordinal()][block]; }
+
+    long getMax(Column column, int block) { return blockMax[column.ordinal()][block]; }
+
+    /*
+     * Maps the values of a column in one block.
+     */
+
+    MappedByteBuffer map(Column column, int block) throws IOException {
+        return map(columns.get(column), blockStart[block] * column.getWidth(), blockRows[block] * column.getWidth());
+    }
+
+    /*
+     * Maps the species codes of one block: 2 * teamSize sub-columns of blockRows shorts,
+     * first team first.
+     */
+
+    MappedByteBuffer mapSpecies(int block) throws IOException {
+        long width = 2L * teamSize * Short.BYTES;
+        return map(species, blockStart[block] * width, blockRows[block] * width);
+    }
+
+    /*
+     * Maps the move codes of one block: 2 * teamSize * MOVE_SLOTS sub-columns.
+     */
+
+    MappedByteBuffer mapMoves(int block) throws IOException {
+        long width = 2L * teamSize * MOVE_SLOTS * Short.BYTES;
+        return map(moves, blockStart[block] * width, blockRows[block] * width);
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<FileChannel> channels = new ArrayList<>(columns.values());
+        channels.add(species);
+        channels.add(moves);
+        IOException failure = null;
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package domain.simulation;
+
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import domain.simulation.ResultStore.Column;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResultStoreWriter appends battle results to a ResultStore directory, a block of rows at a
+ * time. Rows are kept in primitive arrays until BLOCK_ROWS of them are buffered or flush()
+ * is called; then every column gets the block through its FileChannel, the new dictionary
+ * names are appended, and last the block entry with its min/max statistics commits it. The
+ * data files are forced to disk before the entry is written, and the entry before flush()
+ * returns, so a committed block never points at data lost by a crash.
+ *
+ * Reopening a store truncates whatever a crash left after the last committed block. Appends
+ * are synchronized, so one writer can take the results of several simulation threads.
+ */
+
+public final class ResultStoreWriter implements Closeable {
+    private final int teamSize;
+    private final FileChannel blocks;
+    private final FileChannel dictionary;
+    private final Map<Column, FileChannel> columns = new EnumMap<>(Column.class);
+    private final FileChannel species;
+    private final FileChannel moves;
+    private final List<String> names;
+    private final Map<String, Short> codes;
+    private int committedNames;
+    private long committedRows;
+
+    private final long[][] values = new long[Column.values().length][ResultStore.BLOCK_ROWS];
+    private final short[][] speciesCodes;
+    private final short[][] moveCodes;
+    private int rows;
+
+    private ResultStoreWriter(Path directory, int teamSize) throws IOException {
+        this.teamSize = teamSize;
+        blocks = FileChannel.open(directory.resolve(ResultStore.BLOCKS_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        committedRows = readCommittedRows();
+        dictionary = FileChannel.open(directory.resolve(ResultStore.DICTIONARY_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        names = readCompleteLines(dictionary);
+        codes = ResultStore.codes(names);
+        committedNames = names.size();
+        for (Column column : Column.values()) {
+            columns.put(column, open(directory.resolve(column.fileName()), committedRows * column.getWidth()));
+        }
+        species = open(directory.resolve(ResultStore.SPECIES_FILE), committedRows * 2 * teamSize * Short.BYTES);
+        moves = open(directory.resolve(ResultStore.MOVES_FILE),
+            committedRows * 2 * teamSize * ResultStore.MOVE_SLOTS * Short.BYTES);
+        speciesCodes = new short[2 * teamSize][ResultStore.BLOCK_ROWS];
+        moveCodes = new short[2 * teamSize * ResultStore.MOVE_SLOTS][ResultStore.BLOCK_ROWS];
+    }
+
+    /**
+     * Opens a store for appending, creating it if needed.
+     *
+     * @param directory The store directory
+     * @param teamSize The most Pokemon in a team; an existing store with larger teams keeps its size
+     * @return The writer
+     * @throws IOException If the store cannot be created or read
+     */
+
+    public static ResultStoreWriter open(Path directory, int teamSize) throws IOException {
+        if (teamSize < 1) {
+            throw new IllegalArgumentException("Team size must be positive: " + teamSize);
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(ResultStore.BLOCKS_FILE);
+        if (Files.exists(file) && Files.size(file) >= ResultStore.HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            int existing = ResultStore.readHeader(header, directory);
+            if (existing < teamSize) {
+                throw new IllegalArgumentException("The store has teams of at most " + existing + ", not " + teamSize);
+            }
+            teamSize = existing;
+        }
+        return new ResultStoreWriter(directory, teamSize);
+    }
+
+    /*
+     * Writes the header of a new store, drops a partial block entry and adds up the rows of
+     * the complete ones.
+     */
+
+    private long readCommittedRows() throws IOException {
+        if (blocks.size() < ResultStore.HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(ResultStore.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(ResultStore.MAGIC).putInt(ResultStore.VERSION).putInt(teamSize).putInt(0).flip();
+            blocks.truncate(0);
+            blocks.write(header, 0);
+        }
+        long entries = (blocks.size() - ResultStore.HEADER_BYTES) / ResultStore.ENTRY_BYTES;
+        blocks.truncate(ResultStore.HEADER_BYTES + entries * ResultStore.ENTRY_BYTES);
+        long committed = 0;
+        ByteBuffer count = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long b = 0; b < entries; b++) {
+            count.clear();
+            blocks.read(count, ResultStore.HEADER_BYTES + b * ResultStore.ENTRY_BYTES);
+            committed += count.getLong(0);
+        }
+        return committed;
+    }
+
+    /*
+     * Reads the dictionary and drops a last line that a crash left without its newline.
+     */
+
+    private static List<String> readCompleteLines(FileChannel channel) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        while (content.hasRemaining()) {
+            if (channel.read(content, content.position()) < 0) {
+                break;
+            }
+        }
+        int end = content.position();
+        while (end > 0 && content.get(end - 1) != '\n') {
+            end--;
+        }
+        channel.truncate(end);
+        List<String> lines = new ArrayList<>();
+        String text = new String(content.array(), 0, end, StandardCharsets.UTF_8);
+        for (String line : text.split("\n", -1)) {
+            lines.add(line);
+        }
+        if (!lines.isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+
+    private static FileChannel open(Path file, long committedBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > committedBytes) {
+            channel.truncate(committedBytes);
+        }
+        return channel;
+    }
+
+    /**
+     * Appends the result of a battle, after it was played.
+     *
+     * @param firstStrategy The name of the strategy that moved first
+     * @param firstTeam Its team, as the battle left it
+     * @param secondStrategy The name of the other strategy
+     * @param secondTeam Its team, as the battle left it
+     * @param outcome The outcome
+     * @param turns The turns the battle lasted
+     * @throws IOException If a full block cannot be written
+     */
+
+    public synchronized void append(String firstStrategy, List<Pokemon> firstTeam, String secondStrategy,
+                                    List<Pokemon> secondTeam, BattleSimulator.Outcome outcome, int turns)
+            throws IOException {
+        if (firstTeam.size() > teamSize || secondTeam.size() > teamSize) {
+            throw new IllegalArgumentException("Teams may have at most " + teamSize + " Pokemon");
+        }
+        values[Column.FIRST_TEAM_HASH.ordinal()][rows] = ResultStore.teamHash(firstTeam);
+        values[Column.SECOND_TEAM_HASH.ordinal()][rows] = ResultStore.teamHash(secondTeam);
+        values[Column.FIRST_STRATEGY.ordinal()][rows] = code(firstStrategy);
+        values[Column.SECOND_STRATEGY.ordinal()][rows] = code(secondStrategy);
+        values[Column.WINNER.ordinal()][rows] = outcome.ordinal();
+        values[Column.TURNS.ordinal()][rows] = turns;
+        values[Column.FIRST_REMAINING_HEALTH.ordinal()][rows] = remainingHealth(firstTeam);
+        values[Column.SECOND_REMAINING_HEALTH.ordinal()][rows] = remainingHealth(secondTeam);
+        encode(0, firstTeam);
+        encode(1, secondTeam);
+        if (++rows == ResultStore.BLOCK_ROWS) {
+            flush();
+        }
+    }
+
+    private void encode(int side, List<Pokemon> team) {
+        for (int slot = 0; slot < teamSize; slot++) {
+            Pokemon pokemon = slot < team.size() ? team.get(slot) : null;
+            int index = side * teamSize + slot;
+            speciesCodes[index][rows] = pokemon == null ? ResultStore.NONE : code(pokemon.getName());
+            List<Move> moveList = pokemon == null ? List.of() : pokemon.getMoves();
+            if (moveList.size() > ResultStore.MOVE_SLOTS) {
+                throw new IllegalArgumentException(pokemon.getName() + " has more than " + ResultStore.MOVE_SLOTS
+                    + " moves");
+            }
+            for (int m = 0; m < ResultStore.MOVE_SLOTS; m++) {
+                moveCodes[index * ResultStore.MOVE_SLOTS + m][rows] =
+                    m < moveList.size() ? code(moveList.get(m).getName()) : ResultStore.NONE;
+            }
+        }
+    }
+
+    private static int remainingHealth(List<Pokemon> team) {
+        int health = 0;
+        for (Pokemon pokemon : team) {
+            health += Math.max(0, pokemon.getHealth());
+        }
+        return health;
+    }
+
+    private short code(String name) {
+        Short code = codes.get(name);
+        if (code != null) {
+            return code;
+        }
+        if (names.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("The dictionary is full");
+        }
+        if (name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Names cannot span lines: " + name);
+        }
+        short added = (short) names.size();
+        names.add(name);
+        codes.put(name, added);
+        return added;
+    }
+
+    /**
+     * Writes and commits the buffered rows as a block.
+     * @throws IOException If writing fails; the rows stay buffered and the store keeps its
+     *                     last committed block
+     */
+
+    public synchronized void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(ResultStore.ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        entry.putLong(rows);
+        for (Column column : Column.values()) {
+            long[] columnValues = values[column.ordinal()];
+            ByteBuffer buffer = ByteBuffer.allocate(rows * column.getWidth()).order(ByteOrder.LITTLE_ENDIAN);
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int r = 0; r < rows; r++) {
+                long value = columnValues[r];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                switch (column.getWidth()) {
+                    case 1 -> buffer.put((byte) value);
+                    case 2 -> buffer.putShort((short) value);
+                    case 4 -> buffer.putInt((int) value);
+                    default -> buffer.putLong(value);
+                }
+            }
+            write(columns.get(column), committedRows * column.getWidth(), buffer.flip());
+            entry.putLong(min).putLong(max);
+        }
+        write(species, committedRows * speciesCodes.length * Short.BYTES, subColumns(speciesCodes));
+        write(moves, committedRows * moveCodes.length * Short.BYTES, subColumns(moveCodes));
+        if (committedNames < names.size()) {
+            StringBuilder added = new StringBuilder();
+            for (String name : names.subList(committedNames, names.size())) {
+                added.append(name).append('\n');
+            }
+            write(dictionary, dictionary.size(), ByteBuffer.wrap(added.toString().getBytes(StandardCharsets.UTF_8)));
+            committedNames = names.size();
+        }
+        for (FileChannel channel : columns.values()) {
+            channel.force(false);
+        }
+        species.force(false);
+        moves.force(false);
+        dictionary.force(false);
+        write(blocks, blocks.size(), entry.flip());
+        blocks.force(false);
+        committedRows += rows;
+        rows = 0;
+    }
+
+    /*
+     * The codes of one block, one sub-column after the other.
+     */
+
+    private ByteBuffer subColumns(short[][] codes) {
+        ByteBuffer buffer = ByteBuffer.allocate(codes.length * rows * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (short[] subColumn : codes) {
+            buffer.asShortBuffer().put(subColumn, 0, rows);
+            buffer.position(buffer.position() + rows * Short.BYTES);
+        }
+        return buffer.flip();
+    }
+
+    /*
+     * Writes a block at the committed end of a file, dropping what a failed flush left there.
+     */
+
+    private static void write(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        if (channel.size() > position) {
+            channel.truncate(position);
+        }
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            List<FileChannel> channels = new ArrayList<>(columns.values());
+            channels.addAll(List.of(species, moves, dictionary, blocks));
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+}
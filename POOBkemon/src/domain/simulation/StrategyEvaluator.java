@@ -0,0 +1,426 @@
+package domain.simulation;
+
+import domain.metrics.Counter;
+import domain.metrics.Histogram;
+import domain.metrics.Metrics;
+import domain.player.ai.AIStrategy;
+import domain.pokemons.Pokemon;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * StrategyEvaluator measures whether a candidate AI strategy is stronger than a baseline.
+ * Battles are played in pairs: both strategies play the same two teams, once with each team
+ * and once moving first, so luck of the draw cancels out within a pair. Pairs run in parallel
+ * and after each one a sequential probability ratio test (the normalized GSPRT used by chess
+ * engine testing) decides between "stronger by elo1" and "not stronger than elo0". The run
+ * stops as soon as the test decides, or when the game cap is reached, and reports the Elo
+ * difference with a 95% confidence interval.
+ */
+
+public final class StrategyEvaluator {
+
+    /**
+     * What the sequential test concluded.
+     */
+
+    public enum Decision {
+        STRONGER, NOT_STRONGER, INCONCLUSIVE
+    }
+
+    private static final int MIN_PAIRS = 16;
+    private static final double Z_95 = 1.959964;
+    private static final double MIN_VARIANCE = 1e-4;
+
+    private static final Counter battles = Metrics.counter("simulation.battles");
+    private static final Histogram evaluationTimes = Metrics.timer("simulation.evaluation");
+
+    private final Supplier<AIStrategy> candidate;
+    private final Supplier<AIStrategy> baseline;
+    private final TeamPool pool;
+    private final BattleSimulator simulator;
+    private double elo0 = 0;
+    private double elo1 = 50;
+    private double alpha = 0.05;
+    private double beta = 0.05;
+    private int maxGames = 20_000;
+    private boolean sequential = true;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = System.nanoTime();
+    private BattleListener listener;
+
+    private int pairs;
+    private int wins;
+    private int losses;
+    private int draws;
+    private double scoreSum;
+    private double scoreSquares;
+    private Decision decision;
+
+    /**
+     * Creates an evaluator. Strategies are created once per worker thread, so they do not
+     * need to be thread-safe.
+     *
+     * @param candidate Creates the strategy under test
+     * @param baseline Creates the strategy it is compared with
+     * @param pool The teams to battle with
+     */
+
+    public StrategyEvaluator(Supplier<AIStrategy> candidate, Supplier<AIStrategy> baseline, TeamPool pool) {
+        this(candidate, baseline, pool, new BattleSimulator());
+    }
+
+    /**
+     * Creates an evaluator with a specific simulator.
+     *
+     * @param candidate Creates the strategy under test
+     * @param baseline Creates the strategy it is compared with
+     * @param pool The teams to battle with
+     * @param simulator The simulator that plays the battles
+     */
+
+    public StrategyEvaluator(Supplier<AIStrategy> candidate, Supplier<AIStrategy> baseline, TeamPool pool,
+                             BattleSimulator simulator) {
+        this.candidate = candidate;
+        this.baseline = baseline;
+        this.pool = pool;
+        this.simulator = simulator;
+    }
+
+    /**
+     * Sets the hypotheses of the test: the candidate is at most elo0 stronger (H0)
+     * or at least elo1 stronger (H1).
+     *
+     * @param elo0 The Elo difference of H0
+     * @param elo1 The Elo difference of H1, greater than elo0
+     */
+
+    public void setBounds(double elo0, double elo1) {
+        if (elo1 <= elo0) {
+            throw new IllegalArgumentException("elo1 must be greater than elo0");
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+    }
+
+    /**
+     * Sets the error rates of the test.
+     *
+     * @param alpha The probability of accepting H1 when H0 is true
+     * @param beta The probability of accepting H0 when H1 is true
+     */
+
+    public void setErrorRates(double alpha, double beta) {
+        if (alpha <= 0 || alpha >= 0.5 || beta <= 0 || beta >= 0.5) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 0.5");
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Sets the most games played before giving up with an inconclusive result.
+     * @param maxGames The game cap
+     */
+
+    public void setMaxGames(int maxGames) {
+        if (maxGames < 2) {
+            throw new IllegalArgumentException("maxGames must be at least 2");
+        }
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Chooses between the sequential test and a fixed number of games. Without the test,
+     * every pair up to the game cap is played and the report stays inconclusive, which is
+     * what a tournament that compares scores over the same number of games needs.
+     *
+     * @param sequential true to stop as soon as the test decides, false to play maxGames
+     */
+
+    public void setSequential(boolean sequential) {
+        this.sequential = sequential;
+    }
+
+    /**
+     * Sets the number of battles played at the same time.
+     * @param threads The number of worker threads
+     */
+
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sets the seed the teams are drawn from. Pair n always gets the same teams for a seed,
+     * but the order in which pairs finish, and so the exact stopping point, may vary.
+     *
+     * @param seed The seed
+     */
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets a listener told about every battle, such as a BattleStatistics.
+     * @param listener The listener, or null for none
+     */
+
+    public void setListener(BattleListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Runs battles until the test decides or the game cap is reached. Games are played in
+     * pairs, so an odd game cap plays one game less.
+     * @return The report
+     */
+
+    public Report evaluate() {
+        long start = System.nanoTime();
+        synchronized (this) {
+            pairs = wins = losses = draws = 0;
+            scoreSum = scoreSquares = 0;
+            decision = null;
+        }
+        int maxPairs = maxGames / 2;
+        AtomicInteger nextPair = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "strategy-evaluator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(() -> {
+                    AIStrategy mine = candidate.get();
+                    AIStrategy theirs = baseline.get();
+                    int pair;
+                    while (!isDecided() && (pair = nextPair.getAndIncrement()) < maxPairs) {
+                        playPair(pair, mine, theirs);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> worker : executor.invokeAll(workers)) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated battle failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        evaluationTimes.recordSince(start);
+        return report(System.nanoTime() - start);
+    }
+
+    /*
+     * Plays the candidate against the baseline on teams A and B, then with the teams
+     * and the move order swapped. Each team is rebuilt from its own seed for each game.
+     */
+
+    private void playPair(int pair, AIStrategy mine, AIStrategy theirs) {
+        long seedA = mix(seed, 2L * pair);
+        long seedB = mix(seed, 2L * pair + 1);
+        BattleSimulator.Outcome first = simulator.play(mine, team(2 * pair, seedA), theirs, team(2 * pair + 1, seedB),
+            listener);
+        BattleSimulator.Outcome second = simulator.play(theirs, team(2 * pair, seedA), mine, team(2 * pair + 1, seedB),
+            listener);
+        battles.add(2);
+        double score = (score(first, true) + score(second, false)) / 2;
+        record(first, true);
+        record(second, false);
+        synchronized (this) {
+            pairs++;
+            scoreSum += score;
+            scoreSquares += score * score;
+            if (sequential && decision == null && pairs >= MIN_PAIRS) {
+                double llr = llr();
+                if (llr >= upperBound()) {
+                    decision = Decision.STRONGER;
+                } else if (llr <= lowerBound()) {
+                    decision = Decision.NOT_STRONGER;
+                }
+            }
+        }
+    }
+
+    private List<Pokemon> team(int index, long teamSeed) {
+        return pool.create(index, new Random(teamSeed));
+    }
+
+    private static double score(BattleSimulator.Outcome outcome, boolean candidateFirst) {
+        return switch (outcome) {
+            case FIRST_WINS -> candidateFirst ? 1 : 0;
+            case SECOND_WINS -> candidateFirst ? 0 : 1;
+            case DRAW -> 0.5;
+        };
+    }
+
+    private synchronized void record(BattleSimulator.Outcome outcome, boolean candidateFirst) {
+        double score = score(outcome, candidateFirst);
+        if (score == 1) {
+            wins++;
+        } else if (score == 0) {
+            losses++;
+        } else {
+            draws++;
+        }
+    }
+
+    private synchronized boolean isDecided() {
+        return decision != null;
+    }
+
+    /*
+     * Normalized GSPRT log-likelihood ratio over pair scores:
+     * n * (s1 - s0) * (2 * mean - s0 - s1) / (2 * variance),
+     * where s0 and s1 are the expected scores at elo0 and elo1.
+     */
+
+    private double llr() {
+        if (pairs == 0) {
+            return 0;
+        }
+        double s0 = expectedScore(elo0);
+        double s1 = expectedScore(elo1);
+        return pairs * (s1 - s0) * (2 * mean() - s0 - s1) / (2 * variance());
+    }
+
+    private double mean() {
+        return scoreSum / pairs;
+    }
+
+    private double variance() {
+        double mean = mean();
+        return Math.max(MIN_VARIANCE, scoreSquares / pairs - mean * mean);
+    }
+
+    private double lowerBound() {
+        return Math.log(beta / (1 - alpha));
+    }
+
+    private double upperBound() {
+        return Math.log((1 - beta) / alpha);
+    }
+
+    private synchronized Report report(long elapsedNanos) {
+        if (pairs == 0) {
+            return new Report(0, 0, 0, 0, 0, lowerBound(), upperBound(), Decision.INCONCLUSIVE, 0, 0, 0, elapsedNanos);
+        }
+        double mean = mean();
+        double margin = Z_95 * Math.sqrt(variance() / pairs);
+        return new Report(2 * pairs, wins, losses, draws, llr(), lowerBound(), upperBound(),
+                decision == null ? Decision.INCONCLUSIVE : decision,
+                elo(mean), elo(mean - margin), elo(mean + margin), elapsedNanos);
+    }
+
+    /**
+     * Converts an Elo difference to the expected score of the stronger side.
+     *
+     * @param elo The Elo difference
+     * @return The expected score, between 0 and 1
+     */
+
+    public static double expectedScore(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Converts an expected score to an Elo difference.
+     *
+     * @param score The expected score
+     * @return The Elo difference
+     */
+
+    public static double elo(double score) {
+        double clamped = Math.max(1e-6, Math.min(1 - 1e-6, score));
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+
+    private static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The result of an evaluation, from the candidate's point of view.
+     */
+
+    public static final class Report {
+        private final int games;
+        private final int wins;
+        private final int losses;
+        private final int draws;
+        private final double llr;
+        private final double lowerBound;
+        private final double upperBound;
+        private final Decision decision;
+        private final double elo;
+        private final double eloLow;
+        private final double eloHigh;
+        private final long elapsedNanos;
+
+        private Report(int games, int wins, int losses, int draws, double llr, double lowerBound, double upperBound,
+                       Decision decision, double elo, double eloLow, double eloHigh, long elapsedNanos) {
+            this.games = games;
+            this.wins = wins;
+            this.losses = losses;
+            this.draws = draws;
+            this.llr = llr;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.decision = decision;
+            this.elo = elo;
+            this.eloLow = eloLow;
+            this.eloHigh = eloHigh;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getGames() { return games; }
+
+        public int getWins() { return wins; }
+
+        public int getLosses() { return losses; }
+
+        public int getDraws() { return draws; }
+
+        public double getLlr() { return llr; }
+
+        public double getLowerBound() { return lowerBound; }
+
+        public double getUpperBound() { return upperBound; }
+
+        public Decision getDecision() { return decision; }
+
+        public double getElo() { return elo; }
+
+        public double getEloLow() { return eloLow; }
+
+        public double getEloHigh() { return eloHigh; }
+
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("%s after %d games (W %d / L %d / D %d), LLR %.2f [%.2f, %.2f], "
+                            + "Elo %+.1f (95%% CI %+.1f .. %+.1f), %.1f s",
+                    decision, games, wins, losses, draws, llr, lowerBound, upperBound,
+                    elo, eloLow, eloHigh, elapsedNanos / 1e9);
+        }
+    }
+}
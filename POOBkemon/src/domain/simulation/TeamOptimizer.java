@@ -0,0 +1,417 @@
+package domain.simulation;
+
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.moves.Move;
+import domain.moves.MoveRegistry;
+import domain.player.ai.AIStrategy;
+import domain.player.ai.AttackingStrategy;
+import domain.player.ai.ChangingStrategy;
+import domain.player.ai.DefensiveStrategy;
+import domain.player.ai.ExpertStrategy;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * TeamOptimizer evolves a team with a genetic algorithm. A genome is a team of distinct
+ * species, each with up to four moves from its legal pool (the moves of its types and
+ * NORMAL moves, as in Pokemon.assignRandomMoves). Fitness is the win rate of the team,
+ * played by a strategy, against a fixed set of opponents drawn once per run, so every
+ * genome faces the same battles and a genome seen before is never evaluated twice.
+ * Genomes of a generation are evaluated in parallel on all cores.
+ */
+
+public final class TeamOptimizer {
+    public static final int MAX_TEAM_SIZE = 6;
+    private static final int MAX_MOVES = 4;
+    private static final int TOURNAMENT_SIZE = 3;
+    private static final int ELITES = 2;
+    private static final List<Move> MOVES = MoveRegistry.getMoves();
+    private static final PokemonData[] SPECIES = PokemonData.values();
+    private static final int[][] LEGAL_MOVES = new int[SPECIES.length][];
+
+    static {
+        for (int s = 0; s < SPECIES.length; s++) {
+            List<Integer> legal = new ArrayList<>();
+            for (int m = 0; m < MOVES.size(); m++) {
+                PokemonType type = MOVES.get(m).getType();
+                if (type == SPECIES[s].getPrimaryType() || type == SPECIES[s].getSecondaryType()
+                        || type == PokemonType.NORMAL) {
+                    legal.add(m);
+                }
+            }
+            LEGAL_MOVES[s] = legal.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private final int teamSize;
+    private int populationSize = 48;
+    private int generations = 30;
+    private int battlesPerGenome = 96;
+    private double mutationRate = 0.2;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = System.nanoTime();
+    private Supplier<AIStrategy> strategy = ExpertStrategy::new;
+    private List<Supplier<AIStrategy>> opponents = List.of(ExpertStrategy::new, AttackingStrategy::new,
+            DefensiveStrategy::new, ChangingStrategy::new);
+    private TeamPool opponentPool;
+    private ObjIntConsumer<Genome> progressListener;
+    private final BattleSimulator simulator = new BattleSimulator();
+    private final Map<Genome, Double> fitnessCache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an optimizer for teams of the given size.
+     * @param teamSize The number of Pokemon in the team, from 1 to 6
+     */
+
+    public TeamOptimizer(int teamSize) {
+        if (teamSize < 1 || teamSize > Math.min(MAX_TEAM_SIZE, SPECIES.length)) {
+            throw new IllegalArgumentException("Team size out of range: " + teamSize);
+        }
+        this.teamSize = teamSize;
+        this.opponentPool = TeamPool.random(teamSize);
+    }
+
+    public void setPopulationSize(int populationSize) { this.populationSize = Math.max(ELITES + 2, populationSize); }
+
+    public void setGenerations(int generations) { this.generations = Math.max(1, generations); }
+
+    public void setBattlesPerGenome(int battles) { this.battlesPerGenome = Math.max(1, battles); }
+
+    public void setMutationRate(double mutationRate) { this.mutationRate = mutationRate; }
+
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * Sets the strategy that plays the evolved team.
+     * @param strategy Creates the strategy
+     */
+
+    public void setStrategy(Supplier<AIStrategy> strategy) { this.strategy = strategy; }
+
+    /**
+     * Sets the strategies the opponents play with, used in turn.
+     * @param opponents Creates each opponent strategy
+     */
+
+    public void setOpponents(List<Supplier<AIStrategy>> opponents) {
+        if (opponents.isEmpty()) {
+            throw new IllegalArgumentException("At least one opponent is needed");
+        }
+        this.opponents = List.copyOf(opponents);
+    }
+
+    /**
+     * Sets the teams the opponents use.
+     * @param opponentPool The opponent teams
+     */
+
+    public void setOpponentPool(TeamPool opponentPool) { this.opponentPool = opponentPool; }
+
+    /**
+     * Sets a listener told about the best genome after every generation.
+     * @param progressListener Receives the best genome and the number of generations done
+     */
+
+    public void setProgressListener(ObjIntConsumer<Genome> progressListener) { this.progressListener = progressListener; }
+
+    /**
+     * Gets the number of distinct genomes evaluated so far.
+     * @return The size of the fitness cache
+     */
+
+    public int getEvaluatedGenomes() { return fitnessCache.size(); }
+
+    /**
+     * Runs the genetic algorithm.
+     * @return The best genome found
+     */
+
+    public Genome optimize() {
+        Random random = new Random(seed);
+        List<Genome> population = new ArrayList<>();
+        while (population.size() < populationSize) {
+            population.add(randomGenome(random));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "team-optimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Genome best = null;
+            for (int generation = 0; generation < generations; generation++) {
+                evaluate(executor, population);
+                population.sort(Comparator.comparingDouble(Genome::getFitness).reversed());
+                best = population.get(0);
+                if (progressListener != null) {
+                    progressListener.accept(best, generation + 1);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+                if (generation < generations - 1) {
+                    population = breed(population, random);
+                }
+            }
+            return best;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void evaluate(ExecutorService executor, List<Genome> population) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Genome genome : population) {
+            Double cached = fitnessCache.get(genome);
+            if (cached != null) {
+                genome.fitness = cached;
+            } else {
+                tasks.add(() -> {
+                    double fitness = winRate(genome);
+                    fitnessCache.putIfAbsent(genome, fitness);
+                    genome.fitness = fitness;
+                    return null;
+                });
+            }
+        }
+        try {
+            for (var task : executor.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulated battle failed", e.getCause());
+        }
+    }
+
+    /*
+     * Battle i is the same for every genome: the same opponent team, strategy and move order.
+     */
+
+    private double winRate(Genome genome) {
+        AIStrategy mine = strategy.get();
+        List<AIStrategy> theirs = new ArrayList<>();
+        for (Supplier<AIStrategy> opponent : opponents) {
+            theirs.add(opponent.get());
+        }
+        double score = 0;
+        for (int i = 0; i < battlesPerGenome; i++) {
+            AIStrategy opponent = theirs.get(i % theirs.size());
+            List<Pokemon> opponentTeam = opponentPool.create(i, new Random(seed ^ (0x9E3779B97F4A7C15L * (i + 1))));
+            boolean first = (i / theirs.size()) % 2 == 0;
+            BattleSimulator.Outcome outcome = first
+                    ? simulator.play(mine, genome.toTeam(), opponent, opponentTeam)
+                    : simulator.play(opponent, opponentTeam, mine, genome.toTeam());
+            if (outcome == BattleSimulator.Outcome.DRAW) {
+                score += 0.5;
+            } else if ((outcome == BattleSimulator.Outcome.FIRST_WINS) == first) {
+                score += 1;
+            }
+        }
+        return score / battlesPerGenome;
+    }
+
+    private List<Genome> breed(List<Genome> ranked, Random random) {
+        List<Genome> next = new ArrayList<>(ranked.subList(0, ELITES));
+        while (next.size() < populationSize) {
+            Genome child = crossover(select(ranked, random), select(ranked, random), random);
+            next.add(mutate(child, random));
+        }
+        return next;
+    }
+
+    private static Genome select(List<Genome> ranked, Random random) {
+        Genome best = null;
+        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+            Genome candidate = ranked.get(random.nextInt(ranked.size()));
+            if (best == null || candidate.fitness > best.fitness) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /*
+     * The child takes members (a species with its moves) from both parents, without repeating a species.
+     */
+
+    private Genome crossover(Genome a, Genome b, Random random) {
+        int[] species = new int[teamSize];
+        int[][] moves = new int[teamSize][];
+        List<Integer> taken = new ArrayList<>();
+        for (int i = 0; i < teamSize; i++) {
+            Genome first = random.nextBoolean() ? a : b;
+            Genome second = first == a ? b : a;
+            Genome parent = !taken.contains(first.species[i]) ? first : !taken.contains(second.species[i]) ? second : null;
+            if (parent != null) {
+                species[i] = parent.species[i];
+                moves[i] = parent.moves[i].clone();
+            } else {
+                species[i] = randomSpecies(taken, random);
+                moves[i] = randomMoves(species[i], random);
+            }
+            taken.add(species[i]);
+        }
+        return new Genome(species, moves);
+    }
+
+    private Genome mutate(Genome genome, Random random) {
+        int[] species = genome.species.clone();
+        int[][] moves = new int[teamSize][];
+        for (int i = 0; i < teamSize; i++) {
+            moves[i] = genome.moves[i].clone();
+        }
+        for (int i = 0; i < teamSize; i++) {
+            if (random.nextDouble() < mutationRate / 2) {
+                List<Integer> others = new ArrayList<>();
+                for (int j = 0; j < teamSize; j++) {
+                    if (j != i) {
+                        others.add(species[j]);
+                    }
+                }
+                others.add(species[i]);
+                species[i] = randomSpecies(others, random);
+                moves[i] = randomMoves(species[i], random);
+            } else if (random.nextDouble() < mutationRate) {
+                int[] legal = LEGAL_MOVES[species[i]];
+                if (legal.length > moves[i].length) {
+                    int replacement;
+                    do {
+                        replacement = legal[random.nextInt(legal.length)];
+                    } while (contains(moves[i], replacement));
+                    moves[i][random.nextInt(moves[i].length)] = replacement;
+                }
+            }
+        }
+        return new Genome(species, moves);
+    }
+
+    private Genome randomGenome(Random random) {
+        int[] species = new int[teamSize];
+        int[][] moves = new int[teamSize][];
+        List<Integer> taken = new ArrayList<>();
+        for (int i = 0; i < teamSize; i++) {
+            species[i] = randomSpecies(taken, random);
+            moves[i] = randomMoves(species[i], random);
+            taken.add(species[i]);
+        }
+        return new Genome(species, moves);
+    }
+
+    private static int randomSpecies(List<Integer> excluded, Random random) {
+        int species;
+        do {
+            species = random.nextInt(SPECIES.length);
+        } while (excluded.contains(species));
+        return species;
+    }
+
+    private static int[] randomMoves(int species, Random random) {
+        int[] legal = LEGAL_MOVES[species].clone();
+        int count = Math.min(MAX_MOVES, legal.length);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(legal.length - i);
+            int swap = legal[i];
+            legal[i] = legal[j];
+            legal[j] = swap;
+        }
+        int[] moves = Arrays.copyOf(legal, count);
+        Arrays.sort(moves);
+        return moves;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A team: species in battle order, each with its move set. Equal genomes share fitness.
+     */
+
+    public static final class Genome {
+        private final int[] species;
+        private final int[][] moves;
+        private final int hash;
+        private volatile double fitness;
+
+        private Genome(int[] species, int[][] moves) {
+            for (int[] set : moves) {
+                Arrays.sort(set);
+            }
+            this.species = species;
+            this.moves = moves;
+            this.hash = 31 * Arrays.hashCode(species) + Arrays.deepHashCode(moves);
+        }
+
+        /**
+         * Builds a new team from this genome, with full health and PP.
+         * @return The team
+         */
+
+        public List<Pokemon> toTeam() {
+            List<Pokemon> team = new ArrayList<>();
+            for (int i = 0; i < species.length; i++) {
+                Pokemon pokemon = new ConcretePokemon(SPECIES[species[i]]);
+                for (int move : moves[i]) {
+                    pokemon.addMove(MoveRegistry.copyOf(MOVES.get(move)));
+                }
+                team.add(pokemon);
+            }
+            return team;
+        }
+
+        /**
+         * Gets the win rate of the team against the opponents of the run.
+         * @return The fitness, between 0 and 1
+         */
+
+        public double getFitness() { return fitness; }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Genome genome && Arrays.equals(species, genome.species)
+                    && Arrays.deepEquals(moves, genome.moves);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < species.length; i++) {
+                if (i > 0) {
+                    text.append(", ");
+                }
+                text.append(SPECIES[species[i]].getName()).append(" (");
+                for (int m = 0; m < moves[i].length; m++) {
+                    text.append(m > 0 ? "/" : "").append(MOVES.get(moves[i][m]).getName());
+                }
+                text.append(')');
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package domain.simulation;
+
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.moves.Move;
+import domain.moves.MoveRegistry;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * TeamPool hands out fresh teams for simulated battles.
+ * A random pool draws Pokemon and moves from a seeded Random, so the same seed gives the
+ * same teams; a fixed pool cycles through teams given up front. Every team is built from
+ * new Pokemon and new moves, so battles never share health or PP with each other or with
+ * the move registry.
+ */
+
+public final class TeamPool {
+    private static final int MAX_MOVES = 4;
+
+    private final int teamSize;
+    private final List<List<Pokemon>> fixedTeams;
+
+    private TeamPool(int teamSize, List<List<Pokemon>> fixedTeams) {
+        this.teamSize = teamSize;
+        this.fixedTeams = fixedTeams;
+    }
+
+    /**
+     * Creates a pool of random teams.
+     *
+     * @param teamSize The number of Pokemon in each team
+     * @return The pool
+     */
+
+    public static TeamPool random(int teamSize) {
+        if (teamSize < 1 || teamSize > PokemonData.values().length) {
+            throw new IllegalArgumentException("Team size out of range: " + teamSize);
+        }
+        return new TeamPool(teamSize, null);
+    }
+
+    /**
+     * Creates a pool that cycles through the given teams. The Pokemon are used as templates:
+     * each battle gets copies at their base stats, with full health and PP.
+     *
+     * @param teams The teams
+     * @return The pool
+     */
+
+    public static TeamPool fixed(List<List<Pokemon>> teams) {
+        if (teams.isEmpty()) {
+            throw new IllegalArgumentException("A fixed pool needs at least one team");
+        }
+        List<List<Pokemon>> copies = new ArrayList<>();
+        for (List<Pokemon> team : teams) {
+            copies.add(List.copyOf(team));
+        }
+        return new TeamPool(0, List.copyOf(copies));
+    }
+
+    /**
+     * Builds the team with the given index. Random pools use the Random to pick the team;
+     * fixed pools use the index.
+     *
+     * @param index The team index
+     * @param random The source of randomness for this team
+     * @return A new team
+     */
+
+    public List<Pokemon> create(int index, Random random) {
+        if (fixedTeams != null) {
+            List<Pokemon> team = new ArrayList<>();
+            for (Pokemon template : fixedTeams.get(Math.floorMod(index, fixedTeams.size()))) {
+                Pokemon pokemon = new ConcretePokemon(PokemonData.fromName(template.getName()));
+                for (Move move : template.getMoves()) {
+                    pokemon.addMove(MoveRegistry.copyOf(move));
+                }
+                team.add(pokemon);
+            }
+            return team;
+        }
+        PokemonData[] all = PokemonData.values();
+        List<Pokemon> team = new ArrayList<>();
+        while (team.size() < teamSize) {
+            Pokemon pokemon = new ConcretePokemon(all[random.nextInt(all.length)]);
+            assignMoves(pokemon, random);
+            team.add(pokemon);
+        }
+        return team;
+    }
+
+    /*
+     * Picks moves the same way Pokemon.assignRandomMoves does, but from the given Random
+     * and with copies of the registry's moves.
+     */
+
+    private static void assignMoves(Pokemon pokemon, Random random) {
+        List<Move> available = new ArrayList<>(MoveRegistry.getMovesByType(pokemon.getPrimaryType()));
+        if (pokemon.getSecondaryType() != null) {
+            available.addAll(MoveRegistry.getMovesByType(pokemon.getSecondaryType()));
+        }
+        available.addAll(MoveRegistry.getMovesByType(PokemonType.NORMAL));
+        int count = Math.min(MAX_MOVES, available.size());
+        for (int i = 0; i < count; i++) {
+            pokemon.addMove(MoveRegistry.copyOf(available.remove(random.nextInt(available.size()))));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import domain.enums.GameModality;
 import domain.enums.PokemonData;
 import domain.pokemons.ConcretePokemon;
 import domain.pokemons.Pokemon;
+import domain.moves.MoveSetSolver;
 import domain.game.Game;
 import domain.game.NormalMode;
 import domain.game.SurvivalMode;
@@ -19,6 +20,7 @@ import presentation.screens.GameSetupScreen;
 import presentation.screens.PokemonSelectionScreen;
 import presentation.screens.ItemSelectionScreen;
 import presentation.screens.GameScreen;
+import presentation.utils.AssetPreloader;
 import presentation.utils.SoundManager;
 import presentation.utils.UIConstants;
 
@@ -89,6 +91,7 @@ public class GameController {
     public void showGameModeSelection() {
         GameSetupScreen setupScreen = new GameSetupScreen(this);
         view.showGameModeSelection(setupScreen);
+        AssetPreloader.onScreenShown(AssetPreloader.Screen.SETUP);
     }
 
     /**
@@ -124,8 +127,9 @@ public class GameController {
         view.setSelectedModality(modality);
         PokemonSelectionScreen selectionScreen = new PokemonSelectionScreen(this);
         selectionScreen.setGameOptions(modality, view.getSelectedMode());
-        soundManager.playBackgroundMusic("/sounds-music/music-cover/pokemonSelectionScreen-ItemSelectionScreen.wav");
+        soundManager.playBackgroundMusic(UIConstants.SELECTION_MUSIC_PATH);
         view.showPokemonSelection(selectionScreen);
+        AssetPreloader.onScreenShown(AssetPreloader.Screen.POKEMON_SELECTION);
     }
 
     /**
@@ -139,8 +143,11 @@ public class GameController {
     public void showItemSelectionScreen(GameModality modality, GameMode mode, List<Pokemon> player1Team, List<Pokemon> player2Team) {
         ItemSelectionScreen itemScreen = new ItemSelectionScreen(this);
         itemScreen.setGameOptions(modality, mode, player1Team, player2Team);
-        soundManager.playBackgroundMusic("/sounds-music/music-cover/pokemonSelectionScreen-ItemSelectionScreen.wav");
+        soundManager.playBackgroundMusic(UIConstants.SELECTION_MUSIC_PATH);
         view.showItemSelectionScreen(itemScreen);
+        AssetPreloader.onScreenShown(AssetPreloader.Screen.ITEM_SELECTION);
+        AssetPreloader.prefetchTeam(player1Team, true, 150, 150);
+        AssetPreloader.prefetchTeam(player2Team, false, 150, 150);
     }
 
     /**
@@ -157,7 +164,7 @@ public class GameController {
 
     /**
      * Generates a random Pokémon team of 1 to 6 Pokémon.
-     * Each Pokémon is assigned random moves.
+     * Each Pokémon gets one of the best move sets of its species.
      * @return A list of 1 to 6 randomly generated Pokémon.
      */
 
@@ -172,7 +179,7 @@ public class GameController {
         while (team.size() < teamSize) {
             int randomIndex = random.nextInt(allPokemon.length);
             Pokemon pokemon = new ConcretePokemon(allPokemon[randomIndex]);
-            pokemon.assignRandomMoves();
+            pokemon.setMoves(MoveSetSolver.pickMoves(allPokemon[randomIndex], random));
             team.add(pokemon);
         }
 
@@ -225,11 +232,15 @@ public class GameController {
 
                 // Load the new game
                 Game loadedGame = Game.load(file);
+                if (game != null) {
+                    game.stop();
+                }
                 
 
                 GameScreen gameScreen = new GameScreen(soundManager, this);
                 gameScreen.setGame(loadedGame);
                 loadedGame.setGameScreen(gameScreen);
+                loadedGame.resumeLoaded();
                 
 
                 this.game = loadedGame;
@@ -237,7 +248,7 @@ public class GameController {
 
 
                 if (loadedGame.getGameMode() instanceof SurvivalMode) {
-                    soundManager.playBackgroundMusic("/sounds-music/music-cover/survivalTheme.wav");
+                    soundManager.playBackgroundMusic(UIConstants.SURVIVAL_MUSIC_PATH);
                 } else {
                     GameModality modality = loadedGame.getPlayer1().isAI() ? 
                         (loadedGame.getPlayer2().isAI() ? GameModality.AI_VS_AI : GameModality.PLAYER_VS_AI) 
@@ -245,14 +256,14 @@ public class GameController {
                     
                     switch (modality) {
                         case PLAYER_VS_PLAYER:
-                            soundManager.playBackgroundMusic("/sounds-music/music-cover/playerVSplayer.wav");
+                            soundManager.playBackgroundMusic(UIConstants.PVP_MUSIC_PATH);
                             break;
                         case PLAYER_VS_AI:
                         case AI_VS_AI:
-                            soundManager.playBackgroundMusic("/sounds-music/music-cover/playerVSAi.wav");
+                            soundManager.playBackgroundMusic(UIConstants.PVE_MUSIC_PATH);
                             break;
                         default:
-                            soundManager.playBackgroundMusic("/sounds-music/music-cover/playerVSplayer.wav");
+                            soundManager.playBackgroundMusic(UIConstants.PVP_MUSIC_PATH);
                     }
                 }
 
@@ -352,21 +363,24 @@ public class GameController {
         }
 
         domain.game.GameMode gameMode = (mode == GameMode.NORMAL) ? new NormalMode() : new SurvivalMode();
+        if (this.game != null) {
+            this.game.stop();
+        }
         this.game = new Game(gameMode, player1, player2);
 
         if (mode == GameMode.SURVIVAL) {
-            soundManager.playBackgroundMusic("/sounds-music/music-cover/survivalTheme.wav");
+            soundManager.playBackgroundMusic(UIConstants.SURVIVAL_MUSIC_PATH);
         } else {
             switch (modality) {
                 case PLAYER_VS_PLAYER:
-                    soundManager.playBackgroundMusic("/sounds-music/music-cover/playerVSplayer.wav");
+                    soundManager.playBackgroundMusic(UIConstants.PVP_MUSIC_PATH);
                     break;
                 case PLAYER_VS_AI:
                 case AI_VS_AI:
-                    soundManager.playBackgroundMusic("/sounds-music/music-cover/playerVSAi.wav");
+                    soundManager.playBackgroundMusic(UIConstants.PVE_MUSIC_PATH);
                     break;
                 default:
-                    soundManager.playBackgroundMusic("/sounds-music/music-cover/playerVSplayer.wav");
+                    soundManager.playBackgroundMusic(UIConstants.PVP_MUSIC_PATH);
             }
         }
 
@@ -391,7 +405,6 @@ public class GameController {
 
     public void executeMove(int moveIndex) throws POOBkemonException {
         game.executeMove(moveIndex);
-        soundManager.playSoundEffect("attack");
         updateGameScreen();
     }
 
@@ -403,7 +416,7 @@ public class GameController {
 
     public void useItem(Item item) throws POOBkemonException {
         game.useItem(item);
-        soundManager.playBackgroundMusic("/sounds-music/music-cover/itemSelection.wav");
+        soundManager.playSoundEffect("item");
         updateGameScreen();
     }
 
@@ -415,7 +428,6 @@ public class GameController {
 
     public void switchPokemon(int pokemonIndex) throws POOBkemonException {
         game.switchPokemon(pokemonIndex);
-        soundManager.playSoundEffect("switch");
         updateGameScreen();
     }
 
@@ -428,8 +440,6 @@ public class GameController {
         soundManager.stopBackgroundMusic();
         if (winner != null) {
             soundManager.playSoundEffect("victory");
-        } else {
-            soundManager.playSoundEffect("defeat");
         }
     }
 
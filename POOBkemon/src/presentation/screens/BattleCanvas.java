@@ -0,0 +1,185 @@
+package presentation.screens;
+
+import domain.game.BattleSnapshot;
+import domain.game.BattleSnapshot.PlayerSnapshot;
+import domain.game.BattleSnapshot.PokemonSnapshot;
+import presentation.utils.SpriteAtlas;
+import java.awt.BasicStroke;
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/*
+ * BattleCanvas draws the battle scene (arena background, Pokemon sprites, names, HP bars
+ * and turn indicator) with active rendering. Frames are drawn into an accelerated
+ * BufferStrategy from the game loop thread, so frame pacing is set by GameLoop rather than
+ * by the RepaintManager. The Swing menus of GameScreen are kept on top of it.
+ */
+
+public class BattleCanvas extends Canvas {
+    private static final int BUFFERS = 2;
+    private static final Font NAME_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font HEALTH_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font TURN_FONT = new Font("Arial", Font.BOLD, 18);
+
+    private final int spriteWidth;
+    private final int spriteHeight;
+    private final int healthBarWidth;
+    private final int healthBarHeight;
+    private volatile Image background;
+
+    /**
+     * Creates a battle canvas.
+     *
+     * @param spriteWidth The width of a Pokemon sprite on screen
+     * @param spriteHeight The height of a Pokemon sprite on screen
+     * @param healthBarWidth The width of a health bar
+     * @param healthBarHeight The height of a health bar
+     */
+
+    public BattleCanvas(int spriteWidth, int spriteHeight, int healthBarWidth, int healthBarHeight) {
+        this.spriteWidth = spriteWidth;
+        this.spriteHeight = spriteHeight;
+        this.healthBarWidth = healthBarWidth;
+        this.healthBarHeight = healthBarHeight;
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+    }
+
+    /**
+     * Creates the buffer strategy once the canvas has a native peer.
+     */
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(BUFFERS);
+    }
+
+    /**
+     * Sets the arena background drawn behind every frame.
+     *
+     * @param background The background image
+     */
+
+    public void setBackgroundImage(Image background) {
+        this.background = background;
+    }
+
+    /**
+     * Renders one frame of the battle and shows it.
+     * Meant to be called from the game loop thread; it does nothing while the canvas
+     * is not displayable.
+     *
+     * @param snapshot The snapshot of the battle to draw
+     * @param player1YOffset The vertical animation offset of player 1's sprite
+     * @param player2YOffset The vertical animation offset of player 2's sprite
+     */
+
+    public void render(BattleSnapshot snapshot, float player1YOffset, float player2YOffset) {
+        if (snapshot == null || !isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            return;
+        }
+        try {
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        drawFrame(g, snapshot, (int) player1YOffset, (int) player2YOffset);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+        } catch (IllegalStateException e) {
+            // The peer was removed while a frame was being drawn; the next frame is skipped
+        }
+    }
+
+    /*
+     * Draws the whole scene. Positions match the passive layout of GameScreen.
+     */
+
+    private void drawFrame(Graphics2D g, BattleSnapshot snapshot, int player1YOffset, int player2YOffset) {
+        int width = getWidth();
+        int height = getHeight();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        Image arena = background;
+        if (arena != null) {
+            g.drawImage(arena, 0, 0, width, height, null);
+        } else {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, width, height);
+        }
+
+        PlayerSnapshot player1 = snapshot.getPlayer1();
+        PlayerSnapshot player2 = snapshot.getPlayer2();
+        PokemonSnapshot pokemon1 = player1.getActivePokemon();
+        PokemonSnapshot pokemon2 = player2.getActivePokemon();
+
+        if (pokemon1 != null) {
+            SpriteAtlas.drawSprite(g, SpriteAtlas.backKeyOf(pokemon1.getSpritePath()),
+                    50, height - 200 + player1YOffset, spriteWidth, spriteHeight);
+            drawNameAndHealth(g, player1, pokemon1, 100, height - 240);
+        }
+        if (pokemon2 != null) {
+            SpriteAtlas.drawSprite(g, SpriteAtlas.keyOf(pokemon2.getSpritePath()),
+                    width - 250, 100 + player2YOffset, spriteWidth, spriteHeight);
+            drawNameAndHealth(g, player2, pokemon2, width - 300, 60);
+        }
+
+        PlayerSnapshot current = snapshot.getCurrentPlayer();
+        if (current != null) {
+            g.setFont(TURN_FONT);
+            g.setColor(current.getColor());
+            g.drawString(current.getName() + "'s Turn", width / 2 - 100, 32);
+        }
+    }
+
+    /*
+     * Draws the "<player>'s <pokemon>" label and, 20 pixels below it, the HP bar.
+     */
+
+    private void drawNameAndHealth(Graphics2D g, PlayerSnapshot player, PokemonSnapshot pokemon, int x, int y) {
+        g.setFont(NAME_FONT);
+        g.setColor(player.getColor());
+        g.drawString(player.getName() + "'s " + pokemon.getName(), x, y + 15);
+
+        int barY = y + 20;
+        int health = pokemon.getHealth();
+        int maxHealth = Math.max(1, pokemon.getMaxHealth());
+        int percentage = (int) ((double) health / maxHealth * 100);
+
+        g.setColor(new Color(44, 62, 80));
+        g.fillRect(x, barY, healthBarWidth, healthBarHeight);
+        if (percentage < 20) {
+            g.setColor(new Color(231, 76, 60));
+        } else if (percentage < 50) {
+            g.setColor(new Color(230, 126, 34));
+        } else {
+            g.setColor(new Color(46, 204, 113));
+        }
+        g.fillRect(x, barY, healthBarWidth * Math.max(0, percentage) / 100, healthBarHeight);
+        g.setColor(new Color(52, 73, 94));
+        g.setStroke(new BasicStroke(2));
+        g.drawRect(x, barY, healthBarWidth, healthBarHeight);
+
+        String text = String.format("HP: %d/%d", health, pokemon.getMaxHealth());
+        g.setFont(HEALTH_FONT);
+        g.setColor(Color.WHITE);
+        int textWidth = g.getFontMetrics().stringWidth(text);
+        g.drawString(text, x + (healthBarWidth - textWidth) / 2, barY + healthBarHeight - 5);
+    }
+}
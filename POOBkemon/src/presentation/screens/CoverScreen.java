@@ -2,6 +2,7 @@ package presentation.screens;
 
 import presentation.components.AnimatedButton;
 import presentation.controllers.GameController;
+import presentation.utils.AssetPreloader;
 import presentation.utils.UIConstants;
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
@@ -37,12 +38,12 @@ public class CoverScreen extends JPanel {
 
     private void initializeComponents() {
 
-        ImageIcon cover = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.COVER_IMAGE_PATH)));
+        ImageIcon cover = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.COVER_IMAGE_PATH));
         JLabel coverLabel = new JLabel(cover);
         coverLabel.setBounds(0, 0, UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT);
         add(coverLabel);
 
-        ImageIcon startIconNormal = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.START_BUTTON_IMAGE_PATH)));
+        ImageIcon startIconNormal = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.START_BUTTON_IMAGE_PATH));
 
         AnimatedButton startButton = new AnimatedButton(startIconNormal);
         startButton.setBounds(423, 550, 179, 71);
@@ -1,21 +1,33 @@
 package presentation.screens;
-import domain.pokemons.Pokemon;
-import domain.entities.Item;
+import domain.game.BattleSnapshot;
+import domain.game.BattleSnapshot.MoveSnapshot;
+import domain.game.BattleSnapshot.PlayerSnapshot;
+import domain.game.BattleSnapshot.PokemonSnapshot;
+import domain.game.BattleSnapshot.ItemSnapshot;
+import domain.enums.SpectatorSpeed;
 import domain.game.Game;
+import domain.game.GameEvent;
+import domain.game.GameEventListener;
 import domain.game.GameLoop;
-import domain.moves.Move;
+import domain.metrics.SpriteDecodeEvent;
 import domain.player.Player;
 import domain.exceptions.POOBkemonException;
 import presentation.controllers.GameController;
+import presentation.utils.AssetPreloader;
+import presentation.utils.DirtyRegionTracker;
 import presentation.utils.UIConstants;
 import presentation.utils.SoundManager;
+import presentation.utils.SpriteAtlas;
+import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JComponent;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.KeyStroke;
 import javax.swing.JProgressBar;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
@@ -26,11 +38,15 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.GridLayout;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.Window;
+import java.awt.event.ActionEvent;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
-import java.net.URL;
 import java.util.Objects;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -47,7 +63,7 @@ import java.awt.event.WindowEvent;
 
 public class GameScreen extends JPanel {
     private Game game;
-    private final JLabel fpsLabel;
+    private final PerformanceOverlay performanceOverlay;
     private final JLabel timerLabel;
     private JLabel battlePanel;
     private JLabel player1PokemonLabel;
@@ -68,7 +84,14 @@ public class GameScreen extends JPanel {
     private final SoundManager soundManager;
     private final GameController gameController;
     private GameLoop gameLoop;
+    private final GameEventListener gameEventListener = this::onGameEvents;
     private boolean isPaused;
+    private final JButton speedButton;
+    private int turnsSinceRefresh;
+    private SpectatorSpeed selectedSpeed = SpectatorSpeed.NORMAL;
+    private volatile BattleSnapshot displayedSnapshot;
+    private final DirtyRegionTracker dirtyRegions;
+    private BattleCanvas battleCanvas;
 
     // Animation variables
     private float player1YOffset = 0;
@@ -76,13 +99,23 @@ public class GameScreen extends JPanel {
     private float animationSpeed = 0.003f;
     private final float animationRange = 10.0f;
     private long lastUpdateTime = System.currentTimeMillis();
-    private Image player1Image;
-    private Image player2Image;
+    private String player1SpriteKey;
+    private String player2SpriteKey;
 
     private static final int POKEMON_WIDTH = 150;
     private static final int POKEMON_HEIGHT = 150;
     private static final int HEALTH_BAR_WIDTH = 200;
     private static final int HEALTH_BAR_HEIGHT = 20;
+    private static final int PLAYER1_SPRITE_X = 50;
+    private static final int PLAYER1_SPRITE_Y = UIConstants.WINDOW_HEIGHT - 200;
+    private static final int PLAYER2_SPRITE_X = UIConstants.WINDOW_WIDTH - 250;
+    private static final int PLAYER2_SPRITE_Y = 100;
+
+    /**
+     * When true (-Dpoobkemon.activeRendering=true), the battle scene is drawn by a
+     * BattleCanvas from the game loop thread and Swing is only used for the menus.
+     */
+    public static final boolean ACTIVE_RENDERING = Boolean.getBoolean("poobkemon.activeRendering");
 
     /**
      * Constructor for the GameScreen class.
@@ -93,15 +126,13 @@ public class GameScreen extends JPanel {
         this.soundManager = soundManager;
         this.gameController = gameController;
         this.isPaused = false;
+        this.dirtyRegions = new DirtyRegionTracker(this);
         setLayout(null);
         setPreferredSize(new Dimension(UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT));
         setBackground(Color.BLACK);
 
-        fpsLabel = new JLabel("FPS: 0");
-        fpsLabel.setForeground(Color.YELLOW);
-        fpsLabel.setFont(new Font("Arial", Font.BOLD, 12));
-        fpsLabel.setBounds(10, 10, 100, 20);
-        add(fpsLabel);
+        performanceOverlay = new PerformanceOverlay();
+        add(performanceOverlay);
 
         timerLabel = new JLabel("Time: 20s");
         timerLabel.setBounds(120, 10, 100, 20);
@@ -114,23 +145,59 @@ public class GameScreen extends JPanel {
         JButton pauseButton = getPauseButton();
         JButton exitButton = getJButton();
         JButton sacrificeButton = getJButton2();
+        speedButton = getSpeedButton();
 
         add(battlePanel);
         add(pauseButton);
+        add(speedButton);
         add(exitButton);
         add(sacrificeButton);
         
-        setComponentZOrder(fpsLabel, 0);
+        setComponentZOrder(performanceOverlay, 0);
         setComponentZOrder(timerLabel, 1);
         setComponentZOrder(pauseButton, 2);
         setComponentZOrder(exitButton, 3);
         setComponentZOrder(sacrificeButton, 4);
-        setComponentZOrder(battlePanel, 5);
+        setComponentZOrder(speedButton, 5);
+        setComponentZOrder(battlePanel, 6);
+
+        if (ACTIVE_RENDERING) {
+            initializeActiveRendering();
+        }
 
         addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
-                fpsLabel.setBounds(10, 10, 100, 20);
+                performanceOverlay.setLocation(10, 10);
+            }
+        });
+
+        setupPerformanceKeys();
+    }
+
+    /*
+     * F3 toggles the performance overlay, F4 dumps the frame time histograms to a file.
+     */
+
+    private void setupPerformanceKeys() {
+        getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "togglePerformance");
+        getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F4, 0), "dumpPerformance");
+        getActionMap().put("togglePerformance", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                performanceOverlay.toggle();
+            }
+        });
+        getActionMap().put("dumpPerformance", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                try {
+                    File file = performanceOverlay.dumpHistograms();
+                    JOptionPane.showMessageDialog(GameScreen.this, "Frame times saved to " + file.getAbsolutePath());
+                } catch (IOException ex) {
+                    JOptionPane.showMessageDialog(GameScreen.this, "Could not save frame times: " + ex.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
             }
         });
     }
@@ -147,7 +214,7 @@ public class GameScreen extends JPanel {
             ? UIConstants.SURVIVAL_IMAGE_PATH 
             : UIConstants.COVER_ARENA_PATH;
 
-        ImageIcon background = new ImageIcon(Objects.requireNonNull(getClass().getResource(backgroundPath)));
+        ImageIcon background = Objects.requireNonNull(AssetPreloader.getIcon(backgroundPath));
         battlePanel = new JLabel(background);
         battlePanel.setLayout(null);
         battlePanel.setBounds(0, 0, UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT);
@@ -155,11 +222,11 @@ public class GameScreen extends JPanel {
         battlePanel.setVisible(true);
 
         player1PokemonLabel = new JLabel();
-        player1PokemonLabel.setBounds(50, UIConstants.WINDOW_HEIGHT - 200, POKEMON_WIDTH, POKEMON_HEIGHT);
+        player1PokemonLabel.setBounds(PLAYER1_SPRITE_X, PLAYER1_SPRITE_Y, POKEMON_WIDTH, POKEMON_HEIGHT);
         battlePanel.add(player1PokemonLabel);
 
         player2PokemonLabel = new JLabel();
-        player2PokemonLabel.setBounds(UIConstants.WINDOW_WIDTH - 250, 100, POKEMON_WIDTH, POKEMON_HEIGHT);
+        player2PokemonLabel.setBounds(PLAYER2_SPRITE_X, PLAYER2_SPRITE_Y, POKEMON_WIDTH, POKEMON_HEIGHT);
         battlePanel.add(player2PokemonLabel);
 
         player1HealthBar = new JProgressBar(0, 100);
@@ -296,9 +363,9 @@ public class GameScreen extends JPanel {
             ));
             final int itemIndex = i;
             itemButtons[i].addActionListener(x -> {
-                if (game != null && game.getCurrentPlayer().getItems().size() > itemIndex) {
+                if (game != null && game.getSnapshot().getCurrentPlayer().getItems().size() > itemIndex) {
                     try {
-                        game.useItem(game.getCurrentPlayer().getItems().get(itemIndex));
+                        game.useItem(itemIndex);
                         updateBattleUI();
                         hideAllActionPanels();
                     } catch (POOBkemonException e) {
@@ -358,6 +425,56 @@ public class GameScreen extends JPanel {
         }
     }
 
+    /*
+     * Puts a BattleCanvas behind the Swing widgets. The transparent containers get an
+     * empty mixing cutout, so only their buttons and menus are cut out of the canvas.
+     * The widgets the canvas draws itself are hidden.
+     */
+
+    private void initializeActiveRendering() {
+        battleCanvas = new BattleCanvas(POKEMON_WIDTH, POKEMON_HEIGHT, HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT);
+        battleCanvas.setBounds(0, 0, UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT);
+        battleCanvas.setBackgroundImage(battlePanel.getIcon() instanceof ImageIcon
+                ? ((ImageIcon) battlePanel.getIcon()).getImage() : null);
+        add(battleCanvas);
+        setComponentZOrder(battleCanvas, getComponentCount() - 1);
+
+        battlePanel.setIcon(null);
+        battlePanel.setOpaque(false);
+        battlePanel.setMixingCutoutShape(new Rectangle());
+        actionMenuPanel.setMixingCutoutShape(new Rectangle());
+        setPassiveBattleWidgetsVisible(false);
+    }
+
+    /*
+     * Shows or hides the widgets that draw the battle scene in passive mode.
+     */
+
+    private void setPassiveBattleWidgetsVisible(boolean visible) {
+        player1PokemonLabel.setVisible(visible);
+        player2PokemonLabel.setVisible(visible);
+        player1HealthBar.setVisible(visible);
+        player2HealthBar.setVisible(visible);
+        player1NameLabel.setVisible(visible);
+        player2NameLabel.setVisible(visible);
+        turnLabel.setVisible(visible);
+    }
+
+    /**
+     * Renders a frame of the battle scene when active rendering is enabled.
+     * Called by the game loop on its own thread; in passive mode it does nothing.
+     */
+
+    public void renderFrame() {
+        if (battleCanvas != null && !isPaused) {
+            BattleSnapshot snapshot = displayedSnapshot;
+            if (snapshot == null || game.getSpectatorSpeed().getRenderInterval() == 1) {
+                snapshot = game.getSnapshot();
+            }
+            battleCanvas.render(snapshot, player1YOffset, player2YOffset);
+        }
+    }
+
     /**
      * Creates and returns the exit button for the game screen.
      *
@@ -374,10 +491,10 @@ public class GameScreen extends JPanel {
         exitButton.setText("SCAPE");  // Ensure the text is set correctly
 
         exitButton.addActionListener(x -> {
-
-            soundManager.playSoundEffect("scape");
-            
             soundManager.stopBackgroundMusic();
+            if (game != null) {
+                game.stop();
+            }
             
             Window window = SwingUtilities.getWindowAncestor(GameScreen.this);
             if (window != null) {
@@ -389,6 +506,8 @@ public class GameScreen extends JPanel {
                 Object guiObject = guiClass.getDeclaredConstructor().newInstance();
                 guiClass.getMethod("setVisible", boolean.class).invoke(guiObject, true);
                 guiClass.getMethod("showCoverScreen").invoke(guiObject);
+                // The old window's sounds close with it, so the effect plays on the new one.
+                ((SoundManager) guiClass.getMethod("getSoundManager").invoke(guiObject)).playSoundEffect("scape");
             } catch (Exception ex) {
                 ex.printStackTrace();
             }
@@ -396,6 +515,33 @@ public class GameScreen extends JPanel {
         return exitButton;
     }
 
+    /*
+     * Creates the button that cycles the spectator speed of a machine vs machine battle.
+     * It is only shown when both players are machines.
+     */
+
+    private JButton getSpeedButton() {
+        JButton button = new JButton("Speed: " + SpectatorSpeed.NORMAL.getDisplayName());
+        button.setBounds(UIConstants.WINDOW_WIDTH - 250, 20, 110, 30);
+        button.setBackground(new Color(52, 73, 94));
+        button.setForeground(Color.WHITE);
+        button.setFont(new Font("Arial", Font.BOLD, 14));
+        button.setFocusPainted(false);
+        button.setBorder(BorderFactory.createLineBorder(new Color(44, 62, 80), 2));
+        button.setVisible(false);
+
+        button.addActionListener(e -> {
+            if (game != null) {
+                selectedSpeed = selectedSpeed.next();
+                game.setSpectatorSpeed(selectedSpeed);
+                button.setText("Speed: " + selectedSpeed.getDisplayName());
+                updateBattleUI();
+            }
+        });
+
+        return button;
+    }
+
     private JButton getPauseButton() {
         JButton pauseButton = new JButton("PAUSE");
         pauseButton.setBounds(UIConstants.WINDOW_WIDTH - 130, 20, 100, 30);
@@ -432,7 +578,7 @@ public class GameScreen extends JPanel {
     }
 
     /**
-     * Paints the component and draws a red border around the FPS label.
+     * Paints the component and the bobbing Pokemon sprites.
      *
      * @param g The graphics context
      */
@@ -440,20 +586,13 @@ public class GameScreen extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        
-        if (fpsLabel != null) {
-            g.setColor(Color.RED);
-            g.drawRect(fpsLabel.getX() - 1, fpsLabel.getY() - 1, fpsLabel.getWidth() + 1, fpsLabel.getHeight() + 1);
-        }
 
-        if (player1Image != null) {
-            int baseY = UIConstants.WINDOW_HEIGHT - 200;
-            g.drawImage(player1Image, 50, baseY + (int)player1YOffset, POKEMON_WIDTH, POKEMON_HEIGHT, null);
+        if (player1SpriteKey != null) {
+            SpriteAtlas.drawSprite(g, player1SpriteKey, PLAYER1_SPRITE_X, PLAYER1_SPRITE_Y + (int)player1YOffset, POKEMON_WIDTH, POKEMON_HEIGHT);
         }
 
-        if (player2Image != null) {
-            int baseY = 100;
-            g.drawImage(player2Image, UIConstants.WINDOW_WIDTH - 250, baseY + (int)player2YOffset, POKEMON_WIDTH, POKEMON_HEIGHT, null);
+        if (player2SpriteKey != null) {
+            SpriteAtlas.drawSprite(g, player2SpriteKey, PLAYER2_SPRITE_X, PLAYER2_SPRITE_Y + (int)player2YOffset, POKEMON_WIDTH, POKEMON_HEIGHT);
         }
     }
 
@@ -464,16 +603,26 @@ public class GameScreen extends JPanel {
      */
 
     public void setGame(Game game) {
+        if (this.game != null) {
+            this.game.getEvents().unsubscribe(gameEventListener);
+        }
         this.game = game;
         if (game != null) {
+            selectedSpeed = game.getSpectatorSpeed();
+            game.getEvents().setDispatcher(SwingUtilities::invokeLater);
+            game.getEvents().subscribe(gameEventListener);
             game.setGameScreen(this);
 
             String backgroundPath = game.getGameMode().getClass().getSimpleName().equals("SurvivalMode")
                 ? UIConstants.SURVIVAL_IMAGE_PATH
                 : UIConstants.COVER_ARENA_PATH;
 
-            ImageIcon background = new ImageIcon(Objects.requireNonNull(getClass().getResource(backgroundPath)));
-            battlePanel.setIcon(background);
+            ImageIcon background = Objects.requireNonNull(AssetPreloader.getIcon(backgroundPath));
+            if (battleCanvas != null) {
+                battleCanvas.setBackgroundImage(background.getImage());
+            } else {
+                battlePanel.setIcon(background);
+            }
 
             boolean isSurvivalMode = game.getGameMode().getClass().getSimpleName().equals("SurvivalMode");
             if (isSurvivalMode) {
@@ -498,11 +647,18 @@ public class GameScreen extends JPanel {
                     actionMenuPanel.add(button);
                 }
             }
+            actionMenuPanel.revalidate();
+
+            speedButton.setVisible(game.isSpectated());
+            speedButton.setText("Speed: " + selectedSpeed.getDisplayName());
+            turnsSinceRefresh = 0;
+            displayedSnapshot = null;
 
             if (gameLoop != null) {
                 gameLoop.stop();
             }
             gameLoop = new GameLoop(game);
+            performanceOverlay.setGameLoop(gameLoop);
             gameLoop.start();
 
             Window window = SwingUtilities.getWindowAncestor(this);
@@ -522,12 +678,16 @@ public class GameScreen extends JPanel {
     }
 
     /**
-     * Updates the animation of Pokemon sprites
+     * Updates the animation of Pokemon sprites.
+     * Only the area swept by a sprite that actually moved is repainted.
      */
 
     public void updatePokemonAnimation() {
-        if (isPaused) return;
-        
+        if (isPaused || (game != null && game.getSpectatorSpeed().skipsAnimations())) return;
+
+        int oldPlayer1Offset = (int) player1YOffset;
+        int oldPlayer2Offset = (int) player2YOffset;
+
         long currentTime = System.currentTimeMillis();
         float deltaTime = (currentTime - lastUpdateTime) / 1000.0f;
         lastUpdateTime = currentTime;
@@ -542,12 +702,30 @@ public class GameScreen extends JPanel {
             animationSpeed = -animationSpeed;
         }
 
-        repaint();
+        if (battleCanvas != null) return;
+
+        markSpriteMoved(PLAYER1_SPRITE_X, PLAYER1_SPRITE_Y, oldPlayer1Offset, (int) player1YOffset);
+        markSpriteMoved(PLAYER2_SPRITE_X, PLAYER2_SPRITE_Y, oldPlayer2Offset, (int) player2YOffset);
+        dirtyRegions.flush();
+    }
+
+    /*
+     * Marks the union of the old and new bounds of a bobbing sprite as dirty. The two
+     * sprites are kept as separate regions, so only their own areas are repainted.
+     * Nothing is marked if the sprite did not move by a whole pixel.
+     */
+
+    private void markSpriteMoved(int x, int baseY, int oldOffset, int newOffset) {
+        if (oldOffset == newOffset) return;
+        dirtyRegions.markDirty(x, baseY + Math.min(oldOffset, newOffset),
+                POKEMON_WIDTH, POKEMON_HEIGHT + Math.abs(newOffset - oldOffset));
     }
 
     /**
      * Updates the battle UI with the current game state.
      * This includes updating Pokemon sprites, health bars, turn label, and move buttons.
+     * Widgets repaint themselves only when their value changes, so there is no full repaint.
+     * Everything is read from the game's latest snapshot, never from the live game objects.
      */
 
     public void updateBattleUI() {
@@ -555,37 +733,18 @@ public class GameScreen extends JPanel {
 
         updatePokemonAnimation();
 
-        Pokemon activePokemon = game.getCurrentPlayer().getActivePokemon();
+        BattleSnapshot snapshot = game.getSnapshot();
+        PokemonSnapshot activePokemon = snapshot.getCurrentPlayer().getActivePokemon();
 
         if (activePokemon != null) {
-            List<Move> moves = activePokemon.getMoves();
-
-            for (int i = 0; i < moveButtons.length; i++) {
-                if (i < moves.size()) {
-                    Move move = moves.get(i);
-                    if (move.getPowerPoints() <= 0) {
-                        moveButtons[i].setText("Struggle");
-                        moveButtons[i].setEnabled(true);
-                        moveButtons[i].setVisible(true);
-                    } else {
-                        moveButtons[i].setText(move.getName() + " (" + move.getPowerPoints() + " PP)");
-                        moveButtons[i].setEnabled(true);
-                        moveButtons[i].setVisible(true);
-                    }
-                } else {
-                    moveButtons[i].setText("---");
-                    moveButtons[i].setEnabled(false);
-                    moveButtons[i].setVisible(false);
-                }
-            }
-
+            updateMoveButtons(activePokemon);
             movesPanel.setVisible(true);
         }
 
-        Player player1 = game.getPlayer1();
-        Player player2 = game.getPlayer2();
-        Pokemon player1Pokemon = player1.getActivePokemon();
-        Pokemon player2Pokemon = player2.getActivePokemon();
+        PlayerSnapshot player1 = snapshot.getPlayer1();
+        PlayerSnapshot player2 = snapshot.getPlayer2();
+        PokemonSnapshot player1Pokemon = player1.getActivePokemon();
+        PokemonSnapshot player2Pokemon = player2.getActivePokemon();
 
         updatePokemonSprite(player1PokemonLabel, player1Pokemon, true);
         updatePokemonSprite(player2PokemonLabel, player2Pokemon, false);
@@ -598,7 +757,7 @@ public class GameScreen extends JPanel {
         player2NameLabel.setText(player2.getName() + "'s " + player2Pokemon.getName());
         player2NameLabel.setForeground(player2.getColor());
 
-        Player currentPlayer = game.getCurrentPlayer();
+        PlayerSnapshot currentPlayer = snapshot.getCurrentPlayer();
         turnLabel.setText(currentPlayer.getName() + "'s Turn");
         turnLabel.setForeground(currentPlayer.getColor());
         turnLabel.setOpaque(false);
@@ -624,18 +783,37 @@ public class GameScreen extends JPanel {
             button.setVisible(true);
         }
 
-        player1PokemonLabel.setVisible(true);
-        player2PokemonLabel.setVisible(true);
-        player1HealthBar.setVisible(true);
-        player2HealthBar.setVisible(true);
-        player1NameLabel.setVisible(true);
-        player2NameLabel.setVisible(true);
-        turnLabel.setVisible(true);
+        setPassiveBattleWidgetsVisible(battleCanvas == null);
 
-        battlePanel.revalidate();
-        battlePanel.repaint();
-        revalidate();
-        repaint();
+        dirtyRegions.flush();
+    }
+
+    /**
+     * Updates the move buttons with the moves of the given Pokemon.
+     * A move without power points is shown as Struggle.
+     *
+     * @param pokemon The active Pokemon of the current player
+     */
+
+    private void updateMoveButtons(PokemonSnapshot pokemon) {
+        List<MoveSnapshot> moves = pokemon.getMoves();
+
+        for (int i = 0; i < moveButtons.length; i++) {
+            if (i < moves.size()) {
+                MoveSnapshot move = moves.get(i);
+                if (move.getPowerPoints() <= 0) {
+                    moveButtons[i].setText("Struggle");
+                } else {
+                    moveButtons[i].setText(move.getName() + " (" + move.getPowerPoints() + " PP)");
+                }
+                moveButtons[i].setEnabled(true);
+                moveButtons[i].setVisible(true);
+            } else {
+                moveButtons[i].setText("---");
+                moveButtons[i].setEnabled(false);
+                moveButtons[i].setVisible(false);
+            }
+        }
     }
 
     /**
@@ -646,44 +824,55 @@ public class GameScreen extends JPanel {
      * @param isPlayer1 True if the Pokemon belongs to player 1, false otherwise
      */
 
-    private void updatePokemonSprite(JLabel label, Pokemon pokemon, boolean isPlayer1) {
+    private void updatePokemonSprite(JLabel label, PokemonSnapshot pokemon, boolean isPlayer1) {
         String spritePath = pokemon.getSpritePath();
+        String spriteKey = isPlayer1 ? SpriteAtlas.backKeyOf(spritePath) : SpriteAtlas.keyOf(spritePath);
+        if (spriteKey.equals(isPlayer1 ? player1SpriteKey : player2SpriteKey)) return;
 
         if (isPlayer1) {
-            String pokemonName = spritePath.substring(spritePath.lastIndexOf("/") + 1, spritePath.lastIndexOf("-front.png"));
-            spritePath = presentation.utils.UIConstants.POKEMON_BACK_SPRITES_PATH + pokemonName + "-back.png";
-        }
-
-        ImageIcon icon = new ImageIcon(Objects.requireNonNull(getClass().getResource(spritePath)));
-        Image scaledImage = icon.getImage().getScaledInstance(POKEMON_WIDTH, POKEMON_HEIGHT, Image.SCALE_SMOOTH);
-
-        if (isPlayer1) {
-            player1Image = scaledImage;
+            player1SpriteKey = spriteKey;
+            dirtyRegions.markDirty(PLAYER1_SPRITE_X, PLAYER1_SPRITE_Y - (int) animationRange,
+                    POKEMON_WIDTH, POKEMON_HEIGHT + 2 * (int) animationRange);
         } else {
-            player2Image = scaledImage;
+            player2SpriteKey = spriteKey;
+            dirtyRegions.markDirty(PLAYER2_SPRITE_X, PLAYER2_SPRITE_Y - (int) animationRange,
+                    POKEMON_WIDTH, POKEMON_HEIGHT + 2 * (int) animationRange);
         }
 
-        label.setIcon(new ImageIcon(scaledImage));
+        SpriteDecodeEvent decodeEvent = new SpriteDecodeEvent();
+        decodeEvent.begin();
+        Image scaledImage = SpriteAtlas.getScaledSprite(spriteKey, POKEMON_WIDTH, POKEMON_HEIGHT);
+        decodeEvent.end();
+        if (decodeEvent.shouldCommit()) {
+            decodeEvent.sprite = spriteKey;
+            decodeEvent.width = POKEMON_WIDTH;
+            decodeEvent.height = POKEMON_HEIGHT;
+            decodeEvent.found = scaledImage != null;
+            decodeEvent.commit();
+        }
+        label.setIcon(scaledImage != null ? new ImageIcon(scaledImage) : null);
         label.setVisible(true);
     }
 
     /*
-     * Updates the health bar for the given Pokemon.
+     * Updates the health bar for the given Pokemon. The bar is left untouched
+     * (and not repainted) if the health did not change.
      *
      * @param healthBar The JProgressBar to update
      * @param pokemon The Pokemon to display
      */
 
-    private void updateHealthBar(JProgressBar healthBar, Pokemon pokemon) {
+    private void updateHealthBar(JProgressBar healthBar, PokemonSnapshot pokemon) {
         if (pokemon == null) return;
 
         int currentHealth = pokemon.getHealth();
         int maxHealth = pokemon.getMaxHealth();
         int healthPercentage = (int)((double)currentHealth / maxHealth * 100);
+        String healthText = String.format("HP: %d/%d", currentHealth, maxHealth);
 
-        healthBar.setValue(healthPercentage);
+        if (healthBar.getValue() == healthPercentage && healthText.equals(healthBar.getString())) return;
 
-        String healthText = String.format("HP: %d/%d", currentHealth, maxHealth);
+        healthBar.setValue(healthPercentage);
         healthBar.setString(healthText);
 
         if (healthPercentage < 20) {
@@ -693,9 +882,6 @@ public class GameScreen extends JPanel {
         } else {
             healthBar.setForeground(new Color(46, 204, 113)); 
         }
-
-        healthBar.setStringPainted(true);
-        healthBar.setFont(new Font("Arial", Font.BOLD, 12));
     }
 
     /**
@@ -704,13 +890,13 @@ public class GameScreen extends JPanel {
      * @param player The current player
      */
 
-    private void updateItemButtons(Player player) {
+    private void updateItemButtons(PlayerSnapshot player) {
         if (player == null) return;
 
-        List<Item> items = player.getItems();
+        List<ItemSnapshot> items = player.getItems();
         for (int i = 0; i < itemButtons.length; i++) {
             if (i < items.size()) {
-                Item item = items.get(i);
+                ItemSnapshot item = items.get(i);
                 itemButtons[i].setText(item.getName());
                 itemButtons[i].setToolTipText(item.getDescription());
                 itemButtons[i].setEnabled(true);
@@ -728,17 +914,17 @@ public class GameScreen extends JPanel {
      * @param player The current player
      */
 
-    private void updateSwitchButtons(Player player) {
+    private void updateSwitchButtons(PlayerSnapshot player) {
         if (player == null) return;
 
-        List<Pokemon> team = player.getTeam();
+        List<PokemonSnapshot> team = player.getTeam();
         for (int i = 0; i < switchButtons.length; i++) {
             if (i < team.size()) {
-                Pokemon pokemon = team.get(i);
+                PokemonSnapshot pokemon = team.get(i);
                 switchButtons[i].setText(pokemon.getName());
 
                 boolean isFainted = pokemon.isFainted();
-                boolean isActive = (i == player.getTeam().indexOf(player.getActivePokemon()));
+                boolean isActive = (i == player.getActiveIndex());
 
                 switchButtons[i].setEnabled(!isFainted && !isActive);
 
@@ -767,16 +953,45 @@ public class GameScreen extends JPanel {
         }
     }
 
+    /*
+     * Applies one frame's batch of game events on the EDT: the timer label is set to the latest
+     * tick, and any change to health, power points or turn refreshes the battle UI once.
+     * At MAX spectator speed the UI is only refreshed every few turns, and at the end.
+     */
+
+    private void onGameEvents(List<GameEvent> events) {
+        boolean refresh = false;
+        Player winner = null;
+        for (GameEvent event : events) {
+            switch (event.getType()) {
+                case TIMER_TICK -> updateTimer(event.getValue());
+                case GAME_OVER -> winner = (Player) event.getSubject();
+                case TURN_CHANGED -> {
+                    turnsSinceRefresh++;
+                    refresh = true;
+                }
+                default -> refresh = true;
+            }
+        }
+        int interval = game == null ? 1 : game.getSpectatorSpeed().getRenderInterval();
+        if (refresh && (turnsSinceRefresh >= interval || winner != null)) {
+            turnsSinceRefresh = 0;
+            displayedSnapshot = game == null ? null : game.getSnapshot();
+            updateBattleUI();
+        }
+        if (winner != null) {
+            showWinnerDialog(winner);
+        }
+    }
+
     /**
-     * Updates the FPS counter label with the current FPS.
+     * Updates the FPS shown by the performance overlay.
      * 
      * @param fps The current frames per second
      */
 
     public void updateFPS(int fps) {
-        if (fpsLabel != null) {
-            fpsLabel.setText("FPS: " + fps);
-        }
+        performanceOverlay.setFPS(fps);
     }
 
     /**
@@ -815,39 +1030,19 @@ public class GameScreen extends JPanel {
         switch (actionIndex) {
             case 0: 
                 movesPanel.setVisible(true);
-                if (game != null && game.getCurrentPlayer().getActivePokemon() != null) {
-                    Pokemon activePokemon = game.getCurrentPlayer().getActivePokemon();
-                    List<Move> moves = activePokemon.getMoves();
-
-                    for (int i = 0; i < moveButtons.length; i++) {
-                        if (i < moves.size()) {
-                            Move move = moves.get(i);
-                            if (move.getPowerPoints() <= 0) {
-                                moveButtons[i].setText("Struggle");
-                                moveButtons[i].setEnabled(true);
-                                moveButtons[i].setVisible(true);
-                            } else {
-                                moveButtons[i].setText(move.getName() + " (" + move.getPowerPoints() + " PP)");
-                                moveButtons[i].setEnabled(true);
-                                moveButtons[i].setVisible(true);
-                            }
-                        } else {
-                            moveButtons[i].setText("---");
-                            moveButtons[i].setEnabled(false);
-                            moveButtons[i].setVisible(false);
-                        }
-                    }
+                if (game != null && game.getSnapshot().getCurrentPlayer().getActivePokemon() != null) {
+                    updateMoveButtons(game.getSnapshot().getCurrentPlayer().getActivePokemon());
                 }
                 break;
             case 1: 
                 if (!game.getGameMode().getClass().getSimpleName().equals("SurvivalMode")) {
                     itemsPanel.setVisible(true);
-                    updateItemButtons(game.getCurrentPlayer());
+                    updateItemButtons(game.getSnapshot().getCurrentPlayer());
                 }
                 break;
             case 2: 
                 switchPanel.setVisible(true);
-                updateSwitchButtons(game.getCurrentPlayer());
+                updateSwitchButtons(game.getSnapshot().getCurrentPlayer());
                 break;
         }
     }
@@ -878,15 +1073,14 @@ public class GameScreen extends JPanel {
         gifDialog.setModal(false);  
         gifDialog.setLayout(new BorderLayout());
 
-        URL gifURL = getClass().getResource("/resources/SelectionScreen/coin-flip-2.gif");
-        if (gifURL == null) {
+        ImageIcon gifIcon = AssetPreloader.getIcon(UIConstants.COIN_FLIP_GIF_PATH);
+        if (gifIcon == null) {
             JOptionPane.showMessageDialog(this, 
                 "No gif found", 
                 "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        ImageIcon gifIcon = new ImageIcon(gifURL);
         JLabel gifLabel = new JLabel(gifIcon);
         gifLabel.setHorizontalAlignment(JLabel.CENTER);
         gifDialog.add(gifLabel, BorderLayout.CENTER);
@@ -971,6 +1165,9 @@ public class GameScreen extends JPanel {
         menuButton.addActionListener(x -> {
             dialog.dispose();
             soundManager.stopBackgroundMusic();
+            if (game != null) {
+                game.stop();
+            }
             Window window = SwingUtilities.getWindowAncestor(GameScreen.this);
             if (window != null) {
                 window.dispose();
@@ -4,6 +4,7 @@ import domain.enums.GameMode;
 import domain.enums.GameModality;
 import presentation.components.AnimatedButton;
 import presentation.controllers.GameController;
+import presentation.utils.AssetPreloader;
 import presentation.utils.UIConstants;
 
 import javax.swing.DefaultListCellRenderer;
@@ -53,7 +54,7 @@ public class GameSetupScreen extends JPanel {
     private void initializeComponents() {
 
         ImageIcon background;
-        background = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.COVER_IMAGE_PATH)));
+        background = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.COVER_IMAGE_PATH));
         backgroundLabel = new JLabel(background);
         backgroundLabel.setBounds(0, 0, UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT);
 
@@ -97,7 +98,7 @@ public class GameSetupScreen extends JPanel {
         });
 
         ImageIcon startIconNormal;
-        startIconNormal = new ImageIcon(getClass().getResource(UIConstants.START_BUTTON_IMAGE_PATH));
+        startIconNormal = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.START_BUTTON_IMAGE_PATH));
 
         startGameButton = new AnimatedButton(startIconNormal);
         startGameButton.setBounds(423, 550, 179, 71);
@@ -7,6 +7,7 @@ import domain.enums.GameModality;
 import domain.exceptions.POOBkemonException;
 import presentation.components.AnimatedButton;
 import presentation.controllers.GameController;
+import presentation.utils.AssetPreloader;
 import presentation.utils.UIConstants;
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -72,13 +73,13 @@ public class ItemSelectionScreen extends JPanel {
 
     private void initializeComponents() {
 
-        ImageIcon background = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.SELECTION_IMAGE_PATH)));
+        ImageIcon background = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.SELECTION_IMAGE_PATH));
         backgroundLabel = new JLabel(background);
         backgroundLabel.setBounds(0, 0, UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT);
 
         createItemSelectionPanel();
 
-        ImageIcon startIconNormal = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.START_BUTTON_IMAGE_PATH)));
+        ImageIcon startIconNormal = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.START_BUTTON_IMAGE_PATH));
         JButton startGameButton = new AnimatedButton(startIconNormal); 
         startGameButton.setBounds(423, 600, 179, 71);
         startGameButton.addActionListener(x -> {
@@ -254,7 +255,7 @@ public class ItemSelectionScreen extends JPanel {
         panel.setBorder(BorderFactory.createLineBorder(Color.GRAY, 2));
         panel.setBackground(new Color(50, 50, 50));
 
-        ImageIcon spriteIcon = new ImageIcon(Objects.requireNonNull(getClass().getResource(spritePath)));
+        ImageIcon spriteIcon = Objects.requireNonNull(AssetPreloader.getIcon(spritePath));
         Image scaledImage = spriteIcon.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH);
         JLabel spriteLabel = new JLabel(new ImageIcon(scaledImage));
         spriteLabel.setHorizontalAlignment(JLabel.CENTER);
@@ -38,9 +38,11 @@ public class MovesSelectionScreen extends JPanel {
     private final JTabbedPane tabbedPane;
     private final JButton confirmButton;
     private final JButton backButton;
+    private final JButton recommendedButton;
     private final JLabel pokemonInfoLabel;
     private final JLabel selectedMovesLabel;
     private final JDialog parentDialog;
+    private boolean recommendedChosen;
 
     /**
      * Constructor for MovesSelectionScreen.
@@ -98,8 +100,13 @@ public class MovesSelectionScreen extends JPanel {
         
         backButton = new JButton("Back");
         backButton.addActionListener(e -> goBack());
+
+        recommendedButton = new JButton("Use Recommended Sets");
+        recommendedButton.setToolTipText("Give each Pokémon the best moves for its species");
+        recommendedButton.addActionListener(e -> useRecommendedSets());
         
         bottomPanel.add(confirmButton);
+        bottomPanel.add(recommendedButton);
         bottomPanel.add(backButton);
         
         add(bottomPanel, BorderLayout.SOUTH);
@@ -215,6 +222,19 @@ public class MovesSelectionScreen extends JPanel {
         }
     }
 
+    /**
+     * Closes the screen without a manual selection, so that each Pokémon gets the
+     * best move set of its species from MoveSetSolver instead.
+     */
+
+    private void useRecommendedSets() {
+        recommendedChosen = true;
+        Window window = SwingUtilities.getWindowAncestor(this);
+        if (window != null) {
+            window.dispose();
+        }
+    }
+
     /**
      * Closes the current screen and returns to the previous one.
      * This method is called when the "Back" button is clicked.
@@ -241,4 +261,12 @@ public class MovesSelectionScreen extends JPanel {
     public List<Move> getSelectedMoves() {
         return new ArrayList<>(selectedMoves);
     }
+
+    /**
+     * Tells whether the user chose the recommended move sets instead of selecting moves.
+     * @return true if the recommended sets were chosen.
+     */
+    public boolean isRecommendedChosen() {
+        return recommendedChosen;
+    }
 } 
\ No newline at end of file
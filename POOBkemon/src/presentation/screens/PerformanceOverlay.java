@@ -0,0 +1,241 @@
+package presentation.screens;
+
+import domain.game.FrameTimeHistogram;
+import domain.game.GameLoop;
+import domain.player.AIPlayer;
+import presentation.utils.SoundMixer;
+import presentation.utils.UIConstants;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/*
+ * PerformanceOverlay replaces the plain FPS label of the battle screen.
+ * Collapsed, it shows the FPS. Expanded, it also shows p50/p99/max of the frame interval,
+ * update and render times, AI decision latency, sound effect latency and GC pauses,
+ * refreshed four times a second.
+ * The histograms behind it can be dumped to a text file.
+ */
+
+public class PerformanceOverlay extends JComponent {
+    private static final int COLLAPSED_WIDTH = 100;
+    private static final int COLLAPSED_HEIGHT = 20;
+    private static final int EXPANDED_WIDTH = 330;
+    private static final int LINE_HEIGHT = 15;
+    private static final int REFRESH_MILLIS = 250;
+    private static final Font FONT = new Font("Monospaced", Font.BOLD, 12);
+
+    private final Timer refreshTimer;
+    private final long gcBaselineCount;
+    private final long gcBaselineMillis;
+    private long lastGcMillis;
+    private long lastGcSampleTime;
+    private long recentGcMillis;
+    private volatile GameLoop gameLoop;
+    private volatile int fps;
+    private boolean expanded;
+    private final List<String> lines = new ArrayList<>();
+
+    /**
+     * Creates a collapsed overlay.
+     */
+
+    public PerformanceOverlay() {
+        setOpaque(false);
+        setBounds(10, 10, COLLAPSED_WIDTH, COLLAPSED_HEIGHT);
+        gcBaselineCount = gcCount();
+        gcBaselineMillis = gcMillis();
+        lastGcMillis = gcBaselineMillis;
+        lastGcSampleTime = System.currentTimeMillis();
+        refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+        rebuildLines();
+    }
+
+    /**
+     * Sets the game loop whose histograms are shown.
+     * @param gameLoop The running game loop
+     */
+
+    public void setGameLoop(GameLoop gameLoop) {
+        this.gameLoop = gameLoop;
+    }
+
+    /**
+     * Sets the FPS value shown by the overlay. May be called from any thread.
+     * @param fps The current frames per second
+     */
+
+    public void setFPS(int fps) {
+        if (this.fps != fps) {
+            this.fps = fps;
+            SwingUtilities.invokeLater(this::refresh);
+        }
+    }
+
+    /**
+     * Expands or collapses the overlay.
+     */
+
+    public void toggle() {
+        expanded = !expanded;
+        if (expanded) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+        refresh();
+    }
+
+    /**
+     * Checks whether the overlay shows the full statistics.
+     * @return true if expanded
+     */
+
+    public boolean isExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Writes every histogram and the GC totals to a new file in UIConstants.PERFORMANCE_DUMP_PATH.
+     *
+     * @return The file written
+     * @throws IOException If the file cannot be written
+     */
+
+    public File dumpHistograms() throws IOException {
+        File dir = new File(UIConstants.PERFORMANCE_DUMP_PATH);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir.getAbsolutePath());
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(dir, "frame-times-" + stamp + ".txt");
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            out.println("# POOBkemon frame time dump " + stamp);
+            out.printf("# fps=%d frameBudget=%dns gcCollections=%d gcMillis=%d%n",
+                    fps, GameLoop.getFrameBudgetNanos(), gcCount() - gcBaselineCount, gcMillis() - gcBaselineMillis);
+            for (FrameTimeHistogram histogram : histograms()) {
+                histogram.writeTo(out);
+            }
+        }
+        return file;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            if (expanded) {
+                g2.setColor(new Color(0, 0, 0, 180));
+                g2.fillRect(0, 0, getWidth(), getHeight());
+            }
+            g2.setColor(Color.RED);
+            g2.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
+            g2.setFont(FONT);
+            g2.setColor(Color.YELLOW);
+            int y = LINE_HEIGHT;
+            for (String line : lines) {
+                g2.drawString(line, 4, y);
+                y += LINE_HEIGHT;
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /*
+     * Samples the GC beans, rebuilds the text and resizes the overlay.
+     */
+
+    private void refresh() {
+        long now = System.currentTimeMillis();
+        long gc = gcMillis();
+        if (now - lastGcSampleTime >= 1000) {
+            recentGcMillis = gc - lastGcMillis;
+            lastGcMillis = gc;
+            lastGcSampleTime = now;
+        }
+        rebuildLines();
+        int height = expanded ? lines.size() * LINE_HEIGHT + 6 : COLLAPSED_HEIGHT;
+        setSize(expanded ? EXPANDED_WIDTH : COLLAPSED_WIDTH, height);
+        repaint();
+    }
+
+    private void rebuildLines() {
+        lines.clear();
+        lines.add("FPS: " + fps);
+        if (!expanded) {
+            return;
+        }
+        lines.add(String.format("%-9s %7s %7s %7s", "ms", "p50", "p99", "max"));
+        for (FrameTimeHistogram histogram : histograms()) {
+            lines.add(String.format("%-9s %7.2f %7.2f %7.2f", shortName(histogram),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMax())));
+        }
+        lines.add(String.format("GC: %d collections, %d ms (last second: %d ms)",
+                gcCount() - gcBaselineCount, gcMillis() - gcBaselineMillis, recentGcMillis));
+        lines.add("F3 hide  F4 dump to file");
+    }
+
+    private List<FrameTimeHistogram> histograms() {
+        List<FrameTimeHistogram> histograms = new ArrayList<>();
+        GameLoop loop = gameLoop;
+        if (loop != null) {
+            histograms.add(loop.getFrameIntervals());
+            histograms.add(loop.getUpdateTimes());
+            histograms.add(loop.getRenderTimes());
+        }
+        histograms.add(AIPlayer.getDecisionTimes());
+        histograms.add(SoundMixer.getTriggerLatencies());
+        return histograms;
+    }
+
+    private static String shortName(FrameTimeHistogram histogram) {
+        switch (histogram.getName()) {
+            case "frame-interval":
+                return "frame";
+            case "ai-decision":
+                return "AI";
+            case "sfx-latency":
+                return "sfx";
+            default:
+                return histogram.getName();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, bean.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -8,8 +8,12 @@ import domain.enums.GameMode;
 import domain.enums.GameModality;
 import domain.exceptions.POOBkemonException;
 import domain.moves.Move;
+import domain.moves.MoveSetSolver;
+import domain.simulation.TeamOptimizer;
 import presentation.components.AnimatedButton;
 import presentation.controllers.GameController;
+import presentation.utils.SpriteAtlas;
+import presentation.utils.AssetPreloader;
 import presentation.utils.UIConstants;
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
@@ -30,7 +34,9 @@ import java.awt.Image;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.JDialog;
 import javax.swing.BoxLayout;
 
@@ -51,6 +57,7 @@ public class PokemonSelectionScreen extends JPanel {
     private GameMode selectedMode;
     private final GameController controller;
     private JTextArea descriptionTextArea;
+    private static final int SUGGEST_GENERATIONS = 30;
 
     /**
      * Constructor for the PokemonSelectionScreen.
@@ -71,13 +78,13 @@ public class PokemonSelectionScreen extends JPanel {
 
     private void initializeComponents() {
 
-        ImageIcon background = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.SELECTION_IMAGE_PATH)));
+        ImageIcon background = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.SELECTION_IMAGE_PATH));
         backgroundLabel = new JLabel(background);
         backgroundLabel.setBounds(0, 0, UIConstants.WINDOW_WIDTH, UIConstants.WINDOW_HEIGHT);
 
         createPokemonSelectionPanel();
 
-        ImageIcon startIconNormal = new ImageIcon(Objects.requireNonNull(getClass().getResource(UIConstants.START_BUTTON_IMAGE_PATH)));
+        ImageIcon startIconNormal = Objects.requireNonNull(AssetPreloader.getIcon(UIConstants.START_BUTTON_IMAGE_PATH));
         JButton startGameButton = new AnimatedButton(startIconNormal); 
         startGameButton.setBounds(423, 600, 179, 71);
         startGameButton.addActionListener(x -> {
@@ -90,27 +97,7 @@ public class PokemonSelectionScreen extends JPanel {
 
             if (isPlayer1Selection) {
                 player1Pokemons.addAll(selectedPokemons);
-
-                // Show single movement selection screen for all Pokémon
-                JDialog moveDialog = new JDialog(SwingUtilities.getWindowAncestor(this));
-                moveDialog.setTitle("Choose movements for Player 1's team");
-                moveDialog.setModal(true);
-                moveDialog.setLocationRelativeTo(this);
-                moveDialog.setSize(800, 600);
-                moveDialog.setLocation(
-                    (int)(getLocationOnScreen().getX() + (double) (getWidth() - 800) / 2),
-                    (int)(getLocationOnScreen().getY() + (double) (getHeight() - 600) / 2)
-                );
-                
-                MovesSelectionScreen movesScreen = new MovesSelectionScreen(null, moveDialog);
-                moveDialog.add(movesScreen);
-                moveDialog.setVisible(true);
-
-                // Apply selected moves to all Pokémon in the team
-                List<Move> selectedMoves = movesScreen.getSelectedMoves();
-                for (Pokemon pokemon : player1Pokemons) {
-                    pokemon.setMoves(new ArrayList<>(selectedMoves));
-                }
+                chooseMoves(player1Pokemons, "Choose movements for Player 1's team");
 
                 if (selectedMode == GameMode.NORMAL && selectedModality != GameModality.PLAYER_VS_AI) {
                     isPlayer1Selection = false;
@@ -129,27 +116,7 @@ public class PokemonSelectionScreen extends JPanel {
                 controller.showItemSelectionScreen(selectedModality, selectedMode, player1Pokemons, null);
             } else {
                 player2Pokemons = new ArrayList<>(selectedPokemons);
-                
-                // Show single movement selection screen for all Pokémon
-                JDialog moveDialog = new JDialog(SwingUtilities.getWindowAncestor(this));
-                moveDialog.setTitle("Choose movements for Player 2's team");
-                moveDialog.setModal(true);
-                moveDialog.setLocationRelativeTo(this);
-                moveDialog.setSize(800, 600);
-                moveDialog.setLocation(
-                    (int)(getLocationOnScreen().getX() + (double) (getWidth() - 800) / 2),
-                    (int)(getLocationOnScreen().getY() + (double) (getHeight() - 600) / 2)
-                );
-                
-                MovesSelectionScreen movesScreen = new MovesSelectionScreen(null, moveDialog);
-                moveDialog.add(movesScreen);
-                moveDialog.setVisible(true);
-
-                // Apply selected moves to all Pokémon in the team
-                List<Move> selectedMoves = movesScreen.getSelectedMoves();
-                for (Pokemon pokemon : player2Pokemons) {
-                    pokemon.setMoves(new ArrayList<>(selectedMoves));
-                }
+                chooseMoves(player2Pokemons, "Choose movements for Player 2's team");
 
                 controller.showItemSelectionScreen(selectedModality, selectedMode, player1Pokemons, player2Pokemons);
             }
@@ -160,6 +127,136 @@ public class PokemonSelectionScreen extends JPanel {
         add(backgroundLabel);
     }
 
+    /**
+     * Shows the movement selection dialog for the Pokémon of a team that have no moves yet,
+     * and gives them the chosen moves. Suggested teams come with their moves and skip it.
+     * @param team The team.
+     * @param title The title of the dialog.
+     */
+
+    private void chooseMoves(List<Pokemon> team, String title) {
+        List<Pokemon> withoutMoves = new ArrayList<>();
+        for (Pokemon pokemon : team) {
+            if (pokemon.getMoves().isEmpty()) {
+                withoutMoves.add(pokemon);
+            }
+        }
+        if (withoutMoves.isEmpty()) {
+            return;
+        }
+
+        // Show single movement selection screen for all Pokémon
+        JDialog moveDialog = new JDialog(SwingUtilities.getWindowAncestor(this));
+        moveDialog.setTitle(title);
+        moveDialog.setModal(true);
+        moveDialog.setLocationRelativeTo(this);
+        moveDialog.setSize(800, 600);
+        moveDialog.setLocation(
+            (int)(getLocationOnScreen().getX() + (double) (getWidth() - 800) / 2),
+            (int)(getLocationOnScreen().getY() + (double) (getHeight() - 600) / 2)
+        );
+
+        MovesSelectionScreen movesScreen = new MovesSelectionScreen(null, moveDialog);
+        moveDialog.add(movesScreen);
+        moveDialog.setVisible(true);
+
+        if (movesScreen.isRecommendedChosen()) {
+            for (Pokemon pokemon : withoutMoves) {
+                pokemon.setMoves(MoveSetSolver.bestMoves(PokemonData.fromName(pokemon.getName())));
+            }
+            return;
+        }
+
+        // Apply selected moves to all Pokémon in the team
+        List<Move> selectedMoves = movesScreen.getSelectedMoves();
+        for (Pokemon pokemon : withoutMoves) {
+            pokemon.setMoves(new ArrayList<>(selectedMoves));
+        }
+    }
+
+    /**
+     * Asks for a team size and evolves a team in the background with the TeamOptimizer.
+     * Progress is shown in the status label; the best team is then selected.
+     * @param suggestButton The button, disabled while the optimizer runs.
+     */
+
+    private void suggestTeam(JButton suggestButton) {
+        Integer[] sizes = {1, 2, 3, 4, 5, 6};
+        Integer size = (Integer) JOptionPane.showInputDialog(this, "How many Pokémon should the team have?",
+                "Suggest Team", JOptionPane.QUESTION_MESSAGE, null, sizes, sizes[sizes.length - 1]);
+        if (size == null) {
+            return;
+        }
+        suggestButton.setEnabled(false);
+        JLabel statusLabel = getStatusLabel();
+        statusLabel.setForeground(Color.YELLOW);
+        statusLabel.setText("Searching for a strong team...");
+
+        new SwingWorker<TeamOptimizer.Genome, String>() {
+            @Override
+            protected TeamOptimizer.Genome doInBackground() {
+                TeamOptimizer optimizer = new TeamOptimizer(size);
+                optimizer.setProgressListener((best, generation) -> publish(String.format(
+                        "Searching for a strong team... %d%% (best win rate %.0f%%)",
+                        generation * 100 / SUGGEST_GENERATIONS, best.getFitness() * 100)));
+                optimizer.setGenerations(SUGGEST_GENERATIONS);
+                return optimizer.optimize();
+            }
+
+            @Override
+            protected void process(List<String> chunks) {
+                statusLabel.setText(chunks.get(chunks.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                suggestButton.setEnabled(true);
+                try {
+                    TeamOptimizer.Genome best = get();
+                    applySuggestedTeam(best.toTeam());
+                    descriptionTextArea.setText(String.format("Suggested team (wins %.0f%% of simulated battles):%n%s",
+                            best.getFitness() * 100, best.toString().replace("), ", ")\n")));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    updateStatusLabel();
+                    JOptionPane.showMessageDialog(PokemonSelectionScreen.this,
+                            "Could not suggest a team: " + e.getCause().getMessage(),
+                            "Suggest Team", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Replaces the current selection with a suggested team.
+     * @param team The suggested team, with its moves.
+     */
+
+    private void applySuggestedTeam(List<Pokemon> team) {
+        selectedPokemons.clear();
+        JScrollPane scrollPane = (JScrollPane) pokemonSelectionPanel.getComponent(1);
+        JPanel selectionArea = (JPanel) scrollPane.getViewport().getView();
+        for (Component comp : selectionArea.getComponents()) {
+            if (comp instanceof JPanel rowPanel) {
+                for (Component pokemonComp : rowPanel.getComponents()) {
+                    if (pokemonComp instanceof JPanel pokemonPanel) {
+                        boolean chosen = team.stream().anyMatch(p -> p.getName().equalsIgnoreCase(pokemonPanel.getName()));
+                        pokemonPanel.setBorder(BorderFactory.createLineBorder(chosen ? Color.GREEN : Color.GRAY, chosen ? 3 : 2));
+                        pokemonPanel.setBackground(chosen ? new Color(30, 70, 30) : new Color(50, 50, 50));
+                        for (Component panelComp : pokemonPanel.getComponents()) {
+                            if (panelComp instanceof JCheckBox) {
+                                ((JCheckBox) panelComp).setSelected(chosen);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        selectedPokemons.addAll(team);
+        updateStatusLabel();
+    }
+
     /**
      * Creates the Pokémon selection panel.
      */
@@ -271,6 +368,12 @@ public class PokemonSelectionScreen extends JPanel {
         statusPanel.setBackground(new Color(30, 30, 30));
         statusPanel.add(statusLabel, BorderLayout.CENTER);
 
+        JButton suggestButton = new JButton("Suggest Team");
+        suggestButton.setFont(new Font("Arial", Font.BOLD, 12));
+        suggestButton.setToolTipText("Evolve a strong team with simulated battles");
+        suggestButton.addActionListener(x -> suggestTeam(suggestButton));
+        statusPanel.add(suggestButton, BorderLayout.EAST);
+
         JPanel bottomPanel = new JPanel(new BorderLayout());
         bottomPanel.setBackground(new Color(0, 0, 0, 0));
         bottomPanel.add(descriptionPanel, BorderLayout.CENTER);
@@ -303,7 +406,7 @@ public class PokemonSelectionScreen extends JPanel {
             String fileName = name + "-front.png";
             String resourcePath = UIConstants.POKEMON_FRONT_SPRITES_PATH + fileName;
 
-            if (getClass().getResource(resourcePath) != null) {
+            if (SpriteAtlas.contains(SpriteAtlas.keyOf(resourcePath))) {
                 String pokemonName = name.substring(0, 1).toUpperCase() + name.substring(1);
 
                 JPanel pokemonPanel = createPokemonPanel(pokemonName, resourcePath);
@@ -334,13 +437,13 @@ public class PokemonSelectionScreen extends JPanel {
 
     private JPanel createPokemonPanel(String pokemonName, String spritePath) {
         JPanel panel = new JPanel();
+        panel.setName(pokemonName);
         panel.setLayout(new BorderLayout());
         panel.setPreferredSize(new Dimension(120, 120));
         panel.setBorder(BorderFactory.createLineBorder(Color.GRAY, 2));
         panel.setBackground(new Color(50, 50, 50));
 
-        ImageIcon spriteIcon = new ImageIcon(getClass().getResource(spritePath));
-        Image scaledImage = spriteIcon.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH);
+        Image scaledImage = SpriteAtlas.getScaledSprite(SpriteAtlas.keyOf(spritePath), 80, 80);
         JLabel spriteLabel = new JLabel(new ImageIcon(scaledImage));
         spriteLabel.setHorizontalAlignment(JLabel.CENTER);
 
@@ -440,13 +543,22 @@ public class PokemonSelectionScreen extends JPanel {
     }
 
     /**
-     * Updates the status label to show the current selection status.
+     * Gets the label that shows the selection status.
+     * @return The status label.
      */
 
-    private void updateStatusLabel() {
+    private JLabel getStatusLabel() {
         JPanel bottomPanel = (JPanel) pokemonSelectionPanel.getComponent(2);
         JPanel statusPanel = (JPanel) bottomPanel.getComponent(1);
-        JLabel statusLabel = (JLabel) statusPanel.getComponent(0);
+        return (JLabel) statusPanel.getComponent(0);
+    }
+
+    /**
+     * Updates the status label to show the current selection status.
+     */
+
+    private void updateStatusLabel() {
+        JLabel statusLabel = getStatusLabel();
 
         if (selectedPokemons.isEmpty()) {
             statusLabel.setText("Select Pokémon for your team");
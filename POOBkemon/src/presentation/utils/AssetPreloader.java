@@ -0,0 +1,243 @@
+package presentation.utils;
+
+import domain.pokemons.Pokemon;
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * AssetPreloader decodes images and audio in parallel on a small worker pool and keeps
+ * the results in memory, so screens can pick them up without touching the disk on the EDT.
+ * Each screen announces itself with onScreenShown, which prefetches the assets of the
+ * screen most likely to come next.
+ */
+
+public final class AssetPreloader {
+
+    /**
+     * Screens of the game, in the order the user normally goes through them,
+     * with the assets each of them needs. Music is streamed by StreamingMusicPlayer,
+     * so only short sounds belong in the audio lists.
+     */
+
+    public enum Screen {
+        COVER(List.of(UIConstants.COVER_IMAGE_PATH, UIConstants.START_BUTTON_IMAGE_PATH),
+                List.of()),
+        SETUP(List.of(UIConstants.COVER_IMAGE_PATH, UIConstants.START_BUTTON_IMAGE_PATH),
+                List.of()),
+        POKEMON_SELECTION(List.of(UIConstants.SELECTION_IMAGE_PATH, UIConstants.START_BUTTON_IMAGE_PATH),
+                List.of()),
+        ITEM_SELECTION(List.of(UIConstants.SELECTION_IMAGE_PATH,
+                UIConstants.ITEMS_SPRITES_PATH + "potion.png",
+                UIConstants.ITEMS_SPRITES_PATH + "super-potion.png",
+                UIConstants.ITEMS_SPRITES_PATH + "Hiperpoción.png",
+                UIConstants.ITEMS_SPRITES_PATH + "revive.png"),
+                List.of()),
+        BATTLE(List.of(UIConstants.COVER_ARENA_PATH, UIConstants.SURVIVAL_IMAGE_PATH, UIConstants.COIN_FLIP_GIF_PATH),
+                List.of());
+
+        private final List<String> images;
+        private final List<String> audio;
+
+        Screen(List<String> images, List<String> audio) {
+            this.images = images;
+            this.audio = audio;
+        }
+
+        /**
+         * Gets the screen that usually follows this one.
+         * @return The next screen, or null for the battle screen
+         */
+
+        public Screen next() {
+            return ordinal() + 1 < values().length ? values()[ordinal() + 1] : null;
+        }
+    }
+
+    /**
+     * Decoded PCM audio, ready to be handed to a Clip or a mixer.
+     */
+
+    public record AudioData(AudioFormat format, byte[] data) {
+    }
+
+    private static final Map<String, CompletableFuture<Object>> assets = new ConcurrentHashMap<>();
+    private static final ExecutorService workers = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "asset-preloader");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+
+    private AssetPreloader() {
+    }
+
+    /**
+     * Starts loading every asset of a screen in the background.
+     * Assets already loaded or in flight are not requested again.
+     *
+     * @param screen The screen whose assets should be loaded
+     */
+
+    public static void prefetch(Screen screen) {
+        prefetchImages(screen);
+        for (String path : screen.audio) {
+            submit(path, () -> decodeAudio(path));
+        }
+        if (screen == Screen.POKEMON_SELECTION) {
+            submit("sprite-atlas", SpriteAtlas::size);
+        }
+    }
+
+    /**
+     * Starts loading only the images of a screen in the background.
+     *
+     * @param screen The screen whose images should be loaded
+     */
+
+    public static void prefetchImages(Screen screen) {
+        for (String path : screen.images) {
+            submit(path, () -> decodeImage(path));
+        }
+    }
+
+    /**
+     * Called when a screen becomes visible. Prefetches the assets of the next screen.
+     *
+     * @param screen The screen that was just shown
+     */
+
+    public static void onScreenShown(Screen screen) {
+        Screen next = screen.next();
+        if (next != null) {
+            prefetch(next);
+        }
+    }
+
+    /**
+     * Prefetches the battle sprites of a team, scaled to the size used by the battle screen.
+     *
+     * @param team The team whose sprites should be prepared
+     * @param back true to prepare back sprites (player 1), false for front sprites
+     * @param width The sprite width on screen
+     * @param height The sprite height on screen
+     */
+
+    public static void prefetchTeam(List<Pokemon> team, boolean back, int width, int height) {
+        if (team == null) {
+            return;
+        }
+        for (Pokemon pokemon : team) {
+            String key = back ? SpriteAtlas.backKeyOf(pokemon.getSpritePath()) : SpriteAtlas.keyOf(pokemon.getSpritePath());
+            submit(key + "@" + width + "x" + height, () -> SpriteAtlas.getScaledSprite(key, width, height));
+        }
+    }
+
+    /**
+     * Gets an image, waiting for it if it is still being decoded, or decoding it
+     * on the calling thread if it was never requested.
+     *
+     * @param path The resource path of the image
+     * @return The image, or null if the resource does not exist
+     */
+
+    public static ImageIcon getIcon(String path) {
+        Object asset = get(path, () -> decodeImage(path));
+        return asset instanceof ImageIcon ? (ImageIcon) asset : null;
+    }
+
+    /**
+     * Gets decoded audio, waiting for it if it is still being decoded, or decoding it
+     * on the calling thread if it was never requested.
+     *
+     * @param path The resource path of the audio file
+     * @return The decoded audio, or null if the resource does not exist or cannot be decoded
+     */
+
+    public static AudioData getAudio(String path) {
+        Object asset = get(path, () -> decodeAudio(path));
+        return asset instanceof AudioData ? (AudioData) asset : null;
+    }
+
+    private interface Loader {
+        Object load() throws Exception;
+    }
+
+    /*
+     * Schedules an asset on the worker pool unless it is already known.
+     */
+
+    private static void submit(String key, Loader loader) {
+        assets.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> run(loader), workers));
+    }
+
+    /*
+     * Returns a loaded asset, joining an in-flight load or loading it synchronously.
+     */
+
+    private static Object get(String key, Loader loader) {
+        CompletableFuture<Object> future = assets.get(key);
+        if (future == null) {
+            Object asset = run(loader);
+            if (asset != null) {
+                assets.putIfAbsent(key, CompletableFuture.completedFuture(asset));
+            }
+            return asset;
+        }
+        return future.join();
+    }
+
+    private static Object run(Loader loader) {
+        try {
+            return loader.load();
+        } catch (Exception e) {
+            System.err.println("Error preloading asset: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+     * Decodes an image fully. Animated GIFs go through ImageIcon so that every frame is kept.
+     */
+
+    private static Object decodeImage(String path) throws IOException {
+        URL url = AssetPreloader.class.getResource(path);
+        if (url == null) {
+            return null;
+        }
+        if (path.toLowerCase().endsWith(".gif")) {
+            return new ImageIcon(url);
+        }
+        BufferedImage image = ImageIO.read(url);
+        return image != null ? new ImageIcon(image) : null;
+    }
+
+    /*
+     * Decodes an audio file into PCM bytes.
+     */
+
+    private static Object decodeAudio(String path) throws IOException, UnsupportedAudioFileException {
+        InputStream in = AssetPreloader.class.getResourceAsStream(path);
+        if (in == null) {
+            return null;
+        }
+        try (AudioInputStream audioIn = AudioSystem.getAudioInputStream(new BufferedInputStream(in))) {
+            return new AudioData(audioIn.getFormat(), audioIn.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package presentation.utils;
+
+import javax.swing.JComponent;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * DirtyRegionTracker accumulates the areas of a component that changed since the last
+ * repaint and repaints only those areas, instead of the whole component. Areas that overlap
+ * are merged into their bounding rectangle; areas that do not are kept apart and repainted
+ * one by one, so two sprites in opposite corners do not repaint everything between them.
+ * It may be fed from any thread; JComponent.repaint(Rectangle) is thread-safe.
+ */
+
+public class DirtyRegionTracker {
+    private final JComponent component;
+    private List<Rectangle> dirtyRegions = new ArrayList<>();
+
+    /**
+     * Creates a tracker for the given component.
+     *
+     * @param component The component whose regions are repainted
+     */
+
+    public DirtyRegionTracker(JComponent component) {
+        this.component = component;
+    }
+
+    /**
+     * Marks an area of the component as dirty.
+     *
+     * @param x The x coordinate of the area
+     * @param y The y coordinate of the area
+     * @param width The width of the area
+     * @param height The height of the area
+     */
+
+    public synchronized void markDirty(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        Rectangle area = new Rectangle(x, y, width, height);
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < dirtyRegions.size(); i++) {
+                if (dirtyRegions.get(i).intersects(area)) {
+                    area = area.union(dirtyRegions.remove(i));
+                    merged = true;
+                    break;
+                }
+            }
+        }
+        dirtyRegions.add(area);
+    }
+
+    /**
+     * Marks an area of the component as dirty.
+     *
+     * @param area The area, in component coordinates
+     */
+
+    public void markDirty(Rectangle area) {
+        markDirty(area.x, area.y, area.width, area.height);
+    }
+
+    /**
+     * Checks whether anything was marked since the last flush.
+     *
+     * @return true if there is a pending dirty region
+     */
+
+    public synchronized boolean isDirty() {
+        return !dirtyRegions.isEmpty();
+    }
+
+    /**
+     * Gets a copy of the pending dirty regions.
+     *
+     * @return The disjoint regions marked since the last flush, empty if none
+     */
+
+    public synchronized List<Rectangle> getDirtyRegions() {
+        List<Rectangle> copy = new ArrayList<>();
+        for (Rectangle region : dirtyRegions) {
+            copy.add(new Rectangle(region));
+        }
+        return copy;
+    }
+
+    /**
+     * Requests a repaint of each pending dirty region and clears them.
+     * Does nothing if no area was marked.
+     */
+
+    public void flush() {
+        List<Rectangle> regions;
+        synchronized (this) {
+            regions = dirtyRegions;
+            dirtyRegions = new ArrayList<>();
+        }
+        for (Rectangle region : regions) {
+            component.repaint(region);
+        }
+    }
+}
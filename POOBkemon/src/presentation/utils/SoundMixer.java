@@ -0,0 +1,357 @@
+package presentation.utils;
+
+import domain.game.FrameTimeHistogram;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/*
+ * SoundMixer mixes the streamed background music and any number of sound effect voices
+ * into a single SourceDataLine, in software, on one output thread.
+ * Effects are decoded once into PCM sample arrays, so the same effect can overlap itself
+ * and triggering one is just queuing a voice. The line buffer is kept small (about 12 ms),
+ * so a triggered effect is heard within one mix period plus the line buffer.
+ * The delay from play() to the moment the voice's first frame is due at the speaker is
+ * recorded in a histogram.
+ */
+
+public class SoundMixer {
+
+    /**
+     * Mixer channels, each with its own gain.
+     */
+
+    public enum Channel {
+        MUSIC, EFFECTS
+    }
+
+    /**
+     * The PCM format every source is converted to: 44.1 kHz, 16-bit, stereo, little-endian.
+     */
+    public static final AudioFormat OUTPUT_FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    private static final int FRAME_SIZE = OUTPUT_FORMAT.getFrameSize();
+    private static final int CHANNELS = OUTPUT_FORMAT.getChannels();
+    private static final int MIX_FRAMES = 256;
+    private static final int LINE_BUFFER_FRAMES = Math.max(2 * MIX_FRAMES,
+            Integer.getInteger("poobkemon.audioBufferFrames", 2 * MIX_FRAMES));
+    private static final int MAX_VOICES = 16;
+    private static final double NANOS_PER_FRAME = 1_000_000_000.0 / OUTPUT_FORMAT.getFrameRate();
+
+    private static final FrameTimeHistogram triggerLatencies = new FrameTimeHistogram("sfx-latency");
+
+    private final StreamingMusicPlayer music;
+    private final Map<String, short[]> effects = new ConcurrentHashMap<>();
+    private final Queue<Voice> pendingVoices = new ConcurrentLinkedQueue<>();
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private final float[] accumulator = new float[MIX_FRAMES * CHANNELS];
+    private final byte[] output = new byte[MIX_FRAMES * FRAME_SIZE];
+    private volatile float musicGain = 1.0f;
+    private volatile float effectsGain = 1.0f;
+    private volatile float masterGain = 1.0f;
+    private volatile boolean muted;
+    private SourceDataLine line;
+    private Thread outputThread;
+    private volatile boolean running;
+    private long framesWritten;
+
+    /*
+     * One playing instance of a sound effect.
+     */
+
+    private static final class Voice {
+        private final short[] samples;
+        private final float gain;
+        private final long triggerNanos;
+        private int position;
+
+        private Voice(short[] samples, float gain, long triggerNanos) {
+            this.samples = samples;
+            this.gain = gain;
+            this.triggerNanos = triggerNanos;
+        }
+    }
+
+    /**
+     * Creates a mixer that pulls background music from the given player.
+     * The output line is opened by start().
+     *
+     * @param music The music source
+     */
+
+    public SoundMixer(StreamingMusicPlayer music) {
+        this.music = music;
+    }
+
+    /**
+     * Opens the output line and starts the mixing thread.
+     *
+     * @return true if the line could be opened
+     */
+
+    public synchronized boolean start() {
+        if (running) {
+            return true;
+        }
+        try {
+            line = AudioSystem.getSourceDataLine(OUTPUT_FORMAT);
+            line.open(OUTPUT_FORMAT, LINE_BUFFER_FRAMES * FRAME_SIZE);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("Audio line unavailable: " + e.getMessage());
+            line = null;
+            return false;
+        }
+        line.start();
+        running = true;
+        outputThread = new Thread(this::mixLoop, "sound-mixer");
+        outputThread.setDaemon(true);
+        outputThread.setPriority(Thread.MAX_PRIORITY);
+        outputThread.start();
+        return true;
+    }
+
+    /**
+     * Decodes a sound effect into the clip pool.
+     *
+     * @param name The name the effect is played by
+     * @param path The resource path of the audio file
+     * @return true if the effect was loaded
+     */
+
+    public boolean load(String name, String path) {
+        AssetPreloader.AudioData audio = AssetPreloader.getAudio(path);
+        if (audio == null) {
+            return false;
+        }
+        try (AudioInputStream source = new AudioInputStream(new ByteArrayInputStream(audio.data()), audio.format(),
+                audio.data().length / audio.format().getFrameSize());
+             AudioInputStream converted = toOutputFormat(source)) {
+            byte[] bytes = converted.readAllBytes();
+            short[] samples = new short[bytes.length / 2];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+            }
+            effects.put(name, samples);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading sound effect: " + name + " (" + e.getMessage() + ")");
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether an effect is in the clip pool.
+     *
+     * @param name The effect name
+     * @return true if it was loaded
+     */
+
+    public boolean isLoaded(String name) {
+        return effects.containsKey(name);
+    }
+
+    /**
+     * Starts a new voice of an effect. Never blocks and never stops other sounds.
+     *
+     * @param name The effect name
+     * @param gain The gain of this voice, on top of the effects channel gain
+     * @return true if the effect exists
+     */
+
+    public boolean play(String name, float gain) {
+        short[] samples = effects.get(name);
+        if (samples == null) {
+            return false;
+        }
+        pendingVoices.add(new Voice(samples, gain, System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * Stops every playing effect. The music keeps playing.
+     */
+
+    public void stopEffects() {
+        pendingVoices.clear();
+        pendingVoices.add(new Voice(null, 0, 0));
+    }
+
+    /**
+     * Sets the gain of a channel.
+     *
+     * @param channel The channel
+     * @param gain A linear gain between 0 and 1
+     */
+
+    public void setGain(Channel channel, float gain) {
+        float value = Math.max(0.0f, Math.min(1.0f, gain));
+        if (channel == Channel.MUSIC) {
+            musicGain = value;
+        } else {
+            effectsGain = value;
+        }
+    }
+
+    /**
+     * Gets the gain of a channel.
+     *
+     * @param channel The channel
+     * @return The linear gain
+     */
+
+    public float getGain(Channel channel) {
+        return channel == Channel.MUSIC ? musicGain : effectsGain;
+    }
+
+    /**
+     * Sets the master gain applied after mixing.
+     *
+     * @param gain A linear gain between 0 and 1
+     */
+
+    public void setMasterGain(float gain) {
+        masterGain = Math.max(0.0f, Math.min(1.0f, gain));
+    }
+
+    /**
+     * Mutes or unmutes the whole output without stopping anything.
+     *
+     * @param muted true to mute
+     */
+
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+    }
+
+    /**
+     * Gets the histogram of trigger-to-audio latencies of sound effects.
+     * @return The latency histogram
+     */
+
+    public static FrameTimeHistogram getTriggerLatencies() {
+        return triggerLatencies;
+    }
+
+    /**
+     * Stops the mixing thread and closes the line.
+     */
+
+    public synchronized void close() {
+        running = false;
+        if (outputThread != null) {
+            outputThread.interrupt();
+        }
+        if (line != null) {
+            line.stop();
+            line.flush();
+            line.close();
+            line = null;
+        }
+    }
+
+    /*
+     * Mixes one period at a time. The blocking write paces the loop to the playback rate,
+     * and new voices are picked up at the start of every period.
+     */
+
+    private void mixLoop() {
+        SourceDataLine out = line;
+        while (running && out != null) {
+            long now = System.nanoTime();
+            acceptPendingVoices(now, out);
+
+            Arrays.fill(accumulator, 0.0f);
+            music.mixInto(accumulator, MIX_FRAMES, musicGain);
+            mixVoices(effectsGain);
+
+            float gain = muted ? 0.0f : masterGain;
+            for (int i = 0; i < accumulator.length; i++) {
+                int value = Math.round(accumulator[i] * gain);
+                value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+                output[2 * i] = (byte) value;
+                output[2 * i + 1] = (byte) (value >> 8);
+            }
+            out.write(output, 0, output.length);
+            framesWritten += MIX_FRAMES;
+        }
+    }
+
+    /*
+     * Moves queued voices into free slots, stealing the oldest voice when all are busy,
+     * and records how long each one will have waited before reaching the speaker.
+     */
+
+    private void acceptPendingVoices(long now, SourceDataLine out) {
+        Voice voice;
+        while ((voice = pendingVoices.poll()) != null) {
+            if (voice.samples == null) {
+                Arrays.fill(voices, null);
+                continue;
+            }
+            long queuedFrames = Math.max(0, framesWritten - out.getLongFramePosition());
+            triggerLatencies.record(now - voice.triggerNanos + (long) (queuedFrames * NANOS_PER_FRAME));
+            int slot = 0;
+            for (int i = 0; i < voices.length; i++) {
+                if (voices[i] == null) {
+                    slot = i;
+                    break;
+                }
+                if (voices[i].triggerNanos < voices[slot].triggerNanos) {
+                    slot = i;
+                }
+            }
+            voices[slot] = voice;
+        }
+    }
+
+    private void mixVoices(float channelGain) {
+        for (int v = 0; v < voices.length; v++) {
+            Voice voice = voices[v];
+            if (voice == null) {
+                continue;
+            }
+            float gain = channelGain * voice.gain;
+            int count = Math.min(accumulator.length, voice.samples.length - voice.position);
+            for (int i = 0; i < count; i++) {
+                accumulator[i] += voice.samples[voice.position + i] * gain;
+            }
+            voice.position += count;
+            if (voice.position >= voice.samples.length) {
+                voices[v] = null;
+            }
+        }
+    }
+
+    /**
+     * Converts a stream to OUTPUT_FORMAT: first to 16-bit signed little-endian PCM,
+     * then, if needed, to 44.1 kHz stereo.
+     *
+     * @param source The decoded audio stream
+     * @return A stream in OUTPUT_FORMAT
+     * @throws IllegalArgumentException If the conversion is not supported
+     */
+
+    public static AudioInputStream toOutputFormat(AudioInputStream source) {
+        AudioFormat format = source.getFormat();
+        if (format.matches(OUTPUT_FORMAT)) {
+            return source;
+        }
+        AudioInputStream pcm = source;
+        if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                || format.getSampleSizeInBits() != 16 || format.isBigEndian()) {
+            AudioFormat pcmFormat = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                    format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+            pcm = AudioSystem.getAudioInputStream(pcmFormat, source);
+        }
+        return pcm.getFormat().matches(OUTPUT_FORMAT) ? pcm : AudioSystem.getAudioInputStream(OUTPUT_FORMAT, pcm);
+    }
+}
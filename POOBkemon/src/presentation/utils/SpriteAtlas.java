@@ -0,0 +1,345 @@
+package presentation.utils;
+
+import domain.enums.PokemonData;
+import domain.metrics.Counter;
+import domain.metrics.Metrics;
+import javax.imageio.ImageIO;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/*
+ * SpriteAtlas packs every front and back Pokemon sprite into a single texture atlas.
+ * The atlas and a small text index are cached on disk (see UIConstants.CACHE_PATH) the first
+ * time they are built, and rebuilt only when the source sprites change.
+ * Sprites are served as sub-images of the resident atlas, so drawing a Pokemon is a blit
+ * instead of a PNG decode.
+ */
+
+public final class SpriteAtlas {
+    private static final int ATLAS_WIDTH = 512;
+    private static final int PADDING = 1;
+    private static final String INDEX_HEADER = "# POOBkemon sprite atlas v1";
+
+    private static final Map<String, Image> scaledSprites = new ConcurrentHashMap<>();
+    private static final Counter scaledHits = Metrics.counter("sprites.scaled.hits");
+    private static final Counter scaledMisses = Metrics.counter("sprites.scaled.misses");
+
+    static {
+        Metrics.gauge("sprites.scaled.hitRate", () -> {
+            long hits = scaledHits.getCount();
+            long total = hits + scaledMisses.getCount();
+            return total == 0 ? 0.0 : (double) hits / total;
+        });
+    }
+
+    private SpriteAtlas() {
+    }
+
+    /*
+     * Lazily loaded atlas state. The holder is initialized on first access, which keeps
+     * the cost out of class loading and makes the initialization thread-safe.
+     */
+
+    private static final class Holder {
+        private static final BufferedImage atlas;
+        private static final Map<String, Rectangle> index = new HashMap<>();
+
+        static {
+            atlas = loadOrBuild(index);
+        }
+    }
+
+    /**
+     * Returns the atlas key of a sprite resource path (its file name without extension).
+     *
+     * @param spritePath The resource path of the sprite, e.g. ".../Front/charizard-front.png"
+     * @return The key used to look the sprite up in the atlas, e.g. "charizard-front"
+     */
+
+    public static String keyOf(String spritePath) {
+        String fileName = spritePath.substring(spritePath.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    /**
+     * Returns the atlas key of the back sprite that matches a front sprite path.
+     *
+     * @param frontSpritePath The resource path of the front sprite
+     * @return The key of the corresponding back sprite, e.g. "charizard-back"
+     */
+
+    public static String backKeyOf(String frontSpritePath) {
+        String key = keyOf(frontSpritePath);
+        return key.endsWith("-front") ? key.substring(0, key.length() - "-front".length()) + "-back" : key;
+    }
+
+    /**
+     * Checks whether the atlas contains a sprite.
+     *
+     * @param key The sprite key
+     * @return true if the sprite was packed into the atlas
+     */
+
+    public static boolean contains(String key) {
+        return Holder.index.containsKey(key);
+    }
+
+    /**
+     * Gets the number of sprites in the atlas. Calling it forces the atlas to load.
+     *
+     * @return The number of packed sprites
+     */
+
+    public static int size() {
+        return Holder.index.size();
+    }
+
+    /**
+     * Gets a sprite as a sub-image of the atlas. The returned image shares the atlas raster.
+     *
+     * @param key The sprite key
+     * @return The sprite, or null if it is not in the atlas
+     */
+
+    public static BufferedImage getSprite(String key) {
+        Rectangle r = Holder.index.get(key);
+        if (r == null || Holder.atlas == null) {
+            return null;
+        }
+        return Holder.atlas.getSubimage(r.x, r.y, r.width, r.height);
+    }
+
+    /**
+     * Gets a sprite scaled to the given size. Scaled copies are cached, so repeated
+     * requests for the same size do not rescale.
+     *
+     * @param key The sprite key
+     * @param width The target width
+     * @param height The target height
+     * @return The scaled sprite, or null if it is not in the atlas
+     */
+
+    public static Image getScaledSprite(String key, int width, int height) {
+        String cacheKey = key + "@" + width + "x" + height;
+        Image cached = scaledSprites.get(cacheKey);
+        if (cached != null) {
+            scaledHits.increment();
+            return cached;
+        }
+        scaledMisses.increment();
+        BufferedImage sprite = getSprite(key);
+        if (sprite == null) {
+            return null;
+        }
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.drawImage(sprite, 0, 0, width, height, null);
+        g.dispose();
+        scaledSprites.put(cacheKey, scaled);
+        return scaled;
+    }
+
+    /**
+     * Draws a sprite straight from the atlas into the given graphics context.
+     *
+     * @param g The graphics context
+     * @param key The sprite key
+     * @param x The destination x coordinate
+     * @param y The destination y coordinate
+     * @param width The destination width
+     * @param height The destination height
+     * @return true if the sprite was drawn, false if it is not in the atlas
+     */
+
+    public static boolean drawSprite(Graphics g, String key, int x, int y, int width, int height) {
+        Rectangle r = Holder.index.get(key);
+        if (r == null || Holder.atlas == null) {
+            return false;
+        }
+        g.drawImage(Holder.atlas, x, y, x + width, y + height,
+                r.x, r.y, r.x + r.width, r.y + r.height, null);
+        return true;
+    }
+
+    /*
+     * Loads the cached atlas if its signature matches the current sprites, otherwise
+     * packs a new atlas and writes it to the cache directory.
+     */
+
+    private static BufferedImage loadOrBuild(Map<String, Rectangle> index) {
+        Map<String, String> sources = collectSources();
+        String signature = computeSignature(sources);
+
+        File dir = new File(UIConstants.CACHE_PATH);
+        File imageFile = new File(dir, UIConstants.SPRITE_ATLAS_IMAGE);
+        File indexFile = new File(dir, UIConstants.SPRITE_ATLAS_INDEX);
+
+        BufferedImage cached = readCache(imageFile, indexFile, signature, index);
+        if (cached != null) {
+            return cached;
+        }
+
+        index.clear();
+        BufferedImage atlas = pack(sources, index);
+        try {
+            writeCache(dir, imageFile, indexFile, signature, atlas, index);
+        } catch (IOException e) {
+            System.err.println("Could not cache sprite atlas: " + e.getMessage());
+        }
+        return atlas;
+    }
+
+    /*
+     * Collects the resource paths of every front and back sprite, keyed by sprite key.
+     */
+
+    private static Map<String, String> collectSources() {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (PokemonData data : PokemonData.values()) {
+            String frontKey = keyOf(data.getSpritePath());
+            String backKey = backKeyOf(data.getSpritePath());
+            sources.put(frontKey, UIConstants.POKEMON_FRONT_SPRITES_PATH + frontKey + ".png");
+            sources.put(backKey, UIConstants.POKEMON_BACK_SPRITES_PATH + backKey + ".png");
+        }
+        sources.values().removeIf(path -> SpriteAtlas.class.getResource(path) == null);
+        return sources;
+    }
+
+    /*
+     * Computes a CRC over the raw bytes of every source sprite. Reading the bytes is
+     * much cheaper than decoding them, and any change to a sprite invalidates the cache.
+     */
+
+    private static String computeSignature(Map<String, String> sources) {
+        CRC32 crc = new CRC32();
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            crc.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = SpriteAtlas.class.getResourceAsStream(entry.getValue())) {
+                if (in != null) {
+                    crc.update(in.readAllBytes());
+                }
+            } catch (IOException e) {
+                crc.update(0);
+            }
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    /*
+     * Packs the sprites into rows (shelf packing), tallest sprites first.
+     */
+
+    private static BufferedImage pack(Map<String, String> sources, Map<String, Rectangle> index) {
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            try (InputStream in = SpriteAtlas.class.getResourceAsStream(entry.getValue())) {
+                BufferedImage image = in != null ? ImageIO.read(in) : null;
+                if (image != null) {
+                    images.put(entry.getKey(), image);
+                }
+            } catch (IOException e) {
+                System.err.println("Could not read sprite: " + entry.getValue());
+            }
+        }
+
+        List<String> keys = new ArrayList<>(images.keySet());
+        keys.sort(Comparator.comparingInt((String k) -> images.get(k).getHeight()).reversed());
+
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        for (String key : keys) {
+            BufferedImage image = images.get(key);
+            if (x + image.getWidth() > ATLAS_WIDTH) {
+                x = 0;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            index.put(key, new Rectangle(x, y, image.getWidth(), image.getHeight()));
+            x += image.getWidth() + PADDING;
+            rowHeight = Math.max(rowHeight, image.getHeight());
+        }
+
+        BufferedImage atlas = new BufferedImage(ATLAS_WIDTH, Math.max(1, y + rowHeight), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        for (String key : keys) {
+            Rectangle r = index.get(key);
+            g.drawImage(images.get(key), r.x, r.y, null);
+        }
+        g.dispose();
+        return atlas;
+    }
+
+    /*
+     * Reads the cached atlas and its index. Returns null if the cache is missing,
+     * unreadable or was built from different sprites.
+     */
+
+    private static BufferedImage readCache(File imageFile, File indexFile, String signature, Map<String, Rectangle> index) {
+        if (!imageFile.isFile() || !indexFile.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!INDEX_HEADER.equals(reader.readLine()) || !("signature=" + signature).equals(reader.readLine())) {
+                return null;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 5) {
+                    continue;
+                }
+                index.put(parts[0], new Rectangle(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                        Integer.parseInt(parts[3]), Integer.parseInt(parts[4])));
+            }
+            return ImageIO.read(imageFile);
+        } catch (IOException | NumberFormatException e) {
+            index.clear();
+            return null;
+        }
+    }
+
+    /*
+     * Writes the atlas image and its index to the cache directory.
+     */
+
+    private static void writeCache(File dir, File imageFile, File indexFile, String signature,
+                                   BufferedImage atlas, Map<String, Rectangle> index) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir.getAbsolutePath());
+        }
+        ImageIO.write(atlas, "png", imageFile);
+        try (BufferedWriter writer = Files.newBufferedWriter(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(INDEX_HEADER);
+            writer.newLine();
+            writer.write("signature=" + signature);
+            writer.newLine();
+            for (Map.Entry<String, Rectangle> entry : index.entrySet()) {
+                Rectangle r = entry.getValue();
+                writer.write(entry.getKey() + " " + r.x + " " + r.y + " " + r.width + " " + r.height);
+                writer.newLine();
+            }
+        }
+    }
+}
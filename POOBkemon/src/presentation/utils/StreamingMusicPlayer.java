@@ -0,0 +1,423 @@
+package presentation.utils;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * StreamingMusicPlayer streams background music without loading whole tracks into memory.
+ * A decoder thread reads each track from its resource into a small per-track ring buffer;
+ * the SoundMixer pulls frames from those buffers on its output thread. Tracks are converted
+ * to the mixer's PCM format, which lets them loop seamlessly and crossfade into each other.
+ * While paused no frames are consumed, so playback resumes at the exact frame.
+ */
+
+public class StreamingMusicPlayer {
+    private static final AudioFormat OUTPUT_FORMAT = SoundMixer.OUTPUT_FORMAT;
+    private static final int FRAME_SIZE = OUTPUT_FORMAT.getFrameSize();
+    private static final int CHANNELS = OUTPUT_FORMAT.getChannels();
+    private static final int DECODE_FRAMES = 1024;
+    private static final int RING_FRAMES = 22050;
+    private static final long WAIT_MILLIS = 20;
+
+    private final Object lock = new Object();
+    private final byte[] decoderChunk = new byte[DECODE_FRAMES * FRAME_SIZE];
+    private byte[] currentChunk = new byte[0];
+    private byte[] fadingChunk = new byte[0];
+    private Thread decoderThread;
+    private volatile boolean running;
+    private Track current;
+    private Track fading;
+    private int fadeFrames;
+    private int fadeProgress;
+    private boolean paused;
+    private long framePosition;
+
+    /*
+     * A track being streamed: its decoded stream and the ring buffer it is decoded into.
+     */
+
+    private static final class Track {
+        private final String path;
+        private final boolean loop;
+        private final PcmRingBuffer buffer = new PcmRingBuffer(RING_FRAMES * FRAME_SIZE);
+        private AudioInputStream stream;
+        private volatile boolean endOfStream;
+        private volatile boolean closed;
+
+        private Track(String path, boolean loop) throws IOException, UnsupportedAudioFileException {
+            this.path = path;
+            this.loop = loop;
+            this.stream = open(path);
+        }
+
+        private boolean isFinished() {
+            return endOfStream && buffer.available() == 0;
+        }
+
+        private void close() {
+            closed = true;
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Starts streaming a track. If a track is already playing, it fades out while the new
+     * one fades in over the given time.
+     *
+     * @param resourcePath The resource path of the audio file
+     * @param loop true to loop the track seamlessly
+     * @param crossfadeMillis Length of the crossfade, 0 to cut straight to the new track
+     * @return true if the track could be opened
+     */
+
+    public boolean play(String resourcePath, boolean loop, int crossfadeMillis) {
+        Track track;
+        try {
+            track = new Track(resourcePath, loop);
+        } catch (IOException | UnsupportedAudioFileException | IllegalArgumentException e) {
+            System.err.println("Error playing background music: " + resourcePath + " (" + e.getMessage() + ")");
+            return false;
+        }
+        synchronized (lock) {
+            ensureDecoderStarted();
+            if (fading != null) {
+                fading.close();
+                fading = null;
+            }
+            if (current != null && crossfadeMillis > 0 && !paused) {
+                fading = current;
+                fadeFrames = Math.max(1, (int) (OUTPUT_FORMAT.getFrameRate() * crossfadeMillis / 1000));
+                fadeProgress = 0;
+            } else if (current != null) {
+                current.close();
+            }
+            current = track;
+            paused = false;
+            framePosition = 0;
+            lock.notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * Stops the music and discards everything that was buffered.
+     */
+
+    public void stop() {
+        synchronized (lock) {
+            closeTracks();
+            paused = false;
+            framePosition = 0;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Pauses the music. Nothing is consumed from the ring buffer while paused,
+     * so resume continues from the exact frame where playback stopped.
+     */
+
+    public void pause() {
+        synchronized (lock) {
+            if (current != null) {
+                paused = true;
+            }
+        }
+    }
+
+    /**
+     * Resumes paused music.
+     */
+
+    public void resume() {
+        synchronized (lock) {
+            paused = false;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Checks whether the music is paused.
+     * @return true if paused
+     */
+
+    public boolean isPaused() {
+        synchronized (lock) {
+            return paused;
+        }
+    }
+
+    /**
+     * Checks whether a track is playing or paused.
+     * @return true if there is a current track
+     */
+
+    public boolean isActive() {
+        synchronized (lock) {
+            return current != null;
+        }
+    }
+
+    /**
+     * Gets the number of frames of the current track handed to the mixer so far
+     * (including every loop).
+     *
+     * @return The frame position, or 0 if nothing is playing
+     */
+
+    public long getFramePosition() {
+        synchronized (lock) {
+            return framePosition;
+        }
+    }
+
+    /**
+     * Stops the music and ends the decoder thread.
+     */
+
+    public void close() {
+        synchronized (lock) {
+            running = false;
+            closeTracks();
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Adds up to the given number of music frames, scaled by gain, into a mix accumulator
+     * of interleaved samples. Called by the mixer on its output thread.
+     *
+     * @param accumulator The interleaved sample accumulator
+     * @param frames The number of frames wanted
+     * @param gain The gain applied to the music
+     * @return The number of frames added; fewer than requested on underrun, pause or silence
+     */
+
+    int mixInto(float[] accumulator, int frames, float gain) {
+        Track track;
+        Track old;
+        int fadeTotal;
+        int fadeStart;
+        synchronized (lock) {
+            if (current == null || paused) {
+                return 0;
+            }
+            track = current;
+            old = fading;
+            fadeTotal = old != null ? fadeFrames : 0;
+            fadeStart = fadeProgress;
+        }
+
+        int bytes = frames * FRAME_SIZE;
+        if (currentChunk.length < bytes) {
+            currentChunk = new byte[bytes];
+            fadingChunk = new byte[bytes];
+        }
+        int read = Math.min(track.buffer.available(), bytes) / FRAME_SIZE * FRAME_SIZE;
+        read = read == 0 ? 0 : track.buffer.read(currentChunk, 0, read);
+        if (read == 0) {
+            if (track.isFinished()) {
+                synchronized (lock) {
+                    if (current == track) {
+                        current.close();
+                        current = null;
+                    }
+                }
+            }
+            return 0;
+        }
+        int oldRead = old != null ? old.buffer.read(fadingChunk, 0, read) : 0;
+
+        int readFrames = read / FRAME_SIZE;
+        for (int frame = 0; frame < readFrames; frame++) {
+            float fadeIn = 1.0f;
+            float fadeOut = 0.0f;
+            if (fadeTotal > 0) {
+                fadeIn = Math.min(1.0f, (float) (fadeStart + frame) / fadeTotal);
+                fadeOut = 1.0f - fadeIn;
+            }
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                int index = frame * FRAME_SIZE + channel * 2;
+                float sample = sampleAt(currentChunk, index) * fadeIn;
+                if (index < oldRead) {
+                    sample += sampleAt(fadingChunk, index) * fadeOut;
+                }
+                accumulator[frame * CHANNELS + channel] += sample * gain;
+            }
+        }
+
+        synchronized (lock) {
+            if (current == track) {
+                framePosition += readFrames;
+            }
+            if (fadeTotal > 0) {
+                fadeProgress += readFrames;
+                if (fading != null && fadeProgress >= fadeFrames) {
+                    fading.close();
+                    fading = null;
+                }
+            }
+            lock.notifyAll();
+        }
+        return readFrames;
+    }
+
+    private void ensureDecoderStarted() {
+        if (running) {
+            return;
+        }
+        running = true;
+        decoderThread = new Thread(this::decoderLoop, "music-decoder");
+        decoderThread.setDaemon(true);
+        decoderThread.start();
+    }
+
+    private void closeTracks() {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        if (fading != null) {
+            fading.close();
+            fading = null;
+        }
+    }
+
+    /*
+     * Keeps the ring buffers of the playing tracks full. At the end of a looping track,
+     * the stream is reopened and decoding continues without a gap.
+     */
+
+    private void decoderLoop() {
+        while (running) {
+            Track first;
+            Track second;
+            synchronized (lock) {
+                first = current;
+                second = fading;
+            }
+            boolean progressed = fill(first) | fill(second);
+            if (!progressed) {
+                synchronized (lock) {
+                    try {
+                        lock.wait(WAIT_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean fill(Track track) {
+        if (track == null || track.endOfStream || track.closed) {
+            return false;
+        }
+        if (track.buffer.free() < decoderChunk.length) {
+            return false;
+        }
+        try {
+            int read = readFrames(track.stream, decoderChunk);
+            if (read > 0) {
+                track.buffer.write(decoderChunk, 0, read);
+                return true;
+            }
+            if (track.loop) {
+                track.stream.close();
+                track.stream = open(track.path);
+                return true;
+            }
+            track.endOfStream = true;
+        } catch (IOException | UnsupportedAudioFileException e) {
+            if (!track.closed) {
+                System.err.println("Error streaming background music: " + track.path);
+            }
+            track.endOfStream = true;
+        }
+        return false;
+    }
+
+    private static int sampleAt(byte[] data, int index) {
+        return (data[index] & 0xFF) | (data[index + 1] << 8);
+    }
+
+    /*
+     * Reads whole frames, retrying short reads until the chunk is full or the stream ends.
+     */
+
+    private static int readFrames(AudioInputStream stream, byte[] chunk) throws IOException {
+        int total = 0;
+        while (total < chunk.length) {
+            int read = stream.read(chunk, total, chunk.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total / FRAME_SIZE * FRAME_SIZE;
+    }
+
+    /*
+     * Opens a resource and converts it to the output format.
+     */
+
+    private static AudioInputStream open(String path) throws IOException, UnsupportedAudioFileException {
+        InputStream in = StreamingMusicPlayer.class.getResourceAsStream(path);
+        if (in == null) {
+            throw new IOException("Could not find background music: " + path);
+        }
+        return SoundMixer.toOutputFormat(AudioSystem.getAudioInputStream(new BufferedInputStream(in)));
+    }
+
+    /*
+     * Fixed-size byte ring buffer shared by the decoder (writer) and the mixer thread (reader).
+     */
+
+    private static final class PcmRingBuffer {
+        private final byte[] data;
+        private int readPosition;
+        private int size;
+
+        private PcmRingBuffer(int capacity) {
+            data = new byte[capacity];
+        }
+
+        private synchronized int available() {
+            return size;
+        }
+
+        private synchronized int free() {
+            return data.length - size;
+        }
+
+        private synchronized int write(byte[] source, int offset, int length) {
+            int count = Math.min(length, data.length - size);
+            int writePosition = (readPosition + size) % data.length;
+            int first = Math.min(count, data.length - writePosition);
+            System.arraycopy(source, offset, data, writePosition, first);
+            System.arraycopy(source, offset + first, data, 0, count - first);
+            size += count;
+            return count;
+        }
+
+        private synchronized int read(byte[] target, int offset, int length) {
+            int count = Math.min(length, size);
+            int first = Math.min(count, data.length - readPosition);
+            System.arraycopy(data, readPosition, target, offset, first);
+            System.arraycopy(data, 0, target, offset + first, count - first);
+            readPosition = (readPosition + count) % data.length;
+            size -= count;
+            return count;
+        }
+    }
+}
@@ -82,6 +82,25 @@ public class UIConstants {
      */
     public static final String POKEMON_BACK_SPRITES_PATH = POKEMON_SPRITES_PATH + "Pokemons/Back/";
 
+    /**
+     * Directory on disk where generated assets (sprite atlas, etc.) are cached between runs.
+     */
+    public static final String CACHE_PATH = System.getProperty("user.home") + "/.poobkemon/cache/";
+
+    /**
+     * File name of the packed Pokemon sprite atlas inside the cache directory.
+     */
+    public static final String SPRITE_ATLAS_IMAGE = "sprite-atlas.png";
+
+    /**
+     * File name of the sprite atlas index inside the cache directory.
+     */
+    public static final String SPRITE_ATLAS_INDEX = "sprite-atlas.idx";
+
+    /**
+     * Directory on disk where frame time histograms are dumped from the performance overlay.
+     */
+    public static final String PERFORMANCE_DUMP_PATH = System.getProperty("user.home") + "/.poobkemon/perf/";
 
     /**
      * Base path for all item sprite images.
@@ -126,6 +145,31 @@ public class UIConstants {
 
     public static final String SAVE_SOUND_PATH = "/sounds-music/music-cover/saveGame.wav";
 
+    /**
+     * Path to the music played on the Pokemon and item selection screens.
+     */
+    public static final String SELECTION_MUSIC_PATH = "/sounds-music/music-cover/pokemonSelectionScreen-ItemSelectionScreen.wav";
+
+    /**
+     * Path to the battle music for Player vs Player games.
+     */
+    public static final String PVP_MUSIC_PATH = "/sounds-music/music-cover/playerVSplayer.wav";
+
+    /**
+     * Path to the battle music for games against the machine.
+     */
+    public static final String PVE_MUSIC_PATH = "/sounds-music/music-cover/playerVSAi.wav";
+
+    /**
+     * Path to the battle music for survival mode.
+     */
+    public static final String SURVIVAL_MUSIC_PATH = "/sounds-music/music-cover/survivalTheme.wav";
+
+    /**
+     * Path to the animated coin toss shown before a battle starts.
+     */
+    public static final String COIN_FLIP_GIF_PATH = RESOURCES_PATH + "SelectionScreen/coin-flip-2.gif";
+
     /**
      * List of game modality display names for dropdown menus.
      */
@@ -0,0 +1,59 @@
+package game;
+
+import domain.game.BattleTrace;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+
+class BattleTraceTest {
+
+    private static String[] lines(BattleTrace trace) {
+        StringWriter text = new StringWriter();
+        trace.writeTo(new PrintWriter(text), "Ash", "Gary");
+        return text.toString().trim().split("\\R");
+    }
+
+    @Test
+    void recordsAreDecodedInOrder() {
+        BattleTrace trace = new BattleTrace();
+        trace.record(BattleTrace.Action.TURN_START, 0, -1, -1, -1, 20);
+        trace.record(BattleTrace.Action.MOVE, 0, 100, 78, 14, 2);
+        trace.record(BattleTrace.Action.TURN_START, 1, -1, -1, -1, -1);
+        trace.record(BattleTrace.Action.SWITCH, 1, 55, 55, -1, 3);
+
+        String[] lines = lines(trace);
+        assertEquals(5, lines.length);
+        assertTrue(lines[2].endsWith("turn=1 actor=Ash MOVE hp=100->78 pp=14 detail=2"), lines[2]);
+        assertTrue(lines[4].endsWith("turn=2 actor=Gary SWITCH hp=55->55 pp=-1 detail=3"), lines[4]);
+    }
+
+    @Test
+    void onlyTheLatestEventsAreKept() {
+        BattleTrace trace = new BattleTrace();
+        for (int i = 0; i < BattleTrace.CAPACITY + 10; i++) {
+            trace.record(BattleTrace.Action.MOVE, 0, i, i, 0, i);
+        }
+        String[] lines = lines(trace);
+        assertEquals(BattleTrace.CAPACITY + 1, lines.length);
+        assertTrue(lines[1].endsWith("detail=10"), lines[1]);
+        assertEquals(BattleTrace.CAPACITY + 10, trace.getRecordedCount());
+    }
+
+    @Test
+    void recordingDoesNotAllocate() {
+        BattleTrace trace = new BattleTrace();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 20_000; i++) {
+            trace.record(BattleTrace.Action.MOVE, 1, i, i - 1, 5, 0);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            trace.record(BattleTrace.Action.MOVE, 1, i, i - 1, 5, 0);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated < 4096, "allocated " + allocated + " bytes");
+    }
+}
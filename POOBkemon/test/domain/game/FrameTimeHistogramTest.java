@@ -0,0 +1,89 @@
+package game;
+
+import domain.game.FrameTimeHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+class FrameTimeHistogramTest {
+    private FrameTimeHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new FrameTimeHistogram("test");
+    }
+
+    @Test
+    void emptyHistogramReturnsZero() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void percentilesStayWithinRelativeError() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertEquals(500_000_000L, p50, 500_000_000L * 0.04);
+        assertEquals(990_000_000L, p99, 990_000_000L * 0.04);
+        assertEquals(1_000_000_000L, histogram.getMax());
+    }
+
+    @Test
+    void outliersDoNotHideBehindTheMedian() {
+        for (int i = 0; i < 999; i++) {
+            histogram.record(16_000_000L);
+        }
+        histogram.record(250_000_000L);
+        assertTrue(histogram.getValueAtPercentile(50) < 17_000_000L);
+        assertEquals(250_000_000L, histogram.getMax());
+        assertTrue(histogram.getValueAtPercentile(99.95) >= 240_000_000L);
+    }
+
+    @Test
+    void valuesAboveTheRangeAreClamped() {
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(2, histogram.getCount());
+        assertEquals(FrameTimeHistogram.MAX_TRACKABLE_NANOS, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void resetClearsEverything() {
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void writeToPrintsSummaryAndBuckets() {
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(1_000_000);
+        StringWriter text = new StringWriter();
+        histogram.writeTo(new PrintWriter(text, true));
+        String[] lines = text.toString().trim().split("\\R");
+        assertTrue(lines[0].startsWith("# test count=3"));
+        assertEquals("3 3 2", lines[1]);
+        assertEquals(3, lines.length);
+    }
+}
@@ -0,0 +1,135 @@
+package game;
+
+import domain.exceptions.POOBkemonException;
+import domain.game.GameActor;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class GameActorTest {
+
+    @Test
+    void commandsRunInOrderOnOneThreadAtATime() throws Exception {
+        GameActor actor = new GameActor();
+        List<Integer> seen = new ArrayList<>();
+        int[] concurrent = {0, 0};
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 500; i++) {
+            int value = i;
+            actor.tell(() -> {
+                concurrent[0]++;
+                concurrent[1] = Math.max(concurrent[1], concurrent[0]);
+                seen.add(value);
+                concurrent[0]--;
+            });
+        }
+        actor.tell(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(500, seen.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, seen.get(i));
+        }
+        assertEquals(1, concurrent[1]);
+    }
+
+    @Test
+    void callReturnsResultAndRethrowsGameExceptions() throws Exception {
+        GameActor actor = new GameActor();
+        assertEquals(42, actor.call(() -> 42));
+        POOBkemonException e = assertThrows(POOBkemonException.class, () -> actor.call(() -> {
+            throw new POOBkemonException(POOBkemonException.INVALID_GAME_STATE);
+        }));
+        assertEquals(POOBkemonException.INVALID_GAME_STATE, e.getMessage());
+    }
+
+    @Test
+    void callFromInsideACommandRunsInline() throws Exception {
+        GameActor actor = new GameActor();
+        String result = actor.call(() -> {
+            assertTrue(actor.isOwnerThread());
+            return actor.call(() -> "nested");
+        });
+        assertEquals("nested", result);
+        assertFalse(actor.isOwnerThread());
+    }
+
+    @Test
+    void concurrentCallersAreSerialized() throws Exception {
+        GameActor actor = new GameActor();
+        int[] counter = {0};
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 1000; i++) {
+                        actor.call(() -> ++counter[0]);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty());
+        assertEquals(8000, actor.call(() -> counter[0]));
+    }
+
+    @Test
+    void scheduledCommandsGoThroughTheMailbox() throws Exception {
+        GameActor actor = new GameActor();
+        CountDownLatch done = new CountDownLatch(1);
+        boolean[] onOwner = {false};
+        actor.schedule(() -> {
+            onOwner[0] = actor.isOwnerThread();
+            done.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(onOwner[0]);
+    }
+
+    @Test
+    void stoppedActorRejectsCalls() {
+        GameActor actor = new GameActor();
+        actor.stop();
+        assertTrue(actor.isStopped());
+        assertThrows(POOBkemonException.class, () -> actor.call(() -> 1));
+    }
+
+    @Test
+    void stoppingFailsCallsStillInTheMailbox() throws Exception {
+        GameActor actor = new GameActor();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        actor.tell(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Throwable> failure = CompletableFuture.supplyAsync(() -> {
+            try {
+                actor.call(() -> 1);
+                return null;
+            } catch (POOBkemonException e) {
+                return e;
+            }
+        });
+        Thread.sleep(50);
+        actor.stop();
+        release.countDown();
+        assertInstanceOf(POOBkemonException.class, failure.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,75 @@
+package game;
+
+import domain.game.GameEvent;
+import domain.game.GameEventBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+class GameEventBusTest {
+    private GameEventBus bus;
+    private List<List<GameEvent>> batches;
+
+    @BeforeEach
+    void setUp() {
+        bus = new GameEventBus();
+        batches = new ArrayList<>();
+        bus.subscribe(batches::add);
+    }
+
+    @Test
+    void flushDeliversOneCoalescedBatch() {
+        Object pikachu = "pikachu";
+        Object charmander = "charmander";
+        bus.publish(GameEvent.Type.TIMER_TICK, null, 20);
+        bus.publish(GameEvent.Type.HP_CHANGED, pikachu, 80);
+        bus.publish(GameEvent.Type.TIMER_TICK, null, 19);
+        bus.publish(GameEvent.Type.HP_CHANGED, charmander, 50);
+        bus.publish(GameEvent.Type.HP_CHANGED, pikachu, 60);
+        bus.flush();
+
+        assertEquals(1, batches.size());
+        List<GameEvent> batch = batches.get(0);
+        assertEquals(3, batch.size());
+        assertEquals(GameEvent.Type.TIMER_TICK, batch.get(0).getType());
+        assertEquals(19, batch.get(0).getValue());
+        assertSame(pikachu, batch.get(1).getSubject());
+        assertEquals(60, batch.get(1).getValue());
+        assertSame(charmander, batch.get(2).getSubject());
+    }
+
+    @Test
+    void faintedAndGameOverAreNeverCoalesced() {
+        bus.publish(GameEvent.Type.FAINTED, "a", 0);
+        bus.publish(GameEvent.Type.FAINTED, "a", 0);
+        bus.publish(GameEvent.Type.GAME_OVER, "p1", 0);
+        assertEquals(3, bus.drain().size());
+    }
+
+    @Test
+    void onlyOneDispatchIsInFlight() {
+        List<Runnable> tasks = new ArrayList<>();
+        bus.setDispatcher(tasks::add);
+        bus.publish(GameEvent.Type.TURN_CHANGED, "p1", 0);
+        bus.flush();
+        bus.publish(GameEvent.Type.TURN_CHANGED, "p2", 0);
+        bus.flush();
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    void emptyFlushAndUnsubscribedBusDeliverNothing() {
+        bus.flush();
+        assertTrue(batches.isEmpty());
+
+        GameEventBus silent = new GameEventBus();
+        silent.publish(GameEvent.Type.TIMER_TICK, null, 5);
+        assertTrue(silent.drain().isEmpty());
+    }
+}
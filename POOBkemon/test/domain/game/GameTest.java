@@ -1,8 +1,12 @@
 package game;
 
+import domain.game.BattleSnapshot;
 import domain.game.Game;
 import domain.game.NormalMode;
 import domain.game.SurvivalMode;
+import domain.game.TurnResult;
+import domain.player.AIPlayer;
+import domain.simulation.TeamPool;
 import domain.player.Player;
 import domain.pokemons.Pokemon;
 import domain.moves.Move;
@@ -10,12 +14,15 @@ import domain.entities.Item;
 import domain.exceptions.POOBkemonException;
 import domain.enums.MoveCategory;
 import domain.enums.PokemonType;
+import domain.enums.MachineType;
+import domain.enums.SpectatorSpeed;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 class GameTest {
     private Game game;
@@ -63,6 +70,13 @@ class GameTest {
         assertFalse(item.wasUsed());
     }
 
+    @Test
+    void useItemByIndexResolvesTheItemOnTheGame() throws POOBkemonException {
+        assertThrows(POOBkemonException.class, () -> game.useItem(0));
+        game.getCurrentPlayer().getItems().add(new TestItem());
+        assertEquals(TurnResult.Action.ITEM, game.useItem(0).getAction());
+    }
+
     @Test
     void survivalModeHasDifferentRules() {
         Game survivalGame = new Game(new SurvivalMode(), player1, player2);
@@ -84,6 +98,49 @@ class GameTest {
     }
 
 
+    @Test
+    void machinesPlayWithoutDelaysAtMaxSpectatorSpeed() throws InterruptedException {
+        TeamPool pool = TeamPool.random(2);
+        Game spectated = new Game(new NormalMode(),
+            new AIPlayer("CPU 1", MachineType.attackingTrainer, pool.create(0, new Random(1)), new ArrayList<>()),
+            new AIPlayer("CPU 2", MachineType.attackingTrainer, pool.create(1, new Random(2)), new ArrayList<>()));
+        assertTrue(spectated.isSpectated());
+        assertFalse(game.isSpectated());
+        assertEquals(SpectatorSpeed.NORMAL, spectated.getSpectatorSpeed());
+
+        spectated.setSpectatorSpeed(SpectatorSpeed.MAX);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!spectated.isGameOver() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(spectated.isGameOver());
+        assertEquals(SpectatorSpeed.MAX, spectated.getSpectatorSpeed());
+    }
+
+    @Test
+    void gamesWithAHumanIgnoreTheSpectatorSpeed() throws POOBkemonException {
+        game.setSpectatorSpeed(SpectatorSpeed.MAX);
+        game.getActor().call(() -> null);
+        assertEquals(SpectatorSpeed.NORMAL, game.getSpectatorSpeed());
+    }
+
+    @Test
+    void snapshotIsReplacedAfterEachActionAndNeverChanges() throws POOBkemonException {
+        BattleSnapshot before = game.getSnapshot();
+        assertNotNull(before);
+        boolean player1Acts = before.getCurrentPlayer().getName().equals("Player1");
+
+        game.switchPokemon(1);
+
+        BattleSnapshot after = game.getSnapshot();
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(0, before.getCurrentPlayer().getActiveIndex());
+        assertEquals(1, (player1Acts ? after.getPlayer1() : after.getPlayer2()).getActiveIndex());
+        assertEquals(player1Acts ? "Player2" : "Player1", after.getCurrentPlayer().getName());
+        assertThrows(UnsupportedOperationException.class, () -> after.getPlayer1().getTeam().clear());
+    }
+
+
     static class TestPokemon extends Pokemon {
         TestPokemon() {
             super("Test", 100, 50, 50, 50, 50, 50, null, null, "");
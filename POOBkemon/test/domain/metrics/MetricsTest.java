@@ -0,0 +1,61 @@
+package metrics;
+
+import domain.metrics.Counter;
+import domain.metrics.Histogram;
+import domain.metrics.Metrics;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+class MetricsTest {
+
+    @Test
+    void countersAreSharedByName() {
+        Counter counter = Metrics.counter("test.shared");
+        counter.increment();
+        Metrics.counter("test.shared").add(4);
+        assertSame(counter, Metrics.counter("test.shared"));
+        assertEquals(5, counter.getCount());
+    }
+
+    @Test
+    void histogramsRecordValuesInTheirUnit() {
+        Histogram sizes = Metrics.histogram("test.sizes", Histogram.Unit.BYTES);
+        sizes.record(100);
+        sizes.record(300);
+        assertEquals(2, sizes.getCount());
+        assertEquals(300, sizes.getMax());
+        assertEquals("bytes", sizes.getUnit());
+    }
+
+    @Test
+    void textDumpListsEveryKindOfMetric() {
+        Metrics.counter("test.dump.counter").increment();
+        Metrics.gauge("test.dump.gauge", () -> 0.5);
+        Metrics.timer("test.dump.timer").record(2_000_000);
+
+        StringWriter text = new StringWriter();
+        Metrics.writeTo(new PrintWriter(text));
+        String dump = text.toString();
+        assertTrue(dump.contains("counter test.dump.counter count=1"));
+        assertTrue(dump.contains("gauge test.dump.gauge value=0.5000"));
+        assertTrue(dump.contains("histogram test.dump.timer count=1"));
+    }
+
+    @Test
+    void metricsArePublishedOverJmx() throws Exception {
+        Metrics.counter("test.before.jmx").add(7);
+        Metrics.registerMBeans();
+        Metrics.counter("test.after.jmx").increment();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName before = new ObjectName("poobkemon:type=Counter,name=\"test.before.jmx\"");
+        ObjectName after = new ObjectName("poobkemon:type=Counter,name=\"test.after.jmx\"");
+        assertEquals(7L, server.getAttribute(before, "Count"));
+        assertEquals(1L, server.getAttribute(after, "Count"));
+    }
+}
@@ -0,0 +1,79 @@
+package moves;
+
+import domain.enums.MoveCategory;
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.moves.Move;
+import domain.moves.MoveSetSolver;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+class MoveSetSolverTest {
+
+    @Test
+    void rankedSetsAreLegalDistinctAndBestFirst() {
+        List<PokemonData> metagame = List.of(PokemonData.values());
+        for (PokemonData species : PokemonData.values()) {
+            List<MoveSetSolver.RankedMoveSet> sets = MoveSetSolver.solve(species, metagame);
+            assertFalse(sets.isEmpty(), species.getName());
+            assertTrue(sets.size() <= MoveSetSolver.RANKED_SETS);
+            for (int i = 0; i < sets.size(); i++) {
+                MoveSetSolver.RankedMoveSet set = sets.get(i);
+                assertEquals(MoveSetSolver.SET_SIZE, new HashSet<>(set.getMoveNames()).size());
+                for (Move move : set.createMoves()) {
+                    PokemonType type = move.getType();
+                    assertTrue(type == PokemonType.NORMAL || type == species.getPrimaryType()
+                            || type == species.getSecondaryType());
+                    assertEquals(move.getMaxPowerPoints(), move.getPowerPoints());
+                }
+                if (i > 0) {
+                    assertTrue(sets.get(i - 1).getScore() >= set.getScore());
+                }
+            }
+        }
+    }
+
+    @Test
+    void bestSetsAreNotFilledWithStatusMoves() {
+        List<PokemonData> metagame = List.of(PokemonData.values());
+        for (PokemonData species : PokemonData.values()) {
+            List<MoveSetSolver.RankedMoveSet> sets = MoveSetSolver.solve(species, metagame);
+            for (Move move : sets.get(0).createMoves()) {
+                assertNotEquals(MoveCategory.STATUS, move.getCategory(), species.getName() + ": " + sets.get(0));
+                assertTrue(move.getPower() > 0, species.getName() + ": " + sets.get(0));
+            }
+        }
+    }
+
+    @Test
+    void cachedRankingMatchesAFreshSolve() {
+        List<PokemonData> metagame = List.of(PokemonData.values());
+        for (PokemonData species : PokemonData.values()) {
+            List<MoveSetSolver.RankedMoveSet> cached = MoveSetSolver.getRankedSets(species);
+            List<MoveSetSolver.RankedMoveSet> fresh = MoveSetSolver.solve(species, metagame);
+            assertEquals(fresh.size(), cached.size());
+            for (int i = 0; i < fresh.size(); i++) {
+                assertEquals(fresh.get(i).getMoveNames(), cached.get(i).getMoveNames());
+                assertEquals(fresh.get(i).getScore(), cached.get(i).getScore(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void movesAreNewInstancesFromTheTopSets() {
+        PokemonData species = PokemonData.values()[0];
+        List<Move> first = MoveSetSolver.bestMoves(species);
+        List<Move> second = MoveSetSolver.bestMoves(species);
+        assertEquals(MoveSetSolver.SET_SIZE, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertNotSame(first.get(i), second.get(i));
+        }
+        List<Move> picked = MoveSetSolver.pickMoves(species, new Random(3));
+        assertEquals(MoveSetSolver.SET_SIZE, picked.size());
+        assertTrue(MoveSetSolver.getRankedSets(species).subList(0, 3).stream()
+                .anyMatch(set -> set.getMoveNames().equals(picked.stream().map(Move::getName).toList())));
+    }
+}
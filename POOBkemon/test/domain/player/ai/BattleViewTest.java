@@ -0,0 +1,100 @@
+package player.ai;
+
+import domain.enums.MoveCategory;
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.metrics.Counter;
+import domain.metrics.Metrics;
+import domain.moves.BasicMove;
+import domain.moves.Move;
+import domain.player.ai.AttackingStrategy;
+import domain.player.ai.LiveBattleView;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import domain.simulation.BattleSimulator;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+
+class BattleViewTest {
+
+    private static Pokemon pokemon(int data, Move... moves) {
+        Pokemon pokemon = new ConcretePokemon(PokemonData.values()[data]);
+        for (Move move : moves) {
+            pokemon.addMove(move);
+        }
+        return pokemon;
+    }
+
+    @Test
+    void estimatesMatchDamageCalculationAndBestMoveSkipsEmptyPP() {
+        Move weak = new BasicMove("Weak", 40, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 10);
+        Move strong = new BasicMove("Strong", 120, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 1);
+        Pokemon mine = pokemon(0, weak, strong);
+        Pokemon theirs = pokemon(1, new BasicMove("Tackle", 40, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 35));
+        LiveBattleView view = new LiveBattleView();
+
+        view.update(List.of(mine), 0, List.of(), List.of(theirs), 0, List.of(), 5000);
+        assertEquals(mine.calculateDamage(weak, theirs), view.getEstimatedDamage(0));
+        assertEquals(mine.calculateDamage(strong, theirs), view.getEstimatedDamage(1));
+        assertEquals(theirs.calculateDamage(theirs.getMoves().get(0), mine), view.getOpponentEstimatedDamage(0));
+        assertEquals(1, view.getBestMoveIndex());
+        assertEquals(5000, view.getRemainingTurnMillis());
+
+        strong.reducePP(1);
+        view.update(List.of(mine), 0, List.of(), List.of(theirs), 0, List.of(), 4000);
+        assertEquals(0, view.getPowerPoints(1));
+        assertEquals(0, view.getBestMoveIndex());
+    }
+
+    @Test
+    void estimatesAreNotCountedAsDamageCalculations() {
+        Move tackle = new BasicMove("Tackle", 40, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 35);
+        Pokemon mine = pokemon(0, tackle);
+        Pokemon theirs = pokemon(1, tackle);
+        Counter calculations = Metrics.counter("damage.calculations");
+        long before = calculations.getCount();
+
+        new LiveBattleView().update(List.of(mine), 0, List.of(), List.of(theirs), 0, List.of(), -1);
+        assertEquals(before, calculations.getCount());
+    }
+
+    @Test
+    void simulatedBattlesAreCountedApartFromPlayedOnes() {
+        Move tackle = new BasicMove("Tackle", 40, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 35);
+        Counter calculations = Metrics.counter("damage.calculations");
+        Counter simulated = Metrics.counter("simulation.damage.calculations");
+        long before = calculations.getCount();
+        long simulatedBefore = simulated.getCount();
+
+        new BattleSimulator().play(new AttackingStrategy(), List.of(pokemon(0, tackle)),
+            new AttackingStrategy(), List.of(pokemon(1, tackle)));
+        assertEquals(before, calculations.getCount());
+        assertTrue(simulated.getCount() > simulatedBefore);
+    }
+
+    @Test
+    void viewIsReadOnlyAndNotACopy() {
+        List<Pokemon> team = new ArrayList<>(List.of(pokemon(0), pokemon(2)));
+        LiveBattleView view = new LiveBattleView();
+        view.update(team, 1, List.of(), List.of(pokemon(1)), 0, List.of(), -1);
+        assertSame(team.get(1), view.getActivePokemon());
+        assertThrows(UnsupportedOperationException.class, () -> view.getTeam().remove(0));
+        team.add(pokemon(3));
+        assertEquals(3, view.getTeam().size());
+    }
+
+    @Test
+    void existingStrategiesAreAdaptedToTheView() {
+        Move strong = new BasicMove("Strong", 90, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 5);
+        Pokemon mine = pokemon(0, new BasicMove("Weak", 10, MoveCategory.PHYSICAL, PokemonType.NORMAL, 100, 5), strong);
+        Pokemon backup = pokemon(2);
+        mine.takeDamage(mine.getMaxHealth() - 1);
+        LiveBattleView view = new LiveBattleView();
+        view.update(List.of(mine, backup), 0, List.of(), List.of(pokemon(1)), 0, List.of(), -1);
+        AttackingStrategy strategy = new AttackingStrategy();
+        assertEquals(strategy.selectMove(mine), strategy.selectMove(view));
+        assertEquals(1, strategy.selectSwitch(view));
+    }
+}
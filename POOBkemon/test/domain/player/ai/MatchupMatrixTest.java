@@ -0,0 +1,70 @@
+package player.ai;
+
+import domain.enums.PokemonData;
+import domain.player.ai.ChangingStrategy;
+import domain.player.ai.MatchupMatrix;
+import domain.pokemons.ConcretePokemon;
+import domain.pokemons.Pokemon;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class MatchupMatrixTest {
+
+    @Test
+    void computedTableSurvivesTheFileRoundTrip() throws Exception {
+        ByteBuffer table = MatchupMatrix.compute(42);
+        MatchupMatrix computed = new MatchupMatrix(table);
+        Path file = Path.of(System.getProperty("java.io.tmpdir"), "poobkemon-matchups-test.bin");
+        try {
+            MatchupMatrix.write(table, file);
+            MatchupMatrix mapped = new MatchupMatrix(MatchupMatrix.map(file));
+            assertEquals(42, mapped.getContentHash());
+            for (PokemonData first : PokemonData.values()) {
+                for (PokemonData second : PokemonData.values()) {
+                    double win = computed.winProbability(first, second);
+                    double health = computed.expectedRemainingHealth(first, second);
+                    assertTrue(win >= 0 && win <= 1);
+                    assertTrue(health >= 0 && health <= win);
+                    assertEquals(win, mapped.winProbability(first, second));
+                    assertEquals(health, mapped.expectedRemainingHealth(first, second));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void contentHashIsStableAndIncompatibleTablesAreRejected() {
+        assertEquals(MatchupMatrix.contentHash(), MatchupMatrix.contentHash());
+        ByteBuffer table = MatchupMatrix.compute(0);
+        table.putInt(4, MatchupMatrix.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> new MatchupMatrix(table));
+        assertThrows(IllegalArgumentException.class, () -> new MatchupMatrix(ByteBuffer.allocate(8)));
+    }
+
+    @Test
+    void changingStrategySwitchesToTheBestMatchupOnly() {
+        MatchupMatrix matchups = MatchupMatrix.getDefault();
+        Pokemon opponent = new ConcretePokemon(PokemonData.values()[0]);
+        List<Pokemon> team = List.of(new ConcretePokemon(PokemonData.values()[1]),
+            new ConcretePokemon(PokemonData.values()[2]), new ConcretePokemon(PokemonData.values()[3]));
+        int best = 0;
+        for (int i = 1; i < team.size(); i++) {
+            if (matchups.winProbability(team.get(i), opponent) > matchups.winProbability(team.get(best), opponent)) {
+                best = i;
+            }
+        }
+        int choice = new ChangingStrategy().selectSwitch(team.get(0), team, opponent);
+        if (best == 0) {
+            assertEquals(-1, choice);
+        } else {
+            assertEquals(matchups.winProbability(team.get(best), opponent),
+                matchups.winProbability(team.get(choice), opponent));
+        }
+    }
+}
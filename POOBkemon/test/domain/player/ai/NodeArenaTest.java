@@ -0,0 +1,55 @@
+package player.ai;
+
+import domain.player.ai.NodeArena;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NodeArenaTest {
+
+    @Test
+    void childrenSpanSeveralChunksAndKeepTheirFields() {
+        NodeArena arena = new NodeArena(1L << 24);
+        int root = arena.allocate(NodeArena.NONE, 7);
+        int children = 100_000;
+        for (int i = 0; i < children; i++) {
+            int child = arena.addChild(root, i, i * 31L);
+            arena.update(child, i % 2);
+        }
+        assertEquals(children + 1, arena.getSize());
+
+        int seen = 0;
+        for (int child = arena.getFirstChild(root); child != NodeArena.NONE; child = arena.getNextSibling(child)) {
+            int action = children - 1 - seen;
+            assertEquals(action, arena.getAction(child));
+            assertEquals(action * 31L, arena.getStateHash(child));
+            assertEquals(1, arena.getVisits(child));
+            assertEquals(action % 2, arena.getMeanValue(child));
+            assertEquals(NodeArena.NONE, arena.getFirstChild(child));
+            seen++;
+        }
+        assertEquals(children, seen);
+        assertEquals(7, arena.getStateHash(root));
+    }
+
+    @Test
+    void resetFreesEveryNodeAndReusesTheMemory() {
+        NodeArena arena = new NodeArena(4 * NodeArena.NODE_BYTES);
+        int root = arena.allocate(0, 1);
+        arena.update(root, 0.5);
+        for (int i = 0; i < 3; i++) {
+            assertNotEquals(NodeArena.NONE, arena.addChild(root, i, i));
+        }
+        assertEquals(NodeArena.NONE, arena.addChild(root, 3, 3));
+        long reserved = arena.getReservedBytes();
+
+        arena.reset();
+        assertEquals(0, arena.getSize());
+        assertThrows(IndexOutOfBoundsException.class, () -> arena.getVisits(root));
+        int fresh = arena.allocate(9, 2);
+        assertEquals(0, arena.getVisits(fresh));
+        assertEquals(0, arena.getValueSum(fresh));
+        assertEquals(NodeArena.NONE, arena.getFirstChild(fresh));
+        assertEquals(reserved, arena.getReservedBytes());
+        assertThrows(IllegalArgumentException.class, () -> new NodeArena(NodeArena.NODE_BYTES - 1));
+    }
+}
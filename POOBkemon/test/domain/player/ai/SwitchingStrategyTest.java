@@ -0,0 +1,50 @@
+package player.ai;
+
+import domain.player.ai.AIStrategy;
+import domain.player.ai.ChangingStrategy;
+import domain.player.ai.ExpertStrategy;
+import domain.pokemons.Pokemon;
+import domain.simulation.BattleListener;
+import domain.simulation.BattleSimulator;
+import domain.simulation.TeamPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+class SwitchingStrategyTest {
+    private static final int GAMES = 100;
+
+    @Test
+    void expertMirrorMatchesFinishWellUnderTheTurnLimit() {
+        assertMirrorMatchesFinish(ExpertStrategy::new);
+    }
+
+    @Test
+    void changingMirrorMatchesFinishWellUnderTheTurnLimit() {
+        assertMirrorMatchesFinish(ChangingStrategy::new);
+    }
+
+    private static void assertMirrorMatchesFinish(Supplier<AIStrategy> strategy) {
+        TeamPool pool = TeamPool.random(3);
+        Random random = new Random(1);
+        BattleSimulator simulator = new BattleSimulator();
+        AIStrategy first = strategy.get();
+        AIStrategy second = strategy.get();
+        int[] turns = new int[1];
+        BattleListener listener = new BattleListener() {
+            @Override
+            public void onBattleEnd(List<Pokemon> firstTeam, int[] firstTurnsSurvived, List<Pokemon> secondTeam,
+                                    int[] secondTurnsSurvived, BattleSimulator.Outcome outcome, int battleTurns) {
+                turns[0] = battleTurns;
+            }
+        };
+        for (int game = 0; game < GAMES; game++) {
+            BattleSimulator.Outcome outcome = simulator.play(first, pool.create(2 * game, random),
+                second, pool.create(2 * game + 1, random), listener);
+            assertNotEquals(BattleSimulator.Outcome.DRAW, outcome, "game " + game);
+            assertTrue(turns[0] < BattleSimulator.DEFAULT_MAX_TURNS * 3 / 4, "game " + game + ": " + turns[0] + " turns");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package simulation;
+
+import domain.player.ai.AIStrategy;
+import domain.pokemons.Pokemon;
+import domain.simulation.BatchBattleKernel;
+import domain.simulation.BattleListener;
+import domain.simulation.BattleSimulator;
+import domain.simulation.TeamPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Random;
+
+class BatchBattleKernelTest {
+    private static final int TEAM_SIZE = 3;
+    private static final int BATTLES = 300;
+
+    @Test
+    void runMatchesBattleSimulatorAndRepeats() {
+        TeamPool pool = TeamPool.random(TEAM_SIZE);
+        BatchBattleKernel kernel = new BatchBattleKernel(BATTLES, TEAM_SIZE);
+        Random random = new Random(5);
+        for (int b = 0; b < BATTLES; b++) {
+            kernel.add(pool.create(2 * b, random), pool.create(2 * b + 1, random));
+        }
+
+        kernel.run(BattleSimulator.DEFAULT_MAX_TURNS);
+        byte[] outcomes = new byte[BATTLES];
+        int[] turns = new int[BATTLES];
+        int[] health = new int[BATTLES * 2 * TEAM_SIZE];
+        for (int b = 0; b < BATTLES; b++) {
+            outcomes[b] = kernel.getOutcome(b);
+            turns[b] = kernel.getTurns(b);
+            for (int slot = 0; slot < 2 * TEAM_SIZE; slot++) {
+                health[b * 2 * TEAM_SIZE + slot] = kernel.getHealth(b, slot / TEAM_SIZE, slot % TEAM_SIZE);
+            }
+        }
+        kernel.run(BattleSimulator.DEFAULT_MAX_TURNS);
+
+        Random objects = new Random(5);
+        BattleSimulator simulator = new BattleSimulator();
+        AIStrategy strategy = new BatchBattleKernel.ReferenceStrategy();
+        int[] simulatedTurns = new int[1];
+        BattleListener listener = new BattleListener() {
+            @Override
+            public void onBattleEnd(List<Pokemon> firstTeam, int[] firstTurnsSurvived, List<Pokemon> secondTeam,
+                                    int[] secondTurnsSurvived, BattleSimulator.Outcome outcome, int battleTurns) {
+                simulatedTurns[0] = battleTurns;
+            }
+        };
+        for (int b = 0; b < BATTLES; b++) {
+            assertEquals(outcomes[b], kernel.getOutcome(b));
+            assertEquals(turns[b], kernel.getTurns(b));
+
+            List<Pokemon> first = pool.create(2 * b, objects);
+            List<Pokemon> second = pool.create(2 * b + 1, objects);
+            BattleSimulator.Outcome outcome = simulator.play(strategy, first, strategy, second, listener);
+            assertEquals(outcome.ordinal(), kernel.getOutcome(b), "battle " + b);
+            assertEquals(simulatedTurns[0], kernel.getTurns(b), "battle " + b);
+            for (int slot = 0; slot < TEAM_SIZE; slot++) {
+                int firstHealth = Math.max(0, first.get(slot).getHealth());
+                int secondHealth = Math.max(0, second.get(slot).getHealth());
+                assertEquals(firstHealth, kernel.getHealth(b, 0, slot));
+                assertEquals(secondHealth, kernel.getHealth(b, 1, slot));
+                assertEquals(firstHealth, health[b * 2 * TEAM_SIZE + slot]);
+                assertEquals(secondHealth, health[b * 2 * TEAM_SIZE + TEAM_SIZE + slot]);
+            }
+        }
+    }
+
+    @Test
+    void rejectsBatchesThatDoNotFit() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchBattleKernel(0, TEAM_SIZE));
+        TeamPool pool = TeamPool.random(TEAM_SIZE);
+        Random random = new Random(1);
+        BatchBattleKernel kernel = new BatchBattleKernel(1, TEAM_SIZE - 1);
+        assertThrows(IllegalArgumentException.class, () -> kernel.add(pool.create(0, random), pool.create(1, random)));
+        BatchBattleKernel single = new BatchBattleKernel(1, TEAM_SIZE);
+        single.add(pool.create(0, random), pool.create(1, random));
+        assertThrows(IllegalStateException.class, () -> single.add(pool.create(2, random), pool.create(3, random)));
+    }
+}
@@ -0,0 +1,75 @@
+package simulation;
+
+import domain.enums.PokemonData;
+import domain.moves.Move;
+import domain.moves.MoveRegistry;
+import domain.player.ai.AttackingStrategy;
+import domain.player.ai.ExpertStrategy;
+import domain.simulation.BattleSimulator;
+import domain.simulation.BattleStatistics;
+import domain.simulation.StrategyEvaluator;
+import domain.simulation.TeamPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.StringWriter;
+
+class BattleStatisticsTest {
+    private static final int TEAM_SIZE = 3;
+
+    @Test
+    void totalsFromSeveralThreadsAddUp() {
+        StrategyEvaluator evaluator = new StrategyEvaluator(ExpertStrategy::new, AttackingStrategy::new,
+            TeamPool.random(TEAM_SIZE));
+        BattleStatistics statistics = new BattleStatistics();
+        evaluator.setListener(statistics);
+        evaluator.setMaxGames(400);
+        evaluator.setSequential(false);
+        evaluator.setThreads(3);
+        evaluator.setSeed(21);
+        StrategyEvaluator.Report report = evaluator.evaluate();
+
+        BattleStatistics.Summary summary = statistics.summarize();
+        assertEquals(report.getGames(), summary.getBattles());
+        long appearances = 0;
+        long wins = 0;
+        long draws = 0;
+        long faints = 0;
+        for (PokemonData data : PokemonData.values()) {
+            appearances += summary.getBattles(data);
+            wins += summary.getWins(data);
+            draws += summary.getDraws(data);
+            faints += summary.getFaints(data);
+            assertTrue(summary.getAverageTurnsSurvived(data) <= BattleSimulator.DEFAULT_MAX_TURNS);
+        }
+        assertEquals(2L * TEAM_SIZE * report.getGames(), appearances);
+        assertEquals((long) TEAM_SIZE * (report.getWins() + report.getLosses()), wins);
+        assertEquals(2L * TEAM_SIZE * report.getDraws(), draws);
+
+        long uses = 0;
+        long kills = 0;
+        for (Move move : MoveRegistry.getMoves()) {
+            uses += summary.getUses(move.getName());
+            kills += summary.getKills(move.getName());
+            assertTrue(summary.getSuperEffectiveRate(move.getName()) <= 1.0);
+        }
+        kills += summary.getKills("Struggle");
+        assertTrue(uses > 0);
+        assertTrue(kills > 0 && kills <= faints);
+    }
+
+    @Test
+    void csvHasAHeaderAndOneLinePerEntry() throws Exception {
+        BattleStatistics.Summary summary = new BattleStatistics().summarize();
+        StringWriter species = new StringWriter();
+        summary.writeSpeciesCsv(species);
+        String[] lines = species.toString().split("\n");
+        assertEquals(PokemonData.values().length + 1, lines.length);
+        assertTrue(lines[0].startsWith("species,battles,wins"));
+        assertEquals(7, lines[1].split(",").length);
+
+        StringWriter moves = new StringWriter();
+        summary.writeMovesCsv(moves);
+        assertTrue(moves.toString().split("\n").length > MoveRegistry.getMoves().size());
+        assertTrue(moves.toString().contains("\nStruggle,0,0,"));
+    }
+}
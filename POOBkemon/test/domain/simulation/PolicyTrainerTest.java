@@ -0,0 +1,74 @@
+package simulation;
+
+import domain.player.ai.AIStrategy;
+import domain.player.ai.LiveBattleView;
+import domain.player.ai.PolicyAction;
+import domain.player.ai.PolicyState;
+import domain.player.ai.PolicyTableStrategy;
+import domain.pokemons.Pokemon;
+import domain.simulation.BattleSimulator;
+import domain.simulation.PolicyTrainer;
+import domain.simulation.TeamPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+class PolicyTrainerTest {
+
+    private static byte[] smallPolicy() {
+        PolicyTrainer trainer = new PolicyTrainer();
+        trainer.setGenerations(2);
+        trainer.setBattlesPerGeneration(400);
+        trainer.setThreads(2);
+        trainer.setSeed(5);
+        return trainer.train();
+    }
+
+    @Test
+    void trainedPolicySurvivesTheFileRoundTrip() throws Exception {
+        byte[] policy = smallPolicy();
+        assertEquals(PolicyState.STATE_COUNT, policy.length);
+        assertTrue(PolicyTrainer.coveredStates(policy) > 0);
+
+        Path file = Path.of(System.getProperty("java.io.tmpdir"), "poobkemon-policy-test.bin");
+        try {
+            PolicyTrainer.write(policy, file);
+            assertEquals(PolicyTableStrategy.HEADER_BYTES + policy.length, Files.size(file));
+            PolicyTableStrategy strategy = new PolicyTableStrategy(PolicyTableStrategy.map(file));
+            for (int state = 0; state < policy.length; state++) {
+                PolicyAction expected = PolicyAction.of(policy[state] & 0xFF);
+                assertEquals(expected, strategy.lookup(state));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void learnedStrategyPlaysValidDecisions() {
+        ByteBuffer table = PolicyTrainer.toTable(smallPolicy());
+        AIStrategy strategy = new PolicyTableStrategy(table);
+        TeamPool pool = TeamPool.random(3);
+        List<Pokemon> mine = pool.create(0, new Random(1));
+        List<Pokemon> theirs = pool.create(1, new Random(2));
+        LiveBattleView view = new LiveBattleView().update(mine, 0, List.of(), theirs, 0, List.of(), -1);
+        int switchIndex = strategy.selectSwitch(view);
+        assertTrue(switchIndex == -1 || (switchIndex > 0 && switchIndex < mine.size()));
+        int moveIndex = strategy.selectMove(view);
+        assertTrue(moveIndex >= 0 && moveIndex < mine.get(0).getMoves().size());
+
+        assertNotNull(new BattleSimulator().play(strategy, pool.create(2, new Random(3)),
+                new PolicyTableStrategy(table), pool.create(3, new Random(4))));
+    }
+
+    @Test
+    void incompatibleTablesAreRejected() {
+        ByteBuffer table = PolicyTrainer.toTable(new byte[PolicyState.STATE_COUNT]);
+        table.putInt(4, PolicyTableStrategy.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> new PolicyTableStrategy(table));
+    }
+}
@@ -0,0 +1,141 @@
+package simulation;
+
+import domain.pokemons.Pokemon;
+import domain.simulation.BattleSimulator;
+import domain.simulation.ResultQuery;
+import domain.simulation.ResultStore;
+import domain.simulation.ResultStoreWriter;
+import domain.simulation.TeamPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+class ResultStoreTest {
+    private static final int TEAM_SIZE = 3;
+    private static final int ROWS = 70_000;
+
+    @Test
+    void queriesMatchTheAppendedRowsAcrossBlocks() throws IOException {
+        Path directory = Files.createTempDirectory("poobkemon-results");
+        try {
+            List<List<Pokemon>> teams = teams();
+            try (ResultStoreWriter writer = ResultStoreWriter.open(directory, TEAM_SIZE)) {
+                for (int row = 0; row < ROWS; row++) {
+                    writer.append(strategy(row), teams.get(row % teams.size()), "attackingTrainer",
+                        teams.get((row + 1) % teams.size()), outcome(row), row % 600 + 1);
+                }
+            }
+
+            long firstWins = 0;
+            long expertLongGames = 0;
+            long withSpecies = 0;
+            long turns = 0;
+            String name = teams.get(0).get(0).getName();
+            for (int row = 0; row < ROWS; row++) {
+                turns += row % 600 + 1;
+                firstWins += outcome(row) == BattleSimulator.Outcome.FIRST_WINS ? 1 : 0;
+                expertLongGames += strategy(row).equals("expertTrainer") && row % 600 + 1 >= 500 ? 1 : 0;
+                withSpecies += hasSpecies(teams.get(row % teams.size()), name) ? 1 : 0;
+            }
+
+            try (ResultStore store = ResultStore.open(directory)) {
+                assertEquals(ROWS, store.getRows());
+                assertEquals(2, store.getBlocks());
+                ResultQuery.Totals all = store.query().totals();
+                assertEquals(ROWS, all.getBattles());
+                assertEquals((double) turns / ROWS, all.getAverageTurns(), 1e-9);
+                assertEquals(firstWins, all.getCount(BattleSimulator.Outcome.FIRST_WINS));
+                assertEquals(firstWins, store.query().winner(BattleSimulator.Outcome.FIRST_WINS).count());
+                assertEquals(expertLongGames, store.query().strategy(0, "expertTrainer")
+                    .range(ResultStore.Column.TURNS, 500, 600).count());
+                assertEquals(withSpecies, store.query().species(0, name).count());
+                assertEquals(ROWS / teams.size() + (ROWS % teams.size() > 0 ? 1 : 0),
+                    store.query().team(0, ResultStore.teamHash(teams.get(0))).count());
+                assertEquals(0, store.query().range(ResultStore.Column.TURNS, 601, 1000).count());
+                assertEquals(0, store.query().strategy(1, "nobody").count());
+                String move = teams.get(0).get(0).getMoves().get(0).getName();
+                assertTrue(store.query().move(ResultQuery.EITHER_SIDE, move).count() > 0);
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    void reopeningDropsWhatAnInterruptedFlushLeft() throws IOException {
+        Path directory = Files.createTempDirectory("poobkemon-results");
+        try {
+            List<List<Pokemon>> teams = teams();
+            try (ResultStoreWriter writer = ResultStoreWriter.open(directory, TEAM_SIZE)) {
+                writer.append("expertTrainer", teams.get(0), "attackingTrainer", teams.get(1),
+                    BattleSimulator.Outcome.DRAW, 600);
+            }
+            Files.write(directory.resolve("turns.col"), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+            Files.write(directory.resolve("blocks.bin"), new byte[] {9, 9}, StandardOpenOption.APPEND);
+            try (ResultStore store = ResultStore.open(directory)) {
+                assertEquals(1, store.getRows());
+            }
+
+            try (ResultStoreWriter writer = ResultStoreWriter.open(directory, TEAM_SIZE - 1)) {
+                writer.append("changingTrainer", teams.get(2), "expertTrainer", teams.get(3),
+                    BattleSimulator.Outcome.SECOND_WINS, 42);
+            }
+            try (ResultStore store = ResultStore.open(directory)) {
+                assertEquals(2, store.getRows());
+                assertEquals(TEAM_SIZE, store.getTeamSize());
+                ResultQuery.Totals totals = store.query().totals();
+                assertEquals(1, totals.getCount(BattleSimulator.Outcome.DRAW));
+                assertEquals(1, totals.getCount(BattleSimulator.Outcome.SECOND_WINS));
+                assertEquals(321, totals.getAverageTurns(), 1e-9);
+                assertEquals(1, store.query().strategy(0, "changingTrainer").range(ResultStore.Column.TURNS, 42, 42)
+                    .count());
+            }
+            assertThrows(IllegalArgumentException.class, () -> ResultStoreWriter.open(directory, TEAM_SIZE + 1));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static List<List<Pokemon>> teams() {
+        TeamPool pool = TeamPool.random(TEAM_SIZE);
+        Random random = new Random(8);
+        List<List<Pokemon>> teams = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            teams.add(pool.create(i, random));
+        }
+        return teams;
+    }
+
+    private static String strategy(int row) {
+        return row % 3 == 0 ? "expertTrainer" : "defensiveTrainer";
+    }
+
+    private static BattleSimulator.Outcome outcome(int row) {
+        return BattleSimulator.Outcome.values()[row * 7 % 3];
+    }
+
+    private static boolean hasSpecies(List<Pokemon> team, String name) {
+        for (Pokemon pokemon : team) {
+            if (pokemon.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
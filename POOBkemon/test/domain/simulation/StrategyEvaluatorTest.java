@@ -0,0 +1,119 @@
+package simulation;
+
+import domain.enums.PokemonData;
+import domain.moves.Move;
+import domain.player.ai.AIStrategy;
+import domain.player.ai.ExpertStrategy;
+import domain.pokemons.Pokemon;
+import domain.simulation.BattleSimulator;
+import domain.simulation.StrategyEvaluator;
+import domain.simulation.TeamPool;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Random;
+
+class StrategyEvaluatorTest {
+
+    /*
+     * Prefers status moves and never switches.
+     */
+
+    private static final class PassiveStrategy implements AIStrategy {
+        @Override
+        public int selectMove(Pokemon activePokemon) {
+            List<Move> moves = activePokemon.getMoves();
+            for (int i = 0; i < moves.size(); i++) {
+                if (!moves.get(i).isOffensive() && moves.get(i).getPowerPoints() > 0) {
+                    return i;
+                }
+            }
+            for (int i = 0; i < moves.size(); i++) {
+                if (moves.get(i).getPowerPoints() > 0) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public int selectSwitch(Pokemon activePokemon, List<Pokemon> team, Pokemon opponentPokemon) {
+            return -1;
+        }
+    }
+
+    @Test
+    void randomPoolIsReproducibleAndDoesNotShareMoves() {
+        TeamPool pool = TeamPool.random(3);
+        List<Pokemon> first = pool.create(0, new Random(7));
+        List<Pokemon> second = pool.create(0, new Random(7));
+        assertEquals(3, first.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getName(), second.get(i).getName());
+            assertFalse(first.get(i).getMoves().isEmpty());
+            assertNotSame(first.get(i).getMoves().get(0), second.get(i).getMoves().get(0));
+        }
+    }
+
+    @Test
+    void battlesEndAndLeaveTheFixedPoolUntouched() {
+        TeamPool pool = TeamPool.random(2);
+        List<Pokemon> templateA = pool.create(0, new Random(1));
+        List<Pokemon> templateB = pool.create(1, new Random(2));
+        TeamPool fixed = TeamPool.fixed(List.of(templateA, templateB));
+        BattleSimulator simulator = new BattleSimulator();
+        BattleSimulator.Outcome outcome = simulator.play(new ExpertStrategy(), fixed.create(0, null),
+                new PassiveStrategy(), fixed.create(1, null));
+        assertNotNull(outcome);
+        for (Pokemon pokemon : templateA) {
+            assertEquals(PokemonData.fromName(pokemon.getName()).getHealth(), pokemon.getHealth());
+            for (Move move : pokemon.getMoves()) {
+                assertEquals(move.getMaxPowerPoints(), move.getPowerPoints());
+            }
+        }
+    }
+
+    @Test
+    void strongerStrategyIsDetectedBeforeTheGameCap() {
+        StrategyEvaluator evaluator = new StrategyEvaluator(ExpertStrategy::new, PassiveStrategy::new,
+                TeamPool.random(3));
+        evaluator.setSeed(42);
+        evaluator.setMaxGames(4000);
+        StrategyEvaluator.Report report = evaluator.evaluate();
+        assertEquals(StrategyEvaluator.Decision.STRONGER, report.getDecision(), report.toString());
+        assertTrue(report.getGames() < 4000);
+        assertTrue(report.getEloLow() > 0);
+        assertTrue(report.getEloLow() <= report.getElo() && report.getElo() <= report.getEloHigh());
+    }
+
+    @Test
+    void pairedGamesCancelOutForIdenticalStrategies() {
+        StrategyEvaluator evaluator = new StrategyEvaluator(PassiveStrategy::new, PassiveStrategy::new,
+                TeamPool.random(2));
+        evaluator.setSeed(3);
+        evaluator.setThreads(1);
+        StrategyEvaluator.Report report = evaluator.evaluate();
+        assertEquals(StrategyEvaluator.Decision.NOT_STRONGER, report.getDecision(), report.toString());
+        assertEquals(report.getWins(), report.getLosses());
+        assertEquals(0, report.getElo(), 1e-9);
+    }
+
+    @Test
+    void fixedRunPlaysEveryGameEvenWhenTheTestWouldDecide() {
+        StrategyEvaluator evaluator = new StrategyEvaluator(ExpertStrategy::new, PassiveStrategy::new,
+                TeamPool.random(3));
+        evaluator.setSeed(42);
+        evaluator.setMaxGames(400);
+        evaluator.setSequential(false);
+        StrategyEvaluator.Report report = evaluator.evaluate();
+        assertEquals(400, report.getGames());
+        assertEquals(StrategyEvaluator.Decision.INCONCLUSIVE, report.getDecision());
+    }
+
+    @Test
+    void eloAndExpectedScoreAreInverse() {
+        assertEquals(0.5, StrategyEvaluator.expectedScore(0), 1e-12);
+        assertEquals(100, StrategyEvaluator.elo(StrategyEvaluator.expectedScore(100)), 1e-9);
+        assertEquals(-250, StrategyEvaluator.elo(StrategyEvaluator.expectedScore(-250)), 1e-9);
+    }
+}
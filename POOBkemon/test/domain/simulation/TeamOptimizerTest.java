@@ -0,0 +1,61 @@
+package simulation;
+
+import domain.enums.PokemonData;
+import domain.enums.PokemonType;
+import domain.moves.Move;
+import domain.pokemons.Pokemon;
+import domain.simulation.TeamOptimizer;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class TeamOptimizerTest {
+
+    private static TeamOptimizer smallOptimizer(int teamSize) {
+        TeamOptimizer optimizer = new TeamOptimizer(teamSize);
+        optimizer.setSeed(11);
+        optimizer.setPopulationSize(12);
+        optimizer.setGenerations(4);
+        optimizer.setBattlesPerGenome(16);
+        optimizer.setThreads(2);
+        return optimizer;
+    }
+
+    @Test
+    void bestTeamHasDistinctSpeciesWithLegalMoves() {
+        TeamOptimizer.Genome best = smallOptimizer(4).optimize();
+        List<Pokemon> team = best.toTeam();
+        assertEquals(4, team.size());
+        Set<String> names = new HashSet<>();
+        for (Pokemon pokemon : team) {
+            assertTrue(names.add(pokemon.getName()));
+            PokemonData data = PokemonData.fromName(pokemon.getName());
+            assertFalse(pokemon.getMoves().isEmpty());
+            for (Move move : pokemon.getMoves()) {
+                PokemonType type = move.getType();
+                assertTrue(type == PokemonType.NORMAL || type == data.getPrimaryType() || type == data.getSecondaryType());
+            }
+        }
+        assertTrue(best.getFitness() >= 0 && best.getFitness() <= 1);
+    }
+
+    @Test
+    void genomesAreEvaluatedOnceAndProgressIsReported() {
+        TeamOptimizer optimizer = smallOptimizer(2);
+        List<Integer> generations = new ArrayList<>();
+        optimizer.setProgressListener((best, generation) -> generations.add(generation));
+        TeamOptimizer.Genome best = optimizer.optimize();
+        assertEquals(List.of(1, 2, 3, 4), generations);
+        assertTrue(optimizer.getEvaluatedGenomes() < 12 * 4);
+        assertNotNull(best);
+    }
+
+    @Test
+    void teamSizeIsChecked() {
+        assertThrows(IllegalArgumentException.class, () -> new TeamOptimizer(0));
+        assertThrows(IllegalArgumentException.class, () -> new TeamOptimizer(7));
+    }
+}
@@ -0,0 +1,53 @@
+package utils;
+
+import presentation.utils.DirtyRegionTracker;
+import presentation.utils.UIConstants;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JComponent;
+
+class DirtyRegionTrackerTest {
+
+    private static class RecordingComponent extends JComponent {
+        private final List<Rectangle> repainted = new ArrayList<>();
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+            repainted.add(new Rectangle(x, y, width, height));
+        }
+    }
+
+    @Test
+    void spritesInOppositeCornersAreRepaintedSeparately() {
+        RecordingComponent screen = new RecordingComponent();
+        DirtyRegionTracker tracker = new DirtyRegionTracker(screen);
+        tracker.markDirty(50, UIConstants.WINDOW_HEIGHT - 203, 150, 153);
+        tracker.markDirty(UIConstants.WINDOW_WIDTH - 250, 98, 150, 152);
+        tracker.flush();
+
+        assertEquals(2, screen.repainted.size());
+        long area = 0;
+        for (Rectangle region : screen.repainted) {
+            area += (long) region.width * region.height;
+        }
+        long fullScreen = (long) UIConstants.WINDOW_WIDTH * UIConstants.WINDOW_HEIGHT;
+        assertTrue(area * 10 < fullScreen, "Repainted " + area + " of " + fullScreen + " pixels");
+        assertFalse(tracker.isDirty());
+    }
+
+    @Test
+    void overlappingAreasAreMerged() {
+        RecordingComponent screen = new RecordingComponent();
+        DirtyRegionTracker tracker = new DirtyRegionTracker(screen);
+        tracker.markDirty(0, 0, 10, 10);
+        tracker.markDirty(100, 0, 10, 10);
+        tracker.markDirty(5, 5, 100, 10);
+
+        assertEquals(List.of(new Rectangle(0, 0, 110, 15)), tracker.getDirtyRegions());
+        tracker.flush();
+        assertEquals(List.of(new Rectangle(0, 0, 110, 15)), screen.repainted);
+    }
+}